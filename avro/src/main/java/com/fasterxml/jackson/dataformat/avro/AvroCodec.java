@@ -0,0 +1,237 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Abstraction for compression codecs used for data blocks of Avro Object Container
+ * Files; identified by name stored in "avro.codec" metadata entry of the file header.
+ *<p>
+ * Codecs defined by Avro specification ("null", "deflate" and "snappy") are supported
+ * out of the box (note: "snappy" requires {@code snappy-java} library, a dependency
+ * of Apache Avro library); others may be registered using
+ * {@link AvroFactoryBuilder#addCodec(AvroCodec)}.
+ *<p>
+ * Implementations must be thread-safe, as a single instance is shared by all parsers
+ * and generators created by a factory.
+ *
+ * @since 3.0
+ */
+public abstract class AvroCodec
+    implements java.io.Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    public final static String NAME_NULL = "null";
+    public final static String NAME_DEFLATE = "deflate";
+    public final static String NAME_SNAPPY = "snappy";
+
+    /**
+     * Name of the codec, as used in "avro.codec" metadata entry.
+     */
+    public abstract String getName();
+
+    /**
+     * Method called to compress contents of a data block; content to compress is
+     * between position and limit of given (heap) buffer.
+     *
+     * @return Heap buffer with compressed content between its position and limit
+     */
+    public abstract ByteBuffer compress(ByteBuffer data) throws IOException;
+
+    /**
+     * Method called to decompress contents of a data block; content to decompress is
+     * between position and limit of given (heap) buffer.
+     *
+     * @return Heap buffer with decompressed content between its position and limit
+     */
+    public abstract ByteBuffer decompress(ByteBuffer data) throws IOException;
+
+    /**
+     * Accessor for finding one of standard codecs by name.
+     *
+     * @return Codec with given name, if one of standard codecs; {@code null} if not
+     */
+    public static AvroCodec findStandardCodec(String name)
+    {
+        switch (name) {
+        case NAME_NULL:
+            return NullCodec.instance;
+        case NAME_DEFLATE:
+            return DeflateCodec.instance;
+        case NAME_SNAPPY:
+            return SnappyCodec.instance;
+        default:
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+
+    /*
+    /**********************************************************
+    /* Standard implementations
+    /**********************************************************
+     */
+
+    /**
+     * Codec that does no compression.
+     */
+    public static class NullCodec extends AvroCodec
+    {
+        private static final long serialVersionUID = 1L;
+
+        public final static NullCodec instance = new NullCodec();
+
+        @Override
+        public String getName() { return NAME_NULL; }
+
+        @Override
+        public ByteBuffer compress(ByteBuffer data) { return data; }
+
+        @Override
+        public ByteBuffer decompress(ByteBuffer data) { return data; }
+    }
+
+    /**
+     * Codec that uses "raw" Deflate compression (RFC-1951, no zlib header or checksum),
+     * as specified by Avro specification.
+     */
+    public static class DeflateCodec extends AvroCodec
+    {
+        private static final long serialVersionUID = 1L;
+
+        public final static DeflateCodec instance = new DeflateCodec(Deflater.DEFAULT_COMPRESSION);
+
+        protected final int _level;
+
+        public DeflateCodec(int level) {
+            _level = level;
+        }
+
+        @Override
+        public String getName() { return NAME_DEFLATE; }
+
+        @Override
+        public ByteBuffer compress(ByteBuffer data) throws IOException
+        {
+            final int len = data.remaining();
+            Deflater deflater = new Deflater(_level, true);
+            try {
+                deflater.setInput(data.array(), data.arrayOffset() + data.position(), len);
+                deflater.finish();
+                byte[] result = new byte[Math.max(64, len / 2)];
+                int count = 0;
+                while (!deflater.finished()) {
+                    if (count == result.length) {
+                        result = _grow(result);
+                    }
+                    count += deflater.deflate(result, count, result.length - count);
+                }
+                return ByteBuffer.wrap(result, 0, count);
+            } finally {
+                deflater.end();
+            }
+        }
+
+        @Override
+        public ByteBuffer decompress(ByteBuffer data) throws IOException
+        {
+            final int len = data.remaining();
+            Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(data.array(), data.arrayOffset() + data.position(), len);
+                byte[] result = new byte[Math.max(64, len * 3)];
+                int count = 0;
+                while (!inflater.finished()) {
+                    if (count == result.length) {
+                        result = _grow(result);
+                    }
+                    int amount = inflater.inflate(result, count, result.length - count);
+                    if (amount == 0) {
+                        // with "nowrap" may not get "finished" indication, so:
+                        if (inflater.needsInput() || inflater.needsDictionary()) {
+                            break;
+                        }
+                    }
+                    count += amount;
+                }
+                return ByteBuffer.wrap(result, 0, count);
+            } catch (DataFormatException e) {
+                throw new IOException("Invalid 'deflate' compressed Avro block: "+e.getMessage(), e);
+            } finally {
+                inflater.end();
+            }
+        }
+
+        private static byte[] _grow(byte[] buf) {
+            byte[] result = new byte[buf.length + (buf.length >> 1)];
+            System.arraycopy(buf, 0, result, 0, buf.length);
+            return result;
+        }
+    }
+
+    /**
+     * Codec that uses Snappy compression, with 4-byte CRC32 checksum of uncompressed
+     * content appended, as specified by Avro specification.
+     * Requires {@code snappy-java} library.
+     */
+    public static class SnappyCodec extends AvroCodec
+    {
+        private static final long serialVersionUID = 1L;
+
+        public final static SnappyCodec instance = new SnappyCodec();
+
+        @Override
+        public String getName() { return NAME_SNAPPY; }
+
+        @Override
+        public ByteBuffer compress(ByteBuffer data) throws IOException
+        {
+            final byte[] input = data.array();
+            final int offset = data.arrayOffset() + data.position();
+            final int len = data.remaining();
+            byte[] result = new byte[org.xerial.snappy.Snappy.maxCompressedLength(len) + 4];
+            int count = org.xerial.snappy.Snappy.compress(input, offset, len, result, 0);
+            final int crc = _crc(input, offset, len);
+            result[count++] = (byte) (crc >> 24);
+            result[count++] = (byte) (crc >> 16);
+            result[count++] = (byte) (crc >> 8);
+            result[count++] = (byte) crc;
+            return ByteBuffer.wrap(result, 0, count);
+        }
+
+        @Override
+        public ByteBuffer decompress(ByteBuffer data) throws IOException
+        {
+            final byte[] input = data.array();
+            final int offset = data.arrayOffset() + data.position();
+            final int len = data.remaining() - 4;
+            if (len < 0) {
+                throw new IOException("Invalid 'snappy' compressed Avro block: only "+data.remaining()+" bytes");
+            }
+            byte[] result = new byte[org.xerial.snappy.Snappy.uncompressedLength(input, offset, len)];
+            int count = org.xerial.snappy.Snappy.uncompress(input, offset, len, result, 0);
+            int ptr = offset + len;
+            int exp = ((input[ptr] & 0xFF) << 24) | ((input[ptr+1] & 0xFF) << 16)
+                    | ((input[ptr+2] & 0xFF) << 8) | (input[ptr+3] & 0xFF);
+            if (exp != _crc(result, 0, count)) {
+                throw new IOException("Invalid 'snappy' compressed Avro block: CRC32 checksum mismatch");
+            }
+            return ByteBuffer.wrap(result, 0, count);
+        }
+
+        private static int _crc(byte[] data, int offset, int len) {
+            CRC32 crc = new CRC32();
+            crc.update(data, offset, len);
+            return (int) crc.getValue();
+        }
+    }
+}
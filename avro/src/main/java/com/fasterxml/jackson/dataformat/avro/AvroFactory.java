@@ -1,12 +1,22 @@
 package com.fasterxml.jackson.dataformat.avro;
 
 import java.io.*;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.base.BinaryTSFactory;
 import com.fasterxml.jackson.core.io.IOContext;
 import com.fasterxml.jackson.dataformat.avro.apacheimpl.ApacheAvroParserImpl;
+import com.fasterxml.jackson.dataformat.avro.apacheimpl.ApacheCodecRecycler;
 import com.fasterxml.jackson.dataformat.avro.deser.*;
+import com.fasterxml.jackson.dataformat.avro.ser.ContainerFileWriter;
+import com.fasterxml.jackson.dataformat.binary.io.ChannelOutputStream;
+import com.fasterxml.jackson.dataformat.binary.io.MappedFileInputStream;
+import com.fasterxml.jackson.dataformat.binary.util.RecyclerPool;
 
 /**
  * Default {@link TokenStreamFactory} implementation for encoding/decoding Avro
@@ -43,7 +53,44 @@ public class AvroFactory
      * `false` to use Jackson native Avro decoder.
      */
     protected boolean _useApacheLibDecoder;
-    
+
+    /**
+     * Non-standard codecs registered for Avro Object Container Files, if any.
+     *
+     * @since 3.0
+     */
+    protected final Map<String, AvroCodec> _codecs;
+
+    /**
+     * Codec to use for Avro Object Container File output, if any.
+     *
+     * @since 3.0
+     */
+    protected final AvroCodec _fileOutputCodec;
+
+    /**
+     * Block size to use for Avro Object Container File output.
+     *
+     * @since 3.0
+     */
+    protected final int _fileOutputBlockSize;
+
+    /**
+     * Provider of pools used for recycling encoders and decoders, if other
+     * than the default.
+     *
+     * @since 3.0
+     */
+    protected final RecyclerPool.Provider _recyclerPoolProvider;
+
+    /**
+     * Pool for recycling encoders and decoders: either constructed using
+     * {@link #_recyclerPoolProvider}, or the default one.
+     *
+     * @since 3.0
+     */
+    protected final transient RecyclerPool<ApacheCodecRecycler> _recyclerPool;
+
     /*
     /**********************************************************
     /* Factory construction, configuration
@@ -65,12 +112,23 @@ public class AvroFactory
         // 09-Jan-2017, tatu: We must actually create and pass builder to be able to change
         //    one of JsonGenerator.Featuers (See builder for details)
         super(new AvroFactoryBuilder());
+        _codecs = Collections.emptyMap();
+        _fileOutputCodec = null;
+        _fileOutputBlockSize = ContainerFileWriter.DEFAULT_BLOCK_SIZE;
+        _recyclerPoolProvider = null;
+        _recyclerPool = ApacheCodecRecycler.DEFAULT_POOL;
     }
 
     protected AvroFactory(AvroFactory src)
     {
         super(src);
         _useApacheLibDecoder = src._useApacheLibDecoder;
+        _codecs = src._codecs;
+        _fileOutputCodec = src._fileOutputCodec;
+        _fileOutputBlockSize = src._fileOutputBlockSize;
+        _recyclerPoolProvider = src._recyclerPoolProvider;
+        // pool needs to be (re)created, for deserialized instances
+        _recyclerPool = _recyclerPool(_recyclerPoolProvider);
     }
 
     /**
@@ -82,6 +140,18 @@ public class AvroFactory
     {
         super(b);
         _useApacheLibDecoder = b.useApacheLibDecoder();
+        Map<String, AvroCodec> codecs = b.codecs();
+        _codecs = codecs.isEmpty() ? Collections.<String, AvroCodec>emptyMap()
+                : Collections.unmodifiableMap(new LinkedHashMap<>(codecs));
+        _fileOutputCodec = b.fileOutputCodec();
+        _fileOutputBlockSize = b.fileOutputBlockSize();
+        _recyclerPoolProvider = b.recyclerPoolProvider();
+        _recyclerPool = _recyclerPool(_recyclerPoolProvider);
+    }
+
+    private static RecyclerPool<ApacheCodecRecycler> _recyclerPool(RecyclerPool.Provider provider) {
+        return (provider == null) ? ApacheCodecRecycler.DEFAULT_POOL
+                : ApacheCodecRecycler.createPool(provider);
     }
 
     @Override
@@ -189,6 +259,22 @@ public class AvroFactory
         return (_formatWriteFeatures & f.getMask()) != 0;
     }
 
+    /**
+     * Accessor for finding codec with given name, to use for Avro Object Container
+     * Files: either one registered with the builder, or one of standard codecs.
+     *
+     * @return Codec with given name, if any; {@code null} if none found
+     *
+     * @since 3.0
+     */
+    public AvroCodec findCodec(String name) {
+        AvroCodec codec = _codecs.get(name);
+        if (codec == null) {
+            codec = AvroCodec.findStandardCodec(name);
+        }
+        return codec;
+    }
+
     /*
     /**********************************************************
     /* Data format support
@@ -215,6 +301,33 @@ public class AvroFactory
         return AvroGenerator.Feature.class;
     }
 
+    /*
+    /******************************************************
+    /* Extended API: memory-mapped input
+    /******************************************************
+     */
+
+    /**
+     * Factory method for constructing parser that reads contents of given file
+     * by memory-mapping it (see {@link MappedFileInputStream}), instead of
+     * reading it using {@link FileInputStream}: this avoids system calls for
+     * reads, which is beneficial for (large) local files. Works both for raw
+     * Avro content and, with {@link AvroParser.Feature#AVRO_FILE_INPUT} enabled,
+     * Avro Object Container Files.
+     *<p>
+     * Note that parser does not decode content directly from mapped memory:
+     * content is still copied into parser's input buffer, once per buffer refill.
+     *
+     * @since 3.0
+     */
+    public AvroParser createParser(ObjectReadContext readCtxt, Path path) throws IOException
+    {
+        // true, since we create InputStream from Path
+        IOContext ioCtxt = _createContext(path, true);
+        InputStream in = new MappedFileInputStream(path);
+        return _createParser(readCtxt, ioCtxt, _decorate(ioCtxt, in));
+    }
+
     /*
 
     /******************************************************
@@ -230,11 +343,20 @@ public class AvroFactory
     protected AvroParser _createParser(ObjectReadContext readCtxt, IOContext ioCtxt,
             InputStream in) throws IOException
     {
+        final int avroFeatures = readCtxt.getFormatReadFeatures(_formatReadFeatures);
+        // Container files are only supported by native decoder
+        if (AvroParser.Feature.AVRO_FILE_INPUT.enabledIn(avroFeatures)) {
+            return new JacksonAvroContainerParserImpl(readCtxt, ioCtxt,
+                    readCtxt.getStreamReadFeatures(_streamReadFeatures),
+                    avroFeatures,
+                    (AvroSchema) readCtxt.getSchema(), this,
+                    in);
+        }
         if (_useApacheLibDecoder) {
           return new ApacheAvroParserImpl(readCtxt, ioCtxt,
                   readCtxt.getStreamReadFeatures(_streamReadFeatures),
                   readCtxt.getFormatReadFeatures(_formatReadFeatures),
-                  (AvroSchema) readCtxt.getSchema(),
+                  (AvroSchema) readCtxt.getSchema(), _recyclerPool,
                   in);
         }
         return new JacksonAvroParserImpl(readCtxt, ioCtxt,
@@ -248,11 +370,20 @@ public class AvroFactory
     protected AvroParser _createParser(ObjectReadContext readCtxt, IOContext ioCtxt,
             byte[] data, int offset, int len) throws IOException
     {
+        final int avroFeatures = readCtxt.getFormatReadFeatures(_formatReadFeatures);
+        // Container files are only supported by native decoder
+        if (AvroParser.Feature.AVRO_FILE_INPUT.enabledIn(avroFeatures)) {
+            return new JacksonAvroContainerParserImpl(readCtxt, ioCtxt,
+                    readCtxt.getStreamReadFeatures(_streamReadFeatures),
+                    avroFeatures,
+                    (AvroSchema) readCtxt.getSchema(), this,
+                    data, offset, len);
+        }
         if (_useApacheLibDecoder) {
             return new ApacheAvroParserImpl(readCtxt, ioCtxt,
                     readCtxt.getStreamReadFeatures(_streamReadFeatures),
                     readCtxt.getFormatReadFeatures(_formatReadFeatures),
-                    (AvroSchema) readCtxt.getSchema(),
+                    (AvroSchema) readCtxt.getSchema(), _recyclerPool,
                     data, offset, len);
         }
         return new JacksonAvroParserImpl(readCtxt, ioCtxt,
@@ -276,6 +407,23 @@ public class AvroFactory
     /******************************************************
      */
     
+    /**
+     * Factory method for constructing generator that writes encoded content
+     * to given channel (which must be in blocking mode). If
+     * {@link AvroGenerator.Feature#AVRO_FILE_OUTPUT} is enabled, blocks are written
+     * using gathering writes, if channel is a {@link java.nio.channels.GatheringByteChannel}.
+     * Channel is closed when generator is closed, if
+     * {@link StreamWriteFeature#AUTO_CLOSE_TARGET} is enabled.
+     *
+     * @since 3.0
+     */
+    public AvroGenerator createGenerator(ObjectWriteContext writeCtxt,
+            WritableByteChannel out) throws IOException
+    {
+        return (AvroGenerator) _createGenerator(writeCtxt, _createContext(out, false),
+                new ChannelOutputStream(out));
+    }
+
     @Override
     protected JsonGenerator _createGenerator(ObjectWriteContext writeCtxt,
             IOContext ioCtxt, OutputStream out) throws IOException
@@ -284,6 +432,7 @@ public class AvroFactory
                 writeCtxt.getStreamWriteFeatures(_streamWriteFeatures),
                 writeCtxt.getFormatWriteFeatures(_formatWriteFeatures),
                 out,
-                (AvroSchema) writeCtxt.getSchema());
+                (AvroSchema) writeCtxt.getSchema(),
+                _fileOutputCodec, _fileOutputBlockSize, _recyclerPool);
     }
 }
@@ -1,8 +1,14 @@
 package com.fasterxml.jackson.dataformat.avro;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import com.fasterxml.jackson.core.StreamWriteFeature;
 import com.fasterxml.jackson.core.base.DecorableTSFactory.DecorableTSFBuilder;
 import com.fasterxml.jackson.dataformat.avro.AvroFactoryBuilder;
+import com.fasterxml.jackson.dataformat.avro.ser.ContainerFileWriter;
+import com.fasterxml.jackson.dataformat.binary.util.RecyclerPool;
+import com.fasterxml.jackson.dataformat.binary.util.RecyclerPools;
 
 /**
  * {@link com.fasterxml.jackson.core.TokenStreamFactory.TSFBuilder}
@@ -29,6 +35,39 @@ public class AvroFactoryBuilder extends DecorableTSFBuilder<AvroFactory, AvroFac
      */
     protected boolean _useApacheLibDecoder;
 
+    /**
+     * Non-standard codecs registered for reading and writing Avro Object Container
+     * Files, if any, indexed by codec name.
+     *
+     * @since 3.0
+     */
+    protected Map<String, AvroCodec> _codecs;
+
+    /**
+     * Codec to use for blocks of Avro Object Container Files written, if any
+     * (see {@link AvroGenerator.Feature#AVRO_FILE_OUTPUT}): {@code null} for
+     * no compression.
+     *
+     * @since 3.0
+     */
+    protected AvroCodec _fileOutputCodec;
+
+    /**
+     * Size, in bytes, that blocks of Avro Object Container Files written need
+     * to reach (before compression) to be written out.
+     *
+     * @since 3.0
+     */
+    protected int _fileOutputBlockSize;
+
+    /**
+     * Provider of pools for recycling Apache Avro encoders and decoders, if
+     * other than the default.
+     *
+     * @since 3.0
+     */
+    protected RecyclerPool.Provider _recyclerPoolProvider;
+
     /*
     /**********************************************************
     /* Life cycle
@@ -44,6 +83,8 @@ public class AvroFactoryBuilder extends DecorableTSFBuilder<AvroFactory, AvroFac
         super(AvroFactory.DEFAULT_AVRO_PARSER_FEATURE_FLAGS,
                 AvroFactory.DEFAULT_AVRO_GENERATOR_FEATURE_FLAGS);
         _useApacheLibDecoder = useApacheDecoder;
+        _codecs = new LinkedHashMap<>();
+        _fileOutputBlockSize = ContainerFileWriter.DEFAULT_BLOCK_SIZE;
 
         // 04-Mar-2013, tatu: Content auto-closing is unfortunately a feature
         //    that works poorly with Avro error reporting, and generally
@@ -55,6 +96,10 @@ public class AvroFactoryBuilder extends DecorableTSFBuilder<AvroFactory, AvroFac
 
     public AvroFactoryBuilder(AvroFactory base) {
         super(base);
+        _codecs = new LinkedHashMap<>(base._codecs);
+        _fileOutputCodec = base._fileOutputCodec;
+        _fileOutputBlockSize = base._fileOutputBlockSize;
+        _recyclerPoolProvider = base._recyclerPoolProvider;
     }
 
     @Override
@@ -71,12 +116,76 @@ public class AvroFactoryBuilder extends DecorableTSFBuilder<AvroFactory, AvroFac
 
     public boolean useApacheLibDecoder() { return _useApacheLibDecoder; }
 
+    public Map<String, AvroCodec> codecs() { return _codecs; }
+
+    public AvroCodec fileOutputCodec() { return _fileOutputCodec; }
+
+    public int fileOutputBlockSize() { return _fileOutputBlockSize; }
+
+    public RecyclerPool.Provider recyclerPoolProvider() { return _recyclerPoolProvider; }
+
     /*
     /**********************************************************
     /* Mutators
     /**********************************************************
      */
 
+    /**
+     * Method for registering a codec to use for (de)compressing blocks of
+     * Avro Object Container Files: will replace standard codec (see
+     * {@link AvroCodec#findStandardCodec}) or previously registered one
+     * with the same name, if any.
+     *
+     * @since 3.0
+     */
+    public AvroFactoryBuilder addCodec(AvroCodec codec) {
+        _codecs.put(codec.getName(), codec);
+        return _this();
+    }
+
+    /**
+     * Method for specifying codec to use for compressing blocks of Avro Object Container
+     * Files written (see {@link AvroGenerator.Feature#AVRO_FILE_OUTPUT}), if any:
+     * {@code null} means no compression ("null" codec).
+     *
+     * @since 3.0
+     */
+    public AvroFactoryBuilder fileOutputCodec(AvroCodec codec) {
+        _fileOutputCodec = codec;
+        return _this();
+    }
+
+    /**
+     * Method for specifying size, in bytes, blocks of Avro Object Container Files
+     * written (see {@link AvroGenerator.Feature#AVRO_FILE_OUTPUT}) need to reach (before
+     * compression) to be written out; same as "sync interval" of Apache Avro
+     * {@code DataFileWriter}.
+     * Default value is {@link ContainerFileWriter#DEFAULT_BLOCK_SIZE}.
+     *
+     * @since 3.0
+     */
+    public AvroFactoryBuilder fileOutputBlockSize(int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive, was: "+blockSize);
+        }
+        _fileOutputBlockSize = blockSize;
+        return _this();
+    }
+
+    /**
+     * Method for specifying provider of pools used for recycling Apache Avro
+     * encoders (used by generators) and decoders (used by parsers, if Apache
+     * decoder is used), like {@link RecyclerPools#shared()} for use with virtual threads.
+     * Default is {@code null}, meaning that {@link ThreadLocal}-based
+     * recyclers (shared by all factories) are used.
+     *
+     * @since 3.0
+     */
+    public AvroFactoryBuilder recyclerPool(RecyclerPool.Provider provider) {
+        _recyclerPoolProvider = provider;
+        return _this();
+    }
+
     // // // Parser features
 
     public AvroFactoryBuilder enable(AvroParser.Feature f) {
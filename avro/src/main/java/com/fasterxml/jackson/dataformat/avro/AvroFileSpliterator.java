@@ -0,0 +1,504 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import org.apache.avro.Schema;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * {@link Spliterator} over values of an Avro Object Container File, accessed
+ * either as a {@link ByteBuffer} (heap buffer or memory-mapped region of a file)
+ * or as a {@link FileChannel} (using positional reads, so there is no limit on
+ * size of the file). Since blocks of a container file can be decoded independently,
+ * splitting is done on block boundaries, allowing decoding of blocks in parallel
+ * (for example, by using {@code java.util.stream.StreamSupport.stream(spliterator, true)}).
+ * All blocks are decoded using the same {@link AvroSchema} and thereby share its
+ * reader (see {@link AvroSchema#getReader()}).
+ *<p>
+ * On construction, file header is read and location of all blocks is indexed; this
+ * only requires reading a few bytes per block. Contents of blocks are only read
+ * (and decompressed, if necessary) when values are requested, one block at a time,
+ * at which point sync marker following the block is also verified.
+ *<p>
+ * Contents of heap buffers are decoded in place; those of direct buffers and
+ * channels are read one block at a time.
+ *<p>
+ * Spliterator is {@link #ORDERED}, {@link #SIZED} and {@link #SUBSIZED}: if encounter
+ * order of values is not needed, use {@code Stream.unordered()}.
+ * Problems with reading or decoding content are reported as
+ * {@link UncheckedIOException}s; this includes blocks with more or fewer
+ * values than the count declared in block header.
+ *
+ * @since 3.0
+ */
+public class AvroFileSpliterator<T> implements Spliterator<T>
+{
+    private final static byte[] MAGIC = new byte[] { 'O', 'b', 'j', 1 };
+
+    private final static int SYNC_SIZE = 16;
+
+    /**
+     * Block index, shared by all spliterators split from the original one.
+     */
+    protected final BlockIndex _blocks;
+
+    /**
+     * Index of the next block to decode
+     */
+    protected int _index;
+
+    /**
+     * Index of the first block NOT covered by this spliterator.
+     */
+    protected final int _end;
+
+    /**
+     * Iterator over values of the block being decoded, if any.
+     */
+    protected MappingIterator<T> _current;
+
+    /**
+     * Number of values left in {@link #_current}
+     */
+    protected long _currentLeft;
+
+    protected AvroFileSpliterator(BlockIndex blocks, int index, int end) {
+        _blocks = blocks;
+        _index = index;
+        _end = end;
+    }
+
+    /**
+     * Factory method for constructing spliterator for container file contents
+     * in given buffer (from its position to limit). Buffer itself is not modified
+     * (a duplicate is used for all access).
+     *
+     * @param r Reader to use for decoding values: must be constructed by {@link AvroMapper}
+     *    and configured with type of values to read
+     * @param factory Factory to use for locating codec declared by file header
+     * @param readerSchema Schema to use as the reader schema, if any; if {@code null},
+     *    writer schema from the file header is used as is
+     */
+    public static <T> AvroFileSpliterator<T> construct(ObjectReader r, AvroFactory factory,
+            AvroSchema readerSchema, ByteBuffer data)
+        throws IOException
+    {
+        return _construct(r, factory, readerSchema, new BufferSource(data));
+    }
+
+    /**
+     * Factory method for constructing spliterator for container file contents
+     * accessible using given channel, starting from offset 0. Channel is not
+     * closed by spliterator: caller needs to do that once done with it.
+     *
+     * @param r Reader to use for decoding values: must be constructed by {@link AvroMapper}
+     *    and configured with type of values to read
+     * @param factory Factory to use for locating codec declared by file header
+     * @param readerSchema Schema to use as the reader schema, if any; if {@code null},
+     *    writer schema from the file header is used as is
+     */
+    public static <T> AvroFileSpliterator<T> construct(ObjectReader r, AvroFactory factory,
+            AvroSchema readerSchema, FileChannel channel)
+        throws IOException
+    {
+        return _construct(r, factory, readerSchema, new ChannelSource(channel));
+    }
+
+    protected static <T> AvroFileSpliterator<T> _construct(ObjectReader r, AvroFactory factory,
+            AvroSchema readerSchema, Source src)
+        throws IOException
+    {
+        BlockIndex blocks = BlockIndex.construct(r, factory, readerSchema, src);
+        return new AvroFileSpliterator<T>(blocks, 0, blocks.size());
+    }
+
+    /*
+    /**********************************************************
+    /* Spliterator implementation
+    /**********************************************************
+     */
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action)
+    {
+        try {
+            while (true) {
+                if (_current != null) {
+                    // Sizes are based on declared counts, so these must match actual ones
+                    final boolean hasNext = _current.hasNextValue();
+                    if (_currentLeft > 0L) {
+                        if (!hasNext) {
+                            throw _countMismatch("fewer");
+                        }
+                        --_currentLeft;
+                        action.accept(_current.nextValue());
+                        return true;
+                    }
+                    if (hasNext) {
+                        throw _countMismatch("more");
+                    }
+                    _current.close();
+                    _current = null;
+                }
+                if (_index >= _end) {
+                    return false;
+                }
+                final int ix = _index++;
+                _currentLeft = _blocks.count(ix);
+                _current = _blocks.values(ix);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonParseException _countMismatch(String desc) {
+        final int ix = _index-1;
+        return BlockIndex._error("Invalid Avro Object Container File: block #"+ix
+                +" contains "+desc+" values than declared count ("+_blocks.count(ix)+")");
+    }
+
+    @Override
+    public Spliterator<T> trySplit()
+    {
+        // Can only split before we start decoding (to keep ordering), and if there
+        // are at least 2 blocks left
+        final int left = _end - _index;
+        if ((_current != null) || (left < 2)) {
+            return null;
+        }
+        final int mid = _index + (left >> 1);
+        AvroFileSpliterator<T> prefix = new AvroFileSpliterator<T>(_blocks, _index, mid);
+        _index = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        long size = _blocks.countBetween(_index, _end);
+        if (_current != null) {
+            size += _currentLeft;
+        }
+        return size;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+
+    /*
+    /**********************************************************
+    /* Helper classes
+    /**********************************************************
+     */
+
+    /**
+     * Information about header and blocks of a container file, shared by all
+     * spliterators over the same file.
+     */
+    protected final static class BlockIndex
+    {
+        protected final ObjectReader _reader;
+
+        protected final AvroCodec _codec;
+
+        protected final Source _source;
+
+        protected final byte[] _syncMarker;
+
+        protected final long[] _offsets;
+
+        protected final int[] _sizes;
+
+        /**
+         * Cumulative counts of values: entry {@code i} contains number of values
+         * in blocks before block {@code i}.
+         */
+        protected final long[] _countsBefore;
+
+        protected BlockIndex(ObjectReader r, AvroCodec codec, Source src, byte[] syncMarker,
+                long[] offsets, int[] sizes, long[] countsBefore)
+        {
+            _reader = r;
+            _codec = codec;
+            _source = src;
+            _syncMarker = syncMarker;
+            _offsets = offsets;
+            _sizes = sizes;
+            _countsBefore = countsBefore;
+        }
+
+        public static BlockIndex construct(ObjectReader r, AvroFactory factory,
+                AvroSchema readerSchema, Source src)
+            throws IOException
+        {
+            Cursor c = new Cursor(src);
+            if (!Arrays.equals(MAGIC, c.readBytes(MAGIC.length))) {
+                throw _error("Invalid Avro Object Container File header: first 4 bytes not 'Obj\\u0001' magic");
+            }
+            String schemaDef = null;
+            String codecName = AvroCodec.NAME_NULL;
+            for (long count = c.readCount(); count > 0L; count = c.readCount()) {
+                for (; count > 0L; --count) {
+                    String key = new String(c.readBytes(c.readLength()), StandardCharsets.UTF_8);
+                    byte[] value = c.readBytes(c.readLength());
+                    if ("avro.schema".equals(key)) {
+                        schemaDef = new String(value, StandardCharsets.UTF_8);
+                    } else if ("avro.codec".equals(key)) {
+                        codecName = new String(value, StandardCharsets.UTF_8);
+                    }
+                }
+            }
+            if (schemaDef == null) {
+                throw _error("Invalid Avro Object Container File header: no 'avro.schema' metadata entry");
+            }
+            AvroSchema schema;
+            try {
+                schema = new AvroSchema(new Schema.Parser().setValidate(true).parse(schemaDef));
+            } catch (RuntimeException e) {
+                throw _error("Invalid Avro Object Container File header: failed to parse writer schema: "
+                        +e.getMessage());
+            }
+            if (readerSchema != null) {
+                if (readerSchema.getAvroSchema().equals(schema.getAvroSchema())) {
+                    schema = readerSchema;
+                } else {
+                    schema = schema.withReaderSchema(readerSchema);
+                }
+            }
+            AvroCodec codec = null;
+            if (!AvroCodec.NAME_NULL.equals(codecName)) {
+                codec = factory.findCodec(codecName);
+                if (codec == null) {
+                    throw _error("Unsupported Avro Object Container File codec '"+codecName+"'");
+                }
+            }
+            final byte[] sync = c.readBytes(SYNC_SIZE);
+
+            // and then index blocks
+            long[] offsets = new long[16];
+            int[] sizes = new int[16];
+            long[] countsBefore = new long[17];
+            int blockCount = 0;
+            final long end = src.length();
+            while (c.pos < end) {
+                long count = c.readCount();
+                int size = c.readLength();
+                if (blockCount == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, blockCount * 2);
+                    sizes = Arrays.copyOf(sizes, blockCount * 2);
+                    countsBefore = Arrays.copyOf(countsBefore, blockCount * 2 + 1);
+                }
+                offsets[blockCount] = c.pos;
+                sizes[blockCount] = size;
+                countsBefore[blockCount+1] = countsBefore[blockCount] + count;
+                ++blockCount;
+                c.pos += size + SYNC_SIZE;
+                if (c.pos > end) {
+                    throw _error("Invalid Avro Object Container File: last block truncated");
+                }
+            }
+            return new BlockIndex(r.with(schema).without(AvroParser.Feature.AVRO_FILE_INPUT),
+                    codec, src, sync, Arrays.copyOf(offsets, blockCount),
+                    Arrays.copyOf(sizes, blockCount), Arrays.copyOf(countsBefore, blockCount+1));
+        }
+
+        public int size() {
+            return _sizes.length;
+        }
+
+        public long count(int index) {
+            return _countsBefore[index+1] - _countsBefore[index];
+        }
+
+        public long countBetween(int from, int to) {
+            return _countsBefore[to] - _countsBefore[from];
+        }
+
+        /**
+         * Method for reading (and decompressing, if necessary) contents of given block,
+         * and constructing iterator over its values.
+         */
+        public <T> MappingIterator<T> values(int index) throws IOException
+        {
+            final int size = _sizes[index];
+            ByteBuffer data = _source.block(_offsets[index], size + SYNC_SIZE);
+            final int syncPos = data.position() + size;
+            for (int i = 0; i < SYNC_SIZE; ++i) {
+                if (data.get(syncPos+i) != _syncMarker[i]) {
+                    throw _error("Invalid Avro Object Container File: sync marker after block #"
+                            +index+" does not match one in header");
+                }
+            }
+            data.limit(syncPos);
+            if (_codec != null) {
+                data = _codec.decompress(data);
+            }
+            return _reader.readValues(data.array(), data.arrayOffset() + data.position(),
+                    data.remaining());
+        }
+
+        private static JsonParseException _error(String msg) {
+            return new JsonParseException(null, msg);
+        }
+    }
+
+    /**
+     * Simple sequential reader of header, block prefixes of a {@link Source}.
+     */
+    private final static class Cursor
+    {
+        private final Source _source;
+
+        private final byte[] _buffer = new byte[10];
+
+        public long pos;
+
+        public Cursor(Source src) {
+            _source = src;
+        }
+
+        public byte[] readBytes(int len) throws IOException {
+            byte[] result = new byte[len];
+            if (len > 0) {
+                if (pos + len > _source.length()) {
+                    throw BlockIndex._error("Unexpected end-of-input in Avro Object Container File header");
+                }
+                _source.read(pos, result, len);
+                pos += len;
+            }
+            return result;
+        }
+
+        public long readLong() throws IOException {
+            final int avail = (int) Math.min(_buffer.length, _source.length() - pos);
+            if (avail <= 0) {
+                throw BlockIndex._error("Unexpected end-of-input in Avro Object Container File");
+            }
+            _source.read(pos, _buffer, avail);
+            long l = 0L;
+            int shift = 0;
+            for (int i = 0; i < avail; ++i) {
+                int b = _buffer[i];
+                l |= ((long) (b & 0x7F)) << shift;
+                if (b >= 0) {
+                    pos += (i+1);
+                    return (l >>> 1) ^ -(l & 1L);
+                }
+                shift += 7;
+            }
+            throw BlockIndex._error("Invalid VLong in Avro Object Container File");
+        }
+
+        // Counts of Map entries may be negative, followed by byte length
+        public long readCount() throws IOException {
+            long count = readLong();
+            if (count < 0L) {
+                readLong();
+                count = -count;
+            }
+            return count;
+        }
+
+        public int readLength() throws IOException {
+            long len = readLong();
+            if ((len < 0L) || (len > Integer.MAX_VALUE)) {
+                throw BlockIndex._error("Invalid length in Avro Object Container File: "+len);
+            }
+            return (int) len;
+        }
+    }
+
+    /**
+     * Abstraction over thread-safe random access to contents of a container file.
+     */
+    protected abstract static class Source
+    {
+        public abstract long length() throws IOException;
+
+        /**
+         * Method for reading exactly {@code len} bytes starting at given offset
+         */
+        public abstract void read(long offset, byte[] buf, int len) throws IOException;
+
+        /**
+         * Method for accessing exactly {@code len} bytes starting at given offset,
+         * as a heap buffer (between its position and limit) that caller may modify
+         * position and limit of, but not contents.
+         * Default implementation reads contents into a new array.
+         */
+        public ByteBuffer block(long offset, int len) throws IOException {
+            byte[] buf = new byte[len];
+            read(offset, buf, len);
+            return ByteBuffer.wrap(buf);
+        }
+    }
+
+    private final static class BufferSource extends Source
+    {
+        private final ByteBuffer _buffer;
+
+        public BufferSource(ByteBuffer b) {
+            _buffer = b.slice();
+        }
+
+        @Override
+        public long length() {
+            return _buffer.limit();
+        }
+
+        @Override
+        public void read(long offset, byte[] buf, int len) {
+            // need duplicate for thread-safety
+            ByteBuffer b = _buffer.duplicate();
+            b.position((int) offset);
+            b.get(buf, 0, len);
+        }
+
+        @Override
+        public ByteBuffer block(long offset, int len) throws IOException {
+            // heap buffers can be decoded in place, direct ones need to be copied
+            if (_buffer.hasArray()) {
+                return ByteBuffer.wrap(_buffer.array(), _buffer.arrayOffset() + (int) offset, len);
+            }
+            return super.block(offset, len);
+        }
+    }
+
+    private final static class ChannelSource extends Source
+    {
+        private final FileChannel _channel;
+
+        public ChannelSource(FileChannel ch) {
+            _channel = ch;
+        }
+
+        @Override
+        public long length() throws IOException {
+            return _channel.size();
+        }
+
+        @Override
+        public void read(long offset, byte[] buf, int len) throws IOException {
+            ByteBuffer b = ByteBuffer.wrap(buf, 0, len);
+            while (b.hasRemaining()) {
+                int count = _channel.read(b, offset + b.position());
+                if (count < 0) {
+                    throw BlockIndex._error("Unexpected end-of-input in Avro Object Container File at "
+                            +(offset + b.position()));
+                }
+            }
+        }
+    }
+}
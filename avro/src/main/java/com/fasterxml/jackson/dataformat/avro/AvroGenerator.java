@@ -13,7 +13,9 @@ import com.fasterxml.jackson.core.base.GeneratorBase;
 import com.fasterxml.jackson.core.io.IOContext;
 import com.fasterxml.jackson.dataformat.avro.apacheimpl.ApacheCodecRecycler;
 import com.fasterxml.jackson.dataformat.avro.ser.AvroWriteContext;
+import com.fasterxml.jackson.dataformat.avro.ser.ContainerFileWriter;
 import com.fasterxml.jackson.dataformat.avro.ser.EncodedDatum;
+import com.fasterxml.jackson.dataformat.binary.util.RecyclerPool;
 
 public class AvroGenerator extends GeneratorBase
 {
@@ -38,6 +40,13 @@ public class AvroGenerator extends GeneratorBase
          * Feature that tells Avro to write data in file format (i.e. including the schema with the data)
          * rather than the RPC format which is otherwise default
          *<p>
+         * All root-level values written by a generator are written as records of a single
+         * Avro Object Container File: header is written once, and values are grouped in blocks
+         * (compressed using codec configured with {@link AvroFactoryBuilder#fileOutputCodec}, if any)
+         * that are written out once they reach size configured with
+         * {@link AvroFactoryBuilder#fileOutputBlockSize}; last block being written when generator
+         * is closed. Note that {@link AvroGenerator#flush()} does NOT force writing of a block.
+         *<p>
          * NOTE: reader-side will have to be aware of distinction as well, since possible inclusion
          * of this header is not 100% reliably auto-detectable (while header has distinct marker,
          * "raw" Avro content has no limitations and could theoretically have same pre-amble from data).
@@ -54,7 +63,27 @@ public class AvroGenerator extends GeneratorBase
          * @since 3.0
          * 
          */
-        ADD_NULL_AS_DEFAULT_VALUE_IN_SCHEMA(false)
+        ADD_NULL_AS_DEFAULT_VALUE_IN_SCHEMA(false),
+
+        /**
+         * Feature that enables "streaming" encoding, in which content is encoded
+         * directly as it is written, instead of first building an intermediate
+         * {@code GenericRecord} (or {@code GenericArray}, {@code Map}) for each
+         * root value and then encoding it, avoiding allocation of these intermediate
+         * objects; content is only buffered when Avro encoding requires it: for Record fields written in different order than declared
+         * in the schema, and for element/entry counts of Arrays and Maps (which
+         * are encoded in blocks).
+         *<p>
+         * Note that with streaming encoding, writing duplicate Record fields
+         * results in an exception (instead of last value overwriting earlier ones).
+         * Feature must be enabled when generator is constructed: changes after
+         * construction have no effect.
+         *<p>
+         * Disabled by default.
+         *
+         * @since 3.0
+         */
+        AVRO_STREAMING_ENCODING(false)
         ;
 
         protected final boolean _defaultState;
@@ -130,6 +159,21 @@ public class AvroGenerator extends GeneratorBase
      */
     protected BinaryEncoder _encoder;
 
+    /**
+     * Pool used for recycling {@link #_encoder}.
+     *
+     * @since 3.0
+     */
+    protected final RecyclerPool<ApacheCodecRecycler> _recyclerPool;
+
+    /**
+     * Writer used for Avro Object Container File output, if
+     * {@link Feature#AVRO_FILE_OUTPUT} is enabled; {@code null} otherwise.
+     *
+     * @since 3.0
+     */
+    protected ContainerFileWriter _fileWriter;
+
     /**
      * Flag that is set when the whole content is complete, can
      * be output.
@@ -147,17 +191,71 @@ public class AvroGenerator extends GeneratorBase
             OutputStream output,
             AvroSchema schema)
         throws IOException
+    {
+        this(writeCtxt, ctxt, jsonFeatures, avroFeatures, output, schema,
+                null, ContainerFileWriter.DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param fileCodec Codec to use for blocks if {@link Feature#AVRO_FILE_OUTPUT}
+     *    is enabled; {@code null} for no compression
+     * @param fileBlockSize Size of blocks if {@link Feature#AVRO_FILE_OUTPUT} is enabled
+     *
+     * @since 3.0
+     */
+    public AvroGenerator(ObjectWriteContext writeCtxt, IOContext ctxt,
+            int jsonFeatures, int avroFeatures,
+            OutputStream output,
+            AvroSchema schema, AvroCodec fileCodec, int fileBlockSize)
+        throws IOException
+    {
+        this(writeCtxt, ctxt, jsonFeatures, avroFeatures, output, schema,
+                fileCodec, fileBlockSize, ApacheCodecRecycler.DEFAULT_POOL);
+    }
+
+    /**
+     * @param recyclerPool Pool to use for recycling encoders
+     *
+     * @since 3.0
+     */
+    public AvroGenerator(ObjectWriteContext writeCtxt, IOContext ctxt,
+            int jsonFeatures, int avroFeatures,
+            OutputStream output,
+            AvroSchema schema, AvroCodec fileCodec, int fileBlockSize,
+            RecyclerPool<ApacheCodecRecycler> recyclerPool)
+        throws IOException
     {
         super(writeCtxt, jsonFeatures);
+        _recyclerPool = recyclerPool;
         _ioContext = ctxt;
         _formatWriteFeatures = avroFeatures;
         _output = output;
         _tokenWriteContext = AvroWriteContext.nullContext();
-        _encoder = ApacheCodecRecycler.encoder(_output, isEnabled(Feature.AVRO_BUFFERING));
         _rootSchema = Objects.requireNonNull(schema, "Can not pass `null` 'schema'");
-        // start with temporary root...
-        _tokenWriteContext = _rootContext = AvroWriteContext.createRootContext(this,
-                schema.getAvroSchema(), _encoder);
+        final boolean streaming = isEnabled(Feature.AVRO_STREAMING_ENCODING);
+        if (isEnabled(Feature.AVRO_FILE_OUTPUT)) {
+            // Single container file for all root values, encoded into blocks
+            _fileWriter = new ContainerFileWriter(schema.getAvroSchema(), fileCodec, fileBlockSize,
+                    _output);
+            if (streaming) {
+                _rootContext = AvroWriteContext.createStreamingRootContext(this,
+                        schema.getAvroSchema(), _fileWriter);
+            } else {
+                _rootContext = AvroWriteContext.createRootContext(this,
+                        schema.getAvroSchema(), _fileWriter);
+            }
+        } else {
+            _encoder = ApacheCodecRecycler.encoder(_recyclerPool, _output,
+                    isEnabled(Feature.AVRO_BUFFERING));
+            if (streaming) {
+                _rootContext = AvroWriteContext.createStreamingRootContext(this,
+                        schema.getAvroSchema(), _encoder);
+            } else {
+                _rootContext = AvroWriteContext.createRootContext(this,
+                        schema.getAvroSchema(), _encoder);
+            }
+        }
+        _tokenWriteContext = _rootContext;
     }
 
     /*                                                                                       
@@ -340,6 +438,11 @@ public class AvroGenerator extends GeneratorBase
                         +e.getClass().getName()+"): "+e.getMessage(), e, this);
             }
         }
+        if (_fileWriter != null) {
+            ContainerFileWriter w = _fileWriter;
+            _fileWriter = null;
+            w.close();
+        }
         if (_output != null) {
             if (_ioContext.isResourceManaged() || isEnabled(StreamWriteFeature.AUTO_CLOSE_TARGET)) {
                 _output.close();
@@ -382,6 +485,7 @@ public class AvroGenerator extends GeneratorBase
         if (!_tokenWriteContext.inArray()) {
             _reportError("Current context not Array but "+_tokenWriteContext.typeDesc());
         }
+        _tokenWriteContext.finish();
         _tokenWriteContext = _tokenWriteContext.getParent();
         if (_tokenWriteContext.inRoot() && !_complete) {
             _complete();
@@ -409,6 +513,7 @@ public class AvroGenerator extends GeneratorBase
         if (!_tokenWriteContext.canClose()) {
             _reportError("Can not write END_OBJECT after writing FIELD_NAME but not value");
         }
+        _tokenWriteContext.finish();
         _tokenWriteContext = _tokenWriteContext.getParent();
 
         if (_tokenWriteContext.inRoot() && !_complete) {
@@ -604,7 +709,7 @@ public class AvroGenerator extends GeneratorBase
         BinaryEncoder e = _encoder;
         if (e != null) {
             _encoder = null;
-            ApacheCodecRecycler.release(e);
+            ApacheCodecRecycler.release(_recyclerPool, e);
         }
     }
 
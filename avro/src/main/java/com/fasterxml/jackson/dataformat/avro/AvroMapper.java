@@ -3,6 +3,13 @@ package com.fasterxml.jackson.dataformat.avro;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.avro.Schema;
 
@@ -273,6 +280,95 @@ public class AvroMapper extends ObjectMapper
                 .parse(schemaFile));
     }
 
+    /*
+    /**********************************************************************
+    /* Avro Object Container File reading, block-parallel
+    /**********************************************************************
+     */
+
+    /**
+     * Method for constructing {@link Spliterator} over values of Avro Object Container
+     * File contained in given buffer (which may be a memory-mapped region of a file),
+     * splittable on block boundaries. See {@link AvroFileSpliterator} for details.
+     *
+     * @param valueType Type of values to read
+     * @param readerSchema Schema to use as the reader schema, if any; {@code null} to
+     *    use writer schema from the file header as is
+     *
+     * @since 3.0
+     */
+    public <T> Spliterator<T> fileValueSpliterator(JavaType valueType, AvroSchema readerSchema,
+            ByteBuffer data) throws IOException
+    {
+        return AvroFileSpliterator.construct(readerFor(valueType), tokenStreamFactory(),
+                readerSchema, data);
+    }
+
+    /**
+     * Method for constructing {@link Spliterator} over values of Avro Object Container
+     * File accessed using given channel (not closed by spliterator), splittable on block
+     * boundaries. See {@link AvroFileSpliterator} for details.
+     *
+     * @param valueType Type of values to read
+     * @param readerSchema Schema to use as the reader schema, if any; {@code null} to
+     *    use writer schema from the file header as is
+     *
+     * @since 3.0
+     */
+    public <T> Spliterator<T> fileValueSpliterator(JavaType valueType, AvroSchema readerSchema,
+            FileChannel channel) throws IOException
+    {
+        return AvroFileSpliterator.construct(readerFor(valueType), tokenStreamFactory(),
+                readerSchema, channel);
+    }
+
+    /**
+     * Convenience method for constructing {@link Stream} of values of Avro Object Container
+     * File contained in given buffer; if {@code parallel} is {@code true}, blocks of the
+     * file are decoded concurrently (by default, using the common {@code ForkJoinPool}).
+     * Encounter order of values is retained unless {@link Stream#unordered()} is called.
+     *
+     * @since 3.0
+     */
+    public <T> Stream<T> readFileValues(Class<T> valueType, ByteBuffer data, boolean parallel)
+        throws IOException
+    {
+        Spliterator<T> it = fileValueSpliterator(constructType(valueType), null, data);
+        return StreamSupport.stream(it, parallel);
+    }
+
+    /**
+     * Convenience method for constructing {@link Stream} of values of given Avro Object
+     * Container File; if {@code parallel} is {@code true}, blocks of the file are decoded
+     * concurrently (by default, using the common {@code ForkJoinPool}).
+     * Encounter order of values is retained unless {@link Stream#unordered()} is called.
+     *<p>
+     * File is kept open until the stream is closed, so caller should make sure to close
+     * it (for example, by using try-with-resources).
+     *
+     * @since 3.0
+     */
+    public <T> Stream<T> readFileValues(Class<T> valueType, File f, boolean parallel)
+        throws IOException
+    {
+        final FileChannel ch = FileChannel.open(f.toPath(), StandardOpenOption.READ);
+        Spliterator<T> it;
+        try {
+            it = fileValueSpliterator(constructType(valueType), null, ch);
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+        return StreamSupport.stream(it, parallel)
+                .onClose(() -> {
+                    try {
+                        ch.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
     /*
     /**********************************************************
     /* Helper class(es)
@@ -31,7 +31,25 @@ public abstract class AvroParser extends ParserBase
          *<p>
          * Enabled by default to preserve the existing behavior.
          */
-        AVRO_BUFFERING(true)
+        AVRO_BUFFERING(true),
+
+        /**
+         * Feature that tells parser to expect content in Avro Object Container File
+         * format (as written by generator with {@link AvroGenerator.Feature#AVRO_FILE_OUTPUT}
+         * enabled, or by Apache Avro {@code DataFileWriter}): that is, header with
+         * writer schema and codec, followed by sync-marker delimited blocks of
+         * (possibly compressed) values.
+         * Writer schema from the header is used for decoding; if a schema is also
+         * specified for parser, it is used as the reader schema.
+         *<p>
+         * NOTE: container files are always decoded using native Jackson decoder,
+         * regardless of whether factory is configured to use Apache Avro lib decoder.
+         *<p>
+         * Disabled by default.
+         *
+         * @since 3.0
+         */
+        AVRO_FILE_INPUT(false)
         ;
 
         final boolean _defaultState;
@@ -9,6 +9,7 @@ import org.apache.avro.io.BinaryDecoder;
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.io.IOContext;
 import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+import com.fasterxml.jackson.dataformat.binary.util.RecyclerPool;
 import com.fasterxml.jackson.dataformat.avro.deser.AvroParserImpl;
 
 /**
@@ -53,6 +54,13 @@ public class ApacheAvroParserImpl extends AvroParserImpl
      */
     protected BinaryDecoder _decoder;
 
+    /**
+     * Pool used for recycling {@link #_decoder}.
+     *
+     * @since 3.0
+     */
+    protected final RecyclerPool<ApacheCodecRecycler> _recyclerPool;
+
     /**
      * We need to keep track of text values.
      */
@@ -67,24 +75,50 @@ public class ApacheAvroParserImpl extends AvroParserImpl
     public ApacheAvroParserImpl(ObjectReadContext readCtxt, IOContext ioCtxt,
             int parserFeatures, int avroFeatures, AvroSchema schema,
             InputStream in)
+    {
+        this(readCtxt, ioCtxt, parserFeatures, avroFeatures, schema,
+                ApacheCodecRecycler.DEFAULT_POOL, in);
+    }
+
+    /**
+     * @since 3.0
+     */
+    public ApacheAvroParserImpl(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int parserFeatures, int avroFeatures, AvroSchema schema,
+            RecyclerPool<ApacheCodecRecycler> recyclerPool,
+            InputStream in)
     {
         super(readCtxt, ioCtxt, parserFeatures, avroFeatures, schema);
+        _recyclerPool = recyclerPool;
         _inputStream = in;
         _inputBuffer = ioCtxt.allocReadIOBuffer();
         _inputPtr = 0;
         _inputEnd = 0;
         _bufferRecyclable = true;
-        _decoder = ApacheCodecRecycler.decoder(in,
+        _decoder = ApacheCodecRecycler.decoder(recyclerPool, in,
                 Feature.AVRO_BUFFERING.enabledIn(avroFeatures));
     }
 
     public ApacheAvroParserImpl(ObjectReadContext readCtxt, IOContext ioCtxt,
             int parserFeatures, int avroFeatures, AvroSchema schema,
             byte[] data, int offset, int len)
+    {
+        this(readCtxt, ioCtxt, parserFeatures, avroFeatures, schema,
+                ApacheCodecRecycler.DEFAULT_POOL, data, offset, len);
+    }
+
+    /**
+     * @since 3.0
+     */
+    public ApacheAvroParserImpl(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int parserFeatures, int avroFeatures, AvroSchema schema,
+            RecyclerPool<ApacheCodecRecycler> recyclerPool,
+            byte[] data, int offset, int len)
     {
         super(readCtxt, ioCtxt, parserFeatures, avroFeatures, schema);
+        _recyclerPool = recyclerPool;
         _inputStream = null;
-        _decoder = ApacheCodecRecycler.decoder(data, offset, len);
+        _decoder = ApacheCodecRecycler.decoder(recyclerPool, data, offset, len);
     }
 
     @Override
@@ -100,7 +134,7 @@ public class ApacheAvroParserImpl extends AvroParserImpl
         BinaryDecoder d = _decoder;
         if (d != null) {
             _decoder = null;
-            ApacheCodecRecycler.release(d);
+            ApacheCodecRecycler.release(_recyclerPool, d);
         }
     }
 
@@ -2,11 +2,12 @@ package com.fasterxml.jackson.dataformat.avro.apacheimpl;
 
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.lang.ref.SoftReference;
 
 import org.apache.avro.io.*;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.dataformat.binary.util.RecyclerPool;
+import com.fasterxml.jackson.dataformat.binary.util.RecyclerPools;
 
 /**
  * Simple helper class that contains extracted functionality for
@@ -20,76 +21,126 @@ public final class ApacheCodecRecycler
 
     protected final static EncoderFactory ENCODER_FACTORY = EncoderFactory.get();
 
-    protected final static ThreadLocal<SoftReference<ApacheCodecRecycler>> _recycler
-            = new ThreadLocal<SoftReference<ApacheCodecRecycler>>();
+    /**
+     * Pool used unless another one is specified: uses a {@link ThreadLocal}
+     * recycler per thread.
+     *
+     * @since 3.0
+     */
+    public final static RecyclerPool<ApacheCodecRecycler> DEFAULT_POOL
+            = RecyclerPools.threadLocal().createPool(ApacheCodecRecycler::new);
 
     private BinaryDecoder decoder;
     private BinaryEncoder encoder;
 
     private ApacheCodecRecycler() { }
 
+    /**
+     * Factory method for constructing pool of recyclers using given provider.
+     *
+     * @since 3.0
+     */
+    public static RecyclerPool<ApacheCodecRecycler> createPool(RecyclerPool.Provider provider) {
+        return provider.createPool(ApacheCodecRecycler::new);
+    }
+
     /*
     /**********************************************************
     /* Public API
     /**********************************************************
      */
 
-    public static BinaryDecoder decoder(InputStream in, boolean buffering)
+    public static BinaryDecoder decoder(InputStream in, boolean buffering) {
+        return decoder(DEFAULT_POOL, in, buffering);
+    }
+
+    public static BinaryDecoder decoder(byte[] buffer, int offset, int len) {
+        return decoder(DEFAULT_POOL, buffer, offset, len);
+    }
+
+    public static BinaryEncoder encoder(OutputStream out, boolean buffering) {
+        return encoder(DEFAULT_POOL, out, buffering);
+    }
+
+    public static void release(BinaryDecoder dec) {
+        release(DEFAULT_POOL, dec);
+    }
+
+    public static void release(BinaryEncoder enc) {
+        release(DEFAULT_POOL, enc);
+    }
+
+    /**
+     * @since 3.0
+     */
+    public static BinaryDecoder decoder(RecyclerPool<ApacheCodecRecycler> pool,
+            InputStream in, boolean buffering)
     {
-        BinaryDecoder prev = _recycler().claimDecoder();
+        BinaryDecoder prev = _claimDecoder(pool);
         return buffering
                 ? DECODER_FACTORY.binaryDecoder(in, prev)
                 : DECODER_FACTORY.directBinaryDecoder(in, prev);
     }
 
-    public static BinaryDecoder decoder(byte[] buffer, int offset, int len)
+    /**
+     * @since 3.0
+     */
+    public static BinaryDecoder decoder(RecyclerPool<ApacheCodecRecycler> pool,
+            byte[] buffer, int offset, int len)
     {
-        BinaryDecoder prev = _recycler().claimDecoder();
+        BinaryDecoder prev = _claimDecoder(pool);
         return DECODER_FACTORY.binaryDecoder(buffer, offset, len, prev);
     }
 
-    public static BinaryEncoder encoder(OutputStream out, boolean buffering)
+    /**
+     * @since 3.0
+     */
+    public static BinaryEncoder encoder(RecyclerPool<ApacheCodecRecycler> pool,
+            OutputStream out, boolean buffering)
     {
-        BinaryEncoder prev = _recycler().claimEncoder();
+        BinaryEncoder prev = _claimEncoder(pool);
         return buffering
             ? ENCODER_FACTORY.binaryEncoder(out, prev)
             : ENCODER_FACTORY.directBinaryEncoder(out, prev);
     }
 
-    public static void release(BinaryDecoder dec) {
-        _recycler().decoder = (BinaryDecoder) dec;
+    /**
+     * @since 3.0
+     */
+    public static void release(RecyclerPool<ApacheCodecRecycler> pool, BinaryDecoder dec) {
+        ApacheCodecRecycler r = pool.acquire();
+        r.decoder = dec;
+        pool.release(r);
     }
 
-    public static void release(BinaryEncoder enc) {
-        _recycler().encoder = enc;
+    /**
+     * @since 3.0
+     */
+    public static void release(RecyclerPool<ApacheCodecRecycler> pool, BinaryEncoder enc) {
+        ApacheCodecRecycler r = pool.acquire();
+        r.encoder = enc;
+        pool.release(r);
     }
 
     /*
     /**********************************************************
-    /* Internal per-instance methods
+    /* Internal methods
     /**********************************************************
      */
-    
-    private static ApacheCodecRecycler _recycler() {
-        SoftReference<ApacheCodecRecycler> ref = _recycler.get();
-        ApacheCodecRecycler r = (ref == null) ? null : ref.get();
-
-        if (r == null) {
-            r = new ApacheCodecRecycler();
-            _recycler.set(new SoftReference<ApacheCodecRecycler>(r));
-        }
-        return r;
-    }
 
-    private BinaryDecoder claimDecoder() {
-        BinaryDecoder d = decoder;
-        decoder = null;
+    private static BinaryDecoder _claimDecoder(RecyclerPool<ApacheCodecRecycler> pool) {
+        ApacheCodecRecycler r = pool.acquire();
+        BinaryDecoder d = r.decoder;
+        r.decoder = null;
+        pool.release(r);
         return d;
     }
 
-    private BinaryEncoder claimEncoder() {
-        BinaryEncoder e = encoder;
-        encoder = null;
+    private static BinaryEncoder _claimEncoder(RecyclerPool<ApacheCodecRecycler> pool) {
+        ApacheCodecRecycler r = pool.acquire();
+        BinaryEncoder e = r.encoder;
+        r.encoder = null;
+        pool.release(r);
         return e;
     }
 
@@ -167,7 +167,7 @@ public abstract class AvroParserImpl
     public abstract String nextTextValue() throws IOException;
 
     @Override
-    public final void _initSchema(AvroSchema schema) throws JsonProcessingException {
+    public void _initSchema(AvroSchema schema) throws JsonProcessingException {
         _avroContext = new RootReader(this, schema.getReader());
     }
 
@@ -456,6 +456,17 @@ public abstract class AvroParserImpl
     
     public abstract boolean checkInputEnd() throws IOException;
 
+    /**
+     * Method that indicates whether number of root-level values is known exactly,
+     * as is the case with Avro Object Container Files; if so, {@link #checkInputEnd()}
+     * is authoritative even for values that consume no content.
+     *
+     * @since 3.0
+     */
+    public boolean hasExactValueCount() {
+        return false;
+    }
+
     /**
      * Returns the remaining number of elements in the current block of a map or array
      */
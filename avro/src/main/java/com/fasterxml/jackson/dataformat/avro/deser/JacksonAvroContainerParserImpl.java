@@ -0,0 +1,365 @@
+package com.fasterxml.jackson.dataformat.avro.deser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.avro.Schema;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.dataformat.avro.AvroCodec;
+import com.fasterxml.jackson.dataformat.avro.AvroFactory;
+import com.fasterxml.jackson.dataformat.avro.AvroParser;
+import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+
+/**
+ * Variant of {@link JacksonAvroParserImpl} used for reading Avro Object Container
+ * Files (see {@link AvroParser.Feature#AVRO_FILE_INPUT}): reads file header
+ * (to find writer schema, codec and sync marker) lazily on first call to
+ * {@link #nextToken}, and then decodes root-level values block by block,
+ * verifying sync marker that follows each block.
+ *<p>
+ * Blocks that use "null" codec and are fully contained in the current input
+ * buffer are decoded in place; others are first read (and decompressed) into
+ * a separate buffer, which is then temporarily used as the input buffer.
+ *
+ * @since 3.0
+ */
+public class JacksonAvroContainerParserImpl extends JacksonAvroParserImpl
+{
+    protected final static byte[] MAGIC = new byte[] { 'O', 'b', 'j', 1 };
+
+    protected final static int SYNC_SIZE = 16;
+
+    protected final static String META_SCHEMA = "avro.schema";
+
+    protected final static String META_CODEC = "avro.codec";
+
+    /**
+     * Factory that created this parser; needed for locating codec
+     * declared by file header.
+     */
+    protected final AvroFactory _factory;
+
+    /*
+    /**********************************************************
+    /* Header information
+    /**********************************************************
+     */
+
+    /**
+     * Schema explicitly specified for parser, if any; used as the reader
+     * schema when resolving against writer schema from file header.
+     */
+    protected AvroSchema _requestedSchema;
+
+    /**
+     * Writer schema read from file header; {@code null} until header has been read.
+     */
+    protected AvroSchema _writerSchema;
+
+    /**
+     * Codec used for data blocks; {@code null} for "null" codec.
+     */
+    protected AvroCodec _codec;
+
+    /**
+     * Sync marker read from file header; {@code null} until header has been read
+     * (and empty if there was no content at all).
+     */
+    protected byte[] _syncMarker;
+
+    /*
+    /**********************************************************
+    /* Block state
+    /**********************************************************
+     */
+
+    /**
+     * Number of root-level values in the current block not yet started
+     */
+    protected long _blockRecordsLeft;
+
+    /**
+     * Buffer used for reading blocks that can not be decoded in place;
+     * reused for the following blocks.
+     */
+    protected byte[] _blockBuffer;
+
+    // State of the file input while decoding a block: `_fileBuffer` only
+    // non-null when positioned within a block
+
+    protected byte[] _fileBuffer;
+
+    protected int _filePtr;
+
+    protected int _fileEnd;
+
+    protected InputStream _fileStream;
+
+    protected boolean _fileBufferRecyclable;
+
+    protected long _fileProcessed;
+
+    /*
+    /**********************************************************
+    /* Life-cycle
+    /**********************************************************
+     */
+
+    public JacksonAvroContainerParserImpl(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int parserFeatures, int avroFeatures, AvroSchema schema, AvroFactory factory,
+            InputStream in)
+    {
+        super(readCtxt, ioCtxt, parserFeatures, avroFeatures, schema, in);
+        _factory = factory;
+    }
+
+    public JacksonAvroContainerParserImpl(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int parserFeatures, int avroFeatures, AvroSchema schema, AvroFactory factory,
+            byte[] data, int offset, int len)
+    {
+        super(readCtxt, ioCtxt, parserFeatures, avroFeatures, schema, data, offset, len);
+        _factory = factory;
+    }
+
+    @Override
+    protected void _releaseBuffers() throws IOException {
+        // Need to make sure it's file buffer that gets released, not block buffer
+        _restoreFileState();
+        _blockBuffer = null;
+        super._releaseBuffers();
+    }
+
+    @Override
+    public Object getInputSource() {
+        return (_fileBuffer == null) ? _inputStream : _fileStream;
+    }
+
+    @Override
+    protected void _closeInput() throws IOException {
+        if (_fileStream != null) {
+            _inputStream = _fileStream;
+            _fileStream = null;
+        }
+        super._closeInput();
+    }
+
+    /*
+    /**********************************************************
+    /* Overrides
+    /**********************************************************
+     */
+
+    @Override
+    public JsonToken nextToken() throws IOException
+    {
+        if ((_syncMarker == null) && !_closed) {
+            _readHeader();
+        }
+        return super.nextToken();
+    }
+
+    @Override
+    public void _initSchema(AvroSchema schema) throws JsonProcessingException {
+        // NOTE: called by base class constructor, before fields of this class are initialized
+        _requestedSchema = schema;
+        if (_writerSchema != null) {
+            super._initSchema(_resolveSchema(schema));
+        }
+    }
+
+    @Override
+    public boolean hasExactValueCount() {
+        return true;
+    }
+
+    @Override
+    public boolean checkInputEnd() throws IOException
+    {
+        if (_closed) {
+            return true;
+        }
+        // Blocks should not be empty, but if they are, just skip
+        while (_blockRecordsLeft == 0L) {
+            if (_fileBuffer != null) {
+                _finishBlock();
+            }
+            if (!_startBlock()) {
+                return true;
+            }
+        }
+        --_blockRecordsLeft;
+        return false;
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods, header
+    /**********************************************************
+     */
+
+    protected void _readHeader() throws IOException
+    {
+        if ((_inputPtr >= _inputEnd) && !_loadMore()) { // no content, no header
+            _syncMarker = NO_BYTES;
+            // without header no schema: but no need to report missing schema either
+            if (_requestedSchema == null) {
+                _avroContext = MissingReader.closedInstance;
+            }
+            return;
+        }
+        byte[] magic = new byte[MAGIC.length];
+        _read(magic, 0, magic.length);
+        if (!Arrays.equals(MAGIC, magic)) {
+            _reportError("Invalid Avro Object Container File header: first 4 bytes not 'Obj\\u0001' magic");
+        }
+        String schemaDef = null;
+        String codecName = AvroCodec.NAME_NULL;
+        for (long count = decodeMapStart(); count > 0L; count = decodeMapNext()) {
+            for (; count > 0L; --count) {
+                String key = decodeMapKey();
+                decodeBytes();
+                if (META_SCHEMA.equals(key)) {
+                    schemaDef = new String(_binaryValue, StandardCharsets.UTF_8);
+                } else if (META_CODEC.equals(key)) {
+                    codecName = new String(_binaryValue, StandardCharsets.UTF_8);
+                }
+            }
+        }
+        _binaryValue = null;
+        if (schemaDef == null) {
+            _reportError("Invalid Avro Object Container File header: no '"+META_SCHEMA+"' metadata entry");
+        }
+        Schema writerSchema = null;
+        try {
+            writerSchema = new Schema.Parser().setValidate(true).parse(schemaDef);
+        } catch (RuntimeException e) {
+            _reportError("Invalid Avro Object Container File header: failed to parse writer schema: "
+                    +e.getMessage());
+        }
+        if (!AvroCodec.NAME_NULL.equals(codecName)) {
+            _codec = _factory.findCodec(codecName);
+            if (_codec == null) {
+                _reportError("Unsupported Avro Object Container File codec '"+codecName+"'");
+            }
+        }
+        byte[] sync = new byte[SYNC_SIZE];
+        _read(sync, 0, SYNC_SIZE);
+        _syncMarker = sync;
+        _writerSchema = new AvroSchema(writerSchema);
+        super._initSchema(_resolveSchema(_requestedSchema));
+    }
+
+    protected AvroSchema _resolveSchema(AvroSchema readerSchema) throws JsonProcessingException
+    {
+        if (readerSchema == null) {
+            return _writerSchema;
+        }
+        // Same schema? Use one given, to reuse its reader (and avoid resolution overhead)
+        if (readerSchema.getAvroSchema().equals(_writerSchema.getAvroSchema())) {
+            return readerSchema;
+        }
+        return _writerSchema.withReaderSchema(readerSchema);
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods, blocks
+    /**********************************************************
+     */
+
+    /**
+     * Method called to start decoding of the next data block, if any.
+     *
+     * @return True if a block was started; false if end of input was reached
+     */
+    protected boolean _startBlock() throws IOException
+    {
+        if ((_inputPtr >= _inputEnd) && !_loadMore()) {
+            return false;
+        }
+        final long count = decodeLong();
+        final long size = decodeLong();
+        if ((count < 0L) || (size < 0L) || (size > Integer.MAX_VALUE)) {
+            _reportError("Invalid Avro Object Container File block: record count "+count+", size "+size);
+        }
+        final int len = (int) size;
+
+        _fileBuffer = _inputBuffer;
+        _fileStream = _inputStream;
+        _fileBufferRecyclable = _bufferRecyclable;
+        _fileProcessed = _currInputProcessed;
+
+        if ((_codec == null) && (len <= (_inputEnd - _inputPtr))) {
+            // Can decode in place, just need to limit end
+            _filePtr = _inputPtr + len;
+            _fileEnd = _inputEnd;
+            _inputEnd = _filePtr;
+        } else {
+            byte[] buf = _blockBuffer;
+            if ((buf == null) || (buf.length < len)) {
+                _blockBuffer = buf = new byte[len];
+            }
+            _read(buf, 0, len);
+            _filePtr = _inputPtr;
+            _fileEnd = _inputEnd;
+            ByteBuffer data = ByteBuffer.wrap(buf, 0, len);
+            if (_codec != null) {
+                try {
+                    data = _codec.decompress(data);
+                } catch (IOException e) {
+                    _restoreFileState();
+                    _reportError("Failed to decompress Avro Object Container File block (codec '"
+                            +_codec.getName()+"'): "+e.getMessage());
+                }
+            }
+            // Location within block is approximate, relative to where block content starts
+            _currInputProcessed += _filePtr;
+            _inputBuffer = data.array();
+            _inputPtr = data.arrayOffset() + data.position();
+            _inputEnd = _inputPtr + data.remaining();
+            _currInputProcessed -= _inputPtr;
+            _bufferRecyclable = false;
+        }
+        _inputStream = null;
+        _blockRecordsLeft = count;
+        return true;
+    }
+
+    /**
+     * Method called after all values of the current block have been decoded, to
+     * verify that all of its content was consumed, and that it is followed by
+     * the sync marker.
+     */
+    protected void _finishBlock() throws IOException
+    {
+        if (_inputPtr != _inputEnd) {
+            _reportError("Invalid Avro Object Container File block: "+(_inputEnd - _inputPtr)
+                    +" bytes left after decoding all records");
+        }
+        _restoreFileState();
+        byte[] sync = new byte[SYNC_SIZE];
+        _read(sync, 0, SYNC_SIZE);
+        if (!Arrays.equals(_syncMarker, sync)) {
+            _reportError("Invalid Avro Object Container File: sync marker after block does not match one in header");
+        }
+    }
+
+    protected void _restoreFileState()
+    {
+        if (_fileBuffer != null) {
+            _inputBuffer = _fileBuffer;
+            _inputPtr = _filePtr;
+            _inputEnd = _fileEnd;
+            _inputStream = _fileStream;
+            _bufferRecyclable = _fileBufferRecyclable;
+            _currInputProcessed = _fileProcessed;
+            _fileBuffer = null;
+            _fileStream = null;
+        }
+    }
+}
@@ -823,7 +823,7 @@ public class JacksonAvroParserImpl extends AvroParserImpl
         _skip(size);
     }
 
-    private final void _read(byte[] target, int offset, int len) throws IOException
+    protected final void _read(byte[] target, int offset, int len) throws IOException
     {
         int ptr = _inputPtr;
         int available = _inputEnd - ptr;
@@ -837,6 +837,9 @@ public class JacksonAvroParserImpl extends AvroParserImpl
         _inputPtr = ptr + available;
         offset += available;
         int left = len - available;
+        if (_inputStream == null) {
+            _reportError("Needed to read "+len+" bytes, reached end-of-input after reading "+available);
+        }
         // and rest we can read straight from input
         do {
             int count = _inputStream.read(target, offset, left);
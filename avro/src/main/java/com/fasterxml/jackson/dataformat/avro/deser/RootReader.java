@@ -28,8 +28,9 @@ public class RootReader extends AvroReadContext
         // empty streams but...
         if (_parser.checkInputEnd()) {
             // 26-Aug-2019, tatu: As per [dataformats-binary#177], 0-field Records consume
-            //    no content, and if so we MUST NOT indicate end-of-content:
-            if (!_valueReader.consumesNoContent()) {
+            //    no content, and if so we MUST NOT indicate end-of-content
+            //    (unless we know exact number of values, as with container files)
+            if (!_valueReader.consumesNoContent() || _parser.hasExactValueCount()) {
                 return null;
             }
         }
@@ -58,7 +58,41 @@ public abstract class AvroWriteContext
     
     public static AvroWriteContext createRootContext(AvroGenerator generator, Schema schema,
             BinaryEncoder encoder) {
-        return new RootContext(generator, schema, encoder);
+        return new RootContext(generator, schema, encoder, null);
+    }
+
+    /**
+     * Factory method for constructing root context that writes root-level values
+     * as records of an Avro Object Container File, using given file writer.
+     *
+     * @since 3.0
+     */
+    public static AvroWriteContext createRootContext(AvroGenerator generator, Schema schema,
+            ContainerFileWriter fileWriter) {
+        return new RootContext(generator, schema, fileWriter.blockEncoder(), fileWriter);
+    }
+
+    /**
+     * Factory method for constructing root context that encodes content
+     * directly as it is written, instead of building intermediate
+     * {@code GenericRecord}s.
+     *
+     * @since 3.0
+     */
+    public static AvroWriteContext createStreamingRootContext(AvroGenerator generator, Schema schema,
+            BinaryEncoder encoder) {
+        return new StreamingRootContext(generator, schema, encoder, null);
+    }
+
+    /**
+     * Factory method for constructing streaming root context that writes root-level
+     * values as records of an Avro Object Container File, using given file writer.
+     *
+     * @since 3.0
+     */
+    public static AvroWriteContext createStreamingRootContext(AvroGenerator generator, Schema schema,
+            ContainerFileWriter fileWriter) {
+        return new StreamingRootContext(generator, schema, fileWriter.blockEncoder(), fileWriter);
     }
 
     /**
@@ -69,14 +103,32 @@ public abstract class AvroWriteContext
         return NullContext.instance;
     }
 
-    public abstract AvroWriteContext createChildArrayContext(Object currValue) throws JsonMappingException;
+    public abstract AvroWriteContext createChildArrayContext(Object currValue) throws IOException;
 
-    public abstract AvroWriteContext createChildObjectContext(Object currValue) throws JsonMappingException;
+    public abstract AvroWriteContext createChildObjectContext(Object currValue) throws IOException;
 
     public void complete() throws IOException {
         throw new IllegalStateException("Can not be called on "+getClass().getName());
     }
 
+    /**
+     * Method called by generator when END_ARRAY or END_OBJECT is written for
+     * this context, before returning to parent context. Default implementation
+     * does nothing since content is output only once the root value is complete;
+     * contexts that encode content as it is written need to override.
+     *
+     * @since 3.0
+     */
+    public void finish() throws IOException { }
+
+    /**
+     * Method called by a streaming child context once its contents have been
+     * completely encoded.
+     *
+     * @since 3.0
+     */
+    protected void _childComplete() throws IOException { }
+
     /*
     /**********************************************************
     /* Accessors
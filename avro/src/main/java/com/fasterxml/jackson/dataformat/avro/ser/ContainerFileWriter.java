@@ -0,0 +1,189 @@
+package com.fasterxml.jackson.dataformat.avro.ser;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryData;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+
+import com.fasterxml.jackson.dataformat.avro.AvroCodec;
+import com.fasterxml.jackson.dataformat.avro.AvroGenerator;
+import com.fasterxml.jackson.dataformat.binary.io.ChannelOutputStream;
+
+/**
+ * Helper class used by {@link AvroGenerator} when
+ * {@link AvroGenerator.Feature#AVRO_FILE_OUTPUT} is enabled: root-level values
+ * are encoded into a block buffer (see {@link #blockEncoder()}), and blocks are
+ * written out (after compression with configured {@link AvroCodec}, if any) once
+ * they reach configured size, or when writer is closed. File header (with schema
+ * and codec name, and sync marker) is written just once, before the first block.
+ *<p>
+ * Produces output equivalent to that of Apache Avro {@code DataFileWriter}.
+ *
+ * @since 3.0
+ */
+public class ContainerFileWriter
+{
+    /**
+     * Default minimum size of blocks, in bytes, before compression: same as
+     * "sync interval" Apache Avro {@code DataFileWriter} uses by default.
+     */
+    public final static int DEFAULT_BLOCK_SIZE = 64000;
+
+    private final static byte[] MAGIC = new byte[] { 'O', 'b', 'j', 1 };
+
+    private final static EncoderFactory ENCODER_FACTORY = EncoderFactory.get();
+
+    protected final Schema _schema;
+
+    protected final AvroCodec _codec;
+
+    protected final int _blockSize;
+
+    /**
+     * Encoder used for writing header, block prefixes and sync markers
+     * to the actual output.
+     */
+    protected final BinaryEncoder _out;
+
+    /**
+     * Actual output, if it is a {@link ChannelOutputStream}: if so, blocks are
+     * written using gathering writes, without copying contents into encoder buffer.
+     */
+    protected final ChannelOutputStream _channelOutput;
+
+    /**
+     * Buffer for encoding block prefix (value count and byte length), when
+     * using {@link #_channelOutput}.
+     */
+    protected byte[] _blockPrefix;
+
+    /**
+     * Buffer in which root-level values of the current block are encoded
+     */
+    protected final EncodingBuffer _block;
+
+    /**
+     * Number of root-level values in {@link #_block}
+     */
+    protected long _blockCount;
+
+    /**
+     * Sync marker written in file header, and after each block; {@code null}
+     * until header has been written.
+     */
+    protected byte[] _syncMarker;
+
+    public ContainerFileWriter(Schema schema, AvroCodec codec, int blockSize,
+            OutputStream out)
+    {
+        _schema = schema;
+        _codec = (codec == null) ? AvroCodec.NullCodec.instance : codec;
+        _blockSize = blockSize;
+        _out = ENCODER_FACTORY.binaryEncoder(out, null);
+        _channelOutput = (out instanceof ChannelOutputStream) ? (ChannelOutputStream) out : null;
+        _block = new EncodingBuffer();
+    }
+
+    /**
+     * Accessor for encoder that root-level values are to be encoded with.
+     */
+    public BinaryEncoder blockEncoder() {
+        return _block.encoder;
+    }
+
+    /**
+     * Method called after a root-level value has been fully encoded using
+     * {@link #blockEncoder()}; will write out the current block if it has
+     * reached configured size.
+     */
+    public void valueWritten() throws IOException {
+        ++_blockCount;
+        if (_block.size() >= _blockSize) {
+            writeBlock();
+        }
+    }
+
+    /**
+     * Method for writing out the current block, if it has any values; as well
+     * as the file header, if not yet written.
+     */
+    public void writeBlock() throws IOException
+    {
+        if (_syncMarker == null) {
+            _writeHeader();
+        }
+        if (_blockCount > 0L) {
+            ByteBuffer data = _codec.compress(_block.asByteBuffer());
+            if (_channelOutput != null) {
+                _writeBlock(_channelOutput, data);
+            } else {
+                _out.writeLong(_blockCount);
+                _out.writeLong(data.remaining());
+                _out.writeFixed(data.array(), data.arrayOffset() + data.position(), data.remaining());
+                _out.writeFixed(_syncMarker);
+                _out.flush();
+            }
+            _block.reset();
+            _blockCount = 0L;
+        }
+    }
+
+    /**
+     * Method called when generator is closed, to write out the last block (and
+     * header, if nothing has been written yet).
+     * Does not close the underlying output stream.
+     */
+    public void close() throws IOException {
+        writeBlock();
+        _out.flush();
+    }
+
+    /**
+     * Helper method for writing out block prefix, contents and sync marker using
+     * a single gathering write.
+     */
+    protected void _writeBlock(ChannelOutputStream out, ByteBuffer data) throws IOException
+    {
+        // header (if any) is buffered by encoder, needs to go first
+        _out.flush();
+        if (_blockPrefix == null) {
+            _blockPrefix = new byte[20]; // max 10 bytes per long
+        }
+        int len = BinaryData.encodeLong(_blockCount, _blockPrefix, 0);
+        len += BinaryData.encodeLong(data.remaining(), _blockPrefix, len);
+        out.write(new ByteBuffer[] {
+                ByteBuffer.wrap(_blockPrefix, 0, len),
+                data,
+                ByteBuffer.wrap(_syncMarker)
+        }, 0, 3);
+    }
+
+    protected void _writeHeader() throws IOException
+    {
+        _out.writeFixed(MAGIC);
+        _out.writeMapStart();
+        _out.setItemCount(2L);
+        _out.startItem();
+        _out.writeString("avro.schema");
+        _out.writeBytes(_schema.toString().getBytes(StandardCharsets.UTF_8));
+        _out.startItem();
+        _out.writeString("avro.codec");
+        _out.writeBytes(_codec.getName().getBytes(StandardCharsets.UTF_8));
+        _out.writeMapEnd();
+
+        // Random marker, similar to one Apache Avro lib uses
+        UUID uuid = UUID.randomUUID();
+        byte[] sync = ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+        _out.writeFixed(sync);
+        _syncMarker = sync;
+    }
+}
@@ -0,0 +1,57 @@
+package com.fasterxml.jackson.dataformat.avro.ser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.Encoder;
+import org.apache.avro.io.EncoderFactory;
+
+/**
+ * Simple growable byte buffer, with matching (unbuffered) {@link BinaryEncoder},
+ * used by streaming write contexts for content that can not be written
+ * to the output as is, but has to be held until its prefix (block count)
+ * is known, or its turn (out-of-order Record field) comes.
+ *
+ * @since 3.0
+ */
+final class EncodingBuffer
+    extends ByteArrayOutputStream
+{
+    private final static EncoderFactory ENCODER_FACTORY = EncoderFactory.get();
+
+    /**
+     * Encoder that writes directly into this buffer, without additional buffering.
+     */
+    public final BinaryEncoder encoder;
+
+    public EncodingBuffer() {
+        super(256);
+        encoder = ENCODER_FACTORY.directBinaryEncoder(this, null);
+    }
+
+    /**
+     * @return Size of currently allocated underlying byte array
+     */
+    public int capacity() {
+        return buf.length;
+    }
+
+    /**
+     * @return Buffered content, wrapped (not copied) as heap buffer
+     */
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(buf, 0, count);
+    }
+
+    /**
+     * Method for appending all buffered content, as is, to given encoder.
+     * Note: does NOT reset contents of this buffer.
+     */
+    public void writeTo(Encoder out) throws IOException {
+        if (count > 0) {
+            out.writeFixed(buf, 0, count);
+        }
+    }
+}
@@ -1,10 +1,8 @@
 package com.fasterxml.jackson.dataformat.avro.ser;
 
 import java.io.IOException;
-import java.io.OutputStream;
 
 import org.apache.avro.Schema;
-import org.apache.avro.file.DataFileWriter;
 import org.apache.avro.generic.*;
 import org.apache.avro.io.BinaryEncoder;
 
@@ -12,13 +10,18 @@ import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.dataformat.avro.AvroGenerator;
 import com.fasterxml.jackson.dataformat.avro.AvroGenerator.Feature;
 
-import org.apache.avro.io.DatumWriter;
-
 class RootContext
     extends AvroWriteContext
 {
     protected final BinaryEncoder _encoder;
 
+    /**
+     * Writer for Avro Object Container File, if one being written; {@code null} if not.
+     *
+     * @since 3.0
+     */
+    protected final ContainerFileWriter _fileWriter;
+
     /**
      * We need to keep reference to the root value here; either
      * <code>GenericContainer</code> or <code>Map</code> (yes,
@@ -31,9 +34,11 @@ class RootContext
      */
     private NonBSGenericDatumWriter<Object> _writer;
 
-    public RootContext(AvroGenerator generator, Schema schema, BinaryEncoder encoder) {
+    public RootContext(AvroGenerator generator, Schema schema, BinaryEncoder encoder,
+            ContainerFileWriter fileWriter) {
         super(TYPE_ROOT, null, generator, schema, null);
         _encoder = encoder;
+        _fileWriter = fileWriter;
     }
 
     @Override
@@ -83,6 +88,7 @@ class RootContext
         // 19-Jan-2017, tatu: Implemented to allow/support root-level scalars, esp.
         //   for Avro streams
         _writer().write(value, _encoder);
+        _rootValueWritten();
     }
 
     @Override
@@ -90,36 +96,26 @@ class RootContext
         // 19-Jan-2017, tatu: Implemented to allow/support root-level scalars, esp.
         //   for Avro streams
         _writer().write(value, _encoder);
+        _rootValueWritten();
     }
 
     @Override
     public void writeNull() throws IOException {
         // 19-Jan-2017, tatu: ... is this even legal?
         _writer().write(null, _encoder);
+        _rootValueWritten();
     }
 
-    @SuppressWarnings("resource")
     @Override
     public void complete() throws IOException {
         final Object rootValue = _rootValue;
         _rootValue = null;
 
-        // 21-Feb-2017, tatu: As per [dataformats-binary#15], need to ensure schema gets
-        //   written, if using "File" format (not raw "rpc" one)
-        if (_generator.isEnabled(Feature.AVRO_FILE_OUTPUT)) {
-            OutputStream outputStream = (OutputStream) _generator.getOutputTarget();
-            DatumWriter<Object> datumWriter = new NonBSGenericDatumWriter<>(_schema);
-            DataFileWriter<Object> dataFileWriter = new DataFileWriter<>(datumWriter);
-
-            dataFileWriter.create(_schema, outputStream);
-            dataFileWriter.append(rootValue);
-            dataFileWriter.close();
-            return;
-        }
         // 19-Jan-2017, tatu: Gets also called for root-level scalar, in which
         //    case nothing (more) to output.
         if (rootValue != null) {
             _writer().write(rootValue, _encoder);
+            _rootValueWritten();
         }
         _encoder.flush();
     }
@@ -129,6 +125,17 @@ class RootContext
         sb.append("/");
     }
 
+    /**
+     * Method called after a root-level value has been encoded; needed to let
+     * container file writer (if any; see {@link Feature#AVRO_FILE_OUTPUT})
+     * know it can be added to the current block.
+     */
+    protected void _rootValueWritten() throws IOException {
+        if (_fileWriter != null) {
+            _fileWriter.valueWritten();
+        }
+    }
+
     protected void _reportError() {
         throw new IllegalStateException("Can not write values directly in root context, outside of Records/Arrays");
     }
@@ -0,0 +1,131 @@
+package com.fasterxml.jackson.dataformat.avro.ser;
+
+import java.io.IOException;
+
+import org.apache.avro.Schema;
+import org.apache.avro.io.Encoder;
+
+import com.fasterxml.jackson.dataformat.avro.AvroGenerator;
+
+/**
+ * Streaming counterpart of {@link ArrayWriteContext}: since Avro Arrays
+ * are encoded as blocks prefixed by element count, elements are buffered
+ * and written out as a block whenever enough content has been accumulated
+ * (as well as when Array is closed).
+ *
+ * @since 3.0
+ */
+final class StreamingArrayContext
+    extends AvroWriteContext
+{
+    protected final StreamingRootContext _root;
+
+    /**
+     * Encoder to which encoded Array is to be written
+     */
+    protected final Encoder _out;
+
+    protected final Schema _elementSchema;
+
+    /**
+     * Buffer for encoded elements of the current block
+     */
+    protected EncodingBuffer _buffer;
+
+    /**
+     * Number of elements in {@link #_buffer}
+     */
+    protected long _blockCount;
+
+    public StreamingArrayContext(AvroWriteContext parent, AvroGenerator generator,
+            StreamingRootContext root, Schema schema, Object currValue,
+            Encoder out)
+    {
+        super(TYPE_ARRAY, parent, generator, schema, currValue);
+        _root = root;
+        _out = out;
+        _elementSchema = schema.getElementType();
+        _buffer = root.claimBuffer();
+    }
+
+    @Override
+    public Object rawValue() { return null; }
+
+    @Override
+    public final AvroWriteContext createChildArrayContext(Object currValue) throws IOException {
+        ++_blockCount;
+        return _root.createArrayContext(this, _elementSchema, currValue, _buffer.encoder);
+    }
+
+    @Override
+    public AvroWriteContext createChildObjectContext(Object currValue) throws IOException {
+        ++_blockCount;
+        return _root.createObjectContext(this, _elementSchema, currValue, _buffer.encoder);
+    }
+
+    @Override
+    public void writeValue(Object value) throws IOException {
+        ++_blockCount;
+        _root.writeScalar(_elementSchema, value, _buffer.encoder);
+        _elementWritten();
+    }
+
+    @Override
+    public void writeString(String value) throws IOException {
+        ++_blockCount;
+        _root.writeScalar(_elementSchema, value, _buffer.encoder);
+        _elementWritten();
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+        ++_blockCount;
+        _root.writeScalar(_elementSchema, null, _buffer.encoder);
+        _elementWritten();
+    }
+
+    @Override
+    public void finish() throws IOException
+    {
+        if (_blockCount > 0) {
+            _writeBlock();
+        }
+        // and then the end marker, empty block
+        _out.writeLong(0L);
+        _root.releaseBuffer(_buffer);
+        _buffer = null;
+        _parent._childComplete();
+    }
+
+    @Override
+    protected void _childComplete() throws IOException {
+        _elementWritten();
+    }
+
+    @Override
+    public void appendDesc(StringBuilder sb)
+    {
+        sb.append('[');
+        sb.append(getCurrentIndex());
+        sb.append(']');
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods
+    /**********************************************************
+     */
+
+    private void _elementWritten() throws IOException {
+        if (_buffer.size() >= StreamingRootContext.BLOCK_FLUSH_SIZE) {
+            _writeBlock();
+        }
+    }
+
+    private void _writeBlock() throws IOException {
+        _out.writeLong(_blockCount);
+        _buffer.writeTo(_out);
+        _buffer.reset();
+        _blockCount = 0L;
+    }
+}
@@ -0,0 +1,139 @@
+package com.fasterxml.jackson.dataformat.avro.ser;
+
+import java.io.IOException;
+
+import org.apache.avro.Schema;
+import org.apache.avro.io.Encoder;
+
+import com.fasterxml.jackson.dataformat.avro.AvroGenerator;
+
+/**
+ * Streaming counterpart of {@link MapWriteContext}: as with
+ * {@link StreamingArrayContext}, entries are buffered and written out
+ * in blocks prefixed by entry count.
+ *
+ * @since 3.0
+ */
+final class StreamingMapContext
+    extends KeyValueContext
+{
+    protected final StreamingRootContext _root;
+
+    /**
+     * Encoder to which encoded Map is to be written
+     */
+    protected final Encoder _out;
+
+    protected final Schema _valueSchema;
+
+    /**
+     * Buffer for encoded entries of the current block
+     */
+    protected EncodingBuffer _buffer;
+
+    /**
+     * Number of entries in {@link #_buffer}
+     */
+    protected long _blockCount;
+
+    public StreamingMapContext(AvroWriteContext parent, AvroGenerator generator,
+            StreamingRootContext root, Schema schema, Object currValue,
+            Encoder out)
+    {
+        super(parent, generator, schema, currValue);
+        _root = root;
+        _out = out;
+        _valueSchema = schema.getValueType();
+        _buffer = root.claimBuffer();
+    }
+
+    @Override
+    public Object rawValue() { return null; }
+
+    @Override
+    public final boolean writeFieldName(String name) throws IOException
+    {
+        _currentName = name;
+        _expectValue = true;
+        ++_blockCount;
+        _buffer.encoder.writeString(name);
+        return true;
+    }
+
+    @Override
+    public final AvroWriteContext createChildArrayContext(Object currValue) throws IOException {
+        _verifyValueWrite();
+        return _root.createArrayContext(this, _valueSchema, currValue, _buffer.encoder);
+    }
+
+    @Override
+    public final AvroWriteContext createChildObjectContext(Object currValue) throws IOException {
+        _verifyValueWrite();
+        return _root.createObjectContext(this, _valueSchema, currValue, _buffer.encoder);
+    }
+
+    @Override
+    public void writeValue(Object value) throws IOException {
+        _verifyValueWrite();
+        _root.writeScalar(_valueSchema, value, _buffer.encoder);
+        _entryWritten();
+    }
+
+    @Override
+    public void writeString(String value) throws IOException {
+        _verifyValueWrite();
+        _root.writeScalar(_valueSchema, value, _buffer.encoder);
+        _entryWritten();
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+        _verifyValueWrite();
+        _root.writeScalar(_valueSchema, null, _buffer.encoder);
+        _entryWritten();
+    }
+
+    @Override
+    public void finish() throws IOException
+    {
+        if (_blockCount > 0) {
+            _writeBlock();
+        }
+        // and then the end marker, empty block
+        _out.writeLong(0L);
+        _root.releaseBuffer(_buffer);
+        _buffer = null;
+        _parent._childComplete();
+    }
+
+    @Override
+    protected void _childComplete() throws IOException {
+        _entryWritten();
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods
+    /**********************************************************
+     */
+
+    protected final void _verifyValueWrite() {
+        if (!_expectValue) {
+            throw new IllegalStateException("Expecting FIELD_NAME, not value");
+        }
+        _expectValue = false;
+    }
+
+    private void _entryWritten() throws IOException {
+        if (_buffer.size() >= StreamingRootContext.BLOCK_FLUSH_SIZE) {
+            _writeBlock();
+        }
+    }
+
+    private void _writeBlock() throws IOException {
+        _out.writeLong(_blockCount);
+        _buffer.writeTo(_out);
+        _buffer.reset();
+        _blockCount = 0L;
+    }
+}
@@ -0,0 +1,217 @@
+package com.fasterxml.jackson.dataformat.avro.ser;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.avro.Schema;
+import org.apache.avro.io.Encoder;
+
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.dataformat.avro.AvroGenerator;
+
+/**
+ * Streaming counterpart of {@link ObjectWriteContext}: values of fields are
+ * encoded directly into output as long as they are written in schema order;
+ * fields written out of order are buffered until all preceding fields
+ * have been written (or Record is closed).
+ *<p>
+ * Fields for which no value is written are encoded as {@code null}s
+ * (which is only legal for nullable types), same as with
+ * non-streaming encoding.
+ *
+ * @since 3.0
+ */
+final class StreamingRecordContext
+    extends KeyValueContext
+{
+    protected final StreamingRootContext _root;
+
+    /**
+     * Encoder to which encoded Record is to be written
+     */
+    protected final Encoder _out;
+
+    protected final List<Schema.Field> _fields;
+
+    /**
+     * Position of the next field to write to {@link #_out}
+     */
+    protected int _nextPos;
+
+    /**
+     * Buffered contents of fields written out of order, if any, indexed
+     * by field position; lazily constructed.
+     */
+    protected EncodingBuffer[] _pending;
+
+    /**
+     * Definition of property that is to be written next, if any;
+     * null if property is to be skipped.
+     */
+    protected Schema.Field _nextField;
+
+    /**
+     * Encoder to use for the value of {@link #_nextField}: either {@link #_out}
+     * (if written in order) or encoder of its buffer.
+     */
+    protected Encoder _fieldOut;
+
+    public StreamingRecordContext(AvroWriteContext parent, AvroGenerator generator,
+            StreamingRootContext root, Schema schema, Object currValue,
+            Encoder out)
+    {
+        super(parent, generator, schema, currValue);
+        _root = root;
+        _out = out;
+        _fields = schema.getFields();
+    }
+
+    @Override
+    public Object rawValue() { return null; }
+
+    @Override
+    public final AvroWriteContext createChildArrayContext(Object currValue) throws IOException
+    {
+        _verifyValueWrite();
+        if (_nextField == null) { // unknown, to ignore
+            return new NopWriteContext(TYPE_ARRAY, this, _generator, currValue);
+        }
+        return _root.createArrayContext(this, _nextField.schema(), currValue, _fieldOut);
+    }
+
+    @Override
+    public AvroWriteContext createChildObjectContext(Object currValue) throws IOException {
+        _verifyValueWrite();
+        if (_nextField == null) { // unknown, to ignore
+            return new NopWriteContext(TYPE_OBJECT, this, _generator, currValue);
+        }
+        return _root.createObjectContext(this, _nextField.schema(), currValue, _fieldOut);
+    }
+
+    @Override
+    public final boolean writeFieldName(String name)
+    {
+        _currentName = name;
+        _expectValue = true;
+        Schema.Field field = _schema.getField(name);
+        if (field == null) {
+            _reportUnknownField(name);
+            _nextField = null;
+            return false;
+        }
+        final int pos = field.pos();
+        if ((pos < _nextPos) || ((_pending != null) && (_pending[pos] != null))) {
+            throw new IllegalStateException("Duplicate field '"+name+"' for Record type "
+                    +_schema.getFullName()+": can not overwrite value when using streaming encoding");
+        }
+        _nextField = field;
+        if (pos == _nextPos) {
+            _fieldOut = _out;
+        } else {
+            if (_pending == null) {
+                _pending = new EncodingBuffer[_fields.size()];
+            }
+            EncodingBuffer buffer = _root.claimBuffer();
+            _pending[pos] = buffer;
+            _fieldOut = buffer.encoder;
+        }
+        return true;
+    }
+
+    @Override
+    public void writeValue(Object value) throws IOException {
+        _verifyValueWrite();
+        if (_nextField != null) {
+            _root.writeScalar(_nextField.schema(), value, _fieldOut);
+            _fieldWritten();
+        }
+    }
+
+    @Override
+    public void writeString(String value) throws IOException {
+        _verifyValueWrite();
+        if (_nextField != null) {
+            _root.writeScalar(_nextField.schema(), value, _fieldOut);
+            _fieldWritten();
+        }
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+        _verifyValueWrite();
+        if (_nextField != null) {
+            _root.writeScalar(_nextField.schema(), null, _fieldOut);
+            _fieldWritten();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException
+    {
+        final int end = _fields.size();
+        for (; _nextPos < end; ++_nextPos) {
+            EncodingBuffer buffer = (_pending == null) ? null : _pending[_nextPos];
+            if (buffer == null) {
+                _writeMissing(_fields.get(_nextPos));
+            } else {
+                _pending[_nextPos] = null;
+                buffer.writeTo(_out);
+                _root.releaseBuffer(buffer);
+            }
+        }
+        _parent._childComplete();
+    }
+
+    @Override
+    protected void _childComplete() throws IOException {
+        _fieldWritten();
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods
+    /**********************************************************
+     */
+
+    protected final void _verifyValueWrite() {
+        if (!_expectValue) {
+            throw new IllegalStateException("Expecting FIELD_NAME, not value");
+        }
+        _expectValue = false;
+    }
+
+    protected void _fieldWritten() throws IOException
+    {
+        // Values of out-of-order fields stay buffered until preceding fields are written
+        if (_fieldOut != _out) {
+            return;
+        }
+        ++_nextPos;
+        if (_pending != null) {
+            final int end = _pending.length;
+            EncodingBuffer buffer;
+            while ((_nextPos < end) && ((buffer = _pending[_nextPos]) != null)) {
+                _pending[_nextPos] = null;
+                buffer.writeTo(_out);
+                _root.releaseBuffer(buffer);
+                ++_nextPos;
+            }
+        }
+    }
+
+    protected void _writeMissing(Schema.Field field) throws IOException
+    {
+        try {
+            _root.writeScalar(field.schema(), null, _out);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("No value written for non-nullable field '"
+                    +field.name()+"' of Record type "+_schema.getFullName(), e);
+        }
+    }
+
+    protected void _reportUnknownField(String name) {
+        if (!_generator.isEnabled(StreamWriteFeature.IGNORE_UNKNOWN)) {
+            throw new IllegalStateException("No field named '"+_currentName+"'");
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.fasterxml.jackson.dataformat.avro.ser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.avro.Schema;
+import org.apache.avro.Schema.Type;
+import org.apache.avro.UnresolvedUnionException;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.Encoder;
+
+import com.fasterxml.jackson.dataformat.avro.AvroGenerator;
+
+/**
+ * Root context used when {@link AvroGenerator.Feature#AVRO_STREAMING_ENCODING}
+ * is enabled: instead of building a {@code GenericRecord} (or {@code GenericArray},
+ * {@code Map}) for the whole root value to be written once complete,
+ * child contexts encode content directly onto {@link BinaryEncoder} as
+ * values are written.
+ *<p>
+ * In addition to acting as the root context, instance also contains
+ * functionality shared by all streaming contexts: creation of child contexts
+ * (including resolution of union types), encoding of scalar values and
+ * recycling of {@link EncodingBuffer}s.
+ *
+ * @since 3.0
+ */
+class StreamingRootContext
+    extends AvroWriteContext
+{
+    /**
+     * Amount of content buffered for an Array or Map, in bytes, after which
+     * block of entries is written out (Avro encodes Arrays and Maps as sequences
+     * of blocks, each prefixed by entry count).
+     */
+    protected final static int BLOCK_FLUSH_SIZE = 8000;
+
+    /**
+     * Maximum number of {@link EncodingBuffer}s to keep for reuse.
+     */
+    protected final static int MAX_POOLED_BUFFERS = 8;
+
+    /**
+     * Maximum capacity of {@link EncodingBuffer}s to keep for reuse: larger ones
+     * are dropped to avoid retaining excessive amounts of memory.
+     */
+    protected final static int MAX_POOLED_BUFFER_SIZE = 64000;
+
+    protected final BinaryEncoder _encoder;
+
+    /**
+     * Writer used for encoding scalar values; needed to keep coercions
+     * (and union resolution) same as with the default, non-streaming,
+     * encoding.
+     */
+    private final NonBSGenericDatumWriter<Object> _writer;
+
+    /**
+     * Writer for Avro Object Container File, if one being written; {@code null} if not.
+     */
+    protected final ContainerFileWriter _fileWriter;
+
+    private final ArrayList<EncodingBuffer> _buffers = new ArrayList<>();
+
+    public StreamingRootContext(AvroGenerator generator, Schema schema, BinaryEncoder encoder,
+            ContainerFileWriter fileWriter) {
+        super(TYPE_ROOT, null, generator, schema, null);
+        _encoder = encoder;
+        _fileWriter = fileWriter;
+        _writer = new NonBSGenericDatumWriter<Object>(schema);
+    }
+
+    @Override
+    public Object rawValue() { return null; }
+
+    @Override
+    public final AvroWriteContext createChildArrayContext(Object currValue) throws IOException {
+        // verify that root type is array (or compatible)
+        switch (_schema.getType()) {
+        case ARRAY:
+        case UNION: // maybe
+            return createArrayContext(this, _schema, currValue, _encoder);
+        default:
+        }
+        throw new IllegalStateException("Can not write START_ARRAY; schema type is "
+                +_schema.getType());
+    }
+
+    @Override
+    public final AvroWriteContext createChildObjectContext(Object currValue) throws IOException {
+        // verify that root type is record (or compatible)
+        switch (_schema.getType()) {
+        case RECORD:
+        case MAP:
+        case UNION: // maybe
+            return createObjectContext(this, _schema, currValue, _encoder);
+        default:
+        }
+        throw new IllegalStateException("Can not write START_OBJECT; schema type is "
+                +_schema.getType());
+    }
+
+    @Override
+    public void writeValue(Object value) throws IOException {
+        writeScalar(_schema, value, _encoder);
+        _rootValueWritten();
+    }
+
+    @Override
+    public void writeString(String value) throws IOException {
+        writeScalar(_schema, value, _encoder);
+        _rootValueWritten();
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+        writeScalar(_schema, null, _encoder);
+        _rootValueWritten();
+    }
+
+    @Override
+    public void complete() throws IOException {
+        // Everything already encoded, just need to push it out
+        _encoder.flush();
+    }
+
+    @Override
+    public void appendDesc(StringBuilder sb) {
+        sb.append("/");
+    }
+
+    @Override
+    protected void _childComplete() throws IOException {
+        _rootValueWritten();
+    }
+
+    protected void _rootValueWritten() throws IOException {
+        if (_fileWriter != null) {
+            _fileWriter.valueWritten();
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods for streaming contexts
+    /**********************************************************
+     */
+
+    protected AvroWriteContext createArrayContext(AvroWriteContext parent,
+            Schema schema, Object currValue, Encoder out) throws IOException
+    {
+        if (schema.getType() == Type.UNION) {
+            int ix = schema.getIndexNamed(Type.ARRAY.getName());
+            if (ix < 0) {
+                throw new IllegalStateException("No Array type found in union type: "+schema);
+            }
+            out.writeIndex(ix);
+            schema = schema.getTypes().get(ix);
+        }
+        if (schema.getType() != Type.ARRAY) {
+            throw new IllegalStateException("Can not write START_ARRAY; schema type is "
+                    +schema.getType());
+        }
+        return new StreamingArrayContext(parent, _generator, this, schema, currValue, out);
+    }
+
+    protected AvroWriteContext createObjectContext(AvroWriteContext parent,
+            Schema schema, Object currValue, Encoder out) throws IOException
+    {
+        if (schema.getType() == Type.UNION) {
+            // Resolution same as with `_createObjectContext()`
+            Schema match;
+            if (currValue == null) {
+                match = _recordOrMapFromUnion(schema);
+            } else {
+                try {
+                    match = resolveUnionSchema(schema, currValue);
+                } catch (UnresolvedUnionException e) {
+                    match = _recordOrMapFromUnion(schema);
+                }
+            }
+            out.writeIndex(_unionIndex(schema, match));
+            schema = match;
+        }
+        switch (schema.getType()) {
+        case RECORD:
+            return new StreamingRecordContext(parent, _generator, this, schema, currValue, out);
+        case MAP:
+            return new StreamingMapContext(parent, _generator, this, schema, currValue, out);
+        default:
+        }
+        throw new IllegalStateException("Can not write START_OBJECT; schema type is "
+                +schema.getType());
+    }
+
+    protected void writeScalar(Schema schema, Object value, Encoder out) throws IOException {
+        _writer.write(schema, value, out);
+    }
+
+    protected EncodingBuffer claimBuffer() {
+        final int count = _buffers.size();
+        if (count > 0) {
+            return _buffers.remove(count-1);
+        }
+        return new EncodingBuffer();
+    }
+
+    protected void releaseBuffer(EncodingBuffer buffer) {
+        buffer.reset();
+        if ((_buffers.size() < MAX_POOLED_BUFFERS)
+                && (buffer.capacity() <= MAX_POOLED_BUFFER_SIZE)) {
+            _buffers.add(buffer);
+        }
+    }
+
+    private static int _unionIndex(Schema unionSchema, Schema match)
+    {
+        final List<Schema> types = unionSchema.getTypes();
+        for (int i = 0, size = types.size(); i < size; ++i) {
+            if (types.get(i) == match) {
+                return i;
+            }
+        }
+        // should not occur, but just in case identity does not hold
+        int ix = types.indexOf(match);
+        if (ix < 0) {
+            throw new IllegalStateException("Type "+match+" not found in union type: "+unionSchema);
+        }
+        return ix;
+    }
+}
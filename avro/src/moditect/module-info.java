@@ -3,11 +3,14 @@ module com.fasterxml.jackson.dataformat.avro {
     requires transitive com.fasterxml.jackson.annotation;
     requires com.fasterxml.jackson.core;
     requires com.fasterxml.jackson.databind;
+    requires com.fasterxml.jackson.dataformat.binary;
 
     // silly avro Apache impl, its deps:
     requires static avro;
     requires static jackson.core.asl;
     requires static jackson.mapper.asl;
+    // for "snappy" container file codec
+    requires static snappy.java;
 
     exports com.fasterxml.jackson.dataformat.avro;
     exports com.fasterxml.jackson.dataformat.avro.apacheimpl;
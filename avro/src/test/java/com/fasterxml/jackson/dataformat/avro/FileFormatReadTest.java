@@ -0,0 +1,320 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.avro.Schema;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.ObjectReadContext;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Tests for reading Avro Object Container Files, enabled with
+ * {@link AvroParser.Feature#AVRO_FILE_INPUT}.
+ */
+public class FileFormatReadTest extends AvroTestBase
+{
+    private final static int RECORD_COUNT = 500;
+
+    private final AvroMapper MAPPER = getMapper();
+
+    public void testReadWithNullCodec() throws Exception {
+        _testRead(CodecFactory.nullCodec());
+    }
+
+    public void testReadWithDeflateCodec() throws Exception {
+        _testRead(CodecFactory.deflateCodec(6));
+    }
+
+    public void testReadWithSnappyCodec() throws Exception {
+        _testRead(CodecFactory.snappyCodec());
+    }
+
+    public void testReadWithReaderSchema() throws Exception
+    {
+        byte[] doc = _writeFile(CodecFactory.deflateCodec(1));
+        // Reader schema without 'emails' (and with different order of fields)
+        AvroSchema readerSchema = MAPPER.schemaFrom(aposToQuotes("{\n"
+                +"'type': 'record',\n"
+                +"'name': 'Employee',\n"
+                +"'fields': [\n"
+                +" {'name': 'age', 'type': 'int'},\n"
+                +" {'name': 'name', 'type': 'string'},\n"
+                +" {'name': 'boss', 'type': ['Employee','null']}\n"
+                +"]}"));
+        MappingIterator<Employee> it = MAPPER.readerFor(Employee.class)
+                .with(AvroParser.Feature.AVRO_FILE_INPUT)
+                .with(readerSchema)
+                .readValues(doc);
+        int count = 0;
+        while (it.hasNextValue()) {
+            Employee empl = it.nextValue();
+            assertEquals("Empl"+count, empl.name);
+            assertEquals(count, empl.age);
+            assertNull(empl.emails);
+            ++count;
+        }
+        it.close();
+        assertEquals(RECORD_COUNT, count);
+    }
+
+    public void testReadOwnFileOutput() throws Exception
+    {
+        ObjectMapper writeMapper = AvroMapper.builder()
+                .enable(AvroGenerator.Feature.AVRO_FILE_OUTPUT)
+                .build();
+        Employee input = new Employee("Bob", 39, new String[] { "bob@aol.com" },
+                new Employee("Boss", 50, new String[0], null));
+        byte[] doc = writeMapper.writer(getEmployeeSchema()).writeValueAsBytes(input);
+
+        // first, with no schema (writer schema from header used)
+        Employee result = MAPPER.readerFor(Employee.class)
+                .with(AvroParser.Feature.AVRO_FILE_INPUT)
+                .readValue(doc);
+        assertEquals("Bob", result.name);
+        assertEquals(39, result.age);
+        assertEquals(Arrays.asList(input.emails), Arrays.asList(result.emails));
+        assertEquals("Boss", result.boss.name);
+        assertNull(result.boss.boss);
+
+        // then with the same schema, with Apache decoder configured (should not matter)
+        AvroMapper apacheMapper = new AvroMapper(AvroFactory.builderWithApacheDecoder().build());
+        result = apacheMapper.readerFor(Employee.class)
+                .with(AvroParser.Feature.AVRO_FILE_INPUT)
+                .with(getEmployeeSchema())
+                .readValue(new ByteArrayInputStream(doc));
+        assertEquals("Bob", result.name);
+        assertEquals("Boss", result.boss.name);
+    }
+
+    public void testEmptyFile() throws Exception
+    {
+        byte[] doc = _writeFile(CodecFactory.nullCodec(), 0);
+        MappingIterator<Employee> it = MAPPER.readerFor(Employee.class)
+                .with(AvroParser.Feature.AVRO_FILE_INPUT)
+                .readValues(doc);
+        assertFalse(it.hasNextValue());
+        it.close();
+    }
+
+    public void testInvalidSyncMarker() throws Exception
+    {
+        byte[] doc = _writeFile(CodecFactory.nullCodec());
+        // sync marker is the last thing in the file, so:
+        doc[doc.length-1] ^= 0x55;
+        MappingIterator<Employee> it = MAPPER.readerFor(Employee.class)
+                .with(AvroParser.Feature.AVRO_FILE_INPUT)
+                .readValues(doc);
+        try {
+            while (it.hasNextValue()) {
+                it.nextValue();
+            }
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "sync marker");
+        }
+    }
+
+    public void testInvalidHeader() throws Exception
+    {
+        byte[] doc = getMapper().writer(getEmployeeSchema())
+                .writeValueAsBytes(new Employee("Bob", 39, new String[0], null));
+        try {
+            MAPPER.readerFor(Employee.class)
+                .with(AvroParser.Feature.AVRO_FILE_INPUT)
+                .readValue(doc);
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "Invalid Avro Object Container File header");
+        }
+    }
+
+    public void testParallelStreamFromBuffer() throws Exception
+    {
+        byte[] doc = _writeFile(CodecFactory.deflateCodec(3));
+        // Direct buffer to mimic memory-mapped file
+        ByteBuffer buffer = ByteBuffer.allocateDirect(doc.length);
+        buffer.put(doc);
+        buffer.flip();
+
+        Spliterator<Employee> it = MAPPER.fileValueSpliterator(MAPPER.constructType(Employee.class),
+                null, buffer);
+        assertEquals(RECORD_COUNT, it.estimateSize());
+        assertNotNull(it.trySplit());
+
+        List<Employee> result = MAPPER.readFileValues(Employee.class, buffer, true)
+                .collect(Collectors.toList());
+        _verifyEmployees(result);
+    }
+
+    // Heap buffer, decoded in place; and declared counts that do not match contents
+    public void testStreamWithInvalidCount() throws Exception
+    {
+        final byte[] doc = _writeFile(CodecFactory.nullCodec(), 3);
+        List<Employee> result = MAPPER.readFileValues(Employee.class, ByteBuffer.wrap(doc), false)
+                .collect(Collectors.toList());
+        assertEquals(3, result.size());
+        assertEquals("Empl2", result.get(2).name);
+
+        // single block, right after header which ends with sync marker (as does file)
+        final byte[] sync = Arrays.copyOfRange(doc, doc.length - 16, doc.length);
+        int countOffset = 0;
+        while (!Arrays.equals(sync, Arrays.copyOfRange(doc, countOffset, countOffset + 16))) {
+            ++countOffset;
+        }
+        countOffset += 16;
+        assertEquals(6, doc[countOffset]); // zigzag-encoded 3
+
+        for (int count : new int[] { 2, 4 }) {
+            byte[] invalid = Arrays.copyOf(doc, doc.length);
+            invalid[countOffset] = (byte) (count << 1);
+            try {
+                MAPPER.readFileValues(Employee.class, ByteBuffer.wrap(invalid), false)
+                    .collect(Collectors.toList());
+                fail("Should not pass");
+            } catch (Exception e) {
+                verifyException(e, "than declared count ("+count+")");
+            }
+        }
+    }
+
+    public void testParallelStreamFromFile() throws Exception
+    {
+        File f = File.createTempFile("test", ".avro");
+        f.deleteOnExit();
+        try (FileOutputStream out = new FileOutputStream(f)) {
+            out.write(_writeFile(CodecFactory.snappyCodec()));
+        }
+        try (Stream<Employee> stream = MAPPER.readFileValues(Employee.class, f, true)) {
+            _verifyEmployees(stream.collect(Collectors.toList()));
+        }
+        // and count of unordered, too
+        try (Stream<Employee> stream = MAPPER.readFileValues(Employee.class, f, true)) {
+            assertEquals(RECORD_COUNT, stream.unordered().filter(e -> e.name.startsWith("Empl")).count());
+        }
+        f.delete();
+    }
+
+    public void testReadFromMappedFile() throws Exception
+    {
+        Path path = File.createTempFile("test", ".avro").toPath();
+        try {
+            Files.write(path, _writeFile(CodecFactory.deflateCodec(3)));
+            AvroFactory f = AvroFactory.builderWithNativeDecoder()
+                    .enable(AvroParser.Feature.AVRO_FILE_INPUT)
+                    .build();
+            AvroMapper mapper = new AvroMapper(f);
+            List<Employee> result = new ArrayList<>();
+            try (JsonParser p = f.createParser(ObjectReadContext.empty(), path)) {
+                while (p.nextToken() != null) {
+                    result.add(mapper.readValue(p, Employee.class));
+                }
+            }
+            _verifyEmployees(result);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private void _verifyEmployees(List<Employee> values) throws Exception
+    {
+        assertEquals(RECORD_COUNT, values.size());
+        for (int i = 0; i < RECORD_COUNT; ++i) {
+            Employee empl = values.get(i);
+            assertEquals("Empl"+i, empl.name);
+            assertEquals(i, empl.age);
+            assertEquals(i % 3, empl.emails.length);
+        }
+    }
+
+    private void _testRead(CodecFactory codec) throws Exception
+    {
+        byte[] doc = _writeFile(codec);
+        final ObjectReader r = MAPPER.readerFor(Employee.class)
+                .with(AvroParser.Feature.AVRO_FILE_INPUT);
+        _verifyEmployees(r.readValues(doc));
+        _verifyEmployees(r.readValues(new ByteArrayInputStream(doc)));
+    }
+
+    private void _verifyEmployees(MappingIterator<Employee> it) throws Exception
+    {
+        int count = 0;
+        while (it.hasNextValue()) {
+            Employee empl = it.nextValue();
+            assertEquals("Empl"+count, empl.name);
+            assertEquals(count, empl.age);
+            assertEquals(count % 3, empl.emails.length);
+            if ((count & 1) == 0) {
+                assertNull(empl.boss);
+            } else {
+                assertEquals("Boss"+count, empl.boss.name);
+            }
+            ++count;
+        }
+        it.close();
+        assertEquals(RECORD_COUNT, count);
+    }
+
+    private byte[] _writeFile(CodecFactory codec) throws Exception {
+        return _writeFile(codec, RECORD_COUNT);
+    }
+
+    private byte[] _writeFile(CodecFactory codec, int recordCount) throws Exception
+    {
+        final Schema schema = getEmployeeSchema().getAvroSchema();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataFileWriter<GenericRecord> w = new DataFileWriter<GenericRecord>(
+                new GenericDatumWriter<GenericRecord>(schema));
+        // small sync interval to get multiple blocks
+        w.setCodec(codec);
+        w.setSyncInterval(1000);
+        w.create(schema, bytes);
+        for (int i = 0; i < recordCount; ++i) {
+            GenericRecord empl = _employee(schema, "Empl"+i, i, i % 3);
+            if ((i & 1) != 0) {
+                empl.put("boss", _employee(schema, "Boss"+i, 60, 1));
+            }
+            w.append(empl);
+        }
+        w.close();
+        return bytes.toByteArray();
+    }
+
+    private GenericRecord _employee(Schema schema, String name, int age, int emailCount)
+    {
+        GenericRecord empl = new GenericData.Record(schema);
+        empl.put("name", name);
+        empl.put("age", age);
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < emailCount; ++i) {
+            emails.add(name+"@domain"+i+".com");
+        }
+        empl.put("emails", emails);
+        return empl;
+    }
+}
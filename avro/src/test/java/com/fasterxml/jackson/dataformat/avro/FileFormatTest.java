@@ -1,5 +1,11 @@
 package com.fasterxml.jackson.dataformat.avro;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
 import org.apache.avro.file.DataFileReader;
 import org.apache.avro.file.SeekableByteArrayInput;
 import org.apache.avro.generic.GenericDatumReader;
@@ -7,6 +13,8 @@ import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.DatumReader;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.binary.io.ChannelOutputStream;
 
 // for [dataformats-binary#15]
 public class FileFormatTest extends AvroTestBase
@@ -43,4 +51,84 @@ public class FileFormatTest extends AvroTestBase
         assertNotNull(output);
         assertEquals(output.get("name").toString(), empl.name);
     }
+
+    // All root values should go in the same file, in blocks
+    public void testFileFormatSequenceOutput() throws Exception
+    {
+        _testFileFormatSequenceOutput(AvroFactory.builderWithNativeDecoder()
+                .fileOutputBlockSize(500)
+                .build());
+        _testFileFormatSequenceOutput(AvroFactory.builderWithNativeDecoder()
+                .fileOutputBlockSize(500)
+                .fileOutputCodec(AvroCodec.DeflateCodec.instance)
+                .enable(AvroGenerator.Feature.AVRO_STREAMING_ENCODING)
+                .build());
+        _testFileFormatSequenceOutput(AvroFactory.builderWithNativeDecoder()
+                .fileOutputCodec(AvroCodec.SnappyCodec.instance)
+                .build());
+    }
+
+    private void _testFileFormatSequenceOutput(AvroFactory af) throws Exception
+    {
+        ObjectMapper mapper = new ObjectMapper(af.rebuild()
+                .configure(AvroGenerator.Feature.AVRO_FILE_OUTPUT, true).build());
+        AvroSchema schema = getEmployeeSchema();
+        final int count = 200;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SequenceWriter w = mapper.writer(schema).writeValues(bytes);
+        for (int i = 0; i < count; ++i) {
+            w.write(new Employee("Empl"+i, i, new String[] { "empl"+i+"@foo.com" }, null));
+        }
+        w.close();
+
+        DatumReader<GenericRecord> datumReader = new GenericDatumReader<GenericRecord>(schema.getAvroSchema());
+        DataFileReader<GenericRecord> dataFileReader = new DataFileReader<GenericRecord>(
+                new SeekableByteArrayInput(bytes.toByteArray()), datumReader);
+        int i = 0;
+        while (dataFileReader.hasNext()) {
+            GenericRecord output = dataFileReader.next();
+            assertEquals("Empl"+i, output.get("name").toString());
+            assertEquals(Integer.valueOf(i), output.get("age"));
+            ++i;
+        }
+        dataFileReader.close();
+        assertEquals(count, i);
+    }
+
+    // Blocks written to a channel should use gathering writes, but produce same file
+    public void testFileFormatChannelOutput() throws Exception
+    {
+        AvroFactory af = AvroFactory.builderWithNativeDecoder()
+                .fileOutputBlockSize(500)
+                .enable(AvroGenerator.Feature.AVRO_FILE_OUTPUT)
+                .build();
+        ObjectMapper mapper = new ObjectMapper(af);
+        AvroSchema schema = getEmployeeSchema();
+        final int count = 100;
+
+        File f = File.createTempFile("avro-channel", ".avro");
+        try {
+            try (FileChannel ch = FileChannel.open(f.toPath(), StandardOpenOption.WRITE)) {
+                SequenceWriter w = mapper.writer(schema).writeValues(new ChannelOutputStream(ch));
+                for (int i = 0; i < count; ++i) {
+                    w.write(new Employee("Empl"+i, i, new String[] { "empl"+i+"@foo.com" }, null));
+                }
+                w.close();
+            }
+            DatumReader<GenericRecord> datumReader = new GenericDatumReader<GenericRecord>(schema.getAvroSchema());
+            DataFileReader<GenericRecord> dataFileReader = new DataFileReader<GenericRecord>(
+                    new SeekableByteArrayInput(Files.readAllBytes(f.toPath())), datumReader);
+            int i = 0;
+            while (dataFileReader.hasNext()) {
+                GenericRecord output = dataFileReader.next();
+                assertEquals("Empl"+i, output.get("name").toString());
+                ++i;
+            }
+            dataFileReader.close();
+            assertEquals(count, i);
+        } finally {
+            f.delete();
+        }
+    }
 }
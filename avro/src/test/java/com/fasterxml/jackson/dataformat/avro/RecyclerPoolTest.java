@@ -0,0 +1,77 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.binary.util.RecyclerPool;
+import com.fasterxml.jackson.dataformat.binary.util.RecyclerPools;
+
+/**
+ * Tests for recycling of Apache Avro encoders and decoders using pools
+ * configured with {@link AvroFactoryBuilder#recyclerPool}.
+ */
+public class RecyclerPoolTest extends AvroTestBase
+{
+    /**
+     * Provider that wraps another one, keeping track of number of recyclers created.
+     */
+    @SuppressWarnings("serial")
+    static class CountingProvider implements RecyclerPool.Provider
+    {
+        final RecyclerPool.Provider _delegate;
+
+        final AtomicInteger created = new AtomicInteger();
+
+        CountingProvider(RecyclerPool.Provider delegate) {
+            _delegate = delegate;
+        }
+
+        @Override
+        public <P> RecyclerPool<P> createPool(Supplier<P> creator) {
+            return _delegate.createPool(() -> {
+                created.incrementAndGet();
+                return creator.get();
+            });
+        }
+    }
+
+    public void testThreadLocalPool() throws Exception {
+        assertEquals(1, _testRoundTrips(RecyclerPools.threadLocal()));
+    }
+
+    public void testSharedPool() throws Exception {
+        assertEquals(1, _testRoundTrips(RecyclerPools.shared()));
+    }
+
+    public void testNonRecyclingPool() throws Exception {
+        assertTrue(_testRoundTrips(RecyclerPools.nonRecycling()) > 1);
+    }
+
+    public void testFactoryConfig() throws Exception
+    {
+        RecyclerPool.Provider provider = RecyclerPools.shared(4);
+        AvroFactory f = AvroFactory.builderWithApacheDecoder()
+                .recyclerPool(provider)
+                .build();
+        assertSame(provider, f.rebuild().recyclerPoolProvider());
+    }
+
+    // @return Number of recyclers created
+    private int _testRoundTrips(RecyclerPool.Provider pools) throws Exception
+    {
+        CountingProvider provider = new CountingProvider(pools);
+        ObjectMapper mapper = new AvroMapper(AvroFactory.builderWithApacheDecoder()
+                .recyclerPool(provider)
+                .build());
+        final AvroSchema schema = getEmployeeSchema();
+        for (int i = 0; i < 5; ++i) {
+            Employee input = new Employee("Empl"+i, i, new String[] { "empl"+i+"@foo.com" }, null);
+            byte[] doc = mapper.writer(schema).writeValueAsBytes(input);
+            Employee result = mapper.readerFor(Employee.class).with(schema).readValue(doc);
+            assertEquals(input.name, result.name);
+            assertEquals(input.age, result.age);
+        }
+        return provider.created.get();
+    }
+}
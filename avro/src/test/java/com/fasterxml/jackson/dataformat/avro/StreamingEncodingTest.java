@@ -0,0 +1,168 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.ByteArrayOutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Tests to verify that "streaming" encoding (see
+ * {@link AvroGenerator.Feature#AVRO_STREAMING_ENCODING}) produces
+ * content equivalent to the default, {@code GenericRecord}-based encoding.
+ */
+public class StreamingEncodingTest extends AvroTestBase
+{
+    // Fields in reverse order compared to schema, to force buffering
+    @JsonPropertyOrder({ "boss", "emails", "age", "name" })
+    static class ReversedEmployee extends Employee {
+        public ReversedEmployee() { }
+        public ReversedEmployee(String n, int a, String[] e, Employee b) {
+            super(n, a, e, b);
+        }
+    }
+
+    private final AvroMapper DEFAULT_MAPPER = getMapper();
+
+    private final AvroMapper STREAMING_MAPPER = AvroMapper.builder()
+            .enable(AvroGenerator.Feature.AVRO_STREAMING_ENCODING)
+            .build();
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testSameAsDefaultEncoding() throws Exception
+    {
+        final AvroSchema schema = getEmployeeSchema();
+        Employee boss = new Employee("Bossman", 55, new String[] { "boss@company.com" }, null);
+        Employee empl = new Employee("Bob", 39, new String[] { "bob@company.com", "bob@home.net" }, boss);
+
+        byte[] exp = DEFAULT_MAPPER.writer(schema).writeValueAsBytes(empl);
+        byte[] act = STREAMING_MAPPER.writer(schema).writeValueAsBytes(empl);
+        Assert.assertArrayEquals(exp, act);
+
+        // and verify that generator was actually in streaming mode
+        AvroGenerator g = (AvroGenerator) STREAMING_MAPPER.writer(schema)
+                .createGenerator(new ByteArrayOutputStream());
+        assertTrue(g.isEnabled(AvroGenerator.Feature.AVRO_STREAMING_ENCODING));
+        g.close();
+    }
+
+    public void testOutOfOrderFields() throws Exception
+    {
+        final AvroSchema schema = getEmployeeSchema();
+        Employee boss = new ReversedEmployee("Boss", 60, new String[0], null);
+        Employee empl = new ReversedEmployee("Joe", 28, new String[] { "joe@a.com" }, boss);
+
+        byte[] exp = DEFAULT_MAPPER.writer(schema).writeValueAsBytes(empl);
+        byte[] act = STREAMING_MAPPER.writer(schema).writeValueAsBytes(empl);
+        Assert.assertArrayEquals(exp, act);
+
+        Employee result = DEFAULT_MAPPER.readerFor(Employee.class).with(schema).readValue(act);
+        assertEquals("Joe", result.name);
+        assertEquals(28, result.age);
+        Assert.assertArrayEquals(empl.emails, result.emails);
+        assertNotNull(result.boss);
+        assertEquals("Boss", result.boss.name);
+        assertEquals(60, result.boss.age);
+        assertNull(result.boss.boss);
+    }
+
+    public void testMissingFields() throws Exception
+    {
+        final AvroSchema schema = getEmployeeSchema();
+        final ObjectMapper jsonMapper = new ObjectMapper();
+
+        // Missing nullable field is fine, encoded as null
+        ObjectNode root = (ObjectNode) jsonMapper.readTree(
+                aposToQuotes("{'age':5,'name':'Kid','emails':[]}"));
+        byte[] exp = DEFAULT_MAPPER.writer(schema).writeValueAsBytes(root);
+        byte[] act = STREAMING_MAPPER.writer(schema).writeValueAsBytes(root);
+        Assert.assertArrayEquals(exp, act);
+
+        // but non-nullable one not
+        root.remove("age");
+        try {
+            STREAMING_MAPPER.writer(schema).writeValueAsBytes(root);
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "non-nullable field 'age'");
+        }
+    }
+
+    public void testLargeArray() throws Exception
+    {
+        final AvroSchema schema = getStringArraySchema();
+        // big enough to require multiple blocks
+        final String[] input = new String[5000];
+        for (int i = 0; i < input.length; ++i) {
+            input[i] = "value #"+i;
+        }
+        byte[] bytes = STREAMING_MAPPER.writer(schema).writeValueAsBytes(input);
+        String[] result = DEFAULT_MAPPER.readerFor(String[].class).with(schema).readValue(bytes);
+        Assert.assertArrayEquals(input, result);
+    }
+
+    public void testMap() throws Exception
+    {
+        final AvroSchema schema = getStringMapSchema();
+        Map<String,String> input = new LinkedHashMap<>();
+        for (int i = 0; i < 1200; ++i) {
+            input.put("key"+i, generateAsciiString(i % 20));
+        }
+        byte[] bytes = STREAMING_MAPPER.writer(schema).writeValueAsBytes(input);
+        Map<String,String> result = DEFAULT_MAPPER.readerFor(new TypeReference<Map<String,String>>() { })
+                .with(schema).readValue(bytes);
+        assertEquals(input, result);
+    }
+
+    public void testRootSequence() throws Exception
+    {
+        final AvroSchema schema = getEmployeeSchema();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SequenceWriter w = STREAMING_MAPPER.writer(schema).writeValues(bytes);
+        w.write(new Employee("A", 1, new String[0], null));
+        w.write(new Employee("B", 2, new String[] { "b@b" }, null));
+        w.write(new Employee("C", 3, new String[0], new Employee("D", 4, new String[0], null)));
+        w.close();
+
+        MappingIterator<Employee> it = DEFAULT_MAPPER.readerFor(Employee.class).with(schema)
+                .readValues(bytes.toByteArray());
+        assertTrue(it.hasNextValue());
+        assertEquals("A", it.nextValue().name);
+        assertTrue(it.hasNextValue());
+        assertEquals("B", it.nextValue().name);
+        assertTrue(it.hasNextValue());
+        Employee last = it.nextValue();
+        assertEquals("C", last.name);
+        assertEquals("D", last.boss.name);
+        assertFalse(it.hasNextValue());
+        it.close();
+    }
+
+    public void testDuplicateField() throws Exception
+    {
+        final AvroSchema schema = getEmployeeSchema();
+        AvroGenerator g = (AvroGenerator) STREAMING_MAPPER.writer(schema)
+                .createGenerator(new ByteArrayOutputStream());
+        g.writeStartObject();
+        g.writeFieldName("name");
+        g.writeString("x");
+        try {
+            g.writeFieldName("name");
+            fail("Should not pass");
+        } catch (IllegalStateException e) {
+            verifyException(e, "Duplicate field 'name'");
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.apache.avro.io.BinaryEncoder;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.avro.AvroGenerator;
 
 public final class SerPerf extends PerfBase
 {
@@ -38,6 +39,8 @@ public final class SerPerf extends PerfBase
 
         final MediaItem item = buildItem();
         final ObjectWriter writer = itemWriter;
+        final ObjectWriter streamingWriter = itemWriter
+                .with(AvroGenerator.Feature.AVRO_STREAMING_ENCODING);
         final GenericRecord itemRecord = itemToRecord(item);
         final ObjectWriter jsonWriter = new ObjectMapper()
             .writerFor(MediaItem.class);
@@ -45,10 +48,10 @@ public final class SerPerf extends PerfBase
         while (true) {
 //            Thread.sleep(150L);
             ++i;
-            int round = (i % 3);
+            int round = (i % 4);
 
-            // override?
-            round = 0;
+            // override? (0 vs 3 to compare default and streaming encoding)
+            round = ((i & 1) == 0) ? 0 : 3;
 
             long curr = System.currentTimeMillis();
             int len;
@@ -71,6 +74,11 @@ public final class SerPerf extends PerfBase
                 len = testObjectSer(jsonWriter, item, REPS+REPS, result);
                 sum += len;
                 break;
+            case 3:
+                msg = "Serialize, Avro/Jackson/streaming";
+                len = testObjectSer(streamingWriter, item, REPS+REPS, result);
+                sum += len;
+                break;
             default:
                 throw new Error("Internal error");
             }
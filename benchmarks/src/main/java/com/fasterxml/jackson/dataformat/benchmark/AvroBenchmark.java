@@ -0,0 +1,57 @@
+package com.fasterxml.jackson.dataformat.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.avro.AvroFactory;
+import com.fasterxml.jackson.dataformat.avro.AvroFactoryBuilder;
+import com.fasterxml.jackson.dataformat.avro.AvroGenerator;
+import com.fasterxml.jackson.dataformat.avro.AvroMapper;
+import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+
+/**
+ * Benchmarks for Avro backend, comparing both decoder implementations:
+ * Jackson one ({@code JacksonAvroParserImpl}) and one based on
+ * Apache Avro lib ({@code ApacheAvroParserImpl}); and both generator
+ * encodings: default one that builds {@code GenericRecord}s, and
+ * streaming one ({@link AvroGenerator.Feature#AVRO_STREAMING_ENCODING}).
+ */
+public class AvroBenchmark extends BinaryFormatBenchmark
+{
+    @Param({ "jackson", "apache" })
+    public String decoder;
+
+    @Param({ "false", "true" })
+    public boolean streaming;
+
+    protected AvroSchema _schema;
+
+    @Override
+    protected ObjectMapper mapper() {
+        AvroFactoryBuilder b = "apache".equals(decoder)
+                ? AvroFactory.builderWithApacheDecoder()
+                : AvroFactory.builderWithNativeDecoder();
+        return new AvroMapper(b
+                .configure(AvroGenerator.Feature.AVRO_STREAMING_ENCODING, streaming)
+                .build());
+    }
+
+    @Override
+    protected ObjectReader reader(ObjectMapper mapper, Class<?> type) throws Exception {
+        return mapper.readerFor(type).with(_schema(mapper, type));
+    }
+
+    @Override
+    protected ObjectWriter writer(ObjectMapper mapper, Class<?> type) throws Exception {
+        return mapper.writerFor(type).with(_schema(mapper, type));
+    }
+
+    private AvroSchema _schema(ObjectMapper mapper, Class<?> type) throws Exception {
+        if (_schema == null) {
+            _schema = ((AvroMapper) mapper).schemaFor(type);
+        }
+        return _schema;
+    }
+}
@@ -0,0 +1,129 @@
+package com.fasterxml.jackson.dataformat.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Base class for per-format benchmarks: sets up reader, writer and encoded
+ * content for each {@link Dataset}, and defines benchmarks for
+ * streaming reads (all tokens, values decoded), data-binding reads and
+ * data-binding writes. Sub-classes only need to provide the mapper to use,
+ * and schema where format requires one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public abstract class BinaryFormatBenchmark
+{
+    @Param({ "MEDIA_ITEM", "WIDE_RECORD", "NUMERIC_ARRAYS", "LONG_STRINGS" })
+    public Dataset dataset;
+
+    protected Object _value;
+
+    protected byte[] _encoded;
+
+    protected ObjectReader _reader;
+
+    protected ObjectWriter _writer;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception
+    {
+        final ObjectMapper mapper = mapper();
+        final Class<?> type = dataset.valueType();
+        _value = dataset.create();
+        _reader = reader(mapper, type);
+        _writer = writer(mapper, type);
+        _encoded = _writer.writeValueAsBytes(_value);
+    }
+
+    /*
+    /**********************************************************************
+    /* Abstract methods, overridable defaults
+    /**********************************************************************
+     */
+
+    protected abstract ObjectMapper mapper() throws Exception;
+
+    protected ObjectReader reader(ObjectMapper mapper, Class<?> type) throws Exception {
+        return mapper.readerFor(type);
+    }
+
+    protected ObjectWriter writer(ObjectMapper mapper, Class<?> type) throws Exception {
+        return mapper.writerFor(type);
+    }
+
+    /*
+    /**********************************************************************
+    /* Benchmarks
+    /**********************************************************************
+     */
+
+    @Benchmark
+    public void readTokens(Blackhole bh) throws Exception
+    {
+        try (JsonParser p = _reader.createParser(_encoded)) {
+            consumeTokens(p, bh);
+        }
+    }
+
+    @Benchmark
+    public Object readPojo() throws Exception
+    {
+        return _reader.readValue(_encoded);
+    }
+
+    @Benchmark
+    public int writePojo() throws Exception
+    {
+        NopOutputStream out = new NopOutputStream();
+        _writer.writeValue(out, _value);
+        return out.size();
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    /**
+     * Helper method for iterating over all tokens parser exposes, accessing
+     * values (so that lazily decoded values are decoded too)
+     */
+    protected static void consumeTokens(JsonParser p, Blackhole bh) throws Exception
+    {
+        JsonToken t;
+        while ((t = p.nextToken()) != null) {
+            bh.consume(_tokenValue(p, t));
+        }
+    }
+
+    protected static Object _tokenValue(JsonParser p, JsonToken t) throws Exception
+    {
+        switch (t) {
+        case FIELD_NAME:
+            return p.currentName();
+        case VALUE_STRING:
+            return p.getText();
+        case VALUE_NUMBER_INT:
+        case VALUE_NUMBER_FLOAT:
+            return p.getNumberValue();
+        case VALUE_EMBEDDED_OBJECT:
+            return p.getEmbeddedObject();
+        default:
+            return t;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.fasterxml.jackson.dataformat.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * Benchmarks for {@code CBORParser} and {@code CBORGenerator}, with both
+ * indefinite-length (default) and definite-length
+ * ({@link CBORGenerator.Feature#WRITE_DEFINITE_LENGTHS}) Arrays and Objects.
+ */
+public class CBORBenchmark extends BinaryFormatBenchmark
+{
+    @Param({ "false", "true" })
+    public boolean definiteLengths;
+
+    @Override
+    protected ObjectMapper mapper() {
+        return new CBORMapper(CBORFactory.builder()
+                .configure(CBORGenerator.Feature.WRITE_DEFINITE_LENGTHS, definiteLengths)
+                .build());
+    }
+}
@@ -0,0 +1,205 @@
+package com.fasterxml.jackson.dataformat.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.core.FormatSchema;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.avro.AvroFactory;
+import com.fasterxml.jackson.dataformat.avro.AvroMapper;
+import com.fasterxml.jackson.dataformat.binary.util.RecyclerPools;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.ion.IonFactory;
+import com.fasterxml.jackson.dataformat.ion.IonObjectMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Benchmarks for concurrent use of a single mapper (per format) from many tasks,
+ * run either on a pool of platform threads or on virtual threads (one per task),
+ * to measure how buffer recycling scales with the number of threads.
+ * Score is the number of round-trips (read a value, write it back) per second;
+ * allocation rate is measured by running with GC profiler ({@code -prof gc}).
+ *<p>
+ * Every round-trip verifies that output matches the original content, and
+ * trial fails if any task produced different output or failed: this makes
+ * benchmark double as a stress test for thread-safety of recycling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConcurrentMapperBenchmark
+{
+    private final static int TASKS = 1000;
+
+    private final static int ROUND_TRIPS_PER_TASK = 10;
+
+    /**
+     * Format (and configuration of its recycling) to use.
+     */
+    public enum Format
+    {
+        CBOR {
+            @Override
+            public ObjectMapper mapper() { return new CBORMapper(); }
+        },
+        SMILE {
+            @Override
+            public ObjectMapper mapper() { return new SmileMapper(); }
+        },
+        SMILE_SHARED_POOL {
+            @Override
+            public ObjectMapper mapper() {
+                return new SmileMapper(SmileFactory.builder()
+                        .recyclerPool(RecyclerPools.shared())
+                        .build());
+            }
+        },
+        AVRO {
+            @Override
+            public ObjectMapper mapper() { return new AvroMapper(); }
+        },
+        AVRO_APACHE {
+            @Override
+            public ObjectMapper mapper() {
+                return new AvroMapper(AvroFactory.builderWithApacheDecoder().build());
+            }
+        },
+        AVRO_APACHE_SHARED_POOL {
+            @Override
+            public ObjectMapper mapper() {
+                return new AvroMapper(AvroFactory.builderWithApacheDecoder()
+                        .recyclerPool(RecyclerPools.shared())
+                        .build());
+            }
+        },
+        PROTOBUF {
+            @Override
+            public ObjectMapper mapper() { return new ProtobufMapper(); }
+        },
+        ION {
+            @Override
+            public ObjectMapper mapper() { return new IonObjectMapper(IonFactory.forBinaryWriters()); }
+        }
+        ;
+
+        public abstract ObjectMapper mapper();
+
+        public FormatSchema schema(ObjectMapper mapper, Class<?> type) throws Exception
+        {
+            if (mapper instanceof AvroMapper) {
+                return ((AvroMapper) mapper).schemaFor(type);
+            }
+            if (mapper instanceof ProtobufMapper) {
+                return ((ProtobufMapper) mapper).generateSchemaFor(type);
+            }
+            return null;
+        }
+    }
+
+    @Param
+    public Format format;
+
+    @Param
+    public ThreadMode threads;
+
+    @Param({ "MEDIA_ITEM", "WIDE_RECORD" })
+    public Dataset dataset;
+
+    protected ExecutorService _executor;
+
+    protected ObjectReader _reader;
+
+    protected ObjectWriter _writer;
+
+    protected byte[] _encoded;
+
+    protected final AtomicInteger _failures = new AtomicInteger();
+
+    protected volatile Throwable _firstFailure;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception
+    {
+        final ObjectMapper mapper = format.mapper();
+        final Class<?> type = dataset.valueType();
+        final FormatSchema schema = format.schema(mapper, type);
+        _reader = mapper.readerFor(type);
+        _writer = mapper.writerFor(type);
+        if (schema != null) {
+            _reader = _reader.with(schema);
+            _writer = _writer.with(schema);
+        }
+        _encoded = _writer.writeValueAsBytes(dataset.create());
+        _executor = threads.createExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception
+    {
+        _executor.shutdown();
+        _executor.awaitTermination(1, TimeUnit.MINUTES);
+        if (_failures.get() > 0) {
+            throw new IllegalStateException(_failures.get()+" round-trips failed, first: "+_firstFailure,
+                    _firstFailure);
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Benchmarks
+    /**********************************************************************
+     */
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS * ROUND_TRIPS_PER_TASK)
+    public void roundTrips() throws Exception
+    {
+        final CountDownLatch done = new CountDownLatch(TASKS);
+        for (int i = 0; i < TASKS; ++i) {
+            _executor.execute(() -> {
+                try {
+                    for (int j = 0; j < ROUND_TRIPS_PER_TASK; ++j) {
+                        _roundTrip();
+                    }
+                } catch (Throwable t) {
+                    _fail(t);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    protected void _roundTrip() throws Exception
+    {
+        Object value = _reader.readValue(_encoded);
+        byte[] result = _writer.writeValueAsBytes(value);
+        if (!Arrays.equals(_encoded, result)) {
+            _fail(new IllegalStateException("Round-trip output differs: "+result.length
+                    +" bytes, expected "+_encoded.length));
+        }
+    }
+
+    protected void _fail(Throwable t) {
+        if (_failures.getAndIncrement() == 0) {
+            _firstFailure = t;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.fasterxml.jackson.dataformat.benchmark;
+
+import com.fasterxml.jackson.dataformat.benchmark.model.*;
+
+/**
+ * Enumeration of shared data sets that all format benchmarks are run
+ * against, to allow comparisons both between formats and over time.
+ */
+public enum Dataset
+{
+    /**
+     * Small nested record with a bit of everything
+     */
+    MEDIA_ITEM(MediaItem.class) {
+        @Override
+        public Object create() { return MediaItem.buildItem(); }
+    },
+
+    /**
+     * Flat record with 40 properties
+     */
+    WIDE_RECORD(WideRecord.class) {
+        @Override
+        public Object create() { return new WideRecord(12345); }
+    },
+
+    /**
+     * Arrays of 1000 ints, longs and doubles
+     */
+    NUMERIC_ARRAYS(NumericArrays.class) {
+        @Override
+        public Object create() { return new NumericArrays(1000); }
+    },
+
+    /**
+     * Multi-kilobyte ASCII and non-ASCII Strings
+     */
+    LONG_STRINGS(LongStrings.class) {
+        @Override
+        public Object create() { return new LongStrings(16000); }
+    }
+    ;
+
+    private final Class<?> _valueType;
+
+    private Dataset(Class<?> valueType) {
+        _valueType = valueType;
+    }
+
+    public Class<?> valueType() { return _valueType; }
+
+    public abstract Object create();
+}
@@ -0,0 +1,17 @@
+package com.fasterxml.jackson.dataformat.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.ion.IonFactory;
+import com.fasterxml.jackson.dataformat.ion.IonObjectMapper;
+
+/**
+ * Benchmarks for {@code IonParser} and {@code IonGenerator}, using binary
+ * Ion encoding.
+ */
+public class IonBenchmark extends BinaryFormatBenchmark
+{
+    @Override
+    protected ObjectMapper mapper() {
+        return new IonObjectMapper(IonFactory.forBinaryWriters());
+    }
+}
@@ -0,0 +1,23 @@
+package com.fasterxml.jackson.dataformat.benchmark;
+
+import java.io.OutputStream;
+
+/**
+ * Output stream that just counts bytes written, to measure encoding
+ * without the overhead of copying content.
+ */
+public final class NopOutputStream extends OutputStream
+{
+    protected int size;
+
+    @Override
+    public void write(int b) { ++size; }
+
+    @Override
+    public void write(byte[] b) { size += b.length; }
+
+    @Override
+    public void write(byte[] b, int offset, int len) { size += len; }
+
+    public int size() { return size; }
+}
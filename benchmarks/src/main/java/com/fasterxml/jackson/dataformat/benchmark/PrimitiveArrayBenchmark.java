@@ -0,0 +1,188 @@
+package com.fasterxml.jackson.dataformat.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.benchmark.model.NumericArrays;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufParser;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.smile.SmileParser;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Benchmarks that compare bulk reads of primitive arrays (methods like
+ * {@code readIntArray()} of CBOR, Smile and Protobuf parsers) with reading
+ * same arrays token by token, both with streaming API and with data-binding
+ * (format mappers use bulk reads; plain {@link ObjectMapper} does not).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PrimitiveArrayBenchmark
+{
+    @Param({ "CBOR", "SMILE", "PROTOBUF" })
+    public String format;
+
+    @Param({ "1000", "100000" })
+    public int length;
+
+    protected byte[] _encoded;
+
+    protected ObjectReader _reader;
+
+    protected ObjectReader _plainReader;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception
+    {
+        final ObjectMapper mapper;
+        switch (format) {
+        case "CBOR":
+            mapper = new CBORMapper();
+            break;
+        case "SMILE":
+            mapper = new SmileMapper();
+            break;
+        default:
+            mapper = new ProtobufMapper();
+        }
+        // plain mapper does not register format module, so reads arrays token by token
+        final ObjectMapper plainMapper = new ObjectMapper(mapper.tokenStreamFactory());
+        ObjectReader r = mapper.readerFor(NumericArrays.class);
+        ObjectReader plainR = plainMapper.readerFor(NumericArrays.class);
+        ObjectWriter w = mapper.writerFor(NumericArrays.class);
+        if (mapper instanceof ProtobufMapper) {
+            ProtobufSchema schema = ((ProtobufMapper) mapper).generateSchemaFor(NumericArrays.class);
+            r = r.with(schema);
+            plainR = plainR.with(schema);
+            w = w.with(schema);
+        }
+        _reader = r;
+        _plainReader = plainR;
+        _encoded = w.writeValueAsBytes(new NumericArrays(length));
+    }
+
+    /*
+    /**********************************************************************
+    /* Benchmarks
+    /**********************************************************************
+     */
+
+    @Benchmark
+    public void readTokenByToken(Blackhole bh) throws Exception
+    {
+        try (JsonParser p = _reader.createParser(_encoded)) {
+            JsonToken t;
+            while ((t = p.nextToken()) != null) {
+                if (t == JsonToken.START_ARRAY) {
+                    bh.consume(_readArray(p));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void readBulk(Blackhole bh) throws Exception
+    {
+        try (JsonParser p = _reader.createParser(_encoded)) {
+            JsonToken t;
+            while ((t = p.nextToken()) != null) {
+                if (t == JsonToken.START_ARRAY) {
+                    bh.consume(_readArrayBulk(p));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Object readPojoTokenByToken() throws Exception
+    {
+        return _plainReader.readValue(_encoded);
+    }
+
+    @Benchmark
+    public Object readPojoBulk() throws Exception
+    {
+        return _reader.readValue(_encoded);
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    private static Object _readArray(JsonParser p) throws Exception
+    {
+        final String name = p.currentName();
+        if ("ints".equals(name)) {
+            int[] result = new int[16];
+            int count = 0;
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                if (count == result.length) {
+                    result = Arrays.copyOf(result, count + count);
+                }
+                result[count++] = p.getIntValue();
+            }
+            return result;
+        }
+        if ("longs".equals(name)) {
+            long[] result = new long[16];
+            int count = 0;
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                if (count == result.length) {
+                    result = Arrays.copyOf(result, count + count);
+                }
+                result[count++] = p.getLongValue();
+            }
+            return result;
+        }
+        double[] result = new double[16];
+        int count = 0;
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (count == result.length) {
+                result = Arrays.copyOf(result, count + count);
+            }
+            result[count++] = p.getDoubleValue();
+        }
+        return result;
+    }
+
+    private static Object _readArrayBulk(JsonParser p) throws Exception
+    {
+        final String name = p.currentName();
+        if (p instanceof CBORParser) {
+            CBORParser cp = (CBORParser) p;
+            if ("ints".equals(name)) {
+                return cp.readIntArray();
+            }
+            return "longs".equals(name) ? cp.readLongArray() : cp.readDoubleArray();
+        }
+        if (p instanceof SmileParser) {
+            SmileParser sp = (SmileParser) p;
+            if ("ints".equals(name)) {
+                return sp.readIntArray();
+            }
+            return "longs".equals(name) ? sp.readLongArray() : sp.readDoubleArray();
+        }
+        ProtobufParser pp = (ProtobufParser) p;
+        if ("ints".equals(name)) {
+            return pp.readIntArray();
+        }
+        return "longs".equals(name) ? pp.readLongArray() : pp.readDoubleArray();
+    }
+}
@@ -0,0 +1,38 @@
+package com.fasterxml.jackson.dataformat.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+
+/**
+ * Benchmarks for {@code ProtobufParser} and {@code ProtobufGenerator},
+ * using schemas generated from data set classes.
+ */
+public class ProtobufBenchmark extends BinaryFormatBenchmark
+{
+    protected ProtobufSchema _schema;
+
+    @Override
+    protected ObjectMapper mapper() {
+        return new ProtobufMapper();
+    }
+
+    @Override
+    protected ObjectReader reader(ObjectMapper mapper, Class<?> type) throws Exception {
+        return mapper.readerFor(type).with(_schema(mapper, type));
+    }
+
+    @Override
+    protected ObjectWriter writer(ObjectMapper mapper, Class<?> type) throws Exception {
+        return mapper.writerFor(type).with(_schema(mapper, type));
+    }
+
+    private ProtobufSchema _schema(ObjectMapper mapper, Class<?> type) throws Exception {
+        if (_schema == null) {
+            _schema = ((ProtobufMapper) mapper).generateSchemaFor(type);
+        }
+        return _schema;
+    }
+}
@@ -0,0 +1,61 @@
+package com.fasterxml.jackson.dataformat.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Benchmarks for {@code SmileParser} and {@code SmileGenerator}, as well
+ * as non-blocking (async) Smile parser, fed with whole content at once
+ * or in smaller chunks.
+ */
+public class SmileBenchmark extends BinaryFormatBenchmark
+{
+    // Chunk size roughly matching that of typical network reads
+    private final static int ASYNC_CHUNK_SIZE = 1000;
+
+    @Override
+    protected ObjectMapper mapper() {
+        return new SmileMapper();
+    }
+
+    @Benchmark
+    public void readTokensAsync(Blackhole bh) throws Exception
+    {
+        _readAsync(bh, _encoded.length);
+    }
+
+    @Benchmark
+    public void readTokensAsyncChunked(Blackhole bh) throws Exception
+    {
+        _readAsync(bh, ASYNC_CHUNK_SIZE);
+    }
+
+    private void _readAsync(Blackhole bh, int chunkSize) throws Exception
+    {
+        final byte[] doc = _encoded;
+        int offset = 0;
+        try (JsonParser p = _reader.createNonBlockingByteArrayParser()) {
+            ByteArrayFeeder feeder = (ByteArrayFeeder) p.getNonBlockingInputFeeder();
+            JsonToken t;
+            while ((t = p.nextToken()) != null) {
+                if (t == JsonToken.NOT_AVAILABLE) {
+                    if (offset == doc.length) {
+                        feeder.endOfInput();
+                    } else {
+                        int end = Math.min(doc.length, offset + chunkSize);
+                        feeder.feedInput(doc, offset, end);
+                        offset = end;
+                    }
+                    continue;
+                }
+                bh.consume(_tokenValue(p, t));
+            }
+        }
+    }
+}
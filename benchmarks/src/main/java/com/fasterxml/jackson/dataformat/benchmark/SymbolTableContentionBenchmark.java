@@ -0,0 +1,154 @@
+package com.fasterxml.jackson.dataformat.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Benchmarks for contention on shared root symbol tables of CBOR and Smile parsers,
+ * when documents with property names not yet seen are read concurrently: every parser
+ * that adds names to its child table merges them back to the root table on close.
+ * Number of distinct names controls how long tables keep growing (and merging);
+ * with the smallest setting tables are saturated quickly and benchmark measures
+ * steady-state lookups only.
+ *<p>
+ * Score is the number of documents read per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SymbolTableContentionBenchmark
+{
+    private final static int TASKS = 1000;
+
+    private final static int DOCS_PER_TASK = 10;
+
+    private final static int NAMES_PER_DOC = 20;
+
+    /**
+     * Number of distinct encoded documents to read; names are distributed over them
+     */
+    private final static int DOC_COUNT = 5000;
+
+    public enum Format
+    {
+        CBOR {
+            @Override
+            public ObjectMapper mapper() { return new CBORMapper(); }
+        },
+        SMILE {
+            @Override
+            public ObjectMapper mapper() { return new SmileMapper(); }
+        }
+        ;
+
+        public abstract ObjectMapper mapper();
+    }
+
+    @Param
+    public Format format;
+
+    @Param
+    public ThreadMode threads;
+
+    /**
+     * Total number of distinct property names over all documents
+     */
+    @Param({ "100", "100000" })
+    public int names;
+
+    protected ExecutorService _executor;
+
+    protected ObjectReader _reader;
+
+    protected byte[][] _docs;
+
+    protected final AtomicInteger _nextDoc = new AtomicInteger();
+
+    protected final AtomicInteger _failures = new AtomicInteger();
+
+    protected volatile Throwable _firstFailure;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception
+    {
+        final ObjectMapper mapper = format.mapper();
+        _reader = mapper.readerFor(Map.class);
+        _docs = new byte[DOC_COUNT][];
+        int nameIndex = 0;
+        for (int i = 0; i < DOC_COUNT; ++i) {
+            Map<String,Integer> doc = new LinkedHashMap<>();
+            for (int j = 0; j < NAMES_PER_DOC; ++j) {
+                doc.put("property"+nameIndex, j);
+                nameIndex = (nameIndex + 1) % names;
+            }
+            _docs[i] = mapper.writeValueAsBytes(doc);
+        }
+        _executor = threads.createExecutor();
+    }
+
+    /**
+     * Symbol tables are only flushed when full, so need to start with fresh
+     * ones to keep measuring merges of new names across iterations.
+     */
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        _reader = format.mapper().readerFor(Map.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception
+    {
+        _executor.shutdown();
+        _executor.awaitTermination(1, TimeUnit.MINUTES);
+        if (_failures.get() > 0) {
+            throw new IllegalStateException(_failures.get()+" reads failed, first: "+_firstFailure,
+                    _firstFailure);
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Benchmarks
+    /**********************************************************************
+     */
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS * DOCS_PER_TASK)
+    public void readNewNames() throws Exception
+    {
+        final CountDownLatch done = new CountDownLatch(TASKS);
+        for (int i = 0; i < TASKS; ++i) {
+            _executor.execute(() -> {
+                try {
+                    for (int j = 0; j < DOCS_PER_TASK; ++j) {
+                        byte[] doc = _docs[(_nextDoc.getAndIncrement() & 0x7FFFFFFF) % DOC_COUNT];
+                        Map<?,?> result = _reader.readValue(doc);
+                        if (result.size() != NAMES_PER_DOC) {
+                            throw new IllegalStateException("Read "+result.size()+" properties, expected "
+                                    +NAMES_PER_DOC);
+                        }
+                    }
+                } catch (Throwable t) {
+                    if (_failures.getAndIncrement() == 0) {
+                        _firstFailure = t;
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+}
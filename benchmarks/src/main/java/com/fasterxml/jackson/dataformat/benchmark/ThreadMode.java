@@ -0,0 +1,39 @@
+package com.fasterxml.jackson.dataformat.benchmark;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Kinds of threads concurrent benchmarks run tasks on.
+ */
+public enum ThreadMode
+{
+    /**
+     * Fixed-size pool of platform threads, two per available processor
+     */
+    PLATFORM {
+        @Override
+        public ExecutorService createExecutor() {
+            return Executors.newFixedThreadPool(2 * Runtime.getRuntime().availableProcessors());
+        }
+    },
+
+    /**
+     * New virtual thread for every task; requires Java 21 or later
+     */
+    VIRTUAL {
+        @Override
+        public ExecutorService createExecutor() {
+            // accessed dynamically, to allow building (and running other benchmarks) on Java 8
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Virtual threads not available: requires Java 21 or later", e);
+            }
+        }
+    }
+    ;
+
+    public abstract ExecutorService createExecutor();
+}
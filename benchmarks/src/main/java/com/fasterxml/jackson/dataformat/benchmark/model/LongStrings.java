@@ -0,0 +1,36 @@
+package com.fasterxml.jackson.dataformat.benchmark.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Record with a few long String values, both ASCII-only and ones with
+ * multi-byte UTF-8 characters, to measure text encoding and decoding.
+ */
+public class LongStrings
+{
+    public String ascii;
+    public String unicode;
+    public List<String> paragraphs;
+
+    public LongStrings() { }
+
+    public LongStrings(int length) {
+        ascii = _text(length, "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ");
+        unicode = _text(length, "Fran\u00E7ais, \u0420\u0443\u0441\u0441\u043A\u0438\u0439, \u65E5\u672C\u8A9E. ");
+        paragraphs = new ArrayList<String>();
+        for (int i = 0; i < 8; ++i) {
+            paragraphs.add(_text(length / 8, "Paragraph #"+i+": sed do eiusmod tempor. "));
+        }
+    }
+
+    private static String _text(int length, String chunk)
+    {
+        StringBuilder sb = new StringBuilder(length + chunk.length());
+        while (sb.length() < length) {
+            sb.append(chunk);
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+}
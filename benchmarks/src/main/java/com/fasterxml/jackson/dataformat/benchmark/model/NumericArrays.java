@@ -0,0 +1,27 @@
+package com.fasterxml.jackson.dataformat.benchmark.model;
+
+/**
+ * Record with long primitive arrays, to measure efficiency of number
+ * encoding and decoding (and array handling) without much else.
+ */
+public class NumericArrays
+{
+    public int[] ints;
+    public long[] longs;
+    public double[] doubles;
+
+    public NumericArrays() { }
+
+    public NumericArrays(int length) {
+        ints = new int[length];
+        longs = new long[length];
+        doubles = new double[length];
+        // mix of small and large, positive and negative values so that
+        // all variable-length encodings get exercised
+        for (int i = 0; i < length; ++i) {
+            ints[i] = ((i & 1) == 0) ? i : -(i * 131071);
+            longs[i] = (i * 0x1234567L) << (i & 31);
+            doubles[i] = i * 1.25 - (length / 2);
+        }
+    }
+}
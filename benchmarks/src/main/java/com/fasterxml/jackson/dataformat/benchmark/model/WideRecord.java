@@ -0,0 +1,95 @@
+package com.fasterxml.jackson.dataformat.benchmark.model;
+
+/**
+ * Flat record with relatively large number (40) of properties of different
+ * types, to stress property name handling (symbol tables, field name
+ * matching, field ids) more than value decoding.
+ */
+public class WideRecord
+{
+    public int i0;
+    public long l0;
+    public double d0;
+    public boolean b0;
+    public String s0;
+    public int i1;
+    public long l1;
+    public double d1;
+    public boolean b1;
+    public String s1;
+    public int i2;
+    public long l2;
+    public double d2;
+    public boolean b2;
+    public String s2;
+    public int i3;
+    public long l3;
+    public double d3;
+    public boolean b3;
+    public String s3;
+    public int i4;
+    public long l4;
+    public double d4;
+    public boolean b4;
+    public String s4;
+    public int i5;
+    public long l5;
+    public double d5;
+    public boolean b5;
+    public String s5;
+    public int i6;
+    public long l6;
+    public double d6;
+    public boolean b6;
+    public String s6;
+    public int i7;
+    public long l7;
+    public double d7;
+    public boolean b7;
+    public String s7;
+
+    public WideRecord() { }
+
+    public WideRecord(int seed) {
+        i0 = seed * 1 + 7;
+        l0 = seed * 1000003L + 31337L;
+        d0 = seed * 0.25 + 1.5;
+        b0 = ((seed + 0) & 1) == 0;
+        s0 = "value #0/" + seed;
+        i1 = seed * 2 + 14;
+        l1 = seed * 2000006L + 62674L;
+        d1 = seed * 0.25 + 2.5;
+        b1 = ((seed + 1) & 1) == 0;
+        s1 = "value #1/" + seed;
+        i2 = seed * 3 + 21;
+        l2 = seed * 3000009L + 94011L;
+        d2 = seed * 0.25 + 3.5;
+        b2 = ((seed + 2) & 1) == 0;
+        s2 = "value #2/" + seed;
+        i3 = seed * 4 + 28;
+        l3 = seed * 4000012L + 125348L;
+        d3 = seed * 0.25 + 4.5;
+        b3 = ((seed + 3) & 1) == 0;
+        s3 = "value #3/" + seed;
+        i4 = seed * 5 + 35;
+        l4 = seed * 5000015L + 156685L;
+        d4 = seed * 0.25 + 5.5;
+        b4 = ((seed + 4) & 1) == 0;
+        s4 = "value #4/" + seed;
+        i5 = seed * 6 + 42;
+        l5 = seed * 6000018L + 188022L;
+        d5 = seed * 0.25 + 6.5;
+        b5 = ((seed + 5) & 1) == 0;
+        s5 = "value #5/" + seed;
+        i6 = seed * 7 + 49;
+        l6 = seed * 7000021L + 219359L;
+        d6 = seed * 0.25 + 7.5;
+        b6 = ((seed + 6) & 1) == 0;
+        s6 = "value #6/" + seed;
+        i7 = seed * 8 + 56;
+        l7 = seed * 8000024L + 250696L;
+        d7 = seed * 0.25 + 8.5;
+        b7 = ((seed + 7) & 1) == 0;
+        s7 = "value #7/" + seed;
+    }
+}
@@ -91,6 +91,57 @@ public final class CBORConstants
     public final static int TAG_BIGNUM_NEG = 3;
     public final static int TAG_DECIMAL_FRACTION = 4;
     public final static int TAG_BIGFLOAT = 5;
+
+    /**
+     * Tag for a reference to a String seen earlier within current "stringref"
+     * namespace.
+     *
+     * @since 3.0
+     */
+    public final static int TAG_STRINGREF = 25;
+
+    /**
+     * Tag that starts a new "stringref" namespace, covering the tagged value.
+     *
+     * @since 3.0
+     */
+    public final static int TAG_STRINGREF_NAMESPACE = 256;
+
+    /**
+     * Lowest tag id used for typed arrays, as per RFC 8746: tags from 64 to 87
+     * (inclusive) indicate a byte string that contains packed elements, with
+     * 5 lowest bits indicating type of elements (float or integer, signedness,
+     * endianness and element length).
+     *
+     * @since 3.0
+     */
+    public final static int TAG_TYPED_ARRAY_MIN = 64;
+
+    /**
+     * @since 3.0
+     */
+    public final static int TAG_TYPED_ARRAY_MAX = 87;
+
+    /**
+     * Typed array of big-endian signed 32-bit integers.
+     *
+     * @since 3.0
+     */
+    public final static int TAG_TYPED_ARRAY_SINT32_BE = 74;
+
+    /**
+     * Typed array of big-endian signed 64-bit integers.
+     *
+     * @since 3.0
+     */
+    public final static int TAG_TYPED_ARRAY_SINT64_BE = 75;
+
+    /**
+     * Typed array of big-endian 64-bit IEEE 754 floating-point values.
+     *
+     * @since 3.0
+     */
+    public final static int TAG_TYPED_ARRAY_FLOAT64_BE = 82;
     
     public final static byte BYTE_TAG_BIGNUM_POS = (byte) (PREFIX_TYPE_TAG + TAG_BIGNUM_POS);
     public final static byte BYTE_TAG_BIGNUM_NEG = (byte) (PREFIX_TYPE_TAG + TAG_BIGNUM_NEG);
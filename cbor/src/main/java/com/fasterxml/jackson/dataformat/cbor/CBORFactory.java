@@ -1,6 +1,8 @@
 package com.fasterxml.jackson.dataformat.cbor;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Locale;
 
@@ -12,6 +14,10 @@ import com.fasterxml.jackson.core.sym.ByteQuadsCanonicalizer;
 import com.fasterxml.jackson.core.sym.FieldNameMatcher;
 import com.fasterxml.jackson.core.util.Named;
 
+import com.fasterxml.jackson.dataformat.binary.io.ByteBufferOutputStream;
+import com.fasterxml.jackson.dataformat.binary.io.MappedFileInputStream;
+import com.fasterxml.jackson.dataformat.cbor.async.NonBlockingByteArrayParser;
+
 /**
  * Factory used for constructing {@link CBORParser} and {@link CBORGenerator}
  * instances; both of which handle
@@ -154,10 +160,7 @@ public class CBORFactory
     }
 
     @Override
-    public boolean canParseAsync() {
-        // 30-Sep-2017, tatu: No async implementation exists yet
-        return false;
-    }
+    public boolean canParseAsync() { return true; }
 
     /*
     /**********************************************************************
@@ -199,6 +202,109 @@ public class CBORFactory
         return f.enabledIn(_formatWriteFeatures);
     }
 
+    /*
+    /**********************************************************************
+    /* Extended API: async
+    /**********************************************************************
+     */
+
+    @Override
+    public NonBlockingByteArrayParser createNonBlockingByteArrayParser(ObjectReadContext readCtxt)
+            throws IOException
+    {
+        ByteQuadsCanonicalizer can = _byteSymbolCanonicalizer.makeChild(_factoryFeatures);
+        return new NonBlockingByteArrayParser(readCtxt, _createContext(null, false),
+                readCtxt.getStreamReadFeatures(_streamReadFeatures),
+                readCtxt.getFormatReadFeatures(_formatReadFeatures),
+                can);
+    }
+
+    /*
+    /**********************************************************************
+    /* Extended API: ByteBuffer output
+    /**********************************************************************
+     */
+
+    /**
+     * Factory method for constructing generator that writes encoded content
+     * into given {@link ByteBuffer} (heap or direct), starting at its current
+     * position; if buffer fills up, {@link java.nio.BufferOverflowException}
+     * is thrown. Content is only guaranteed to be in buffer after generator
+     * has been flushed or closed.
+     *
+     * @since 3.0
+     */
+    public CBORGenerator createGenerator(ObjectWriteContext writeCtxt, ByteBuffer target)
+        throws IOException
+    {
+        return createGenerator(writeCtxt, new ByteBufferOutputStream(target));
+    }
+
+    /**
+     * Factory method for constructing generator that writes encoded content
+     * using given {@link ByteBufferOutputStream}, to allow handling of overflow
+     * by draining buffer, or by using a chain of (pooled) buffers.
+     *
+     * @since 3.0
+     */
+    public CBORGenerator createGenerator(ObjectWriteContext writeCtxt, ByteBufferOutputStream out)
+        throws IOException
+    {
+        return (CBORGenerator) _createGenerator(writeCtxt, _createContext(out, false), out);
+    }
+
+    /*
+    /**********************************************************************
+    /* Extended API: memory-mapped input
+    /**********************************************************************
+     */
+
+    /**
+     * Factory method for constructing parser that reads contents of given file
+     * by memory-mapping it (see {@link MappedFileInputStream}), instead of
+     * reading it using {@link FileInputStream}: this avoids system calls for
+     * reads, which is beneficial for (large) local files.
+     *<p>
+     * Note that parser does not decode content directly from mapped memory:
+     * content is still copied into parser's input buffer, once per buffer refill.
+     *
+     * @since 3.0
+     */
+    public CBORParser createParser(ObjectReadContext readCtxt, Path path) throws IOException
+    {
+        // true, since we create InputStream from Path
+        IOContext ioCtxt = _createContext(path, true);
+        InputStream in = new MappedFileInputStream(path);
+        return _createParser(readCtxt, ioCtxt, _decorate(ioCtxt, in));
+    }
+
+    /*
+    /**********************************************************************
+    /* Extended API: structural index
+    /**********************************************************************
+     */
+
+    /**
+     * Factory method for constructing {@link CBORIndex} for the CBOR document
+     * in given byte array: index records locations of all values in document
+     * with a single pass over encoded headers, and allows locating values
+     * with {@link JsonPointer}s, and constructing parsers for reading them,
+     * without decoding unrelated content. Contents of array must not be
+     * modified while index is in use.
+     *
+     * @since 3.0
+     */
+    public CBORIndex createIndex(byte[] data, int offset, int len) throws IOException {
+        return new CBORIndex(this, data, offset, len);
+    }
+
+    /**
+     * @since 3.0
+     */
+    public CBORIndex createIndex(byte[] data) throws IOException {
+        return createIndex(data, 0, data.length);
+    }
+
     /*
     /**********************************************************************
     /* Parser factory methods
@@ -1,9 +1,11 @@
 package com.fasterxml.jackson.dataformat.cbor;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.io.*;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.base.GeneratorBase;
@@ -60,7 +62,68 @@ public class CBORGenerator extends GeneratorBase
          * Default value is <code>false</code> meaning that type tag will not be
          * written at the beginning of a new document.
          */
-        WRITE_TYPE_HEADER(false), ;
+        WRITE_TYPE_HEADER(false),
+
+        /**
+         * Feature that determines whether generator should use "stringref"
+         * extension (see <a href="http://cbor.schmorp.de/stringref">stringref spec</a>)
+         * to avoid repeating String values and field names: if enabled, each root-level
+         * Array and Object is tagged to start a new namespace
+         * ({@link CBORConstants#TAG_STRINGREF_NAMESPACE}), within which Strings written
+         * again are replaced by references ({@link CBORConstants#TAG_STRINGREF})
+         * to their first occurrence. Root-level scalar values are never replaced.
+         *<p>
+         * Content written with this feature enabled can only be decoded by
+         * parsers that support the extension; {@link CBORParser} does, but
+         * non-blocking parser does not.
+         *<p>
+         * Default value is <code>false</code> meaning that Strings are always
+         * written in full.
+         *
+         * @since 3.0
+         */
+        STRINGREF(false),
+
+        /**
+         * Feature that determines whether primitive arrays written using
+         * {@link JsonGenerator#writeArray(int[], int, int)} (and <code>long[]</code>,
+         * <code>double[]</code> variants) are written as RFC 8746 "typed arrays"
+         * (tagged byte strings that contain big-endian elements of fixed size)
+         * or as regular Arrays of number values.
+         * Typed arrays are much faster to write and read, and usually more compact
+         * for values that are not small integers.
+         *<p>
+         * Content written with this feature enabled can only be decoded by
+         * parsers that support typed arrays; {@link CBORParser} does (exposing them
+         * as regular Arrays, or in bulk using {@link CBORParser#readTypedArray()}),
+         * but non-blocking parser only exposes them as tagged binary values.
+         *<p>
+         * Default value is <code>false</code> meaning that regular Arrays are written.
+         *
+         * @since 3.0
+         */
+        WRITE_TYPED_ARRAYS(false),
+
+        /**
+         * Feature that determines whether Arrays and Objects started without
+         * known number of elements (like {@link JsonGenerator#writeStartArray()}, used
+         * by data-binding for almost all POJOs and Collections) are written as
+         * indefinite-length containers, closed with a "break" marker, or as
+         * definite-length ones with minimal length prefix.
+         * If enabled, contents of such containers are buffered until they are closed
+         * (output buffer growing as necessary) and the element count is then
+         * written in the header: this allows readers to pre-size collections and
+         * to skip contents without decoding, at the cost of extra copying for
+         * containers with more than 23 elements, and of memory for buffering
+         * the outermost such container fully.
+         *<p>
+         * Default value is <code>false</code> meaning that indefinite-length
+         * containers are written.
+         *
+         * @since 3.0
+         */
+        WRITE_DEFINITE_LENGTHS(false),
+        ;
 
         protected final boolean _defaultState;
         protected final int _mask;
@@ -119,6 +182,13 @@ public class CBORGenerator extends GeneratorBase
      * Special value that is use to keep tracks of arrays and maps opened with infinite length
      */
     private final static int INDEFINITE_LENGTH = -2; // just to allow -1 as marker for "one too many"
+
+    /**
+     * Special value that is used to keep track of arrays and maps written with
+     * {@link Feature#WRITE_DEFINITE_LENGTHS}, length of which is only written
+     * once they are closed.
+     */
+    private final static int DEFERRED_LENGTH = -3;
     
     /*
     /**********************************************************************
@@ -138,6 +208,16 @@ public class CBORGenerator extends GeneratorBase
 
     protected boolean _cfgMinimalInts;
 
+    /**
+     * @since 3.0
+     */
+    protected boolean _cfgStringRefs;
+
+    /**
+     * @since 3.0
+     */
+    protected boolean _cfgDefiniteLengths;
+
     /*
     /**********************************************************************
     /* Output state
@@ -146,6 +226,23 @@ public class CBORGenerator extends GeneratorBase
 
     protected CBORWriteContext _tokenWriteContext;
 
+    /**
+     * Strings written within currently open "stringref" namespace, mapped to
+     * their indexes (only ones that are long enough to be referenced);
+     * null if no namespace is open.
+     *
+     * @since 3.0
+     */
+    protected HashMap<String,Integer> _stringRefs;
+
+    /**
+     * Number of Strings (text and binary) added in currently open "stringref"
+     * namespace; needed since binary values are counted but not tracked.
+     *
+     * @since 3.0
+     */
+    protected int _stringRefCount;
+
     /*
     /**********************************************************************
     /* Output buffering
@@ -167,7 +264,7 @@ public class CBORGenerator extends GeneratorBase
      * Offset to index after the last valid index in {@link #_outputBuffer}.
      * Typically same as length of the buffer.
      */
-    protected final int _outputEnd;
+    protected int _outputEnd;
 
     /**
      * Intermediate buffer in which characters of a String are copied before
@@ -201,6 +298,22 @@ public class CBORGenerator extends GeneratorBase
      */
     protected int _currentRemainingElements = INDEFINITE_LENGTH;
 
+    /**
+     * Offsets within {@link #_outputBuffer} of headers of currently open Arrays and
+     * Objects written with {@link Feature#WRITE_DEFINITE_LENGTHS}; outermost first.
+     * Content starting from the first one can not be flushed until it is closed.
+     *
+     * @since 3.0
+     */
+    protected int[] _deferredHeaders = NO_INTS;
+
+    /**
+     * Number of entries in {@link #_deferredHeaders}.
+     *
+     * @since 3.0
+     */
+    protected int _deferredHeadersPtr;
+
     /*
     /**********************************************************************
     /* Other configuration
@@ -231,6 +344,8 @@ public class CBORGenerator extends GeneratorBase
                 : null;
         _tokenWriteContext = CBORWriteContext.createRootContext(dups);
         _cfgMinimalInts = Feature.WRITE_MINIMAL_INTS.enabledIn(formatFeatures);
+        _cfgStringRefs = Feature.STRINGREF.enabledIn(formatFeatures);
+        _cfgDefiniteLengths = Feature.WRITE_DEFINITE_LENGTHS.enabledIn(formatFeatures);
         _out = out;
         _bufferRecyclable = true;
         _outputBuffer = ctxt.allocWriteEncodingBuffer(BYTE_BUFFER_FOR_OUTPUT);
@@ -267,6 +382,8 @@ public class CBORGenerator extends GeneratorBase
                 : null;
         _tokenWriteContext = CBORWriteContext.createRootContext(dups);
         _cfgMinimalInts = Feature.WRITE_MINIMAL_INTS.enabledIn(formatFeatures);
+        _cfgStringRefs = Feature.STRINGREF.enabledIn(formatFeatures);
+        _cfgDefiniteLengths = Feature.WRITE_DEFINITE_LENGTHS.enabledIn(formatFeatures);
         _out = out;
         _bufferRecyclable = bufferRecyclable;
         _outputTail = offset;
@@ -371,6 +488,10 @@ public class CBORGenerator extends GeneratorBase
         _formatFeatures |= f.getMask();
         if (f == Feature.WRITE_MINIMAL_INTS) {
             _cfgMinimalInts = true;
+        } else if (f == Feature.STRINGREF) {
+            _cfgStringRefs = true;
+        } else if (f == Feature.WRITE_DEFINITE_LENGTHS) {
+            _cfgDefiniteLengths = true;
         }
         return this;
     }
@@ -379,6 +500,10 @@ public class CBORGenerator extends GeneratorBase
         _formatFeatures &= ~f.getMask();
         if (f == Feature.WRITE_MINIMAL_INTS) {
             _cfgMinimalInts = false;
+        } else if (f == Feature.STRINGREF) {
+            _cfgStringRefs = false;
+        } else if (f == Feature.WRITE_DEFINITE_LENGTHS) {
+            _cfgDefiniteLengths = false;
         }
         return this;
     }
@@ -411,6 +536,10 @@ public class CBORGenerator extends GeneratorBase
         if (!_tokenWriteContext.writeFieldName(name)) {
             _reportError("Can not write a field name, expecting a value");
         }
+        if (_stringRefs != null) {
+            _writeStringOrRef(name, null);
+            return;
+        }
         _writeString(name);
     }
 
@@ -422,6 +551,10 @@ public class CBORGenerator extends GeneratorBase
             _reportError("Can not write a field name, expecting a value");
         }
         byte[] raw = name.asUnquotedUTF8();
+        if (_stringRefs != null) {
+            _writeStringOrRef(name.getValue(), raw);
+            return;
+        }
         final int len = raw.length;
         if (len == 0) {
             _writeByte(BYTE_EMPTY_STRING);
@@ -468,7 +601,12 @@ public class CBORGenerator extends GeneratorBase
             if (p.hasCurrentToken()) {
                 final int currentTag = ((CBORParser) p).getCurrentTag();
 
-                if (currentTag != -1) {
+                // Tags that are encoding details are not to be copied: "stringref"
+                // namespaces (references having been resolved by parser) and
+                // typed arrays (exposed, and copied, as regular Arrays)
+                if ((currentTag != -1) && (currentTag != TAG_STRINGREF_NAMESPACE)
+                        && !((currentTag >= TAG_TYPED_ARRAY_MIN) && (currentTag <= TAG_TYPED_ARRAY_MAX)
+                                && p.hasToken(JsonToken.START_ARRAY))) {
                     writeTag(currentTag);
                 }
             }
@@ -484,23 +622,21 @@ public class CBORGenerator extends GeneratorBase
     @Override
     public final void writeStartArray() throws IOException {
         _verifyValueWrite("start an array");
-        _tokenWriteContext = _tokenWriteContext.createChildArrayContext(null);
-        if (_elementCountsPtr > 0) {
-            _pushRemainingElements();
+        if (_cfgStringRefs && _tokenWriteContext.inRoot()) {
+            _startStringRefNamespace();
         }
-        _currentRemainingElements = INDEFINITE_LENGTH;
-        _writeByte(BYTE_ARRAY_INDEFINITE);
+        _tokenWriteContext = _tokenWriteContext.createChildArrayContext(null);
+        _writeUnsizedStart(BYTE_ARRAY_INDEFINITE);
     }
 
     @Override
     public void writeStartArray(Object currValue) throws IOException {
         _verifyValueWrite("start an array");
-        _tokenWriteContext = _tokenWriteContext.createChildArrayContext(currValue);
-        if (_elementCountsPtr > 0) {
-            _pushRemainingElements();
+        if (_cfgStringRefs && _tokenWriteContext.inRoot()) {
+            _startStringRefNamespace();
         }
-        _currentRemainingElements = INDEFINITE_LENGTH;
-        _writeByte(BYTE_ARRAY_INDEFINITE);
+        _tokenWriteContext = _tokenWriteContext.createChildArrayContext(currValue);
+        _writeUnsizedStart(BYTE_ARRAY_INDEFINITE);
     }
 
     /*
@@ -510,6 +646,9 @@ public class CBORGenerator extends GeneratorBase
     @Override
     public void writeStartArray(Object forValue, int elementsToWrite) throws IOException {
         _verifyValueWrite("start an array");
+        if (_cfgStringRefs && _tokenWriteContext.inRoot()) {
+            _startStringRefNamespace();
+        }
         _tokenWriteContext = _tokenWriteContext.createChildArrayContext(forValue);
         _pushRemainingElements();
         _currentRemainingElements = elementsToWrite;
@@ -523,33 +662,37 @@ public class CBORGenerator extends GeneratorBase
         }
         closeComplexElement();
         _tokenWriteContext = _tokenWriteContext.getParent();
+        if (_tokenWriteContext.inRoot()) {
+            _stringRefs = null;
+        }
     }
 
     @Override
     public final void writeStartObject() throws IOException {
         _verifyValueWrite("start an object");
-        _tokenWriteContext = _tokenWriteContext.createChildObjectContext(null);
-        if (_elementCountsPtr > 0) {
-            _pushRemainingElements();
+        if (_cfgStringRefs && _tokenWriteContext.inRoot()) {
+            _startStringRefNamespace();
         }
-        _currentRemainingElements = INDEFINITE_LENGTH;
-        _writeByte(BYTE_OBJECT_INDEFINITE);
+        _tokenWriteContext = _tokenWriteContext.createChildObjectContext(null);
+        _writeUnsizedStart(BYTE_OBJECT_INDEFINITE);
     }
 
     @Override
     public final void writeStartObject(Object forValue) throws IOException {
         _verifyValueWrite("start an object");
-        _tokenWriteContext = _tokenWriteContext.createChildObjectContext(forValue);
-        if (_elementCountsPtr > 0) {
-            _pushRemainingElements();
+        if (_cfgStringRefs && _tokenWriteContext.inRoot()) {
+            _startStringRefNamespace();
         }
-        _currentRemainingElements = INDEFINITE_LENGTH;
-        _writeByte(BYTE_OBJECT_INDEFINITE);
+        _tokenWriteContext = _tokenWriteContext.createChildObjectContext(forValue);
+        _writeUnsizedStart(BYTE_OBJECT_INDEFINITE);
     }
 
     @Override
     public final void writeStartObject(Object forValue, int elementsToWrite) throws IOException {
         _verifyValueWrite("start an object");
+        if (_cfgStringRefs && _tokenWriteContext.inRoot()) {
+            _startStringRefNamespace();
+        }
         _tokenWriteContext = _tokenWriteContext.createChildObjectContext(forValue);
         _pushRemainingElements();
         _currentRemainingElements = elementsToWrite;
@@ -563,6 +706,9 @@ public class CBORGenerator extends GeneratorBase
         }
         closeComplexElement();
         _tokenWriteContext = _tokenWriteContext.getParent();
+        if (_tokenWriteContext.inRoot()) {
+            _stringRefs = null;
+        }
     }
 
     @Override
@@ -571,6 +717,28 @@ public class CBORGenerator extends GeneratorBase
         _verifyOffsets(array.length, offset, length);
         // short-cut, do not create child array context etc
         _verifyValueWrite("write int array");
+        if (isEnabled(Feature.WRITE_TYPED_ARRAYS)) {
+            _writeTypedArrayHeader(TAG_TYPED_ARRAY_SINT32_BE, length, 2);
+            final int end = offset + length;
+            while (offset < end) {
+                int room = (_outputEnd - _outputTail) >> 2;
+                if (room == 0) {
+                    _flushBuffer();
+                    continue;
+                }
+                final byte[] buf = _outputBuffer;
+                int ptr = _outputTail;
+                for (final int last = Math.min(end, offset + room); offset < last; ++offset) {
+                    final int v = array[offset];
+                    buf[ptr++] = (byte) (v >> 24);
+                    buf[ptr++] = (byte) (v >> 16);
+                    buf[ptr++] = (byte) (v >> 8);
+                    buf[ptr++] = (byte) v;
+                }
+                _outputTail = ptr;
+            }
+            return;
+        }
         _writeLengthMarker(PREFIX_TYPE_ARRAY, length);
         for (int i = offset, end = offset+length; i < end; ++i) {
             _writeNumberNoCheck(array[i]);
@@ -582,7 +750,24 @@ public class CBORGenerator extends GeneratorBase
     {
         _verifyOffsets(array.length, offset, length);
         // short-cut, do not create child array context etc
-        _verifyValueWrite("write int array");
+        _verifyValueWrite("write long array");
+        if (isEnabled(Feature.WRITE_TYPED_ARRAYS)) {
+            _writeTypedArrayHeader(TAG_TYPED_ARRAY_SINT64_BE, length, 3);
+            final int end = offset + length;
+            while (offset < end) {
+                int room = (_outputEnd - _outputTail) >> 3;
+                if (room == 0) {
+                    _flushBuffer();
+                    continue;
+                }
+                int ptr = _outputTail;
+                for (final int last = Math.min(end, offset + room); offset < last; ++offset) {
+                    ptr = _putLong(_outputBuffer, ptr, array[offset]);
+                }
+                _outputTail = ptr;
+            }
+            return;
+        }
         _writeLengthMarker(PREFIX_TYPE_ARRAY, length);
         for (int i = offset, end = offset+length; i < end; ++i) {
             _writeNumberNoCheck(array[i]);
@@ -594,13 +779,89 @@ public class CBORGenerator extends GeneratorBase
     {
         _verifyOffsets(array.length, offset, length);
         // short-cut, do not create child array context etc
-        _verifyValueWrite("write int array");
+        _verifyValueWrite("write double array");
+        if (isEnabled(Feature.WRITE_TYPED_ARRAYS)) {
+            _writeTypedArrayHeader(TAG_TYPED_ARRAY_FLOAT64_BE, length, 3);
+            final int end = offset + length;
+            while (offset < end) {
+                int room = (_outputEnd - _outputTail) >> 3;
+                if (room == 0) {
+                    _flushBuffer();
+                    continue;
+                }
+                int ptr = _outputTail;
+                for (final int last = Math.min(end, offset + room); offset < last; ++offset) {
+                    ptr = _putLong(_outputBuffer, ptr, Double.doubleToRawLongBits(array[offset]));
+                }
+                _outputTail = ptr;
+            }
+            return;
+        }
         _writeLengthMarker(PREFIX_TYPE_ARRAY, length);
         for (int i = offset, end = offset+length; i < end; ++i) {
             _writeNumberNoCheck(array[i]);
         }
     }
 
+    private final void _writeTypedArrayHeader(int tag, int length, int sizeShift) throws IOException
+    {
+        _writeLengthMarker(PREFIX_TYPE_TAG, tag);
+        // Byte length may exceed range of int for long arrays
+        final long byteLength = ((long) length) << sizeShift;
+        if (byteLength <= Integer.MAX_VALUE) {
+            _writeLengthMarker(PREFIX_TYPE_BYTES, (int) byteLength);
+        } else {
+            _ensureRoomForOutput(9);
+            _outputBuffer[_outputTail++] = (byte) (PREFIX_TYPE_BYTES + SUFFIX_UINT64_ELEMENTS);
+            _outputTail = _putLong(_outputBuffer, _outputTail, byteLength);
+        }
+        if (_stringRefs != null) {
+            _countStringRef((int) Math.min(byteLength, Integer.MAX_VALUE));
+        }
+    }
+
+    // Helper for writing 64-bit typed array elements; caller ensures there is room
+    private final static int _putLong(byte[] buf, int ptr, long v)
+    {
+        final int hi = (int) (v >> 32);
+        final int lo = (int) v;
+        buf[ptr++] = (byte) (hi >> 24);
+        buf[ptr++] = (byte) (hi >> 16);
+        buf[ptr++] = (byte) (hi >> 8);
+        buf[ptr++] = (byte) hi;
+        buf[ptr++] = (byte) (lo >> 24);
+        buf[ptr++] = (byte) (lo >> 16);
+        buf[ptr++] = (byte) (lo >> 8);
+        buf[ptr++] = (byte) lo;
+        return ptr;
+    }
+
+    /**
+     * Helper method for writing start marker of an Array or Object, number of
+     * elements of which is not known: either as indefinite-length marker, or,
+     * with {@link Feature#WRITE_DEFINITE_LENGTHS}, as placeholder for the header
+     * to write once container is closed.
+     */
+    private final void _writeUnsizedStart(byte indefiniteMarker) throws IOException
+    {
+        if (_cfgDefiniteLengths) {
+            _pushRemainingElements();
+            _currentRemainingElements = DEFERRED_LENGTH;
+            // placeholder is left as is if content needs to be flushed before closing
+            _writeByte(indefiniteMarker);
+            if (_deferredHeaders.length == _deferredHeadersPtr) {
+                _deferredHeaders = Arrays.copyOf(_deferredHeaders, _deferredHeadersPtr+10);
+            }
+            _deferredHeaders[_deferredHeadersPtr++] = _outputTail-1;
+            return;
+        }
+        if ((_elementCountsPtr > 0) || (_currentRemainingElements == DEFERRED_LENGTH)) {
+            _pushRemainingElements();
+        }
+        _currentRemainingElements = INDEFINITE_LENGTH;
+        _writeByte(indefiniteMarker);
+    }
+
     private final void _pushRemainingElements() {
         if (_elementCounts.length == _elementCountsPtr) { // initially, as well as if full
             _elementCounts = Arrays.copyOf(_elementCounts, _elementCounts.length+10);
@@ -711,6 +972,10 @@ public class CBORGenerator extends GeneratorBase
             return;
         }
         _verifyValueWrite("write String value");
+        if (_stringRefs != null) {
+            _writeStringOrRef(text, null);
+            return;
+        }
         _writeString(text);
     }
 
@@ -718,6 +983,10 @@ public class CBORGenerator extends GeneratorBase
     public final void writeString(SerializableString sstr) throws IOException {
         _verifyValueWrite("write String value");
         byte[] raw = sstr.asUnquotedUTF8();
+        if (_stringRefs != null) {
+            _writeStringOrRef(sstr.getValue(), raw);
+            return;
+        }
         final int len = raw.length;
         if (len == 0) {
             _writeByte(BYTE_EMPTY_STRING);
@@ -731,6 +1000,10 @@ public class CBORGenerator extends GeneratorBase
     public void writeString(char[] text, int offset, int len)
             throws IOException {
         _verifyValueWrite("write String value");
+        if (_stringRefs != null) {
+            _writeStringOrRef(new String(text, offset, len), null);
+            return;
+        }
         if (len == 0) {
             _writeByte(BYTE_EMPTY_STRING);
             return;
@@ -747,6 +1020,9 @@ public class CBORGenerator extends GeneratorBase
             _writeByte(BYTE_EMPTY_STRING);
             return;
         }
+        if (_stringRefs != null) {
+            _countStringRef(len);
+        }
         _writeLengthMarker(PREFIX_TYPE_TEXT, len);
         _writeBytes(raw, 0, len);
     }
@@ -815,6 +1091,9 @@ public class CBORGenerator extends GeneratorBase
             return;
         }
         _verifyValueWrite("write Binary value");
+        if (_stringRefs != null) {
+            _countStringRef(len);
+        }
         _writeLengthMarker(PREFIX_TYPE_BYTES, len);
         _writeBytes(data, offset, len);
     }
@@ -834,6 +1113,9 @@ public class CBORGenerator extends GeneratorBase
         _verifyValueWrite("write Binary value");
         int missing;
 
+        if (_stringRefs != null) {
+            _countStringRef(dataLength);
+        }
         _writeLengthMarker(PREFIX_TYPE_BYTES, dataLength);
         missing = _writeBytes(data, dataLength);
         if (missing > 0) {
@@ -968,6 +1250,9 @@ public class CBORGenerator extends GeneratorBase
         }
         byte[] data = v.toByteArray();
         final int len = data.length;
+        if (_stringRefs != null) {
+            _countStringRef(len);
+        }
         _writeLengthMarker(PREFIX_TYPE_BYTES, len);
         _writeBytes(data, 0, len);
     }
@@ -1071,7 +1356,7 @@ public class CBORGenerator extends GeneratorBase
         }
         // decrementElementsRemainingCount()
         int count = _currentRemainingElements;
-        if (count != INDEFINITE_LENGTH) {
+        if (count >= 0) {
             --count;
 
             // 28-Jun-2016, tatu: _Should_ check overrun immediately (instead of waiting
@@ -1123,6 +1408,11 @@ public class CBORGenerator extends GeneratorBase
         }
         // boolean wasClosed = _closed;
         super.close();
+        // With AUTO_CLOSE_CONTENT, containers were closed (and their counts back-patched)
+        // above; otherwise content of ones left open is written as is, with indefinite-length
+        // headers and no "break" markers, so output is incomplete, same as for unclosed
+        // indefinite-length containers
+        _deferredHeadersPtr = 0;
         _flushBuffer();
 
         if (_ioContext.isResourceManaged()
@@ -1185,6 +1475,27 @@ public class CBORGenerator extends GeneratorBase
         _writeBytes(data, offset, len);
     }
 
+    /**
+     * Method for writing given pre-encoded CBOR content, a single complete value
+     * (scalar value, or Array or Object with all of its contents), as the next value;
+     * typically content read using {@link CBORParser#readRawValue}.
+     * Contents are copied as-is, without validation, but value is counted for
+     * sized (and {@link Feature#WRITE_DEFINITE_LENGTHS}) Arrays and Objects.
+     *<p>
+     * Note: not supported when {@link Feature#STRINGREF} is enabled, since Strings
+     * of the value would not be accounted for in the "stringref" namespace.
+     *
+     * @since 3.0
+     */
+    public void writeRawValue(byte[] encoded, int offset, int len) throws IOException
+    {
+        if (_stringRefs != null) {
+            _reportError("Can not write raw value when `CBORGenerator.Feature.STRINGREF` is enabled");
+        }
+        _verifyValueWrite("write raw value");
+        _writeBytes(encoded, offset, len);
+    }
+
     /*
     /**********************************************************************
     /* Internal methods: low-level text output
@@ -1330,6 +1641,56 @@ public class CBORGenerator extends GeneratorBase
         _writeByte(BYTE_BREAK);
     }
 
+    /*
+    /**********************************************************************
+    /* Internal methods, "stringref" handling
+    /**********************************************************************
+     */
+
+    private final void _startStringRefNamespace() throws IOException
+    {
+        _writeLengthMarker(PREFIX_TYPE_TAG, TAG_STRINGREF_NAMESPACE);
+        _stringRefs = new HashMap<>();
+        _stringRefCount = 0;
+    }
+
+    /**
+     * Method called to write given String value or field name within "stringref"
+     * namespace: either as reference, if seen before, or in full (always using
+     * definite length, so that it may be referenced later on).
+     *
+     * @param raw UTF-8 encoded value, if already known; null if not
+     */
+    private final void _writeStringOrRef(String text, byte[] raw) throws IOException
+    {
+        Integer ref = _stringRefs.get(text);
+        if (ref != null) {
+            _writeLengthMarker(PREFIX_TYPE_TAG, TAG_STRINGREF);
+            _writeLengthMarker(PREFIX_TYPE_INT_POS, ref.intValue());
+            return;
+        }
+        if (raw == null) {
+            raw = text.getBytes(StandardCharsets.UTF_8);
+        }
+        final int len = raw.length;
+        if (StringRefNamespace.shouldAdd(_stringRefCount, len)) {
+            _stringRefs.put(text, _stringRefCount++);
+        }
+        _writeLengthMarker(PREFIX_TYPE_TEXT, len);
+        _writeBytes(raw, 0, len);
+    }
+
+    /**
+     * Method called for definite-length Strings written without tracking
+     * (binary values, raw UTF-8 text), which may still take an index.
+     */
+    private final void _countStringRef(int byteLength)
+    {
+        if (StringRefNamespace.shouldAdd(_stringRefCount, byteLength)) {
+            ++_stringRefCount;
+        }
+    }
+
     /*
     /**********************************************************************
     /* Internal methods, UTF-8 encoding
@@ -1653,6 +2014,10 @@ public class CBORGenerator extends GeneratorBase
     }
 
     protected final void _flushBuffer() throws IOException {
+        if (_deferredHeadersPtr > 0) {
+            _flushBufferDeferred();
+            return;
+        }
         if (_outputTail > 0) {
             _bytesWritten += _outputTail;
             _out.write(_outputBuffer, 0, _outputTail);
@@ -1660,6 +2025,41 @@ public class CBORGenerator extends GeneratorBase
         }
     }
 
+    /**
+     * Variant of {@link #_flushBuffer} called when there are open containers with
+     * deferred headers: only content preceding the outermost one can be written out;
+     * the rest is moved to the beginning of the buffer, which is then grown if
+     * necessary so that there is at least as much room as in an empty default buffer.
+     */
+    private final void _flushBufferDeferred() throws IOException
+    {
+        final int start = _deferredHeaders[0];
+        if (start > 0) {
+            _bytesWritten += start;
+            _out.write(_outputBuffer, 0, start);
+            System.arraycopy(_outputBuffer, start, _outputBuffer, 0, _outputTail - start);
+            _outputTail -= start;
+            for (int i = 0; i < _deferredHeadersPtr; ++i) {
+                _deferredHeaders[i] -= start;
+            }
+        }
+        if ((_outputEnd - _outputTail) < BYTE_BUFFER_FOR_OUTPUT) {
+            _growOutputBuffer(BYTE_BUFFER_FOR_OUTPUT);
+        }
+    }
+
+    private final void _growOutputBuffer(int minRoom)
+    {
+        final byte[] old = _outputBuffer;
+        _outputBuffer = Arrays.copyOf(old, Math.max(old.length + old.length, _outputTail + minRoom));
+        _outputEnd = _outputBuffer.length;
+        // only the original buffer is to be recycled, larger one is dropped when done
+        if (_bufferRecyclable) {
+            _bufferRecyclable = false;
+            _ioContext.releaseWriteEncodingBuffer(old);
+        }
+    }
+
     /*
     /**********************************************************************
     /* Internal methods, size control for array and objects
@@ -1671,6 +2071,9 @@ public class CBORGenerator extends GeneratorBase
         case INDEFINITE_LENGTH:
             _writeByte(BYTE_BREAK);
             break;
+        case DEFERRED_LENGTH:
+            _writeDeferredHeader();
+            break;
         case 0: // expected for sized ones
             break;
         default:
@@ -1682,6 +2085,45 @@ public class CBORGenerator extends GeneratorBase
                         : _elementCounts[--_elementCountsPtr];
     }
 
+    /**
+     * Method called when closing an Array or Object written with
+     * {@link Feature#WRITE_DEFINITE_LENGTHS}, to replace the placeholder
+     * header with the actual one, moving contents if a longer header is needed.
+     */
+    private final void _writeDeferredHeader() throws IOException
+    {
+        final int start = _deferredHeaders[--_deferredHeadersPtr];
+        final int count = _tokenWriteContext.getEntryCount();
+        final int majorType = _tokenWriteContext.inArray() ? PREFIX_TYPE_ARRAY : PREFIX_TYPE_OBJECT;
+        if (count < 24) {
+            _outputBuffer[start] = (byte) (majorType + count);
+            return;
+        }
+        final int extra = (count <= 0xFF) ? 1 : ((count <= 0xFFFF) ? 2 : 4);
+        if ((_outputTail + extra) > _outputEnd) {
+            _growOutputBuffer(extra);
+        }
+        final byte[] buf = _outputBuffer;
+        System.arraycopy(buf, start+1, buf, start+1+extra, _outputTail-start-1);
+        _outputTail += extra;
+        int ptr = start;
+        switch (extra) {
+        case 1:
+            buf[ptr++] = (byte) (majorType + SUFFIX_UINT8_ELEMENTS);
+            break;
+        case 2:
+            buf[ptr++] = (byte) (majorType + SUFFIX_UINT16_ELEMENTS);
+            buf[ptr++] = (byte) (count >> 8);
+            break;
+        default:
+            buf[ptr++] = (byte) (majorType + SUFFIX_UINT32_ELEMENTS);
+            buf[ptr++] = (byte) (count >> 24);
+            buf[ptr++] = (byte) (count >> 16);
+            buf[ptr++] = (byte) (count >> 8);
+        }
+        buf[ptr] = (byte) count;
+    }
+
     /*
     /**********************************************************************
     /* Internal methods, error reporting
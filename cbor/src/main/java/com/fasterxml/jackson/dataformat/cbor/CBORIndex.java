@@ -0,0 +1,473 @@
+package com.fasterxml.jackson.dataformat.cbor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.ObjectReadContext;
+
+import static com.fasterxml.jackson.dataformat.cbor.CBORConstants.*;
+
+/**
+ * Structural index of a CBOR document held in a byte array: built with a single
+ * pass over encoded headers (see {@link CBORFactory#createIndex(byte[], int, int)}),
+ * without decoding names or values, it records location of every value in the
+ * document (and of its key, for Object properties) in a single <code>int[]</code>.
+ * Index can then be used to locate values using {@link JsonPointer}s, and to
+ * construct parsers for reading just these values, without having to scan
+ * through unrelated content.
+ *<p>
+ * Values are identified by their position (entry number) in document order, root
+ * value being entry 0; Array elements and Object properties follow their container.
+ * Locations are absolute offsets within the indexed byte array, which must not
+ * be modified after index has been built. Instances are immutable and
+ * may be shared between threads.
+ *<p>
+ * Values within "stringref" namespaces can not be indexed, since they may refer to
+ * Strings outside of value; nor can Object keys that are Arrays or Objects.
+ *
+ * @since 3.0
+ */
+public final class CBORIndex
+{
+    // Each entry has: offset of key (or -1), start and end offsets of value
+    // (including possible tags), and index of next entry after contents of value
+    private final static int ENTRY_SIZE = 4;
+
+    private final static int KEY_OFFSET = 0;
+    private final static int VALUE_START = 1;
+    private final static int VALUE_END = 2;
+    private final static int NEXT_ENTRY = 3;
+
+    private final CBORFactory _factory;
+
+    private final byte[] _data;
+
+    private final int[] _entries;
+
+    CBORIndex(CBORFactory f, byte[] data, int offset, int len) throws IOException
+    {
+        _factory = f;
+        _data = data;
+        _entries = _build(data, offset, offset+len);
+    }
+
+    /*
+    /**********************************************************
+    /* Public API, accessors
+    /**********************************************************
+     */
+
+    /**
+     * @return Number of values indexed (including root value)
+     */
+    public int size() {
+        return _entries.length / ENTRY_SIZE;
+    }
+
+    /**
+     * @return Offset of the first byte of encoded value of given entry (including tags,
+     *   if any) within indexed byte array
+     */
+    public int valueOffset(int entry) {
+        return _entries[entry * ENTRY_SIZE + VALUE_START];
+    }
+
+    /**
+     * @return Length of encoded value of given entry, in bytes (including all
+     *   contents of Arrays and Objects)
+     */
+    public int valueLength(int entry) {
+        final int ix = entry * ENTRY_SIZE;
+        return _entries[ix + VALUE_END] - _entries[ix + VALUE_START];
+    }
+
+    /**
+     * @return Offset of the first byte of encoded key of given entry within indexed
+     *   byte array, if entry is an Object property; -1 otherwise
+     */
+    public int keyOffset(int entry) {
+        return _entries[entry * ENTRY_SIZE + KEY_OFFSET];
+    }
+
+    /*
+    /**********************************************************
+    /* Public API, lookups
+    /**********************************************************
+     */
+
+    /**
+     * Method for locating value that given pointer refers to, relative to
+     * the root value.
+     *
+     * @return Entry of the value pointed to, if any; -1 if there is no such value
+     */
+    public int findValue(JsonPointer ptr) {
+        return findValue(0, ptr);
+    }
+
+    /**
+     * Method for locating value that given pointer refers to, relative to
+     * value of given entry: this is useful for repeated lookups within
+     * a sub-tree.
+     *
+     * @return Entry of the value pointed to, if any; -1 if there is no such value
+     */
+    public int findValue(int entry, JsonPointer ptr)
+    {
+        for (; !ptr.matches(); ptr = ptr.tail()) {
+            final int type = _majorType(entry);
+            if (type == MAJOR_TYPE_OBJECT) {
+                entry = _findProperty(entry, ptr.getMatchingProperty());
+            } else if (type == MAJOR_TYPE_ARRAY) {
+                entry = _findElement(entry, ptr.getMatchingIndex());
+            } else {
+                return -1;
+            }
+            if (entry < 0) {
+                return -1;
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Factory method for constructing parser for reading value of given entry
+     * (and nothing else); first token returned by parser is the first token of value.
+     */
+    public CBORParser createParser(ObjectReadContext readCtxt, int entry) throws IOException
+    {
+        final int ix = entry * ENTRY_SIZE;
+        final int start = _entries[ix + VALUE_START];
+        return (CBORParser) _factory.createParser(readCtxt, _data,
+                start, _entries[ix + VALUE_END] - start);
+    }
+
+    /**
+     * Factory method for constructing parser for reading value that given pointer
+     * refers to, if any.
+     *
+     * @return Parser for reading the value, if one found; null if there is no such value
+     */
+    public CBORParser createParser(ObjectReadContext readCtxt, JsonPointer ptr) throws IOException
+    {
+        final int entry = findValue(ptr);
+        return (entry < 0) ? null : createParser(readCtxt, entry);
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods, lookups
+    /**********************************************************
+     */
+
+    private int _findElement(int container, int index)
+    {
+        if (index < 0) {
+            return -1;
+        }
+        final int end = _entries[container * ENTRY_SIZE + NEXT_ENTRY];
+        int entry = container+1;
+        for (; (index > 0) && (entry < end); --index) {
+            entry = _entries[entry * ENTRY_SIZE + NEXT_ENTRY];
+        }
+        return (entry < end) ? entry : -1;
+    }
+
+    private int _findProperty(int container, String name)
+    {
+        final byte[] utf8 = name.getBytes(StandardCharsets.UTF_8);
+        final int end = _entries[container * ENTRY_SIZE + NEXT_ENTRY];
+        for (int entry = container+1; entry < end; entry = _entries[entry * ENTRY_SIZE + NEXT_ENTRY]) {
+            if (_keyMatches(_entries[entry * ENTRY_SIZE + KEY_OFFSET], name, utf8)) {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    // Note: content has been validated when building index, so no bounds checks needed
+    private boolean _keyMatches(int ptr, String name, byte[] utf8)
+    {
+        int ch;
+        // keys may be tagged, same as values; tags are ignored
+        while (((ch = _data[ptr++] & 0xFF) >> 5) == MAJOR_TYPE_TAG) {
+            ptr += _extraBytes(ch & 0x1F);
+        }
+        final int lowBits = ch & 0x1F;
+        switch (ch >> 5) {
+        case MAJOR_TYPE_BYTES: // some codecs use binary keys, decoded as UTF-8
+        case MAJOR_TYPE_TEXT:
+            if (lowBits == SUFFIX_INDEFINITE) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(utf8.length);
+                int chunk;
+                while ((chunk = _data[ptr++] & 0xFF) != INT_BREAK) {
+                    final int len = (int) _uint(_data, ptr, chunk & 0x1F);
+                    ptr += _extraBytes(chunk & 0x1F);
+                    bytes.write(_data, ptr, len);
+                    ptr += len;
+                }
+                return Arrays.equals(utf8, bytes.toByteArray());
+            }
+            {
+                final int len = (int) _uint(_data, ptr, lowBits);
+                if (len != utf8.length) {
+                    return false;
+                }
+                ptr += _extraBytes(lowBits);
+                for (int i = 0; i < len; ++i) {
+                    if (_data[ptr+i] != utf8[i]) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        case MAJOR_TYPE_INT_POS:
+            return name.equals(String.valueOf(_uint(_data, ptr, lowBits)));
+        case MAJOR_TYPE_INT_NEG:
+            return name.equals(String.valueOf(-_uint(_data, ptr, lowBits) - 1L));
+        }
+        return false;
+    }
+
+    private int _majorType(int entry)
+    {
+        int ptr = _entries[entry * ENTRY_SIZE + VALUE_START];
+        int ch;
+        while (((ch = _data[ptr++] & 0xFF) >> 5) == MAJOR_TYPE_TAG) {
+            ptr += _extraBytes(ch & 0x1F);
+        }
+        return ch >> 5;
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods, building index
+    /**********************************************************
+     */
+
+    /**
+     * Method that goes through headers of the root value starting at given offset,
+     * adding an entry for each value encountered.
+     * Nesting is tracked with explicit stacks, to avoid recursion.
+     */
+    private static int[] _build(final byte[] data, int ptr, final int end) throws IOException
+    {
+        int[] entries = new int[ENTRY_SIZE * 64];
+        int count = 0;
+
+        // state of enclosing containers, when within Array or Object
+        int[] containerStack = null;
+        long[] leftStack = null;
+        boolean[] objectStack = null;
+        int depth = 0;
+
+        int container = -1;
+        boolean inObject = false;
+        // number of values (entries for Objects) left in container; -1 for indefinite length
+        long left = 1L;
+
+        while (true) {
+            if (left == 0L) { // end of container (or root value)
+                if (depth == 0) {
+                    break;
+                }
+                final int ix = container * ENTRY_SIZE;
+                entries[ix + VALUE_END] = ptr;
+                entries[ix + NEXT_ENTRY] = count;
+                --depth;
+                container = containerStack[depth];
+                left = leftStack[depth];
+                inObject = objectStack[depth];
+                continue;
+            }
+            if (_byte(data, ptr, end) == INT_BREAK) {
+                if (left > 0L) {
+                    _reportError("Unexpected Break (0xFF) token at offset "+ptr);
+                }
+                ++ptr;
+                left = 0L;
+                continue;
+            }
+            if (left > 0L) {
+                --left;
+            }
+            int keyOffset = -1;
+            if (inObject) {
+                keyOffset = ptr;
+                ptr = _skipScalar(data, _skipTags(data, ptr, end), end, true);
+            }
+            if (count * ENTRY_SIZE == entries.length) {
+                entries = Arrays.copyOf(entries, entries.length + entries.length);
+            }
+            final int entry = count++;
+            final int ix = entry * ENTRY_SIZE;
+            entries[ix + KEY_OFFSET] = keyOffset;
+            entries[ix + VALUE_START] = ptr;
+            ptr = _skipTags(data, ptr, end);
+            final int ch = _byte(data, ptr, end);
+            final int type = ch >> 5;
+            if ((type == MAJOR_TYPE_ARRAY) || (type == MAJOR_TYPE_OBJECT)) {
+                final int lowBits = ch & 0x1F;
+                ++ptr;
+                long len = -1L;
+                if (lowBits != SUFFIX_INDEFINITE) {
+                    len = _uint(data, _checkBounds(ptr, lowBits, end), lowBits);
+                    if (len < 0L) {
+                        _reportError("Invalid length for Array or Object at offset "+(ptr-1));
+                    }
+                    ptr += _extraBytes(lowBits);
+                }
+                if (containerStack == null) {
+                    containerStack = new int[16];
+                    leftStack = new long[16];
+                    objectStack = new boolean[16];
+                } else if (depth == containerStack.length) {
+                    containerStack = Arrays.copyOf(containerStack, depth + depth);
+                    leftStack = Arrays.copyOf(leftStack, depth + depth);
+                    objectStack = Arrays.copyOf(objectStack, depth + depth);
+                }
+                containerStack[depth] = container;
+                leftStack[depth] = left;
+                objectStack[depth] = inObject;
+                ++depth;
+                container = entry;
+                left = len;
+                inObject = (type == MAJOR_TYPE_OBJECT);
+                continue;
+            }
+            ptr = _skipScalar(data, ptr, end, false);
+            entries[ix + VALUE_END] = ptr;
+            entries[ix + NEXT_ENTRY] = count;
+        }
+        return Arrays.copyOf(entries, count * ENTRY_SIZE);
+    }
+
+    private static int _skipTags(final byte[] data, int ptr, final int end) throws IOException
+    {
+        int ch;
+        while (((ch = _byte(data, ptr, end)) >> 5) == MAJOR_TYPE_TAG) {
+            final int lowBits = ch & 0x1F;
+            final long tag = _uint(data, _checkBounds(ptr+1, lowBits, end), lowBits);
+            if ((tag == TAG_STRINGREF) || (tag == TAG_STRINGREF_NAMESPACE)) {
+                _reportError("Can not index content with 'stringref' tags (tag "+tag+" at offset "+ptr+")");
+            }
+            ptr += 1 + _extraBytes(lowBits);
+        }
+        return ptr;
+    }
+
+    /**
+     * Method for skipping encoded scalar value (or Object key) starting at given
+     * offset, returning offset right after it.
+     */
+    private static int _skipScalar(final byte[] data, int ptr, final int end, boolean isKey)
+        throws IOException
+    {
+        final int ch = _byte(data, ptr, end);
+        final int type = ch >> 5;
+        final int lowBits = ch & 0x1F;
+        ++ptr;
+        switch (type) {
+        case MAJOR_TYPE_INT_POS:
+        case MAJOR_TYPE_INT_NEG:
+        case MAJOR_TYPE_MISC:
+            if (lowBits == SUFFIX_INDEFINITE) { // Break only valid at start of value
+                break;
+            }
+            _checkBounds(ptr, lowBits, end);
+            return ptr + _extraBytes(lowBits);
+        case MAJOR_TYPE_BYTES:
+        case MAJOR_TYPE_TEXT:
+            if (lowBits != SUFFIX_INDEFINITE) {
+                return _skipChunk(data, ptr, end, lowBits);
+            }
+            // indefinite length: sequence of definite length chunks of the same type
+            while (true) {
+                final int chunk = _byte(data, ptr++, end);
+                if (chunk == INT_BREAK) {
+                    return ptr;
+                }
+                if (((chunk >> 5) != type) || ((chunk & 0x1F) == SUFFIX_INDEFINITE)) {
+                    _reportError("Mismatched chunk in chunked content: expected major type "+type
+                            +" but encountered 0x"+Integer.toHexString(chunk)+" at offset "+(ptr-1));
+                }
+                ptr = _skipChunk(data, ptr, end, chunk & 0x1F);
+            }
+        default:
+            if (isKey) {
+                _reportError("Unsupported major type ("+type+") for Object key at offset "+(ptr-1));
+            }
+        }
+        _reportError("Invalid CBOR value token (first byte): 0x"+Integer.toHexString(ch)
+                +" at offset "+(ptr-1));
+        return ptr; // never gets here
+    }
+
+    private static int _skipChunk(final byte[] data, int ptr, final int end, int lowBits)
+        throws IOException
+    {
+        final long len = _uint(data, _checkBounds(ptr, lowBits, end), lowBits);
+        ptr += _extraBytes(lowBits);
+        if ((len < 0L) || (len > (end - ptr))) {
+            _reportError("Unexpected end of content: value of "+len+" bytes at offset "+ptr
+                    +" exceeds input");
+        }
+        return ptr + (int) len;
+    }
+
+    private static int _byte(final byte[] data, int ptr, final int end) throws IOException
+    {
+        if (ptr >= end) {
+            _reportError("Unexpected end of content at offset "+ptr);
+        }
+        return data[ptr] & 0xFF;
+    }
+
+    /**
+     * Helper method for verifying that header with given low bits is valid, and
+     * that bytes of its value, starting at given offset, are within content.
+     */
+    private static int _checkBounds(int ptr, int lowBits, final int end) throws IOException
+    {
+        if (lowBits > 27) {
+            _reportError("Invalid length indicator ("+lowBits+") at offset "+(ptr-1));
+        }
+        if ((ptr + _extraBytes(lowBits)) > end) {
+            _reportError("Unexpected end of content at offset "+ptr);
+        }
+        return ptr;
+    }
+
+    /**
+     * @return Number of bytes following initial byte for value of a header
+     *   with given low bits
+     */
+    private static int _extraBytes(int lowBits) {
+        return (lowBits < 24) ? 0 : (1 << (lowBits - 24));
+    }
+
+    /**
+     * @return Unsigned value of header with given low bits, bytes of which
+     *   (if any) start at given offset
+     */
+    private static long _uint(final byte[] data, int ptr, int lowBits)
+    {
+        if (lowBits < 24) {
+            return lowBits;
+        }
+        final int end = ptr + _extraBytes(lowBits);
+        long l = 0L;
+        while (ptr < end) {
+            l = (l << 8) | (data[ptr++] & 0xFF);
+        }
+        return l;
+    }
+
+    private static void _reportError(String msg) throws IOException {
+        throw new JsonParseException(null, "Invalid CBOR content: "+msg);
+    }
+}
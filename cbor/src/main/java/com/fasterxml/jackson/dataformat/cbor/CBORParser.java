@@ -3,6 +3,8 @@ package com.fasterxml.jackson.dataformat.cbor;
 import java.io.*;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 
@@ -15,16 +17,33 @@ import com.fasterxml.jackson.core.sym.ByteQuadsCanonicalizer;
 import com.fasterxml.jackson.core.sym.FieldNameMatcher;
 import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 
+import com.fasterxml.jackson.dataformat.binary.PrimitiveArrayReader;
+
 import static com.fasterxml.jackson.dataformat.cbor.CBORConstants.*;
 
 public class CBORParser extends ParserBase
+    implements PrimitiveArrayReader
 {
     /**
      * Enumeration that defines all togglable features for CBOR generators.
      */
     public enum Feature implements FormatFeature
     {
-//        BOGUS(false)
+        /**
+         * Feature that determines whether byte strings tagged as RFC 8746 typed arrays
+         * (tags 64 - 87) are exposed as Arrays of numbers, contents of which may also
+         * be read in bulk using {@link CBORParser#readTypedArray}; or, if disabled,
+         * as tagged binary values ({@link JsonToken#VALUE_EMBEDDED_OBJECT}) like
+         * other unrecognized tags.
+         *<p>
+         * Note that the non-blocking parser does not support this feature, and always
+         * exposes typed arrays as binary values.
+         *<p>
+         * Feature is disabled by default for backwards compatibility.
+         *
+         * @since 3.0
+         */
+        READ_TYPED_ARRAYS(false)
         ;
 
         final boolean _defaultState;
@@ -63,6 +82,20 @@ public class CBORParser extends ParserBase
     private final static double MATH_POW_2_10 = Math.pow(2, 10);
     private final static double MATH_POW_2_NEG14 = Math.pow(2, -14);
 
+    /*
+    /**********************************************************************
+    /* Configuration
+    /**********************************************************************
+     */
+
+    /**
+     * Bit flag composed of bits that indicate which
+     * {@link CBORParser.Feature}s are enabled.
+     *
+     * @since 3.0
+     */
+    protected int _formatFeatures;
+
     /*
     /**********************************************************************
     /* Parsing state
@@ -135,6 +168,57 @@ public class CBORParser extends ParserBase
     // Base class has all other types, but no distinction between double, float, so
     protected float _numberFloat;
 
+    /**
+     * Contents of the RFC 8746 typed array being iterated over, if any: if non-null,
+     * parser is within Array context for elements of the typed array.
+     *
+     * @since 3.0
+     */
+    protected byte[] _typedArray;
+
+    /**
+     * Tag of {@link #_typedArray}, indicating type of its elements.
+     *
+     * @since 3.0
+     */
+    protected int _typedArrayTag;
+
+    /**
+     * Offset of the next element within {@link #_typedArray}.
+     *
+     * @since 3.0
+     */
+    protected int _typedArrayPtr;
+
+    /*
+    /**********************************************************************
+    /* Raw value access state
+    /**********************************************************************
+     */
+
+    /**
+     * Stream to which encoded content is copied while {@link #readRawValue}
+     * is in progress; null otherwise.
+     *
+     * @since 3.0
+     */
+    protected OutputStream _rawValueOut;
+
+    /**
+     * Offset within {@link #_inputBuffer} of the first byte not yet copied
+     * to {@link #_rawValueOut}.
+     *
+     * @since 3.0
+     */
+    protected int _rawValueStart;
+
+    /**
+     * Number of bytes copied to {@link #_rawValueOut} so far.
+     *
+     * @since 3.0
+     */
+    protected int _rawValueLength;
+
     /*
     /**********************************************************************
     /* Symbol handling, decoding
@@ -169,6 +253,7 @@ public class CBORParser extends ParserBase
             boolean bufferRecyclable)
     {
         super(readCtxt, ioCtxt, parserFeatures);
+        _formatFeatures = cborFeatures;
         _symbols = sym;
 
         _inputStream = in;
@@ -211,6 +296,21 @@ public class CBORParser extends ParserBase
         return _tagValue;
     }
 
+    /**
+     * Method for checking whether specified CBOR {@link Feature}
+     * is enabled.
+     *
+     * @since 3.0
+     */
+    public boolean isEnabled(CBORParser.Feature f) {
+        return f.enabledIn(_formatFeatures);
+    }
+
+    @Override
+    public int formatReadFeatures() {
+        return _formatFeatures;
+    }
+
     /*
     /**********************************************************************
     /* Abstract impls
@@ -364,9 +464,13 @@ public class CBORParser extends ParserBase
         } else {
             if (!_parsingContext.expectMoreValues()) {
                 _tagValue = -1;
+                _typedArray = null;
                 _parsingContext = _parsingContext.getParent();
                 return (_currToken = JsonToken.END_ARRAY);
             }
+            if (_typedArray != null) {
+                return (_currToken = _nextTypedArrayValue());
+            }
         }
         if (_inputPtr >= _inputEnd) {
             if (!loadMore()) {
@@ -386,6 +490,11 @@ public class CBORParser extends ParserBase
             }
             ch = _inputBuffer[_inputPtr++];
             type = (ch >> 5) & 0x7;
+            // String references need to be resolved right away
+            if ((_tagValue == TAG_STRINGREF) && (type == CBORConstants.MAJOR_TYPE_INT_POS)
+                    && (_parsingContext._stringRefs != null)) {
+                return (_currToken = _handleStringRef(ch));
+            }
         } else {
             _tagValue = -1;
         }
@@ -507,6 +616,9 @@ public class CBORParser extends ParserBase
             {
                 int len = _decodeExplicitLength(lowBits);
                 _parsingContext = _parsingContext.createChildObjectContext(len);
+                if (_tagValue == TAG_STRINGREF_NAMESPACE) {
+                    _parsingContext.startStringRefNamespace();
+                }
             }
             return _currToken;
 
@@ -591,6 +703,26 @@ public class CBORParser extends ParserBase
         return String.valueOf(i);
     }
 
+    /**
+     * Method called to resolve a String reference (tag {@link CBORConstants#TAG_STRINGREF})
+     * within "stringref" namespace, as either {@link JsonToken#VALUE_STRING} or
+     * {@link JsonToken#VALUE_EMBEDDED_OBJECT}.
+     *
+     * @since 3.0
+     */
+    protected JsonToken _handleStringRef(int ch) throws IOException
+    {
+        Object ref = _decodeStringRef(ch);
+        // reference itself is not exposed as a tag
+        _tagValue = -1;
+        if (ref instanceof String) {
+            _textBuffer.resetWithString((String) ref);
+            return JsonToken.VALUE_STRING;
+        }
+        _binaryValue = (byte[]) ref;
+        return JsonToken.VALUE_EMBEDDED_OBJECT;
+    }
+
     protected JsonToken _handleTaggedBinary(int tag) throws IOException
     {
         // For now all we should get is BigInteger
@@ -599,6 +731,9 @@ public class CBORParser extends ParserBase
             neg = false;
         } else  if (tag == TAG_BIGNUM_NEG) {
             neg = true;
+        } else if ((tag >= TAG_TYPED_ARRAY_MIN) && (tag <= TAG_TYPED_ARRAY_MAX)
+                && Feature.READ_TYPED_ARRAYS.enabledIn(_formatFeatures)) {
+            return _handleTypedArray(tag);
         } else {
             // 12-May-2016, tatu: Since that's all we know, let's otherwise
             //   just return default Binary data marker
@@ -618,6 +753,95 @@ public class CBORParser extends ParserBase
         return (_currToken = JsonToken.VALUE_NUMBER_INT);
     }
 
+    /**
+     * Method called for a byte string tagged as an RFC 8746 typed array: contents are
+     * exposed as an Array of numbers (see {@link #_nextTypedArrayValue}), but may also be
+     * accessed in bulk using {@link #readTypedArray}.
+     *
+     * @since 3.0
+     */
+    protected JsonToken _handleTypedArray(int tag) throws IOException
+    {
+        if ((tag == 76) || ((tag & 0x13) == 0x13)) { // reserved, 128-bit floats
+            _reportError("Unsupported typed array tag ("+tag+"): reserved or 128-bit float elements");
+        }
+        _finishToken();
+        final byte[] data = _binaryValue;
+        _binaryValue = null;
+        final int sizeShift = _typedArraySizeShift(tag);
+        if ((data.length & ((1 << sizeShift) - 1)) != 0) {
+            _reportError(String.format("Invalid typed array (tag %d): length (%d) not a multiple of element size (%d)",
+                    tag, data.length, 1 << sizeShift));
+        }
+        _parsingContext = _parsingContext.createChildArrayContext(data.length >> sizeShift);
+        _typedArray = data;
+        _typedArrayTag = tag;
+        _typedArrayPtr = 0;
+        return (_currToken = JsonToken.START_ARRAY);
+    }
+
+    /**
+     * Method called to decode the next element of current typed array as a number token.
+     *
+     * @since 3.0
+     */
+    protected JsonToken _nextTypedArrayValue() throws IOException
+    {
+        _tagValue = -1;
+        final int tag = _typedArrayTag;
+        final int size = 1 << _typedArraySizeShift(tag);
+        final byte[] b = _typedArray;
+        int ptr = _typedArrayPtr;
+        _typedArrayPtr = ptr + size;
+
+        long l = 0L;
+        if ((tag & 0x4) == 0) { // big-endian
+            for (int end = ptr + size; ptr < end; ++ptr) {
+                l = (l << 8) | (b[ptr] & 0xFF);
+            }
+        } else { // little-endian (or "clamped" uint8, same thing)
+            for (int i = ptr + size - 1; i >= ptr; --i) {
+                l = (l << 8) | (b[i] & 0xFF);
+            }
+        }
+        if ((tag & 0x10) != 0) { // floating-point
+            if (size == 8) {
+                _numberDouble = Double.longBitsToDouble(l);
+                _numTypesValid = NR_DOUBLE;
+            } else {
+                _numberFloat = (size == 4) ? Float.intBitsToFloat((int) l) : _halfSizeFloat((int) l);
+                _numTypesValid = NR_FLOAT;
+            }
+            return JsonToken.VALUE_NUMBER_FLOAT;
+        }
+        if ((tag & 0x8) != 0) { // signed, need to sign-extend
+            final int unused = 64 - (size << 3);
+            l = (l << unused) >> unused;
+        } else if (l < 0L) { // only possible for unsigned 64-bit
+            _numberBigInt = _bigPositive(l);
+            _numTypesValid = NR_BIGINT;
+            return JsonToken.VALUE_NUMBER_INT;
+        }
+        if ((l < MIN_INT_L) || (l > MAX_INT_L)) {
+            _numberLong = l;
+            _numTypesValid = NR_LONG;
+        } else {
+            _numberInt = (int) l;
+            _numTypesValid = NR_INT;
+        }
+        return JsonToken.VALUE_NUMBER_INT;
+    }
+
+    /**
+     * Helper method for finding out size of elements of typed array with given tag,
+     * as shift of 1: low 2 bits of tag indicate size, but for floating-point elements
+     * starting with 16 bits (2 bytes) instead of 8 bits like for integers.
+     */
+    private final static int _typedArraySizeShift(int tag) {
+        final int shift = tag & 0x3;
+        return ((tag & 0x10) == 0) ? shift : (shift + 1);
+    }
+
     protected JsonToken _handleTaggedArray(int tag, int len) throws IOException
     {
         // For simplicity, let's create matching array context -- in perfect
@@ -627,6 +851,9 @@ public class CBORParser extends ParserBase
 
         // BigDecimal is the only thing we know for sure
         if (tag != CBORConstants.TAG_DECIMAL_FRACTION) {
+            if (tag == TAG_STRINGREF_NAMESPACE) {
+                _parsingContext.startStringRefNamespace();
+            }
             return (_currToken = JsonToken.START_ARRAY);
         }
         _currToken = JsonToken.START_ARRAY;
@@ -872,6 +1099,890 @@ public class CBORParser extends ParserBase
         }
     }
 
+    /*
+    /**********************************************************
+    /* Public API, traversal, optimized: skipChildren
+    /**********************************************************
+     */
+
+    /**
+     * Overridden to skip contents of Arrays and Objects using encoded headers only:
+     * Strings and binary values are skipped over by their length, and no
+     * tokens are constructed, names decoded or added to symbol table.
+     * Only contents within "stringref" namespaces (which need all Strings
+     * retained for possible references) and typed arrays use regular token-by-token
+     * traversal.
+     *
+     * @since 3.0
+     */
+    @Override
+    public JsonParser skipChildren() throws IOException
+    {
+        if ((_currToken != JsonToken.START_OBJECT) && (_currToken != JsonToken.START_ARRAY)) {
+            return this;
+        }
+        if ((_parsingContext._stringRefs != null) || (_typedArray != null)) {
+            return super.skipChildren();
+        }
+        _skipCurrentContainer();
+        return this;
+    }
+
+    /**
+     * Helper method for skipping the rest of the Array or Object that was just
+     * started, leaving parser positioned at its end marker.
+     */
+    private final void _skipCurrentContainer() throws IOException
+    {
+        final boolean inObject = _parsingContext.inObject();
+        long left;
+        if (_parsingContext.hasExpectedLength()) {
+            left = _parsingContext.getExpectedLength();
+            if (inObject) {
+                left += left;
+            }
+        } else {
+            left = -1L;
+        }
+        _skipContainerContents(left);
+        _tagValue = -1;
+        _parsingContext = _parsingContext.getParent();
+        _currToken = inObject ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+    }
+
+    /**
+     * Helper method for skipping given number of encoded values, including all
+     * nested values of Arrays and Objects; or, if count is negative, all values
+     * up to and including the closing break marker.
+     * Nesting is tracked with an explicit stack of counts, to avoid recursion.
+     */
+    private final void _skipContainerContents(long left) throws IOException
+    {
+        long[] stack = null;
+        int depth = 0;
+
+        while (true) {
+            if (left == 0L) {
+                if (depth == 0) {
+                    return;
+                }
+                left = stack[--depth];
+                continue;
+            }
+            if (_inputPtr >= _inputEnd) {
+                loadMoreGuaranteed();
+            }
+            final int ch = _inputBuffer[_inputPtr++] & 0xFF;
+            if (ch == INT_BREAK) {
+                if (left > 0L) {
+                    _reportError("Unexpected Break (0xFF) token in definite length Array or Object ("
+                            +left+" values missing)");
+                }
+                if (depth == 0) {
+                    return;
+                }
+                left = stack[--depth];
+                continue;
+            }
+            final int type = ch >> 5;
+            final int lowBits = ch & 0x1F;
+            // tags are prefixes of the following value, not values themselves
+            if (type == MAJOR_TYPE_TAG) {
+                _decodeTag(lowBits);
+                continue;
+            }
+            if (left > 0L) {
+                --left;
+            }
+            switch (type) {
+            case MAJOR_TYPE_INT_POS:
+            case MAJOR_TYPE_INT_NEG:
+            case MAJOR_TYPE_MISC:
+                if (lowBits > 23) {
+                    if (lowBits > 27) {
+                        _invalidToken(ch);
+                    }
+                    _skipBytes(1 << (lowBits - 24));
+                }
+                break;
+            case MAJOR_TYPE_BYTES:
+            case MAJOR_TYPE_TEXT:
+                if (lowBits <= 23) {
+                    if (lowBits > 0) {
+                        _skipBytes(lowBits);
+                    }
+                } else {
+                    switch (lowBits) {
+                    case 24:
+                        _skipBytes(_decode8Bits());
+                        break;
+                    case 25:
+                        _skipBytes(_decode16Bits());
+                        break;
+                    case 26:
+                        _skipBytesL(_decode32Bits() & 0xFFFFFFFFL);
+                        break;
+                    case 27:
+                        {
+                            long len = _decode64Bits();
+                            if (len < 0L) {
+                                _reportError("Illegal length for skipped value: "+len);
+                            }
+                            _skipBytesL(len);
+                        }
+                        break;
+                    case 31:
+                        _skipChunked(type);
+                        break;
+                    default:
+                        _invalidToken(ch);
+                    }
+                }
+                break;
+            default: // Array or Object
+                {
+                    long count = _decodeExplicitLength(lowBits);
+                    if (count == 0L) {
+                        break;
+                    }
+                    if ((count > 0L) && (type == MAJOR_TYPE_OBJECT)) {
+                        count += count;
+                    }
+                    if (stack == null) {
+                        stack = new long[16];
+                    } else if (depth == stack.length) {
+                        stack = Arrays.copyOf(stack, depth + depth);
+                    }
+                    stack[depth++] = left;
+                    left = count;
+                }
+            }
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Public API, raw values
+    /**********************************************************
+     */
+
+    /**
+     * Method that can be called to copy encoded representation of the current value
+     * (scalar value, or Array or Object with all of its contents) as-is to given stream,
+     * without decoding it: this allows efficient pass-through of sub-trees, written
+     * using {@link CBORGenerator#writeRawValue(byte[], int, int)}.
+     *<p>
+     * After the call parser is positioned as if {@link #skipChildren()} had been called:
+     * for Arrays and Objects current token is the matching end marker; for String
+     * and binary values contents are no longer accessible (as with
+     * {@link #readBinaryValue(OutputStream)}), so method should be called before
+     * accessing contents of the current token.
+     *<p>
+     * Content is copied as-is, except for the part of current token already decoded
+     * from an earlier input buffer (when token spans input buffer boundary): it is
+     * re-encoded from decoded value, using equivalent but possibly shorter encoding.
+     *<p>
+     * Values within "stringref" namespaces can not be read as raw values, since they
+     * may refer to Strings outside of the value; nor can elements of typed arrays.
+     *
+     * @param out Stream to copy encoded value to
+     *
+     * @return Number of bytes copied
+     *
+     * @since 3.0
+     */
+    public int readRawValue(OutputStream out) throws IOException
+    {
+        final JsonToken t = _currToken;
+        if ((t == null) || !(t.isScalarValue() || t.isStructStart())) {
+            _reportError("Current token ("+t+") not a value, can not read as raw value");
+        }
+        final boolean structStart = t.isStructStart();
+        final CBORReadContext enclosing = structStart ? _parsingContext.getParent() : _parsingContext;
+        if (enclosing._stringRefs != null) {
+            _reportError("Can not read raw value within 'stringref' namespace");
+        }
+        if ((_typedArray != null) && !structStart) {
+            _reportError("Can not read raw value of a typed array element");
+        }
+        _rawValueLength = 0;
+        final long tokenStart = _tokenInputTotal - _currInputProcessed;
+        int start;
+        if (tokenStart >= 0L) {
+            start = (int) tokenStart;
+        } else if (_typedArray != null) { // fully read, can re-encode
+            _rawValueLength = _writeRawHeader(out, MAJOR_TYPE_TAG, _typedArrayTag)
+                    + _writeRawHeader(out, MAJOR_TYPE_BYTES, _typedArray.length);
+            out.write(_typedArray);
+            _rawValueLength += _typedArray.length;
+            start = _inputPtr;
+        } else { // token began in an earlier buffer: re-encode part already decoded
+            _rawValueLength = _writeRawTokenHead(out, structStart);
+            start = _inputPtr;
+        }
+        _rawValueOut = out;
+        _rawValueStart = start;
+        try {
+            if (structStart) {
+                if (_typedArray != null) {
+                    _typedArray = null;
+                    _tagValue = -1;
+                    _parsingContext = _parsingContext.getParent();
+                    _currToken = JsonToken.END_ARRAY;
+                } else {
+                    _skipCurrentContainer();
+                }
+            } else if (_tokenIncomplete) {
+                _skipIncomplete();
+            }
+            _copyRawValue(_inputPtr);
+        } finally {
+            _rawValueOut = null;
+        }
+        return _rawValueLength;
+    }
+
+    private final void _copyRawValue(int end) throws IOException
+    {
+        final int len = end - _rawValueStart;
+        if (len > 0) {
+            _rawValueOut.write(_inputBuffer, _rawValueStart, len);
+            _rawValueLength += len;
+        }
+        _rawValueStart = end;
+    }
+
+    /**
+     * Helper method for re-encoding part of the current token that precedes current
+     * input pointer: tag, if any, and either header of Array, Object, String or binary
+     * value (for values not yet fully read), or the whole value.
+     *
+     * @return Number of bytes written
+     */
+    private final int _writeRawTokenHead(OutputStream out, boolean structStart) throws IOException
+    {
+        int len = 0;
+        if (_tagValue >= 0) {
+            len = _writeRawHeader(out, MAJOR_TYPE_TAG, _tagValue);
+        }
+        if (structStart) {
+            final int majorType = (_currToken == JsonToken.START_OBJECT) ? MAJOR_TYPE_OBJECT : MAJOR_TYPE_ARRAY;
+            if (_parsingContext.hasExpectedLength()) {
+                return len + _writeRawHeader(out, majorType, _parsingContext.getExpectedLength());
+            }
+            out.write((majorType << 5) + SUFFIX_INDEFINITE);
+            return len + 1;
+        }
+        if (_tokenIncomplete) { // only type byte read so far
+            out.write(_typeByte);
+            return len + 1;
+        }
+        switch (_currToken) {
+        case VALUE_NUMBER_INT:
+            if ((_numTypesValid & NR_INT) != 0) {
+                return len + _writeRawInt(out, _numberInt);
+            }
+            if ((_numTypesValid & NR_LONG) != 0) {
+                return len + _writeRawInt(out, _numberLong);
+            }
+            if ((_numTypesValid & NR_BIGINT) != 0) {
+                return len + _writeRawInt(out, _numberBigInt);
+            }
+            break;
+        case VALUE_NUMBER_FLOAT:
+            // if both present, float is enough if it has the same value
+            if (((_numTypesValid & NR_FLOAT) != 0)
+                    && (((_numTypesValid & NR_DOUBLE) == 0) || ((double) _numberFloat == _numberDouble))) {
+                out.write(BYTE_FLOAT32);
+                return len + 1 + _writeRawBytes(out, Float.floatToRawIntBits(_numberFloat), 4);
+            }
+            if ((_numTypesValid & NR_DOUBLE) != 0) {
+                out.write(BYTE_FLOAT64);
+                return len + 1 + _writeRawBytes(out, Double.doubleToRawLongBits(_numberDouble), 8);
+            }
+            if ((_numTypesValid & NR_BIGDECIMAL) != 0) { // as decimal fraction: [exponent, mantissa]
+                out.write(BYTE_TAG_DECIMAL_FRACTION);
+                out.write(PREFIX_TYPE_ARRAY + 2);
+                return len + 2 + _writeRawInt(out, -_numberBigDecimal.scale())
+                        + _writeRawInt(out, _numberBigDecimal.unscaledValue());
+            }
+            break;
+        case VALUE_TRUE:
+            out.write(BYTE_TRUE);
+            return len + 1;
+        case VALUE_FALSE:
+            out.write(BYTE_FALSE);
+            return len + 1;
+        case VALUE_NULL:
+            out.write(BYTE_NULL);
+            return len + 1;
+        case VALUE_STRING:
+            {
+                final byte[] b = getText().getBytes(UTF8);
+                len += _writeRawHeader(out, MAJOR_TYPE_TEXT, b.length);
+                out.write(b);
+                return len + b.length;
+            }
+        case VALUE_EMBEDDED_OBJECT:
+            if (_binaryValue != null) {
+                len += _writeRawHeader(out, MAJOR_TYPE_BYTES, _binaryValue.length);
+                out.write(_binaryValue);
+                return len + _binaryValue.length;
+            }
+            break;
+        default:
+        }
+        _reportError("Can not read raw value: encoded value no longer available (contents already accessed?)");
+        return -1; // never gets here
+    }
+
+    private final static int _writeRawInt(OutputStream out, long value) throws IOException
+    {
+        if (value < 0L) {
+            return _writeRawHeader(out, MAJOR_TYPE_INT_NEG, -value - 1L);
+        }
+        return _writeRawHeader(out, MAJOR_TYPE_INT_POS, value);
+    }
+
+    private final static int _writeRawInt(OutputStream out, BigInteger value) throws IOException
+    {
+        if (value.bitLength() < 64) {
+            return _writeRawInt(out, value.longValue());
+        }
+        final boolean neg = (value.signum() < 0);
+        if (!neg && (value.bitLength() == 64)) { // fits in unsigned 64-bit argument
+            return _writeRawHeader(out, MAJOR_TYPE_INT_POS, value.longValue());
+        }
+        // encoded same way as by generator, and decoded by _handleTaggedBinary()
+        final byte[] b = (neg ? value.negate() : value).toByteArray();
+        out.write(neg ? BYTE_TAG_BIGNUM_NEG : BYTE_TAG_BIGNUM_POS);
+        final int len = 1 + _writeRawHeader(out, MAJOR_TYPE_BYTES, b.length);
+        out.write(b);
+        return len + b.length;
+    }
+
+    private final static int _writeRawBytes(OutputStream out, long value, int bytes) throws IOException
+    {
+        for (int shift = (bytes - 1) << 3; shift >= 0; shift -= 8) {
+            out.write((int) (value >> shift));
+        }
+        return bytes;
+    }
+
+    // Note: value is unsigned, so negative values are ones above Long.MAX_VALUE
+    private final static int _writeRawHeader(OutputStream out, int majorType, long value) throws IOException
+    {
+        final int prefix = majorType << 5;
+        if ((value >= 0L) && (value < 24L)) {
+            out.write(prefix + (int) value);
+            return 1;
+        }
+        int bytes;
+        if (value < 0L) {
+            out.write(prefix + SUFFIX_UINT64_ELEMENTS);
+            bytes = 8;
+        } else if (value <= 0xFFL) {
+            out.write(prefix + SUFFIX_UINT8_ELEMENTS);
+            bytes = 1;
+        } else if (value <= 0xFFFFL) {
+            out.write(prefix + SUFFIX_UINT16_ELEMENTS);
+            bytes = 2;
+        } else if (value <= 0xFFFFFFFFL) {
+            out.write(prefix + SUFFIX_UINT32_ELEMENTS);
+            bytes = 4;
+        } else {
+            out.write(prefix + SUFFIX_UINT64_ELEMENTS);
+            bytes = 8;
+        }
+        return 1 + _writeRawBytes(out, value, bytes);
+    }
+
+    /*
+    /**********************************************************
+    /* Public API, typed arrays
+    /**********************************************************
+     */
+
+    /**
+     * Method that can be called to check whether current token is
+     * {@link JsonToken#START_ARRAY} of an RFC 8746 typed array (tags 64 - 87),
+     * contents of which may be read in bulk with {@link #readTypedArray}.
+     * Typed arrays are only exposed as Arrays if {@link Feature#READ_TYPED_ARRAYS}
+     * is enabled.
+     *
+     * @since 3.0
+     */
+    public boolean isTypedArrayStart() {
+        return (_typedArray != null) && (_currToken == JsonToken.START_ARRAY);
+    }
+
+    /**
+     * Method that may be called to find out type of array {@link #readTypedArray}
+     * returns for the current typed array, if any (see {@link #isTypedArrayStart()}).
+     *
+     * @return Type of array {@link #readTypedArray} would return, if current token
+     *    starts a typed array; null otherwise
+     *
+     * @since 3.0
+     */
+    @Override
+    public Class<?> typedArrayType()
+    {
+        if (!isTypedArrayStart()) {
+            return null;
+        }
+        final int tag = _typedArrayTag;
+        final int sizeShift = _typedArraySizeShift(tag);
+        if ((tag & 0x10) != 0) { // floating-point: 16- and 32-bit ones as floats
+            return (sizeShift == 3) ? double[].class : float[].class;
+        }
+        // 8- and 16-bit, signed 32-bit integers fit in int; others need long
+        if ((sizeShift < 2) || ((sizeShift == 2) && ((tag & 0x8) != 0))) {
+            return int[].class;
+        }
+        return long[].class;
+    }
+
+    /**
+     * Method that may be called when current token is {@link JsonToken#START_ARRAY}
+     * of an RFC 8746 typed array (see {@link #isTypedArrayStart()}) to read all elements
+     * at once, instead of iterating over them as number tokens.
+     * Elements are returned as an array of "natural" type: <code>int[]</code> for
+     * signed and unsigned 8- and 16-bit integers as well as signed 32-bit ones;
+     * <code>long[]</code> for unsigned 32-bit and all 64-bit integers (unsigned values
+     * above {@link Long#MAX_VALUE} being wrapped around, as with {@link Long#parseUnsignedLong});
+     * <code>float[]</code> for 16- and 32-bit floating-point values and
+     * <code>double[]</code> for 64-bit ones.
+     *<p>
+     * After successful call, current token will be the matching {@link JsonToken#END_ARRAY}.
+     *
+     * @return Contents of the typed array, if current token is a typed array start;
+     *    null otherwise (in which case parser state is not changed)
+     *
+     * @since 3.0
+     */
+    @Override
+    public Object readTypedArray() throws IOException
+    {
+        if (!isTypedArrayStart()) {
+            return null;
+        }
+        final int tag = _typedArrayTag;
+        final byte[] b = _typedArray;
+        final int sizeShift = _typedArraySizeShift(tag);
+        final int count = b.length >> sizeShift;
+        final ByteBuffer bb = ByteBuffer.wrap(b)
+                .order(((tag & 0x4) == 0) ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+        Object result;
+
+        if ((tag & 0x10) != 0) { // floating-point
+            if (sizeShift == 3) {
+                double[] arr = new double[count];
+                bb.asDoubleBuffer().get(arr);
+                result = arr;
+            } else {
+                float[] arr = new float[count];
+                if (sizeShift == 2) {
+                    bb.asFloatBuffer().get(arr);
+                } else {
+                    for (int i = 0; i < count; ++i) {
+                        arr[i] = _halfSizeFloat(bb.getShort(i << 1) & 0xFFFF);
+                    }
+                }
+                result = arr;
+            }
+        } else {
+            final boolean signed = (tag & 0x8) != 0;
+            switch (sizeShift) {
+            case 0:
+                {
+                    int[] arr = new int[count];
+                    if (signed) {
+                        for (int i = 0; i < count; ++i) {
+                            arr[i] = b[i];
+                        }
+                    } else {
+                        for (int i = 0; i < count; ++i) {
+                            arr[i] = b[i] & 0xFF;
+                        }
+                    }
+                    result = arr;
+                }
+                break;
+            case 1:
+                {
+                    int[] arr = new int[count];
+                    for (int i = 0; i < count; ++i) {
+                        int v = bb.getShort(i << 1);
+                        arr[i] = signed ? v : (v & 0xFFFF);
+                    }
+                    result = arr;
+                }
+                break;
+            case 2:
+                if (signed) {
+                    int[] arr = new int[count];
+                    bb.asIntBuffer().get(arr);
+                    result = arr;
+                } else {
+                    long[] arr = new long[count];
+                    for (int i = 0; i < count; ++i) {
+                        arr[i] = bb.getInt(i << 2) & 0xFFFFFFFFL;
+                    }
+                    result = arr;
+                }
+                break;
+            default:
+                {
+                    long[] arr = new long[count];
+                    bb.asLongBuffer().get(arr);
+                    result = arr;
+                }
+            }
+        }
+        _typedArray = null;
+        _tagValue = -1;
+        _parsingContext = _parsingContext.getParent();
+        _currToken = JsonToken.END_ARRAY;
+        return result;
+    }
+
+    /*
+    /**********************************************************
+    /* Public API, bulk reads of primitive arrays
+    /**********************************************************
+     */
+
+    /**
+     * Method that may be called when current token is {@link JsonToken#START_ARRAY}
+     * to read all elements of the Array as <code>int</code>s in one go, instead of
+     * iterating over them as separate tokens. All elements must be integral numbers
+     * that fit in 32 bits. Note that for RFC 8746 typed arrays {@link #readTypedArray}
+     * is even more efficient.
+     *<p>
+     * After successful call, current token will be the matching {@link JsonToken#END_ARRAY}.
+     *
+     * @since 3.0
+     */
+    public int[] readIntArray() throws IOException
+    {
+        _verifyBulkArrayStart("int");
+        int[] result = new int[_bulkArrayLength(0)];
+        int count = 0;
+        while ((count += readIntArray(result, count, result.length - count)) == result.length) {
+            if (!_parsingContext.hasMoreValues()) {
+                nextToken();
+                break;
+            }
+            result = Arrays.copyOf(result, _bulkArrayLength(count));
+        }
+        _verifyBulkArrayEnd("int");
+        return (count == result.length) ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Method that may be called when current token is {@link JsonToken#START_ARRAY}
+     * to read all elements of the Array as <code>long</code>s in one go, instead of
+     * iterating over them as separate tokens. All elements must be integral numbers
+     * that fit in 64 bits.
+     *<p>
+     * After successful call, current token will be the matching {@link JsonToken#END_ARRAY}.
+     *
+     * @since 3.0
+     */
+    public long[] readLongArray() throws IOException
+    {
+        _verifyBulkArrayStart("long");
+        long[] result = new long[_bulkArrayLength(0)];
+        int count = 0;
+        while ((count += readLongArray(result, count, result.length - count)) == result.length) {
+            if (!_parsingContext.hasMoreValues()) {
+                nextToken();
+                break;
+            }
+            result = Arrays.copyOf(result, _bulkArrayLength(count));
+        }
+        _verifyBulkArrayEnd("long");
+        return (count == result.length) ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Method that may be called when current token is {@link JsonToken#START_ARRAY}
+     * to read all elements of the Array as <code>double</code>s in one go, instead of
+     * iterating over them as separate tokens. All elements must be numbers (integral
+     * or floating-point).
+     *<p>
+     * After successful call, current token will be the matching {@link JsonToken#END_ARRAY}.
+     *
+     * @since 3.0
+     */
+    public double[] readDoubleArray() throws IOException
+    {
+        _verifyBulkArrayStart("double");
+        double[] result = new double[_bulkArrayLength(0)];
+        int count = 0;
+        while ((count += readDoubleArray(result, count, result.length - count)) == result.length) {
+            if (!_parsingContext.hasMoreValues()) {
+                nextToken();
+                break;
+            }
+            result = Arrays.copyOf(result, _bulkArrayLength(count));
+        }
+        _verifyBulkArrayEnd("double");
+        return (count == result.length) ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Method for reading elements of the current Array as <code>int</code>s into given
+     * buffer, in a tight loop: values are read as long as they are integral numbers that
+     * fit in 32 bits, until either <code>len</code> values have been read (in which case
+     * current token is the last value read), or some other token is encountered.
+     * In latter case that token -- usually {@link JsonToken#END_ARRAY} -- will be the current
+     * token, and caller may choose how to handle it.
+     * Must be called when current token is {@link JsonToken#START_ARRAY} or an element
+     * of an Array.
+     *
+     * @return Number of values read into buffer
+     *
+     * @since 3.0
+     */
+    @Override
+    public int readIntArray(int[] buffer, int offset, int len) throws IOException
+    {
+        _verifyBulkRead("int");
+        final int end = offset + len;
+        int ix = offset;
+        // whether last value was decoded inline (without updating token state)
+        boolean inlined = false;
+
+        while (ix < end) {
+            // Fast path: untagged int with value fully within buffer
+            if (_canReadBulk()) {
+                final int ptr = _inputPtr;
+                final int ch = _inputBuffer[ptr];
+                final int lowBits = ch & 0x1F;
+                if (((ch & 0xC0) == 0) && (lowBits <= 26)) {
+                    long l = _bulkUnsigned(lowBits, ptr+1);
+                    if ((ch & 0x20) != 0) { // negative
+                        l = -l - 1L;
+                    }
+                    if ((l >= MIN_INT_L) && (l <= MAX_INT_L)) {
+                        _bulkAdvance(ptr, _bulkIntLength(lowBits));
+                        buffer[ix++] = (int) l;
+                        inlined = true;
+                        continue;
+                    }
+                }
+            }
+            // otherwise need to use regular decoding
+            inlined = false;
+            if ((nextToken() != JsonToken.VALUE_NUMBER_INT)
+                    || (getNumberType() != NumberType.INT)) {
+                break;
+            }
+            buffer[ix++] = _numberInt;
+        }
+        if (inlined) {
+            _numberInt = buffer[ix-1];
+            _numTypesValid = NR_INT;
+            _bulkValueDone(JsonToken.VALUE_NUMBER_INT);
+        }
+        return ix - offset;
+    }
+
+    /**
+     * Method for reading elements of the current Array as <code>long</code>s into given
+     * buffer, in a tight loop: values are read as long as they are integral numbers that
+     * fit in 64 bits; otherwise works like {@link #readIntArray(int[], int, int)}.
+     *
+     * @return Number of values read into buffer
+     *
+     * @since 3.0
+     */
+    @Override
+    public int readLongArray(long[] buffer, int offset, int len) throws IOException
+    {
+        _verifyBulkRead("long");
+        final int end = offset + len;
+        int ix = offset;
+        boolean inlined = false;
+
+        while (ix < end) {
+            if (_canReadBulk()) {
+                final int ptr = _inputPtr;
+                final int ch = _inputBuffer[ptr];
+                final int lowBits = ch & 0x1F;
+                if (((ch & 0xC0) == 0) && (lowBits <= 27)) {
+                    long l = _bulkUnsigned(lowBits, ptr+1);
+                    if (l >= 0L) { // only 64-bit values may overflow
+                        _bulkAdvance(ptr, _bulkIntLength(lowBits));
+                        buffer[ix++] = ((ch & 0x20) == 0) ? l : (-l - 1L);
+                        inlined = true;
+                        continue;
+                    }
+                }
+            }
+            inlined = false;
+            if ((nextToken() != JsonToken.VALUE_NUMBER_INT)
+                    || (getNumberType() == NumberType.BIG_INTEGER)) {
+                break;
+            }
+            buffer[ix++] = getLongValue();
+        }
+        if (inlined) {
+            _numberLong = buffer[ix-1];
+            _numTypesValid = NR_LONG;
+            _bulkValueDone(JsonToken.VALUE_NUMBER_INT);
+        }
+        return ix - offset;
+    }
+
+    /**
+     * Method for reading elements of the current Array as <code>double</code>s into given
+     * buffer, in a tight loop: values are read as long as they are numbers (integral
+     * or floating-point); otherwise works like {@link #readIntArray(int[], int, int)}.
+     *
+     * @return Number of values read into buffer
+     *
+     * @since 3.0
+     */
+    @Override
+    public int readDoubleArray(double[] buffer, int offset, int len) throws IOException
+    {
+        _verifyBulkRead("double");
+        final int end = offset + len;
+        int ix = offset;
+        boolean inlined = false;
+
+        while (ix < end) {
+            if (_canReadBulk()) {
+                final int ptr = _inputPtr;
+                final int ch = _inputBuffer[ptr] & 0xFF;
+                if (ch == 0xFB) { // 64-bit double
+                    final byte[] b = _inputBuffer;
+                    _bulkAdvance(ptr, 9);
+                    buffer[ix++] = Double.longBitsToDouble(_long(_int32(b, ptr+1), _int32(b, ptr+5)));
+                    inlined = true;
+                    continue;
+                }
+                if (ch == 0xFA) { // 32-bit float
+                    final byte[] b = _inputBuffer;
+                    _bulkAdvance(ptr, 5);
+                    buffer[ix++] = Float.intBitsToFloat(_int32(b, ptr+1));
+                    inlined = true;
+                    continue;
+                }
+            }
+            inlined = false;
+            JsonToken t = nextToken();
+            if ((t != JsonToken.VALUE_NUMBER_FLOAT) && (t != JsonToken.VALUE_NUMBER_INT)) {
+                break;
+            }
+            buffer[ix++] = getDoubleValue();
+        }
+        if (inlined) {
+            _numberDouble = buffer[ix-1];
+            _numTypesValid = NR_DOUBLE;
+            _bulkValueDone(JsonToken.VALUE_NUMBER_FLOAT);
+        }
+        return ix - offset;
+    }
+
+    private final void _verifyBulkArrayStart(String type) throws IOException
+    {
+        if (_currToken != JsonToken.START_ARRAY) {
+            _reportError("Current token ("+_currToken+") not START_ARRAY, can not read "+type+"[] value");
+        }
+    }
+
+    private final void _verifyBulkArrayEnd(String type) throws IOException
+    {
+        if (_currToken != JsonToken.END_ARRAY) {
+            _reportError("Unexpected token ("+_currToken+") within Array read as "+type+"[] value");
+        }
+    }
+
+    private final void _verifyBulkRead(String type) throws IOException
+    {
+        if (!_parsingContext.inArray()) {
+            _reportError("Current token ("+_currToken+") not within an Array, can not read "+type+" values in bulk");
+        }
+    }
+
+    /**
+     * Helper method for determining size of result array for bulk reads, given
+     * number of values read so far.
+     */
+    private final int _bulkArrayLength(int count)
+    {
+        if (_parsingContext.hasExpectedLength()) {
+            // can use declared length, but not blindly (in case content is corrupt)
+            return count + Math.min(_parsingContext.getExpectedLength() - count,
+                    Math.max(count, 0x10000));
+        }
+        return count + Math.max(count, 16);
+    }
+
+    /**
+     * Helper method for checking whether next Array element may be decoded inline
+     * by bulk readers, given that at most 9 bytes are needed for a number.
+     */
+    private final boolean _canReadBulk() {
+        return !_tokenIncomplete && (_typedArray == null)
+                && ((_inputEnd - _inputPtr) >= 9)
+                && _parsingContext.hasMoreValues();
+    }
+
+    /**
+     * Helper method called by bulk readers to account for value (with type byte
+     * at given offset, and of given total length) decoded inline.
+     */
+    private final void _bulkAdvance(int ptr, int len) {
+        _parsingContext.expectMoreValues();
+        _tokenInputTotal = _currInputProcessed + ptr;
+        _inputPtr = ptr + len;
+    }
+
+    /**
+     * Helper method called by bulk readers to update token state if the last
+     * value was decoded inline.
+     */
+    private final void _bulkValueDone(JsonToken t) {
+        _tagValue = -1;
+        _binaryValue = null;
+        _currToken = t;
+    }
+
+    /**
+     * Helper method for decoding unsigned value of an integer, given "low bits" of its
+     * type byte (at most 27) and offset of the following byte; caller must ensure
+     * that all bytes are available.
+     */
+    private final long _bulkUnsigned(int lowBits, int ptr)
+    {
+        final byte[] b = _inputBuffer;
+        switch (lowBits) {
+        case 24:
+            return b[ptr] & 0xFF;
+        case 25:
+            return ((b[ptr] & 0xFF) << 8) | (b[ptr+1] & 0xFF);
+        case 26:
+            return _int32(b, ptr) & 0xFFFFFFFFL;
+        case 27:
+            return _long(_int32(b, ptr), _int32(b, ptr+4));
+        }
+        return lowBits;
+    }
+
+    private final static int _bulkIntLength(int lowBits) {
+        return (lowBits < 24) ? 1 : (1 + (1 << (lowBits - 24)));
+    }
+
+    private final static int _int32(byte[] b, int ptr) {
+        return (b[ptr] << 24) | ((b[ptr+1] & 0xFF) << 16)
+                | ((b[ptr+2] & 0xFF) << 8) | (b[ptr+3] & 0xFF);
+    }
+
     /*
     /**********************************************************
     /* Public API, traversal, optimized: nextFieldName
@@ -881,7 +1992,9 @@ public class CBORParser extends ParserBase
     @Override
     public String nextFieldName() throws IOException
     {
-        if (_parsingContext.inObject() && _currToken != JsonToken.FIELD_NAME) {
+        // note: names within "stringref" namespace need more work, use default handling
+        if (_parsingContext.inObject() && _currToken != JsonToken.FIELD_NAME
+                && (_parsingContext._stringRefs == null)) {
             _numTypesValid = NR_UNKNOWN;
             if (_tokenIncomplete) {
                 _skipIncomplete();
@@ -951,7 +2064,8 @@ public class CBORParser extends ParserBase
     public boolean nextFieldName(SerializableString str) throws IOException
     {
         // Two parsing modes; can only succeed if expecting field name, so handle that first:
-        if (_parsingContext.inObject() && _currToken != JsonToken.FIELD_NAME) {
+        if (_parsingContext.inObject() && _currToken != JsonToken.FIELD_NAME
+                && (_parsingContext._stringRefs == null)) {
             _numTypesValid = NR_UNKNOWN;
             if (_tokenIncomplete) {
                 _skipIncomplete();
@@ -1005,6 +2119,13 @@ public class CBORParser extends ParserBase
             nextToken();
             return FieldNameMatcher.MATCH_ODD_TOKEN;
         }
+        // names within "stringref" namespace need more work, use default handling
+        if (_parsingContext._stringRefs != null) {
+            if (nextToken() == JsonToken.FIELD_NAME) {
+                return matcher.matchName(_parsingContext.currentName());
+            }
+            return FieldNameMatcher.MATCH_END_OBJECT;
+        }
 
         if (_tokenIncomplete) {
             _skipIncomplete();
@@ -1245,6 +2366,10 @@ public class CBORParser extends ParserBase
     @Override
     public String nextTextValue() throws IOException
     {
+        // values within "stringref" namespace need more work, use default handling
+        if (_parsingContext._stringRefs != null) {
+            return (nextToken() == JsonToken.VALUE_STRING) ? getText() : null;
+        }
         _numTypesValid = NR_UNKNOWN;
         if (_tokenIncomplete) {
             _skipIncomplete();
@@ -1268,10 +2393,15 @@ public class CBORParser extends ParserBase
         } else {
             if (!_parsingContext.expectMoreValues()) {
                 _tagValue = -1;
+                _typedArray = null;
                 _parsingContext = _parsingContext.getParent();
                 _currToken = JsonToken.END_ARRAY;
                 return null;
             }
+            if (_typedArray != null) {
+                _currToken = _nextTypedArrayValue();
+                return null;
+            }
         }
         if (_inputPtr >= _inputEnd) {
             if (!loadMore()) {
@@ -1391,6 +2521,10 @@ public class CBORParser extends ParserBase
         case 2: // byte[]
             _typeByte = ch;
             _tokenIncomplete = true;
+            if (_tagValue >= 0) {
+                _handleTaggedBinary(_tagValue);
+                return null;
+            }
             _currToken = JsonToken.VALUE_EMBEDDED_OBJECT;
             return null;
 
@@ -1405,6 +2539,9 @@ public class CBORParser extends ParserBase
             {
                 int len = _decodeExplicitLength(lowBits);
                 _parsingContext = _parsingContext.createChildArrayContext(len);
+                if (_tagValue == TAG_STRINGREF_NAMESPACE) {
+                    _parsingContext.startStringRefNamespace();
+                }
             }
             return null;
 
@@ -1413,6 +2550,9 @@ public class CBORParser extends ParserBase
             {
                 int len = _decodeExplicitLength(lowBits);
                 _parsingContext = _parsingContext.createChildObjectContext(len);
+                if (_tagValue == TAG_STRINGREF_NAMESPACE) {
+                    _parsingContext.startStringRefNamespace();
+                }
             }
             return null;
 
@@ -2045,7 +3185,11 @@ public class CBORParser extends ParserBase
         // Either String or byte[]
         if (type != CBORConstants.MAJOR_TYPE_TEXT) {
             if (type == CBORConstants.MAJOR_TYPE_BYTES) {
-                _binaryValue = _finishBytes(_decodeExplicitLength(ch));
+                final int len = _decodeExplicitLength(ch);
+                _binaryValue = _finishBytes(len);
+                if (_parsingContext._stringRefs != null) {
+                    _addStringRef(_binaryValue, len);
+                }
                 return;
             }
             // should never happen so
@@ -2068,12 +3212,18 @@ public class CBORParser extends ParserBase
             if (len >= _inputBuffer.length) {
                 // If not enough space, need handling similar to chunked
                 _finishLongText(len);
+                if (_parsingContext._stringRefs != null) {
+                    _addStringRef(_textBuffer.contentsAsString(), len);
+                }
                 return;
             }
             _loadToHaveAtLeast(len);
         }
         // offline for better optimization
-        _finishShortText(len);
+        String str = _finishShortText(len);
+        if (_parsingContext._stringRefs != null) {
+            _addStringRef(str, len);
+        }
     }
 
     protected String _finishTextToken(int ch) throws IOException
@@ -2104,12 +3254,20 @@ public class CBORParser extends ParserBase
             if (len >= _inputBuffer.length) {
                 // If not enough space, need handling similar to chunked
                 _finishLongText(len);
-                return _textBuffer.contentsAsString();
+                String str = _textBuffer.contentsAsString();
+                if (_parsingContext._stringRefs != null) {
+                    _addStringRef(str, len);
+                }
+                return str;
             }
             _loadToHaveAtLeast(len);
         }
         // offline for better optimization
-        return _finishShortText(len);
+        String str = _finishShortText(len);
+        if (_parsingContext._stringRefs != null) {
+            _addStringRef(str, len);
+        }
+        return str;
     }
 
     private final String _finishShortText(int len) throws IOException
@@ -2463,28 +3621,31 @@ public class CBORParser extends ParserBase
             _decodeNonStringName(ch);
             return JsonToken.FIELD_NAME;
         }
-        final int lenMarker = ch & 0x1F;
+        int len = ch & 0x1F;
         String name;
-        if (lenMarker <= 23) {
-            if (lenMarker == 0) {
+        if (len <= 23) {
+            if (len == 0) {
                 name = "";
             } else {
-                name = _findDecodedFromSymbols(lenMarker);
+                name = _findDecodedFromSymbols(len);
                 if (name != null) {
-                    _inputPtr += lenMarker;
+                    _inputPtr += len;
                 } else {
-                    name = _decodeShortName(lenMarker);
-                    name = _addDecodedToSymbols(lenMarker, name);
+                    name = _decodeShortName(len);
+                    name = _addDecodedToSymbols(len, name);
                 }
             }
         } else {
-            final int actualLen = _decodeExplicitLength(lenMarker);
-            if (actualLen < 0) {
+            len = _decodeExplicitLength(len);
+            if (len < 0) {
                 name = _decodeChunkedName();
             } else {
-                name = _decodeLongerName(actualLen);
+                name = _decodeLongerName(len);
             }
         }
+        if (_parsingContext._stringRefs != null) {
+            _parsingContext._stringRefs.add(name, len);
+        }
         _parsingContext.setCurrentName(name);
         return JsonToken.FIELD_NAME;
     }
@@ -2593,9 +3754,14 @@ public class CBORParser extends ParserBase
             //  08-Sep-2014, tatu: There are codecs (f.ex. Perl module "CBOR::XS") that use Binary data...
             final int blen = _decodeExplicitLength(ch & 0x1F);
             byte[] b = _finishBytes(blen);
+            if (_parsingContext._stringRefs != null) {
+                _parsingContext._stringRefs.add(b, blen);
+            }
             // TODO: Optimize, if this becomes commonly used & bottleneck; we have
             //  more optimized UTF-8 codecs available.
             name = new String(b, UTF8);
+        } else if ((type == CBORConstants.MAJOR_TYPE_TAG) && (_parsingContext._stringRefs != null)) {
+            name = _decodeStringRefName(ch);
         } else {
             if ((ch & 0xFF) == CBORConstants.INT_BREAK) {
                 _reportUnexpectedBreak();
@@ -2606,6 +3772,54 @@ public class CBORParser extends ParserBase
         return name;
     }
 
+    private final String _decodeStringRefName(int ch) throws IOException
+    {
+        final int tag = _decodeTag(ch & 0x1F);
+        if (tag != TAG_STRINGREF) {
+            throw _constructError("Unsupported tag ("+tag+") for CBOR Object key: only 'stringref' ("
+                    +TAG_STRINGREF+") allowed");
+        }
+        if (_inputPtr >= _inputEnd) {
+            loadMoreGuaranteed();
+        }
+        Object ref = _decodeStringRef(_inputBuffer[_inputPtr++]);
+        if (ref instanceof String) {
+            return (String) ref;
+        }
+        return new String((byte[]) ref, UTF8);
+    }
+
+    /**
+     * Helper method for decoding index of a String reference (tag {@link CBORConstants#TAG_STRINGREF})
+     * and returning value it refers to within current namespace.
+     */
+    private final Object _decodeStringRef(int ch) throws IOException
+    {
+        final int type = ((ch >> 5) & 0x7);
+        if (type != CBORConstants.MAJOR_TYPE_INT_POS) {
+            throw _constructError("Invalid 'stringref' value: expected unsigned integer index, got major type "+type);
+        }
+        final StringRefNamespace refs = _parsingContext._stringRefs;
+        final int index = _decodeExplicitLength(ch & 0x1F);
+        if ((index < 0) || (index >= refs.size())) {
+            throw _constructError("Invalid 'stringref' index ("+index+"): only "+refs.size()
+                +" Strings in current namespace");
+        }
+        return refs.get(index);
+    }
+
+    /**
+     * Helper method called to add a definite-length String value (text or binary)
+     * in current "stringref" namespace, if long enough to be referenceable.
+     */
+    private final void _addStringRef(Object value, int byteLength)
+    {
+        // Value that starts a new namespace itself is not included in the outer one
+        if (_tagValue != TAG_STRINGREF_NAMESPACE) {
+            _parsingContext._stringRefs.add(value, byteLength);
+        }
+    }
+
     private final String _findDecodedFromSymbols(final int len) throws IOException
     {
         if ((_inputEnd - _inputPtr) < len) {
@@ -2753,6 +3967,11 @@ public class CBORParser extends ParserBase
      */
     protected void _skipIncomplete() throws IOException
     {
+        // Within "stringref" namespace, need to retain values for possible references
+        if (_parsingContext._stringRefs != null) {
+            _finishToken();
+            return;
+        }
         _tokenIncomplete = false;
         final int type = ((_typeByte >> 5) & 0x7);
 
@@ -2942,10 +4161,16 @@ public class CBORParser extends ParserBase
         return len;
     }
     
-    private float _decodeHalfSizeFloat() throws IOException
-    {
-        int i16 = _decode16Bits() & 0xFFFF;
+    private float _decodeHalfSizeFloat() throws IOException {
+        return _halfSizeFloat(_decode16Bits() & 0xFFFF);
+    }
 
+    /**
+     * Helper method for converting 16 bits of "mini-float" into regular 32-bit
+     * float value; separated out for use by non-blocking parser too.
+     */
+    protected final static float _halfSizeFloat(int i16)
+    {
         boolean neg = (i16 >> 15) != 0;
         int e = (i16 >> 10) & 0x1F;
         int f = i16 & 0x03FF;
@@ -3159,6 +4384,7 @@ public class CBORParser extends ParserBase
     protected final boolean loadMore() throws IOException
     {
         if (_inputStream != null) {
+            _beforeInputDiscard(_inputEnd);
             _currInputProcessed += _inputEnd;
 
             int count = _inputStream.read(_inputBuffer, 0, _inputBuffer.length);
@@ -3180,6 +4406,19 @@ public class CBORParser extends ParserBase
     protected final void loadMoreGuaranteed() throws IOException {
         if (!loadMore()) { _reportInvalidEOF(); }
     }
+
+    /**
+     * Helper method called before contents of input buffer, up to given offset, are
+     * discarded (overwritten or moved) when loading more input, to copy content
+     * being read by {@link #readRawValue}, if any.
+     */
+    private final void _beforeInputDiscard(int end) throws IOException
+    {
+        if (_rawValueOut != null) {
+            _copyRawValue(end);
+            _rawValueStart = 0;
+        }
+    }
     
     /**
      * Helper method that will try to load at least specified number bytes in
@@ -3191,6 +4430,7 @@ public class CBORParser extends ParserBase
         if (_inputStream == null) {
             throw _constructError("Needed to read "+minAvailable+" bytes, reached end-of-input");
         }
+        _beforeInputDiscard(_inputPtr);
         // Need to move remaining data in front?
         int amount = _inputEnd - _inputPtr;
         if (amount > 0 && _inputPtr > 0) {
@@ -3302,12 +4542,12 @@ public class CBORParser extends ParserBase
 
     private final static BigInteger BIT_63 = BigInteger.ONE.shiftLeft(63);
 
-    private final BigInteger _bigPositive(long l) {
+    protected final BigInteger _bigPositive(long l) {
         BigInteger biggie = BigInteger.valueOf((l << 1) >>> 1);
         return biggie.or(BIT_63);
     }
 
-    private final BigInteger _bigNegative(long l) {
+    protected final BigInteger _bigNegative(long l) {
         // 03-Dec-2017, tatu: [dataformats-binary#149] Careful with overflow
         BigInteger unsignedBase = _bigPositive(l);
         return unsignedBase.negate().subtract(BigInteger.ONE);
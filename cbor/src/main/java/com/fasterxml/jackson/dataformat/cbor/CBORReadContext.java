@@ -30,6 +30,15 @@ public final class CBORReadContext
     protected String _currentName;
 
     protected Object _currentValue;
+
+    /**
+     * Strings seen within currently active "stringref" namespace, if any;
+     * shared with parent context unless a new namespace was started for
+     * this context.
+     *
+     * @since 3.0
+     */
+    protected StringRefNamespace _stringRefs;
     
     /*
     /**********************************************************
@@ -51,6 +60,7 @@ public final class CBORReadContext
         super();
         _parent = parent;
         _dups = dups;
+        _stringRefs = (parent == null) ? null : parent._stringRefs;
         _type = type;
         _expEntryCount = expEntryCount;
         _index = -1;
@@ -63,6 +73,7 @@ public final class CBORReadContext
         _index = -1;
         _currentName = null;
         _currentValue = null;
+        _stringRefs = _parent._stringRefs;
         if (_dups != null) {
             _dups.reset();
         }
@@ -128,6 +139,21 @@ public final class CBORReadContext
     /**********************************************************
      */
 
+    /**
+     * Method called when this context (Array or Object) is tagged to start
+     * a new "stringref" namespace.
+     *
+     * @since 3.0
+     */
+    public void startStringRefNamespace() {
+        _stringRefs = new StringRefNamespace();
+    }
+
+    /**
+     * @since 3.0
+     */
+    public StringRefNamespace getStringRefs() { return _stringRefs; }
+
     public boolean hasExpectedLength() { return (_expEntryCount >= 0); }
     public int getExpectedLength() { return _expEntryCount; }
 
@@ -146,6 +172,16 @@ public final class CBORReadContext
         }
         return true;
     }
+
+    /**
+     * Method similar to {@link #expectMoreValues} but that does not update
+     * count of current entries.
+     *
+     * @since 3.0
+     */
+    public boolean hasMoreValues() {
+        return (_index + 1) != _expEntryCount;
+    }
     
     /**
      * @return Location pointing to the point where the context
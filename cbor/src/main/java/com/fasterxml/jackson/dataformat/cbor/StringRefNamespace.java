@@ -0,0 +1,78 @@
+package com.fasterxml.jackson.dataformat.cbor;
+
+import java.util.Arrays;
+
+/**
+ * Container for Strings (text and binary) seen within a single
+ * "stringref" namespace (see <a href="http://cbor.schmorp.de/stringref">stringref spec</a>):
+ * namespace is opened by tag {@link CBORConstants#TAG_STRINGREF_NAMESPACE} and covers the
+ * tagged value, within which definite-length Strings that are long enough
+ * are assigned ascending indexes, and may later be referred to by
+ * tag {@link CBORConstants#TAG_STRINGREF} followed by the index.
+ *<p>
+ * Used by {@link CBORParser} for resolving references; generator only needs
+ * to keep track of indexes assigned, using {@link #shouldAdd}.
+ *
+ * @since 3.0
+ */
+public final class StringRefNamespace
+{
+    private final static int INITIAL_SIZE = 16;
+
+    /**
+     * Values seen so far: either {@link String}s (for text) or
+     * <code>byte[]</code>s (for binary data).
+     */
+    private Object[] _refs;
+
+    private int _size;
+
+    public StringRefNamespace() {
+        _refs = new Object[INITIAL_SIZE];
+    }
+
+    /**
+     * Method for checking whether a String encoded in given number of bytes
+     * is to be added in namespace, given the index it would get: only Strings
+     * long enough so that a reference would be shorter are added.
+     */
+    public static boolean shouldAdd(int nextIndex, int byteLength)
+    {
+        if (nextIndex < 24) {
+            return byteLength >= 3;
+        }
+        if (nextIndex < 256) {
+            return byteLength >= 4;
+        }
+        if (nextIndex < 65536) {
+            return byteLength >= 5;
+        }
+        // can not have more than Integer.MAX_VALUE entries, so no need for 11-byte case
+        return byteLength >= 7;
+    }
+
+    public int size() { return _size; }
+
+    /**
+     * @param index Index of value to return; caller must ensure it is within
+     *    bounds (less than {@link #size()})
+     */
+    public Object get(int index) {
+        return _refs[index];
+    }
+
+    /**
+     * Method called to add given value (either {@link String} or <code>byte[]</code>)
+     * decoded from a definite-length String of given length (in bytes), if
+     * long enough to be added.
+     */
+    public void add(Object value, int byteLength)
+    {
+        if (shouldAdd(_size, byteLength)) {
+            if (_size == _refs.length) {
+                _refs = Arrays.copyOf(_refs, _size + _size);
+            }
+            _refs[_size++] = value;
+        }
+    }
+}
@@ -0,0 +1,725 @@
+package com.fasterxml.jackson.dataformat.cbor.async;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectReadContext;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.async.NonBlockingInputFeeder;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.sym.ByteQuadsCanonicalizer;
+import com.fasterxml.jackson.core.util.VersionUtil;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORConstants;
+
+/**
+ * Non-blocking CBOR parser that is fed content via {@link ByteArrayFeeder}:
+ * all content fed must be fully consumed before more may be fed.
+ */
+public class NonBlockingByteArrayParser
+    extends NonBlockingParserBase
+    implements ByteArrayFeeder
+{
+    /*
+    /**********************************************************************
+    /* Input source config
+    /**********************************************************************
+     */
+
+    /**
+     * In addition to current buffer pointer, and end pointer,
+     * we will also need to know number of bytes originally
+     * contained. This is needed to correctly update location
+     * information when the block has been completed.
+     */
+    protected int _origBufferLen;
+
+    // And from CBORParser/ParserBase:
+//    protected byte[] _inputBuffer;
+//    protected int _inputPtr;
+//    protected int _inputEnd;
+
+    /*
+    /**********************************************************************
+    /* Life-cycle
+    /**********************************************************************
+     */
+
+    public NonBlockingByteArrayParser(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int parserFeatures, int cborFeatures,
+            ByteQuadsCanonicalizer sym)
+    {
+        super(readCtxt, ioCtxt, parserFeatures, cborFeatures, sym);
+    }
+
+    /*
+    /**********************************************************************
+    /* AsyncInputFeeder impl
+    /**********************************************************************
+     */
+
+    @Override
+    public ByteArrayFeeder getNonBlockingInputFeeder() {
+        return this;
+    }
+
+    @Override
+    public final boolean needMoreInput() {
+        return (_inputPtr >=_inputEnd) && !_endOfInput;
+    }
+
+    @Override
+    public void feedInput(byte[] buf, int start, int end) throws IOException
+    {
+        // Must not have remaining input
+        if (_inputPtr < _inputEnd) {
+            _reportError("Still have %d undecoded bytes, should not call 'feedInput'", _inputEnd - _inputPtr);
+        }
+        if (end < start) {
+            _reportError("Input end (%d) may not be before start (%d)", end, start);
+        }
+        // and shouldn't have been marked as end-of-input
+        if (_endOfInput) {
+            _reportError("Already closed, can not feed more input");
+        }
+        // Time to update pointers first
+        _currInputProcessed += _origBufferLen;
+
+        // And then update buffer settings
+        _inputBuffer = buf;
+        _inputPtr = start;
+        _inputEnd = end;
+        _origBufferLen = end - start;
+    }
+
+    @Override
+    public void endOfInput() {
+        _endOfInput = true;
+    }
+
+    /*
+    /**********************************************************************
+    /* Abstract methods/overrides from JsonParser
+    /**********************************************************************
+     */
+
+    @Override
+    public int releaseBuffered(OutputStream out) throws IOException {
+        int avail = _inputEnd - _inputPtr;
+        if (avail > 0) {
+            out.write(_inputBuffer, _inputPtr, avail);
+        }
+        return avail;
+    }
+
+    /*
+    /**********************************************************************
+    /* Main-level decoding
+    /**********************************************************************
+     */
+
+    @Override
+    public JsonToken nextToken() throws IOException
+    {
+        // Skipping of children that needed more input?
+        if (_pendingSkipDepth > 0) {
+            return _finishSkipChildren();
+        }
+        JsonToken t = _nextToken();
+        // Tagged decimal fractions consist of multiple physical tokens but are
+        // exposed as one logical token
+        if (_decimalState != DECIMAL_NONE) {
+            t = _finishDecimalFraction(t);
+        }
+        return t;
+    }
+
+    protected final JsonToken _nextToken() throws IOException
+    {
+        if (_closed) {
+            return null;
+        }
+        // in the middle of tokenization?
+        if (_currToken == JsonToken.NOT_AVAILABLE) {
+            if (_inputPtr >= _inputEnd) {
+                if (_endOfInput) {
+                    return _eofAsNextToken();
+                }
+                return JsonToken.NOT_AVAILABLE;
+            }
+            return _finishPartialToken();
+        }
+
+        // No: fresh new token; may or may not have existing one
+        _numTypesValid = NR_UNKNOWN;
+        // also: clear any data retained so far
+        _binaryValue = null;
+        _tagValue = -1;
+
+        // Need to keep track of lengths of definite-length Arrays and Objects,
+        // to materialize END_ARRAY/END_OBJECT as necessary, without any input
+        switch (_majorState) {
+        case MAJOR_OBJECT_FIELD:
+            if (!_parsingContext.expectMoreValues()) {
+                return _closeObjectScope();
+            }
+            break;
+        case MAJOR_ARRAY_ELEMENT:
+            if (!_parsingContext.expectMoreValues()) {
+                return _closeArrayScope();
+            }
+            break;
+        case MAJOR_ROOT:
+        case MAJOR_OBJECT_VALUE:
+            // note: if no input, do not even bother changing state
+            if (_inputPtr >= _inputEnd) {
+                if (_endOfInput) {
+                    return _eofAsNextToken();
+                }
+                return JsonToken.NOT_AVAILABLE;
+            }
+            _tokenInputTotal = _currInputProcessed + _inputPtr;
+            return _startToken(_inputBuffer[_inputPtr++]);
+        case MAJOR_CLOSED:
+            return null;
+        default:
+            VersionUtil.throwInternal();
+        }
+
+        // Entry has been accounted for, so must remember that if we get no content
+        if (_inputPtr >= _inputEnd) {
+            if (_endOfInput) {
+                return _eofAsNextToken();
+            }
+            _minorState = MINOR_TOKEN_START;
+            return (_currToken = JsonToken.NOT_AVAILABLE);
+        }
+        _tokenInputTotal = _currInputProcessed + _inputPtr;
+        return _startToken(_inputBuffer[_inputPtr++]);
+    }
+
+    /**
+     * Method called when a token has been detected, but not all of
+     * contents have been decoded due to incomplete input available.
+     */
+    protected final JsonToken _finishPartialToken() throws IOException
+    {
+        // NOTE: caller ensures availability of at least one byte
+        switch (_minorState) {
+        case MINOR_TOKEN_START:
+            _tokenInputTotal = _currInputProcessed + _inputPtr;
+            return _startToken(_inputBuffer[_inputPtr++]);
+        case MINOR_ARGUMENT:
+            return _finishArgument();
+        case MINOR_VALUE_TEXT:
+            return _finishText();
+        case MINOR_VALUE_BINARY:
+            return _finishBinary();
+        case MINOR_CHUNK_HEADER:
+        case MINOR_CHUNK_LENGTH:
+        case MINOR_CHUNK_BODY:
+            return _finishChunked();
+        default:
+        }
+        VersionUtil.throwInternal();
+        return null;
+    }
+
+    /*
+    /**********************************************************************
+    /* Second-level decoding, token start
+    /**********************************************************************
+     */
+
+    /**
+     * Method called to handle the first byte of a token: either a value, or,
+     * if in Object context, a field name (or end marker).
+     */
+    protected final JsonToken _startToken(int ch) throws IOException
+    {
+        _typeByte = ch;
+        final int lowBits = ch & 0x1F;
+
+        if (lowBits <= 23) {
+            return _handleArgument(lowBits);
+        }
+        if (lowBits == 31) {
+            return _startIndefinite(ch);
+        }
+        if (lowBits > 27) {
+            _invalidToken(ch);
+        }
+        // Simple values are only allowed inline, for now
+        if ((lowBits == 24) && (((ch >> 5) & 0x7) == CBORConstants.MAJOR_TYPE_MISC)) {
+            _invalidToken(ch);
+        }
+        _pending32 = 1 << (lowBits - 24);
+        _pending64 = 0L;
+        return _finishArgument();
+    }
+
+    /**
+     * Method for collecting (big-endian) bytes of the argument that follows
+     * the type byte; and once all are available, handling the token.
+     */
+    protected final JsonToken _finishArgument() throws IOException
+    {
+        final byte[] inBuf = _inputBuffer;
+        int ptr = _inputPtr;
+        final int count = Math.min(_pending32, _inputEnd - ptr);
+        long l = _pending64;
+        for (final int end = ptr + count; ptr < end; ++ptr) {
+            l = (l << 8) | (inBuf[ptr] & 0xFF);
+        }
+        _inputPtr = ptr;
+        _pending64 = l;
+        if ((_pending32 -= count) > 0) {
+            _minorState = MINOR_ARGUMENT;
+            return (_currToken = JsonToken.NOT_AVAILABLE);
+        }
+        return _handleArgument(l);
+    }
+
+    /**
+     * Method called once the type byte (stored in {@link #_typeByte}) and its
+     * argument have been decoded: either results in a complete token, or
+     * starts decoding of content that follows.
+     */
+    protected final JsonToken _handleArgument(long arg) throws IOException
+    {
+        final int ch = _typeByte;
+        final int type = (ch >> 5) & 0x7;
+
+        if (_majorState == MAJOR_OBJECT_FIELD) {
+            return _handleNameArgument(type, arg);
+        }
+
+        switch (type) {
+        case CBORConstants.MAJOR_TYPE_INT_POS:
+            _setNumber(ch & 0x1F, arg, false);
+            return _valueComplete(JsonToken.VALUE_NUMBER_INT);
+        case CBORConstants.MAJOR_TYPE_INT_NEG:
+            _setNumber(ch & 0x1F, arg, true);
+            return _valueComplete(JsonToken.VALUE_NUMBER_INT);
+        case CBORConstants.MAJOR_TYPE_BYTES:
+            _binaryValue = new byte[_checkedLength(arg)];
+            _inputCopyLen = 0;
+            return _finishBinary();
+        case CBORConstants.MAJOR_TYPE_TEXT:
+            _pending32 = _checkedLength(arg);
+            _inputCopyLen = 0;
+            return _finishText();
+        case CBORConstants.MAJOR_TYPE_ARRAY:
+            {
+                final int len = _checkedLength(arg);
+                if (_tagValue == CBORConstants.TAG_DECIMAL_FRACTION) {
+                    _verifyDecimalFractionLength(len);
+                    _decimalState = DECIMAL_START;
+                }
+                return _startArrayScope(len);
+            }
+        case CBORConstants.MAJOR_TYPE_OBJECT:
+            return _startObjectScope(_checkedLength(arg));
+        case CBORConstants.MAJOR_TYPE_TAG:
+            if (_tagValue >= 0) {
+                _reportError("Multiple tags not allowed per value (first tag: "+_tagValue+")");
+            }
+            if (arg < 0L || arg > MAX_INT_L) {
+                _reportError("Illegal Tag value: "+arg);
+            }
+            if (arg == CBORConstants.TAG_STRINGREF_NAMESPACE) {
+                // would need to retain all Strings decoded, not (yet?) supported
+                _reportError("'stringref' namespaces (tag "+arg+") not supported by non-blocking parser");
+            }
+            _tagValue = (int) arg;
+            // and then the actual value
+            if (_inputPtr >= _inputEnd) {
+                _minorState = MINOR_TOKEN_START;
+                return (_currToken = JsonToken.NOT_AVAILABLE);
+            }
+            return _startToken(_inputBuffer[_inputPtr++]);
+        default: // misc: tokens, floats
+        }
+
+        switch (ch & 0x1F) {
+        case 20:
+            return _valueComplete(JsonToken.VALUE_FALSE);
+        case 21:
+            return _valueComplete(JsonToken.VALUE_TRUE);
+        case 22:
+            return _valueComplete(JsonToken.VALUE_NULL);
+        case 23:
+            return _valueComplete(_decodeUndefinedValue());
+        case 25: // 16-bit float...
+            _numberFloat = _halfSizeFloat((int) arg);
+            _numTypesValid = NR_FLOAT;
+            return _valueComplete(JsonToken.VALUE_NUMBER_FLOAT);
+        case 26: // Float32
+            _numberFloat = Float.intBitsToFloat((int) arg);
+            _numTypesValid = NR_FLOAT;
+            return _valueComplete(JsonToken.VALUE_NUMBER_FLOAT);
+        case 27: // Float64
+            _numberDouble = Double.longBitsToDouble(arg);
+            _numTypesValid = NR_DOUBLE;
+            return _valueComplete(JsonToken.VALUE_NUMBER_FLOAT);
+        default:
+        }
+        _invalidToken(ch);
+        return null;
+    }
+
+    protected final JsonToken _handleNameArgument(int type, long arg) throws IOException
+    {
+        final int lowBits = _typeByte & 0x1F;
+        switch (type) {
+        case CBORConstants.MAJOR_TYPE_TEXT:
+            _pending32 = _checkedLength(arg);
+            _inputCopyLen = 0;
+            return _finishText();
+        case CBORConstants.MAJOR_TYPE_BYTES:
+            //  08-Sep-2014, tatu: There are codecs (f.ex. Perl module "CBOR::XS") that use Binary data...
+            _binaryValue = new byte[_checkedLength(arg)];
+            _inputCopyLen = 0;
+            return _finishBinary();
+        case CBORConstants.MAJOR_TYPE_INT_POS:
+            _setNumber(lowBits, arg, false);
+            return _fieldNameComplete(_numberAsName());
+        case CBORConstants.MAJOR_TYPE_INT_NEG:
+            _setNumber(lowBits, arg, true);
+            return _fieldNameComplete(_numberAsName());
+        default:
+        }
+        _reportUnsupportedNameType(_typeByte);
+        return null;
+    }
+
+    /**
+     * Method called to handle type byte with "indefinite length" marker: start of
+     * chunked String or binary value, Array or Object; or end marker (break)
+     */
+    protected final JsonToken _startIndefinite(int ch) throws IOException
+    {
+        final int type = (ch >> 5) & 0x7;
+        final boolean nameExpected = (_majorState == MAJOR_OBJECT_FIELD);
+
+        switch (type) {
+        case CBORConstants.MAJOR_TYPE_BYTES:
+            if (!nameExpected) {
+                _getByteArrayBuilder();
+            }
+            // fall through
+        case CBORConstants.MAJOR_TYPE_TEXT:
+            _inputCopyLen = 0;
+            _minorState = MINOR_CHUNK_HEADER;
+            return _finishChunked();
+        case CBORConstants.MAJOR_TYPE_ARRAY:
+            if (nameExpected) {
+                break;
+            }
+            if (_tagValue == CBORConstants.TAG_DECIMAL_FRACTION) {
+                _verifyDecimalFractionLength(-1);
+            }
+            return _startArrayScope(-1);
+        case CBORConstants.MAJOR_TYPE_OBJECT:
+            if (nameExpected) {
+                break;
+            }
+            return _startObjectScope(-1);
+        case CBORConstants.MAJOR_TYPE_MISC: // Break
+            if (_tagValue >= 0) {
+                _invalidToken(ch);
+            }
+            if (nameExpected) {
+                if (!_parsingContext.hasExpectedLength()) {
+                    return _closeObjectScope();
+                }
+            } else if (_majorState == MAJOR_ARRAY_ELEMENT) {
+                if (!_parsingContext.hasExpectedLength()) {
+                    return _closeArrayScope();
+                }
+            }
+            // Object end-marker can't occur here
+            _reportUnexpectedBreak();
+        default:
+        }
+        if (nameExpected) {
+            _reportUnsupportedNameType(ch);
+        }
+        _invalidToken(ch);
+        return null;
+    }
+
+    /*
+    /**********************************************************************
+    /* Second-level decoding, numbers
+    /**********************************************************************
+     */
+
+    private final void _setNumber(int lowBits, long arg, boolean neg)
+    {
+        // 8-byte values may exceed range of signed long
+        if (lowBits == 27) {
+            if (arg >= 0L) {
+                _numberLong = neg ? (-arg - 1L) : arg;
+                _numTypesValid = NR_LONG;
+            } else {
+                _numberBigInt = neg ? _bigNegative(arg) : _bigPositive(arg);
+                _numTypesValid = NR_BIGINT;
+            }
+            return;
+        }
+        // and 4-byte ones range of signed int (15-Oct-2016, [dataformats-binary#30])
+        if (arg > MAX_INT_L) {
+            _numberLong = neg ? (-arg - 1L) : arg;
+            _numTypesValid = NR_LONG;
+        } else {
+            _numberInt = neg ? (-((int) arg) - 1) : (int) arg;
+            _numTypesValid = NR_INT;
+        }
+    }
+
+    private final String _numberAsName()
+    {
+        switch (_numTypesValid) {
+        case NR_INT:
+            return String.valueOf(_numberInt);
+        case NR_LONG:
+            return String.valueOf(_numberLong);
+        default:
+        }
+        return _numberBigInt.toString();
+    }
+
+    private final void _verifyDecimalFractionLength(int len) throws IOException
+    {
+        // but has to have length of 2; otherwise we have a problem...
+        if (len != 2) {
+            _reportError("Unexpected array size ("+len+") for tagged 'bigfloat' value; should have exactly 2 number elements");
+        }
+    }
+
+    /**
+     * Method called when a tagged decimal fraction value is being decoded, to
+     * combine its exponent and mantissa into a single logical token.
+     */
+    protected final JsonToken _finishDecimalFraction(JsonToken t) throws IOException
+    {
+        for (;; t = _nextToken()) {
+            if ((t == null) || (t == JsonToken.NOT_AVAILABLE)) {
+                return t;
+            }
+            switch (_decimalState) {
+            case DECIMAL_START: // START_ARRAY, to be hidden
+                _decimalState = DECIMAL_EXPONENT;
+                continue;
+            case DECIMAL_EXPONENT:
+                // First: exponent, which MUST be a simple integer value
+                if (t != JsonToken.VALUE_NUMBER_INT) {
+                    _reportError("Unexpected token ("+t+") as the first part of 'bigfloat' value: should get VALUE_NUMBER_INT");
+                }
+                // 27-Nov-2019, tatu: As per [dataformats-binary#139] need to change sign here
+                _decimalScale = -getIntValue();
+                _decimalState = DECIMAL_MANTISSA;
+                continue;
+            case DECIMAL_MANTISSA:
+                // Should get an integer value; int/long/BigInteger
+                if (t != JsonToken.VALUE_NUMBER_INT) {
+                    _reportError("Unexpected token ("+t+") as the second part of 'bigfloat' value: should get VALUE_NUMBER_INT");
+                }
+                if (getNumberType() == NumberType.BIG_INTEGER) {
+                    _numberBigDecimal = new BigDecimal(getBigIntegerValue(), _decimalScale);
+                } else  {
+                    _numberBigDecimal = BigDecimal.valueOf(getLongValue(), _decimalScale);
+                }
+                _decimalState = DECIMAL_END;
+                continue;
+            case DECIMAL_END:
+                if (t != JsonToken.END_ARRAY) {
+                    _reportError("Unexpected token ("+t+") after 2 elements of 'bigfloat' value");
+                }
+                _decimalState = DECIMAL_NONE;
+                _numTypesValid = NR_BIGDECIMAL;
+                return (_currToken = JsonToken.VALUE_NUMBER_FLOAT);
+            default:
+            }
+            VersionUtil.throwInternal();
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Second-level decoding, definite-length String, binary values
+    /**********************************************************************
+     */
+
+    protected final JsonToken _finishText() throws IOException
+    {
+        final int needed = _pending32 - _inputCopyLen;
+        final int avail = _inputEnd - _inputPtr;
+        // Common case: all of content is contained in input buffer
+        if ((_inputCopyLen == 0) && (avail >= needed)) {
+            final int ptr = _inputPtr;
+            _inputPtr += needed;
+            return _textComplete(_inputBuffer, ptr, needed);
+        }
+        final int count = Math.min(avail, needed);
+        _appendToCopy(_inputBuffer, _inputPtr, count);
+        _inputPtr += count;
+        if (count < needed) {
+            _minorState = MINOR_VALUE_TEXT;
+            return (_currToken = JsonToken.NOT_AVAILABLE);
+        }
+        return _textComplete(_inputCopy, 0, _inputCopyLen);
+    }
+
+    protected final JsonToken _finishBinary() throws IOException
+    {
+        final byte[] b = _binaryValue;
+        final int count = Math.min(b.length - _inputCopyLen, _inputEnd - _inputPtr);
+        System.arraycopy(_inputBuffer, _inputPtr, b, _inputCopyLen, count);
+        _inputPtr += count;
+        _inputCopyLen += count;
+        if (_inputCopyLen < b.length) {
+            _minorState = MINOR_VALUE_BINARY;
+            return (_currToken = JsonToken.NOT_AVAILABLE);
+        }
+        return _binaryComplete(b);
+    }
+
+    /*
+    /**********************************************************************
+    /* Second-level decoding, chunked String, binary values
+    /**********************************************************************
+     */
+
+    protected final JsonToken _finishChunked() throws IOException
+    {
+        final int expType = (_typeByte >> 5) & 0x7;
+        final boolean bytesAsBinary = (expType == CBORConstants.MAJOR_TYPE_BYTES)
+                && (_majorState != MAJOR_OBJECT_FIELD);
+
+        while (true) {
+            if (_inputPtr >= _inputEnd) {
+                return (_currToken = JsonToken.NOT_AVAILABLE);
+            }
+            switch (_minorState) {
+            case MINOR_CHUNK_HEADER:
+                {
+                    final int ch = _inputBuffer[_inputPtr++] & 0xFF;
+                    if (ch == CBORConstants.INT_BREAK) {
+                        if (bytesAsBinary) {
+                            return _binaryComplete(_byteArrayBuilder.toByteArray());
+                        }
+                        return _textComplete(_inputCopy, 0, _inputCopyLen);
+                    }
+                    final int type = (ch >> 5);
+                    if (type != expType) {
+                        throw _constructError("Mismatched chunk in chunked content: expected "
+                                +expType+" but encountered "+type+" (byte 0x"+Integer.toHexString(ch)+")");
+                    }
+                    final int lowBits = ch & 0x1F;
+                    if (lowBits <= 23) {
+                        _pending32 = lowBits;
+                        _minorState = MINOR_CHUNK_BODY;
+                    } else if (lowBits <= 27) {
+                        _pending32 = 1 << (lowBits - 24);
+                        _pending64 = 0L;
+                        _minorState = MINOR_CHUNK_LENGTH;
+                    } else {
+                        throw _constructError("Illegal chunked-length indicator within chunked-length value (type "+expType+")");
+                    }
+                }
+                break;
+            case MINOR_CHUNK_LENGTH:
+                {
+                    final int count = Math.min(_pending32, _inputEnd - _inputPtr);
+                    _pending64 = (_pending64 << (count << 3)) | _bigEndian(_inputBuffer, _inputPtr, count);
+                    _inputPtr += count;
+                    if ((_pending32 -= count) == 0) {
+                        _pending32 = _checkedLength(_pending64);
+                        _minorState = MINOR_CHUNK_BODY;
+                    }
+                }
+                break;
+            case MINOR_CHUNK_BODY:
+                {
+                    final int count = Math.min(_pending32, _inputEnd - _inputPtr);
+                    if (bytesAsBinary) {
+                        _byteArrayBuilder.write(_inputBuffer, _inputPtr, count);
+                    } else {
+                        _appendToCopy(_inputBuffer, _inputPtr, count);
+                    }
+                    _inputPtr += count;
+                    if ((_pending32 -= count) == 0) {
+                        _minorState = MINOR_CHUNK_HEADER;
+                    }
+                }
+                break;
+            default:
+                VersionUtil.throwInternal();
+            }
+            // zero-length chunk need not wait for more input
+            if ((_minorState == MINOR_CHUNK_BODY) && (_pending32 == 0)) {
+                _minorState = MINOR_CHUNK_HEADER;
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods, completing tokens
+    /**********************************************************************
+     */
+
+    protected final JsonToken _textComplete(byte[] buf, int ptr, int len) throws IOException
+    {
+        if (_majorState == MAJOR_OBJECT_FIELD) {
+            // Binary-valued names are not canonicalized, for now
+            if (((_typeByte >> 5) & 0x7) == CBORConstants.MAJOR_TYPE_BYTES) {
+                return _fieldNameComplete(new String(buf, ptr, len, StandardCharsets.UTF_8));
+            }
+            if (len == 0) {
+                return _fieldNameComplete("");
+            }
+            String name = _findDecodedFromSymbols(buf, ptr, len);
+            if (name == null) {
+                _decodeUTF8(buf, ptr, len);
+                name = _addDecodedToSymbols(len, _textBuffer.contentsAsString());
+            }
+            return _fieldNameComplete(name);
+        }
+        if (len == 0) {
+            _textBuffer.resetWithEmpty();
+        } else {
+            _decodeUTF8(buf, ptr, len);
+        }
+        return _valueComplete(JsonToken.VALUE_STRING);
+    }
+
+    protected final JsonToken _binaryComplete(byte[] b) throws IOException
+    {
+        if (_majorState == MAJOR_OBJECT_FIELD) {
+            // TODO: Optimize, if this becomes commonly used & bottleneck; we have
+            //  more optimized UTF-8 codecs available.
+            return _fieldNameComplete(new String(b, StandardCharsets.UTF_8));
+        }
+        _binaryValue = b;
+        // For now all we should get is BigInteger
+        final int tag = _tagValue;
+        if ((tag == CBORConstants.TAG_BIGNUM_POS) || (tag == CBORConstants.TAG_BIGNUM_NEG)) {
+            BigInteger nr = new BigInteger(b);
+            if (tag == CBORConstants.TAG_BIGNUM_NEG) {
+                nr = nr.negate();
+            }
+            _numberBigInt = nr;
+            _numTypesValid = NR_BIGINT;
+            _tagValue = -1;
+            return _valueComplete(JsonToken.VALUE_NUMBER_INT);
+        }
+        return _valueComplete(JsonToken.VALUE_EMBEDDED_OBJECT);
+    }
+}
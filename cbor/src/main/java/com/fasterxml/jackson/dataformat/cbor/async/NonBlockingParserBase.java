@@ -0,0 +1,680 @@
+package com.fasterxml.jackson.dataformat.cbor.async;
+
+import java.io.*;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.sym.ByteQuadsCanonicalizer;
+import com.fasterxml.jackson.core.sym.FieldNameMatcher;
+import com.fasterxml.jackson.dataformat.cbor.*;
+
+/**
+ * Intermediate base class for non-blocking CBOR parsers: contains state
+ * constants and helper methods that do not depend on the way content is
+ * fed to the parser.
+ *<p>
+ * Note that unlike blocking {@link CBORParser}, non-blocking parsers always
+ * fully decode tokens before returning them, so there is never an incomplete
+ * token to finish or skip.
+ */
+public abstract class NonBlockingParserBase
+    extends CBORParser
+{
+    /*
+    /**********************************************************************
+    /* Major state constants
+    /**********************************************************************
+     */
+
+    /**
+     * State right after a root value has been finished (or before the
+     * first one), but next token has not yet been recognized.
+     */
+    protected final static int MAJOR_ROOT = 1;
+
+    protected final static int MAJOR_OBJECT_FIELD = 2;
+    protected final static int MAJOR_OBJECT_VALUE = 3;
+
+    protected final static int MAJOR_ARRAY_ELEMENT = 4;
+
+    /**
+     * State after non-blocking input source has indicated that no more input
+     * is forthcoming AND we have exhausted all the input
+     */
+    protected final static int MAJOR_CLOSED = 5;
+
+    // // // "Sub-states"
+
+    /**
+     * State in which a new entry of an Array or Object has been
+     * accounted for, but its first byte is not yet available.
+     */
+    protected final static int MINOR_TOKEN_START = 1;
+
+    /**
+     * State in which 1, 2, 4 or 8 bytes following the type byte
+     * (length, integer value, tag id or floating-point bits) are being read.
+     */
+    protected final static int MINOR_ARGUMENT = 2;
+
+    protected final static int MINOR_VALUE_TEXT = 3;
+    protected final static int MINOR_VALUE_BINARY = 4;
+
+    protected final static int MINOR_CHUNK_HEADER = 5;
+    protected final static int MINOR_CHUNK_LENGTH = 6;
+    protected final static int MINOR_CHUNK_BODY = 7;
+
+    // // // States for decoding of tagged "bigfloat" (decimal fraction) values
+
+    protected final static int DECIMAL_NONE = 0;
+    protected final static int DECIMAL_START = 1;
+    protected final static int DECIMAL_EXPONENT = 2;
+    protected final static int DECIMAL_MANTISSA = 3;
+    protected final static int DECIMAL_END = 4;
+
+    /*
+    /**********************************************************************
+    /* Additional parsing state
+    /**********************************************************************
+     */
+
+    /**
+     * Current main decoding state
+     */
+    protected int _majorState;
+
+    /**
+     * Addition indicator within state; contextually relevant for just that state
+     */
+    protected int _minorState;
+
+    /**
+     * Value of {@link #_majorState} after completing a scalar value
+     */
+    protected int _majorStateAfterValue;
+
+    /**
+     * Flag that is sent when calling application indicates that there will
+     * be no more input to parse.
+     */
+    protected boolean _endOfInput = false;
+
+    /**
+     * State of decoding of a tagged decimal fraction value, if one is being
+     * decoded (one of <code>DECIMAL_xxx</code> constants); these are exposed
+     * as a single {@link JsonToken#VALUE_NUMBER_FLOAT}, similar to blocking parser.
+     */
+    protected int _decimalState = DECIMAL_NONE;
+
+    /**
+     * Scale (negated exponent) of the decimal fraction value being decoded.
+     */
+    protected int _decimalScale;
+
+    /**
+     * Number of open Arrays and Objects that {@link #skipChildren()} has yet
+     * to skip, if it had to return before all content was available; if
+     * non-zero, skipping continues on next call to {@link #nextToken()}.
+     */
+    protected int _pendingSkipDepth;
+
+    /*
+    /**********************************************************************
+    /* Other buffering
+    /**********************************************************************
+     */
+
+    /**
+     * Temporary buffer for holding content if input not contiguous: used
+     * for text values (and names) split across input chunks, contents of
+     * chunked text values, as well as tagged decimal values.
+     */
+    protected byte[] _inputCopy;
+
+    /**
+     * Number of bytes buffered in <code>_inputCopy</code> (or, for definite-length
+     * binary values, in {@link #_binaryValue})
+     */
+    protected int _inputCopyLen;
+
+    /**
+     * Temporary storage for 32-bit values: mostly number of bytes still
+     * needed for the length-prefixed value (or argument) being decoded.
+     */
+    protected int _pending32;
+
+    /**
+     * Temporary storage for 64-bit values: argument (length, integer value,
+     * tag id, floating-point bits) being decoded.
+     */
+    protected long _pending64;
+
+    /*
+    /**********************************************************************
+    /* Life-cycle
+    /**********************************************************************
+     */
+
+    public NonBlockingParserBase(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int parserFeatures, int cborFeatures,
+            ByteQuadsCanonicalizer sym)
+    {
+        super(readCtxt, ioCtxt, parserFeatures, cborFeatures, sym,
+                null, NO_BYTES, 0, 0, false);
+        // Text values can be of any length, but let's start with something modest
+        _inputCopy = ioCtxt.allocReadIOBuffer(500);
+
+        _currToken = null;
+        _majorState = MAJOR_ROOT;
+        _majorStateAfterValue = MAJOR_ROOT;
+    }
+
+    @Override
+    public boolean canParseAsync() { return true; }
+
+    @Override
+    protected void _releaseBuffers() throws IOException
+    {
+        super._releaseBuffers();
+        byte[] b = _inputCopy;
+        if (b != null) {
+            _inputCopy = null;
+            _ioContext.releaseReadIOBuffer(b);
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Test support
+    /**********************************************************
+     */
+
+    protected ByteQuadsCanonicalizer symbolTableForTests() {
+        return _symbols;
+    }
+
+    /*
+    /**********************************************************
+    /* Abstract methods from JsonParser
+    /**********************************************************
+     */
+
+    @Override
+    public abstract int releaseBuffered(OutputStream out) throws IOException;
+
+    @Override
+    public Object getInputSource() {
+        // since input is "pushed", to traditional source...
+        return null;
+    }
+
+    @Override
+    protected void _closeInput() throws IOException {
+        // nothing to do here
+    }
+
+    /*
+    /**********************************************************************
+    /* Overridden traversal methods: blocking parser accesses buffer
+    /* directly, so need to just delegate to `nextToken()`
+    /**********************************************************************
+     */
+
+    @Override
+    public String nextFieldName() throws IOException {
+        return (nextToken() == JsonToken.FIELD_NAME) ? currentName() : null;
+    }
+
+    @Override
+    public boolean nextFieldName(SerializableString str) throws IOException {
+        return (nextToken() == JsonToken.FIELD_NAME) && str.getValue().equals(currentName());
+    }
+
+    @Override
+    public int nextFieldName(FieldNameMatcher matcher) throws IOException
+    {
+        JsonToken t = nextToken();
+        if (t == JsonToken.FIELD_NAME) {
+            return matcher.matchName(currentName());
+        }
+        if (t == JsonToken.END_OBJECT) {
+            return FieldNameMatcher.MATCH_END_OBJECT;
+        }
+        return FieldNameMatcher.MATCH_ODD_TOKEN;
+    }
+
+    @Override
+    public String nextTextValue() throws IOException {
+        return (nextToken() == JsonToken.VALUE_STRING) ? getText() : null;
+    }
+
+    /**
+     * Overridden to skip using {@link #nextToken()} instead of reading encoded
+     * lengths from input buffer, as done by blocking {@link CBORParser}.
+     * If not all content is yet available, method returns before reaching the
+     * matching end marker: nesting level is retained, and skipping continues on
+     * next call to {@link #nextToken()} once more input has been fed, which returns
+     * either {@link JsonToken#NOT_AVAILABLE} or the matching end marker.
+     */
+    @Override
+    public JsonParser skipChildren() throws IOException
+    {
+        if ((_currToken != JsonToken.START_OBJECT) && (_currToken != JsonToken.START_ARRAY)) {
+            return this;
+        }
+        _skipChildren(1);
+        return this;
+    }
+
+    /**
+     * Method called by {@link #nextToken()} to continue skipping started by
+     * {@link #skipChildren()}, if it had to return before end of content.
+     *
+     * @return Matching end marker if skipping completed; {@link JsonToken#NOT_AVAILABLE}
+     *   if more input is still needed
+     */
+    protected final JsonToken _finishSkipChildren() throws IOException
+    {
+        int open = _pendingSkipDepth;
+        _pendingSkipDepth = 0;
+        return _skipChildren(open);
+    }
+
+    private final JsonToken _skipChildren(int open) throws IOException
+    {
+        while (true) {
+            JsonToken t = nextToken();
+            if (t == null) {
+                return t;
+            }
+            if (t == JsonToken.NOT_AVAILABLE) {
+                _pendingSkipDepth = open;
+                return t;
+            }
+            if (t.isStructStart()) {
+                ++open;
+            } else if (t.isStructEnd()) {
+                if (--open == 0) {
+                    return t;
+                }
+            }
+        }
+    }
+
+    /**
+     * Not supported by non-blocking parsers: encoded content of a value may span
+     * multiple chunks of input, which are not retained once processed.
+     */
+    @Override
+    public int readRawValue(OutputStream out) throws IOException {
+        _reportError("Can not read raw value with non-blocking parser ("+getClass().getName()+")");
+        return -1; // never gets here
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API, access to token information, text
+    /**********************************************************************
+     */
+
+    @Override
+    public String getText() throws IOException
+    {
+        if (_currToken == JsonToken.NOT_AVAILABLE) {
+            return null;
+        }
+        return super.getText();
+    }
+
+    @Override
+    public char[] getTextCharacters() throws IOException
+    {
+        if (_currToken == JsonToken.NOT_AVAILABLE) {
+            return null;
+        }
+        return super.getTextCharacters();
+    }
+
+    @Override
+    public int getTextLength() throws IOException
+    {
+        if (_currToken == JsonToken.NOT_AVAILABLE) {
+            return 0;
+        }
+        return super.getTextLength();
+    }
+
+    @Override
+    public int getText(Writer w) throws IOException
+    {
+        if (_currToken == JsonToken.NOT_AVAILABLE) {
+            _reportError("Current token not available: can not call this method");
+        }
+        return super.getText(w);
+    }
+
+    /*
+    /**********************************************************************
+    /* Handling of nested scope, state
+    /**********************************************************************
+     */
+
+    protected final JsonToken _startArrayScope(int len) throws IOException
+    {
+        _parsingContext = _parsingContext.createChildArrayContext(len);
+        _majorState = MAJOR_ARRAY_ELEMENT;
+        _majorStateAfterValue = MAJOR_ARRAY_ELEMENT;
+        return (_currToken = JsonToken.START_ARRAY);
+    }
+
+    protected final JsonToken _startObjectScope(int len) throws IOException
+    {
+        _parsingContext = _parsingContext.createChildObjectContext(len);
+        _majorState = MAJOR_OBJECT_FIELD;
+        _majorStateAfterValue = MAJOR_OBJECT_FIELD;
+        return (_currToken = JsonToken.START_OBJECT);
+    }
+
+    protected final JsonToken _closeArrayScope() throws IOException
+    {
+        _tagValue = -1;
+        _parsingContext = _parsingContext.getParent();
+        _updateStateAfterScope();
+        return (_currToken = JsonToken.END_ARRAY);
+    }
+
+    protected final JsonToken _closeObjectScope() throws IOException
+    {
+        _tagValue = -1;
+        _parsingContext = _parsingContext.getParent();
+        _updateStateAfterScope();
+        return (_currToken = JsonToken.END_OBJECT);
+    }
+
+    private final void _updateStateAfterScope()
+    {
+        CBORReadContext ctxt = _parsingContext;
+        int st;
+        if (ctxt.inObject()) {
+            st = MAJOR_OBJECT_FIELD;
+        } else if (ctxt.inArray()) {
+            st = MAJOR_ARRAY_ELEMENT;
+        } else {
+            st = MAJOR_ROOT;
+        }
+        _majorState = st;
+        _majorStateAfterValue = st;
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, state changes
+    /**********************************************************************
+     */
+
+    /**
+     * Helper method called at point when all input has been exhausted and
+     * input feeder has indicated no more input will be forthcoming.
+     */
+    protected final JsonToken _eofAsNextToken() throws IOException {
+        _majorState = MAJOR_CLOSED;
+        if (!_parsingContext.inRoot()) {
+            _handleEOF();
+        } else if (_currToken == JsonToken.NOT_AVAILABLE) {
+            _reportInvalidEOF(": incomplete root-level value", null);
+        }
+        close();
+        return (_currToken = null);
+    }
+
+    protected final JsonToken _valueComplete(JsonToken t) throws IOException
+    {
+        _majorState = _majorStateAfterValue;
+        return (_currToken = t);
+    }
+
+    protected final JsonToken _fieldNameComplete(String name) throws IOException
+    {
+        _parsingContext.setCurrentName(name);
+        _majorState = MAJOR_OBJECT_VALUE;
+        return (_currToken = JsonToken.FIELD_NAME);
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, field name parsing
+    /**********************************************************************
+     */
+
+    // Helper method for trying to find specified encoded UTF-8 byte sequence
+    // from symbol table; if successful avoids actual decoding to String
+    protected final String _findDecodedFromSymbols(byte[] inBuf, int inPtr, int len) throws IOException
+    {
+        // First: maybe we already have this name decoded?
+        if (len < 5) {
+            int q = inBuf[inPtr] & 0xFF;
+            if (--len > 0) {
+                q = (q << 8) + (inBuf[++inPtr] & 0xFF);
+                if (--len > 0) {
+                    q = (q << 8) + (inBuf[++inPtr] & 0xFF);
+                    if (--len > 0) {
+                        q = (q << 8) + (inBuf[++inPtr] & 0xFF);
+                    }
+                }
+            }
+            _quad1 = q;
+            return _symbols.findName(q);
+        }
+        if (len < 9) {
+            // First quadbyte is easy
+            int q1 = (inBuf[inPtr] & 0xFF) << 8;
+            q1 += (inBuf[++inPtr] & 0xFF);
+            q1 <<= 8;
+            q1 += (inBuf[++inPtr] & 0xFF);
+            q1 <<= 8;
+            q1 += (inBuf[++inPtr] & 0xFF);
+            int q2 = (inBuf[++inPtr] & 0xFF);
+            len -= 5;
+            if (len > 0) {
+                q2 = (q2 << 8) + (inBuf[++inPtr] & 0xFF);
+                if (--len > 0) {
+                    q2 = (q2 << 8) + (inBuf[++inPtr] & 0xFF);
+                    if (--len > 0) {
+                        q2 = (q2 << 8) + (inBuf[++inPtr] & 0xFF);
+                    }
+                }
+            }
+            _quad1 = q1;
+            _quad2 = q2;
+            return _symbols.findName(q1, q2);
+        }
+        return _findDecodedLonger(inBuf, inPtr, len);
+    }
+
+    // Method for locating names longer than 8 bytes (in UTF-8)
+    private final String _findDecodedLonger(byte[] inBuf, int inPtr, int len) throws IOException
+    {
+        // first, need enough buffer to store bytes as ints:
+        {
+            int bufLen = (len + 3) >> 2;
+            if (bufLen > _quadBuffer.length) {
+                _quadBuffer = Arrays.copyOf(_quadBuffer, bufLen+4);
+            }
+        }
+        // then decode, full quads first
+        int offset = 0;
+        do {
+            int q = (inBuf[inPtr++] & 0xFF) << 8;
+            q |= inBuf[inPtr++] & 0xFF;
+            q <<= 8;
+            q |= inBuf[inPtr++] & 0xFF;
+            q <<= 8;
+            q |= inBuf[inPtr++] & 0xFF;
+            _quadBuffer[offset++] = q;
+        } while ((len -= 4) > 3);
+        // and then leftovers
+        if (len > 0) {
+            int q = inBuf[inPtr] & 0xFF;
+            if (--len > 0) {
+                q = (q << 8) + (inBuf[++inPtr] & 0xFF);
+                if (--len > 0) {
+                    q = (q << 8) + (inBuf[++inPtr] & 0xFF);
+                }
+            }
+            _quadBuffer[offset++] = q;
+        }
+        return _symbols.findName(_quadBuffer, offset);
+    }
+
+    protected final String _addDecodedToSymbols(int len, String name)
+    {
+        if (len < 5) {
+            return _symbols.addName(name, _quad1);
+        }
+        if (len < 9) {
+            return _symbols.addName(name, _quad1, _quad2);
+        }
+        int qlen = (len + 3) >> 2;
+        return _symbols.addName(name, _quadBuffer, qlen);
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, text decoding
+    /**********************************************************************
+     */
+
+    /**
+     * Helper method for decoding UTF-8 encoded text, all of which is known to
+     * be contained in given buffer, into {@link #_textBuffer}.
+     */
+    protected final void _decodeUTF8(byte[] inBuf, int inPtr, int len) throws IOException
+    {
+        char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
+        // UTF-8 never decodes into more chars than there are bytes, so:
+        if (outBuf.length < len) {
+            outBuf = _textBuffer.expandCurrentSegment(len);
+        }
+        int outPtr = 0;
+        final int end = inPtr + len;
+        final int[] codes = CBORConstants.sUtf8UnitLengths;
+
+        // Let's actually do a tight loop for ASCII first:
+        while (inPtr < end) {
+            int i = inBuf[inPtr];
+            if (i < 0) {
+                break;
+            }
+            outBuf[outPtr++] = (char) i;
+            ++inPtr;
+        }
+        while (inPtr < end) {
+            int i = inBuf[inPtr++] & 0xFF;
+            int code = codes[i];
+            if (code != 0) {
+                if ((inPtr + code) > end) {
+                    _reportError("Malformed UTF-8 character at end of text segment");
+                }
+                switch (code) {
+                case 1:
+                    i = ((i & 0x1F) << 6) | (inBuf[inPtr++] & 0x3F);
+                    break;
+                case 2:
+                    i = ((i & 0x0F) << 12)
+                        | ((inBuf[inPtr++] & 0x3F) << 6)
+                        | (inBuf[inPtr++] & 0x3F);
+                    break;
+                case 3:
+                    i = ((i & 0x07) << 18)
+                        | ((inBuf[inPtr++] & 0x3F) << 12)
+                        | ((inBuf[inPtr++] & 0x3F) << 6)
+                        | (inBuf[inPtr++] & 0x3F);
+                    // note: this is the codepoint value; need to split, too
+                    i -= 0x10000;
+                    outBuf[outPtr++] = (char) (0xD800 | (i >> 10));
+                    i = 0xDC00 | (i & 0x3FF);
+                    break;
+                default: // invalid
+                    _reportInvalidInitial(i);
+                }
+            }
+            outBuf[outPtr++] = (char) i;
+        }
+        _textBuffer.setCurrentLength(outPtr);
+    }
+
+    /**
+     * Helper method for appending given bytes into {@link #_inputCopy},
+     * expanding it as necessary.
+     */
+    protected final void _appendToCopy(byte[] src, int srcPtr, int len)
+    {
+        int newLen = _inputCopyLen + len;
+        if (newLen > _inputCopy.length) {
+            int oldLen = _inputCopy.length;
+            _inputCopy = Arrays.copyOf(_inputCopy, Math.max(newLen, oldLen + (oldLen >> 1)));
+        }
+        System.arraycopy(src, srcPtr, _inputCopy, _inputCopyLen, len);
+        _inputCopyLen = newLen;
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, other decoding
+    /**********************************************************************
+     */
+
+    /**
+     * Helper method for figuring out number of bytes that follow the initial
+     * type byte for its argument (length, value, tag).
+     */
+    protected final int _argumentBytes(int typeByte) throws IOException
+    {
+        final int lowBits = typeByte & 0x1F;
+        if (lowBits <= 23) {
+            return 0;
+        }
+        if (lowBits <= 27) {
+            return 1 << (lowBits - 24);
+        }
+        _invalidToken(typeByte);
+        return 0;
+    }
+
+    /**
+     * Helper method for verifying that a length argument is within bounds
+     * of what we can handle (31-bit signed int).
+     */
+    protected final int _checkedLength(long len) throws IOException
+    {
+        if (len < 0L || len > MAX_INT_L) {
+            _reportError("Illegal length for "+_currToken+": "+len);
+        }
+        return (int) len;
+    }
+
+    protected final static long _bigEndian(byte[] b, int ptr, int count)
+    {
+        long l = 0L;
+        for (int end = ptr + count; ptr < end; ++ptr) {
+            l = (l << 8) | (b[ptr] & 0xFF);
+        }
+        return l;
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, error reporting
+    /**********************************************************************
+     */
+
+    protected void _reportUnsupportedNameType(int typeByte) throws IOException
+    {
+        if ((typeByte & 0xFF) == CBORConstants.INT_BREAK) {
+            _reportUnexpectedBreak();
+        }
+        throw _constructError("Unsupported major type ("+((typeByte >> 5) & 0x7)
+                +") for CBOR Objects, not (yet?) supported, only Strings");
+    }
+}
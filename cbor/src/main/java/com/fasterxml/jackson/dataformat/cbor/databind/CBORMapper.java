@@ -24,10 +24,12 @@ public class CBORMapper extends ObjectMapper
     {
         public Builder(CBORFactory f) {
             super(f);
+            addModule(new CBORModule());
         }
 
         public Builder(StateImpl state) {
             super(state);
+            // no need to add module, should come by default
         }
 
         @Override
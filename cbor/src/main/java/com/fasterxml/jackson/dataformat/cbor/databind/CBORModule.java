@@ -0,0 +1,33 @@
+package com.fasterxml.jackson.dataformat.cbor.databind;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import com.fasterxml.jackson.dataformat.binary.databind.BulkArrayDeserializers;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+import com.fasterxml.jackson.dataformat.cbor.PackageVersion;
+
+/**
+ * Module registered by default by {@link CBORMapper}: adds deserializers for
+ * <code>int[]</code>, <code>long[]</code> and <code>double[]</code> that read
+ * contents using bulk read methods of {@link CBORParser} (like
+ * {@link CBORParser#readIntArray(int[], int, int)}), instead of
+ * going through elements one token at a time; and RFC 8746 typed arrays
+ * (see {@link CBORParser#readTypedArray()}) in one go.
+ * Elements that bulk reads do not accept (like nulls, or Strings to coerce)
+ * are handled the same way as by the default deserializers.
+ * Deserializers are shared with other binary format modules
+ * (see {@link BulkArrayDeserializers}).
+ *
+ * @since 3.0
+ */
+public class CBORModule extends SimpleModule
+{
+    private static final long serialVersionUID = 1L;
+
+    public CBORModule() {
+        super("CBORModule", PackageVersion.VERSION);
+        addDeserializer(int[].class, new BulkArrayDeserializers.IntArrayDeserializer());
+        addDeserializer(long[].class, new BulkArrayDeserializers.LongArrayDeserializer());
+        addDeserializer(double[].class, new BulkArrayDeserializers.DoubleArrayDeserializer());
+    }
+}
@@ -2,8 +2,10 @@
 module com.fasterxml.jackson.dataformat.cbor {
     requires com.fasterxml.jackson.core;
     requires com.fasterxml.jackson.databind;
+    requires com.fasterxml.jackson.dataformat.binary;
 
     exports com.fasterxml.jackson.dataformat.cbor;
+    exports com.fasterxml.jackson.dataformat.cbor.async;
     exports com.fasterxml.jackson.dataformat.cbor.databind;
 
     provides com.fasterxml.jackson.core.TokenStreamFactory with
@@ -0,0 +1,209 @@
+package com.fasterxml.jackson.dataformat.cbor;
+
+import java.math.BigInteger;
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectReadContext;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * Tests for {@link CBORIndex}, used for locating values within CBOR documents
+ * without decoding them.
+ */
+public class CBORIndexTest extends CBORTestBase
+{
+    static class Point {
+        public int x, y;
+
+        protected Point() { }
+        public Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    private final ObjectMapper MAPPER = cborMapper();
+
+    private final ObjectMapper DEFINITE_MAPPER = new CBORMapper(CBORFactory.builder()
+            .enable(CBORGenerator.Feature.WRITE_DEFINITE_LENGTHS)
+            .build());
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testPointerLookups() throws Exception
+    {
+        for (ObjectMapper mapper : new ObjectMapper[] { MAPPER, DEFINITE_MAPPER }) {
+            final byte[] doc = mapper.writeValueAsBytes(_document());
+            final CBORIndex index = cborFactory().createIndex(doc);
+
+            assertEquals(0, index.findValue(JsonPointer.empty()));
+            assertEquals(0, index.valueOffset(0));
+            assertEquals(doc.length, index.valueLength(0));
+            assertEquals(-1, index.keyOffset(0));
+
+            _verifyInt(index, "/count", 3);
+            _verifyInt(index, "/points/0/x", 0);
+            _verifyInt(index, "/points/2/y", -200);
+            _verifyInt(index, "/nested/a/b/c/0", 42);
+            _verifyText(index, "/name", "index-test");
+            _verifyText(index, "/nested/a/été", "summer");
+            _verifyText(index, "/last", "end");
+
+            for (String missing : new String[] { "/points/3", "/points/-", "/points/x",
+                    "/count/0", "/nested/b", "/nested/a/b/c/1", "/nam", "/names" }) {
+                assertEquals(missing, -1, index.findValue(JsonPointer.compile(missing)));
+                assertNull(index.createParser(ObjectReadContext.empty(), JsonPointer.compile(missing)));
+            }
+
+            // relative lookups
+            int nested = index.findValue(JsonPointer.compile("/nested/a"));
+            assertEquals(index.findValue(JsonPointer.compile("/nested/a/b/c/0")),
+                    index.findValue(nested, JsonPointer.compile("/b/c/0")));
+
+            // and data-binding of indexed values
+            int points = index.findValue(JsonPointer.compile("/points"));
+            Point[] result = mapper.readerFor(Point[].class).readValue(doc,
+                    index.valueOffset(points), index.valueLength(points));
+            assertEquals(3, result.length);
+            assertEquals(-200, result[2].y);
+        }
+    }
+
+    public void testPartialParser() throws Exception
+    {
+        final byte[] doc = MAPPER.writeValueAsBytes(_document());
+        final CBORIndex index = cborFactory().createIndex(doc);
+
+        CBORParser p = index.createParser(ObjectReadContext.empty(), JsonPointer.compile("/points/1"));
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("x", p.nextFieldName());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(1, p.getIntValue());
+        assertEquals("y", p.nextFieldName());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(-100, p.getIntValue());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testKeysAndTags() throws Exception
+    {
+        final byte[] doc = new byte[] {
+                (byte) 0xD9, (byte) 0xD9, (byte) 0xF7, // self-describe tag
+                (byte) 0xBF, // indefinite Object
+                0x7F, 0x61, 'a', 0x62, 'b', 'c', (byte) 0xFF, // chunked key "abc"
+                (byte) 0xC2, 0x42, 0x01, 0x00, // bignum 256
+                0x19, 0x03, (byte) 0xE8, // int key 1000
+                (byte) 0xF5, // true
+                0x29, // int key -10
+                (byte) 0x82, (byte) 0xF9, 0x3C, 0x00, 0x60, // [1.0, ""]
+                0x41, 'x', // binary key "x"
+                (byte) 0xF6,
+                (byte) 0xC0, 0x61, 't', // key "t" with tag 0
+                0x01,
+                (byte) 0xD8, 0x20, 0x61, 'u', // key "u" with tag 32
+                0x02,
+                (byte) 0xFF
+        };
+        final CBORIndex index = cborFactory().createIndex(doc);
+        assertEquals(9, index.size());
+
+        int entry = index.findValue(JsonPointer.compile("/abc"));
+        assertEquals(1, entry);
+        assertEquals(4, index.keyOffset(entry));
+        assertEquals(11, index.valueOffset(entry));
+        assertEquals(4, index.valueLength(entry));
+        CBORParser p = index.createParser(ObjectReadContext.empty(), entry);
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(BigInteger.valueOf(256), p.getBigIntegerValue());
+        assertNull(p.nextToken());
+        p.close();
+
+        assertEquals(2, index.findValue(JsonPointer.compile("/1000")));
+        assertEquals(5, index.findValue(JsonPointer.compile("/-10/1")));
+        assertEquals(6, index.findValue(JsonPointer.compile("/x")));
+        assertEquals(-1, index.findValue(JsonPointer.compile("/-10/2")));
+
+        // tags of keys are skipped when matching
+        assertEquals(7, index.findValue(JsonPointer.compile("/t")));
+        assertEquals(8, index.findValue(JsonPointer.compile("/u")));
+        assertEquals(36, index.valueOffset(8));
+    }
+
+    public void testInvalidContent() throws Exception
+    {
+        final byte[] doc = MAPPER.writeValueAsBytes(_document());
+        try {
+            cborFactory().createIndex(doc, 0, doc.length - 3);
+            fail("Should not pass");
+        } catch (StreamReadException e) {
+            verifyException(e, "Unexpected end of content");
+        }
+
+        // definite-length Array with Break marker
+        try {
+            cborFactory().createIndex(new byte[] { (byte) 0x82, 0x01, (byte) 0xFF });
+            fail("Should not pass");
+        } catch (StreamReadException e) {
+            verifyException(e, "Unexpected Break");
+        }
+
+        final byte[] stringRefDoc = new CBORMapper(CBORFactory.builder()
+                .enable(CBORGenerator.Feature.STRINGREF)
+                .build()).writeValueAsBytes(_document());
+        try {
+            cborFactory().createIndex(stringRefDoc);
+            fail("Should not pass");
+        } catch (StreamReadException e) {
+            verifyException(e, "'stringref'");
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private Map<String,Object> _document()
+    {
+        Map<String,Object> doc = new LinkedHashMap<>();
+        doc.put("name", "index-test");
+        doc.put("count", 3);
+        doc.put("points", Arrays.asList(new Point(0, 0), new Point(1, -100), new Point(2, -200)));
+        Map<String,Object> a = new LinkedHashMap<>();
+        a.put("text", generateUnicodeString(500));
+        a.put("b", Collections.singletonMap("c", Arrays.asList(42)));
+        a.put("été", "summer");
+        doc.put("nested", Collections.singletonMap("a", a));
+        doc.put("last", "end");
+        return doc;
+    }
+
+    private void _verifyInt(CBORIndex index, String path, int exp) throws Exception
+    {
+        CBORParser p = index.createParser(ObjectReadContext.empty(), JsonPointer.compile(path));
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(exp, p.getIntValue());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    private void _verifyText(CBORIndex index, String path, String exp) throws Exception
+    {
+        CBORParser p = index.createParser(ObjectReadContext.empty(), JsonPointer.compile(path));
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals(exp, p.getText());
+        assertNull(p.nextToken());
+        p.close();
+    }
+}
@@ -0,0 +1,254 @@
+package com.fasterxml.jackson.dataformat.cbor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+import org.junit.Assert;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * Tests for "stringref" extension (tags 25 and 256), enabled for output
+ * with {@link CBORGenerator.Feature#STRINGREF}.
+ */
+public class StringRefTest extends CBORTestBase
+{
+    static class Entry {
+        public String category;
+        public String status;
+        public int id;
+
+        protected Entry() { }
+        public Entry(String category, String status, int id) {
+            this.category = category;
+            this.status = status;
+            this.id = id;
+        }
+    }
+
+    private final CBORFactory STRINGREF_F = CBORFactory.builder()
+            .enable(CBORGenerator.Feature.STRINGREF)
+            .build();
+
+    private final ObjectMapper STRINGREF_MAPPER = new CBORMapper(STRINGREF_F);
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testSimpleOutput() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CBORGenerator g = (CBORGenerator) STRINGREF_MAPPER.createGenerator(bytes);
+        g.writeStartArray();
+        g.writeString("abc");
+        g.writeString("abc");
+        g.writeString("xy"); // too short to be referenced
+        g.writeString("xy");
+        g.writeEndArray();
+        g.close();
+
+        _verifyBytes(bytes.toByteArray(),
+                (byte) 0xD9, (byte) 0x01, (byte) 0x00,
+                CBORConstants.BYTE_ARRAY_INDEFINITE,
+                (byte) (CBORConstants.PREFIX_TYPE_TEXT + 3), (byte) 'a', (byte) 'b', (byte) 'c',
+                (byte) 0xD8, (byte) CBORConstants.TAG_STRINGREF, (byte) 0x00,
+                (byte) (CBORConstants.PREFIX_TYPE_TEXT + 2), (byte) 'x', (byte) 'y',
+                (byte) (CBORConstants.PREFIX_TYPE_TEXT + 2), (byte) 'x', (byte) 'y',
+                CBORConstants.BYTE_BREAK);
+    }
+
+    // Test using example from the extension specification
+    public void testSpecExample() throws Exception
+    {
+        byte[] doc = new byte[] {
+                (byte) 0xD9, 0x01, 0x00, // tag 256
+                (byte) 0x83, // array(3)
+                (byte) 0xA3, // map(3)
+                0x44, 'r', 'a', 'n', 'k', 0x04,
+                0x45, 'c', 'o', 'u', 'n', 't', 0x19, 0x01, (byte) 0xA1,
+                0x44, 'n', 'a', 'm', 'e',
+                0x48, 'C', 'o', 'c', 'k', 't', 'a', 'i', 'l',
+                (byte) 0xA3,
+                (byte) 0xD8, 0x19, 0x02, // ref to "name"
+                0x44, 'B', 'a', 't', 'h',
+                (byte) 0xD8, 0x19, 0x01, 0x19, 0x01, 0x38,
+                (byte) 0xD8, 0x19, 0x00, 0x04,
+                (byte) 0xA3,
+                (byte) 0xD8, 0x19, 0x02,
+                (byte) 0xD8, 0x19, 0x03, // ref to "Cocktail"
+                (byte) 0xD8, 0x19, 0x01, 0x18, (byte) 0x9A,
+                (byte) 0xD8, 0x19, 0x00, 0x04
+        };
+        CBORParser p = cborParser(doc);
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("rank", p.currentName());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("count", p.currentName());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(417, p.getIntValue());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("name", p.currentName());
+        // skip, should still be retained for references
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("name", p.currentName());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        assertEquals("Bath", new String(p.getBinaryValue(), "UTF-8"));
+        assertEquals("count", p.nextFieldName());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(312, p.getIntValue());
+        assertEquals("rank", p.nextFieldName());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("name", p.currentName());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        assertEquals("Cocktail", new String(p.getBinaryValue(), "UTF-8"));
+        assertEquals(-1, p.getCurrentTag());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("count", p.currentName());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(154, p.getIntValue());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("rank", p.currentName());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testPojoRoundtrip() throws Exception
+    {
+        final String[] categories = new String[] { "hardware", "software", "services" };
+        List<Entry> input = new ArrayList<>();
+        for (int i = 0; i < 500; ++i) {
+            input.add(new Entry(categories[i % 3], (i % 7 == 0) ? "cancelled" : "ok", i));
+        }
+        byte[] doc = STRINGREF_MAPPER.writeValueAsBytes(input);
+        byte[] plain = sharedMapper().writeValueAsBytes(input);
+        assertTrue(doc.length < plain.length * 3 / 4);
+
+        // regular parser (with optimized accessors) should be able to read it
+        Entry[] result = sharedMapper().readValue(doc, Entry[].class);
+        _verifyEntries(input, result);
+        result = sharedMapper().readValue(new ByteArrayInputStream(doc), Entry[].class);
+        _verifyEntries(input, result);
+        // and as a tree, too
+        assertEquals(sharedMapper().readTree(plain), sharedMapper().readTree(doc));
+    }
+
+    // Test that indexes for longer lists are encoded and decoded properly
+    // (including thresholds for Strings to add)
+    public void testManyStrings() throws Exception
+    {
+        Map<String,Object> input = new LinkedHashMap<>();
+        for (int i = 0; i < 70000; ++i) {
+            List<Object> values = new ArrayList<>();
+            values.add("v" + i);
+            values.add("v" + (i / 2));
+            values.add("\u00E9" + (i % 1000));
+            values.add(new byte[] { 1, 2, 3, (byte) i });
+            input.put("key" + i, values);
+        }
+        byte[] doc = STRINGREF_MAPPER.writeValueAsBytes(input);
+        Map<?,?> result = sharedMapper().readValue(new ByteArrayInputStream(doc), Map.class);
+        assertEquals(input.size(), result.size());
+        for (Map.Entry<String,Object> entry : input.entrySet()) {
+            List<?> exp = (List<?>) entry.getValue();
+            List<?> act = (List<?>) result.get(entry.getKey());
+            assertNotNull(act);
+            assertEquals(exp.get(0), act.get(0));
+            assertEquals(exp.get(1), act.get(1));
+            assertEquals(exp.get(2), act.get(2));
+            Assert.assertArrayEquals((byte[]) exp.get(3), (byte[]) act.get(3));
+        }
+    }
+
+    // Namespaces are only used for root-level containers, each with its own
+    public void testRootValueSequence() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CBORGenerator g = (CBORGenerator) STRINGREF_MAPPER.createGenerator(bytes);
+        for (int i = 0; i < 3; ++i) {
+            g.writeStartObject();
+            g.writeStringField("name", "value");
+            g.writeStringField("other", "value");
+            g.writeEndObject();
+            g.writeString("value");
+        }
+        g.close();
+
+        JsonParser p = cborParser(bytes);
+        for (int i = 0; i < 3; ++i) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertEquals(CBORConstants.TAG_STRINGREF_NAMESPACE, ((CBORParser) p).getCurrentTag());
+            assertEquals("name", p.nextFieldName());
+            assertEquals("value", p.nextTextValue());
+            assertEquals("other", p.nextFieldName());
+            assertEquals("value", p.nextTextValue());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertEquals("value", p.nextTextValue());
+        }
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testInvalidRef() throws Exception
+    {
+        byte[] doc = new byte[] {
+                (byte) 0xD9, 0x01, 0x00, // tag 256
+                (byte) 0x82, // array(2)
+                0x63, 'a', 'b', 'c',
+                (byte) 0xD8, 0x19, 0x01
+        };
+        JsonParser p = cborParser(doc);
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        try {
+            p.nextToken();
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "Invalid 'stringref' index (1)");
+        }
+        p.close();
+
+        // but outside of namespace, just a tagged int
+        p = cborParser(Arrays.copyOfRange(doc, 8, doc.length));
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(CBORConstants.TAG_STRINGREF, ((CBORParser) p).getCurrentTag());
+        assertEquals(1, p.getIntValue());
+        p.close();
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private void _verifyEntries(List<Entry> exp, Entry[] act)
+    {
+        assertEquals(exp.size(), act.length);
+        for (int i = 0; i < act.length; ++i) {
+            assertEquals(exp.get(i).category, act[i].category);
+            assertEquals(exp.get(i).status, act[i].status);
+            assertEquals(exp.get(i).id, act[i].id);
+        }
+    }
+}
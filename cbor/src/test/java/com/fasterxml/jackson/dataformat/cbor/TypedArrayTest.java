@@ -0,0 +1,301 @@
+package com.fasterxml.jackson.dataformat.cbor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.math.BigInteger;
+
+import org.junit.Assert;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * Tests for RFC 8746 typed arrays: writing enabled with
+ * {@link CBORGenerator.Feature#WRITE_TYPED_ARRAYS}, reading with
+ * {@link CBORParser.Feature#READ_TYPED_ARRAYS}, either as
+ * regular Arrays or in bulk using {@link CBORParser#readTypedArray()}.
+ */
+public class TypedArrayTest extends CBORTestBase
+{
+    static class Telemetry {
+        public int[] counts;
+        public long[] timestamps;
+        public double[] values;
+    }
+
+    private final ObjectMapper TYPED_MAPPER = new CBORMapper(CBORFactory.builder()
+            .enable(CBORGenerator.Feature.WRITE_TYPED_ARRAYS)
+            .enable(CBORParser.Feature.READ_TYPED_ARRAYS)
+            .build());
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testIntArrayOutput() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        _writeIntArray(bytes, new int[] { 1, -2, 0x12345678 });
+        _verifyBytes(bytes.toByteArray(),
+                (byte) 0xD8, (byte) CBORConstants.TAG_TYPED_ARRAY_SINT32_BE,
+                (byte) (CBORConstants.PREFIX_TYPE_BYTES + 12),
+                0, 0, 0, 1,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFE,
+                0x12, 0x34, 0x56, 0x78);
+
+        CBORParser p = _parser(bytes);
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertEquals(CBORConstants.TAG_TYPED_ARRAY_SINT32_BE, p.getCurrentTag());
+        assertTrue(p.isTypedArrayStart());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(JsonParser.NumberType.INT, p.getNumberType());
+        assertEquals(1, p.getIntValue());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(-2, p.getIntValue());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(0x12345678, p.getIntValue());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+
+        p = _parser(bytes);
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        Assert.assertArrayEquals(new int[] { 1, -2, 0x12345678 }, (int[]) p.readTypedArray());
+        assertToken(JsonToken.END_ARRAY, p.currentToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testLongerArrays() throws Exception
+    {
+        final int COUNT = 20000;
+        Telemetry input = new Telemetry();
+        input.counts = new int[COUNT];
+        input.timestamps = new long[COUNT];
+        input.values = new double[COUNT];
+        for (int i = 0; i < COUNT; ++i) {
+            input.counts[i] = i * 31 - 7777;
+            input.timestamps[i] = 1600000000000L + i * 1000000007L;
+            input.values[i] = i / 3.0;
+        }
+        byte[] doc = TYPED_MAPPER.writeValueAsBytes(input);
+        byte[] plain = sharedMapper().writeValueAsBytes(input);
+        assertTrue(doc.length < plain.length);
+
+        // First, regular data-binding, reading elements one by one
+        Telemetry result = TYPED_MAPPER.readValue(new ByteArrayInputStream(doc), Telemetry.class);
+        Assert.assertArrayEquals(input.counts, result.counts);
+        Assert.assertArrayEquals(input.timestamps, result.timestamps);
+        Assert.assertArrayEquals(input.values, result.values, 0.0);
+
+        // then bulk access
+        CBORParser p = _parser(new ByteArrayInputStream(doc));
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("counts", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        Assert.assertArrayEquals(input.counts, (int[]) p.readTypedArray());
+        assertEquals("timestamps", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        Assert.assertArrayEquals(input.timestamps, (long[]) p.readTypedArray());
+        assertEquals("values", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        Assert.assertArrayEquals(input.values, (double[]) p.readTypedArray(), 0.0);
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        p.close();
+    }
+
+    // Types generator does not produce, including little-endian ones
+    public void testOtherElementTypes() throws Exception
+    {
+        // uint16, little-endian
+        byte[] doc = _typedArray(69, 0x01, 0x02, 0xFF, 0xFF);
+        _verifyElements(doc, 0x0201, 0xFFFF);
+        Assert.assertArrayEquals(new int[] { 0x0201, 0xFFFF }, (int[]) _readBulk(doc));
+
+        // sint8
+        doc = _typedArray(72, 0x7F, 0x80, 0xFF);
+        _verifyElements(doc, 127, -128, -1);
+        Assert.assertArrayEquals(new int[] { 127, -128, -1 }, (int[]) _readBulk(doc));
+
+        // uint32, big-endian
+        doc = _typedArray(66, 0xFF, 0xFF, 0xFF, 0xFE);
+        _verifyElements(doc, 0xFFFFFFFEL);
+        Assert.assertArrayEquals(new long[] { 0xFFFFFFFEL }, (long[]) _readBulk(doc));
+
+        // uint64, big-endian: exceeds range of long
+        doc = _typedArray(67, 0x80, 0, 0, 0, 0, 0, 0, 1);
+        CBORParser p = _parser(doc);
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(BigInteger.ONE.shiftLeft(63).add(BigInteger.ONE), p.getBigIntegerValue());
+        p.close();
+
+        // float32, little-endian (1.5)
+        doc = _typedArray(85, 0x00, 0x00, 0xC0, 0x3F);
+        p = _parser(doc);
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(JsonParser.NumberType.FLOAT, p.getNumberType());
+        assertEquals(1.5f, p.getFloatValue());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        p.close();
+        Assert.assertArrayEquals(new float[] { 1.5f }, (float[]) _readBulk(doc), 0.0f);
+
+        // float16, big-endian (-2.0, 0.5)
+        doc = _typedArray(80, 0xC0, 0x00, 0x38, 0x00);
+        _verifyFloatElements(doc, JsonParser.NumberType.FLOAT, -2.0, 0.5);
+        Assert.assertArrayEquals(new float[] { -2.0f, 0.5f }, (float[]) _readBulk(doc), 0.0f);
+
+        // float16, little-endian (-2.0)
+        doc = _typedArray(84, 0x00, 0xC0);
+        _verifyFloatElements(doc, JsonParser.NumberType.FLOAT, -2.0);
+        Assert.assertArrayEquals(new float[] { -2.0f }, (float[]) _readBulk(doc), 0.0f);
+
+        // float64, big-endian (1.5), as written by generator
+        doc = _typedArray(82, 0x3F, 0xF8, 0, 0, 0, 0, 0, 0);
+        _verifyFloatElements(doc, JsonParser.NumberType.DOUBLE, 1.5);
+        Assert.assertArrayEquals(new double[] { 1.5 }, (double[]) _readBulk(doc), 0.0);
+
+        // float64, little-endian (-0.25)
+        doc = _typedArray(86, 0, 0, 0, 0, 0, 0, 0xD0, 0xBF);
+        _verifyFloatElements(doc, JsonParser.NumberType.DOUBLE, -0.25);
+        Assert.assertArrayEquals(new double[] { -0.25 }, (double[]) _readBulk(doc), 0.0);
+    }
+
+    public void testDoubleArrayTokens() throws Exception
+    {
+        final double[] input = new double[] { 0.25, -1.5, Math.PI };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CBORGenerator g = (CBORGenerator) TYPED_MAPPER.createGenerator(bytes);
+        g.writeArray(input, 0, input.length);
+        g.close();
+
+        CBORParser p = _parser(bytes);
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertEquals(CBORConstants.TAG_TYPED_ARRAY_FLOAT64_BE, p.getCurrentTag());
+        assertEquals(double[].class, p.typedArrayType());
+        for (double value : input) {
+            assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+            assertEquals(JsonParser.NumberType.DOUBLE, p.getNumberType());
+            assertEquals(value, p.getDoubleValue());
+        }
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    // Without feature enabled, exposed as tagged binary values as before
+    public void testReadingDisabled() throws Exception
+    {
+        byte[] doc = _typedArray(74, 0, 0, 0, 1);
+        try (CBORParser p = cborParser(doc)) {
+            assertFalse(p.isEnabled(CBORParser.Feature.READ_TYPED_ARRAYS));
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+            assertEquals(74, p.getCurrentTag());
+            assertFalse(p.isTypedArrayStart());
+            Assert.assertArrayEquals(new byte[] { 0, 0, 0, 1 }, p.getBinaryValue());
+            assertNull(p.nextToken());
+        }
+    }
+
+    public void testInvalidTypedArrays() throws Exception
+    {
+        try (CBORParser p = _parser(_typedArray(74, 1, 2, 3))) {
+            p.nextToken();
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "not a multiple of element size (4)");
+        }
+        try (CBORParser p = _parser(_typedArray(83, 0, 0))) {
+            p.nextToken();
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "Unsupported typed array tag (83)");
+        }
+        // and bulk read only allowed for typed arrays
+        try (CBORParser p = _parser(cborDoc("[1,2]"))) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertFalse(p.isTypedArrayStart());
+            assertNull(p.readTypedArray());
+            assertToken(JsonToken.START_ARRAY, p.currentToken());
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private CBORParser _parser(byte[] input) throws Exception {
+        return (CBORParser) TYPED_MAPPER.createParser(input);
+    }
+
+    private CBORParser _parser(ByteArrayOutputStream bytes) throws Exception {
+        return _parser(bytes.toByteArray());
+    }
+
+    private CBORParser _parser(InputStream in) throws Exception {
+        return (CBORParser) TYPED_MAPPER.createParser(in);
+    }
+
+    private void _writeIntArray(ByteArrayOutputStream bytes, int[] values) throws Exception
+    {
+        CBORGenerator g = (CBORGenerator) TYPED_MAPPER.createGenerator(bytes);
+        g.writeArray(values, 0, values.length);
+        g.close();
+    }
+
+    private byte[] _typedArray(int tag, int... data)
+    {
+        byte[] doc = new byte[3 + data.length];
+        doc[0] = (byte) 0xD8;
+        doc[1] = (byte) tag;
+        doc[2] = (byte) (CBORConstants.PREFIX_TYPE_BYTES + data.length);
+        for (int i = 0; i < data.length; ++i) {
+            doc[3 + i] = (byte) data[i];
+        }
+        return doc;
+    }
+
+    private void _verifyElements(byte[] doc, long... exp) throws Exception
+    {
+        try (CBORParser p = _parser(doc)) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            for (long value : exp) {
+                assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+                assertEquals(value, p.getLongValue());
+            }
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            assertNull(p.nextToken());
+        }
+    }
+
+    private void _verifyFloatElements(byte[] doc, JsonParser.NumberType type, double... exp)
+        throws Exception
+    {
+        try (CBORParser p = _parser(doc)) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            for (double value : exp) {
+                assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+                assertEquals(type, p.getNumberType());
+                assertEquals(value, p.getDoubleValue());
+            }
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            assertNull(p.nextToken());
+        }
+    }
+
+    private Object _readBulk(byte[] doc) throws Exception
+    {
+        try (CBORParser p = _parser(doc)) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            return p.readTypedArray();
+        }
+    }
+}
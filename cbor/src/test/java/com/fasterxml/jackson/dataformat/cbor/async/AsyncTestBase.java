@@ -0,0 +1,30 @@
+package com.fasterxml.jackson.dataformat.cbor.async;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.cbor.CBORTestBase;
+
+abstract class AsyncTestBase extends CBORTestBase
+{
+    protected final static char UNICODE_2BYTES = (char) 167; // law symbol
+    protected final static char UNICODE_3BYTES = (char) 0x4567;
+
+    protected final static String UNICODE_SEGMENT = "["+UNICODE_2BYTES+"/"+UNICODE_3BYTES+"]";
+
+    protected AsyncReaderWrapper asyncForBytes(ObjectMapper mapper,
+            int bytesPerRead,
+            byte[] bytes, int padding) throws IOException
+    {
+        return asyncForBytes(mapper.reader(), bytesPerRead, bytes, padding);
+    }
+
+    protected AsyncReaderWrapper asyncForBytes(ObjectReader r,
+            int bytesPerRead,
+            byte[] bytes, int padding) throws IOException
+    {
+        return new AsyncReaderWrapperForByteArray(r.createNonBlockingByteArrayParser(),
+                bytesPerRead, bytes, padding);
+    }
+}
@@ -0,0 +1,212 @@
+package com.fasterxml.jackson.dataformat.cbor.async;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+
+public class SimpleObjectTest extends AsyncTestBase
+{
+    private final static String UNICODE_SHORT_NAME = "Unicode"+UNICODE_3BYTES+"RlzOk";
+
+    private final static String LONG_NAME = "a123456789b123456789c123456789d123456789";
+
+    public void testBooleans() throws IOException
+    {
+        byte[] data = cborDoc(aposToQuotes("{ 'a':true, 'b':false, 'acdc':true, '"
+                +UNICODE_SHORT_NAME+"':true, 'a1234567':false, '"+LONG_NAME+"':null }"));
+        // first, no offsets
+        _testBooleans(data, 0, 100);
+        _testBooleans(data, 0, 3);
+        _testBooleans(data, 0, 1);
+
+        // then with some
+        _testBooleans(data, 1, 100);
+        _testBooleans(data, 1, 3);
+        _testBooleans(data, 1, 1);
+    }
+
+    private void _testBooleans(byte[] data, int offset, int readSize) throws IOException
+    {
+        AsyncReaderWrapper r = asyncForBytes(sharedMapper(), readSize, data, offset);
+        // start with "no token"
+        assertNull(r.currentToken());
+        assertToken(JsonToken.START_OBJECT, r.nextToken());
+
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertEquals("a", r.currentText());
+        assertEquals("a", r.currentName());
+        assertToken(JsonToken.VALUE_TRUE, r.nextToken());
+
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertEquals("b", r.currentText());
+        assertToken(JsonToken.VALUE_FALSE, r.nextToken());
+
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertEquals("acdc", r.currentText());
+        assertToken(JsonToken.VALUE_TRUE, r.nextToken());
+
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertEquals(UNICODE_SHORT_NAME, r.currentText());
+        assertToken(JsonToken.VALUE_TRUE, r.nextToken());
+
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertEquals("a1234567", r.currentText());
+        assertToken(JsonToken.VALUE_FALSE, r.nextToken());
+
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertEquals(LONG_NAME, r.currentText());
+        assertToken(JsonToken.VALUE_NULL, r.nextToken());
+
+        assertToken(JsonToken.END_OBJECT, r.nextToken());
+
+        // and end up with "no token" as well
+        assertNull(r.nextToken());
+        assertTrue(r.isClosed());
+    }
+
+    public void testNestedDefiniteLength() throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CBORGenerator g = cborGenerator(bytes);
+        g.writeStartObject(null, 2);
+        g.writeFieldName("arr");
+        g.writeStartArray(null, 2);
+        g.writeStartObject(null, 0);
+        g.writeEndObject();
+        g.writeStartArray(null, 1);
+        g.writeNumber(13);
+        g.writeEndArray();
+        g.writeEndArray();
+        g.writeFieldName("ob");
+        g.writeStartObject(null, 1);
+        g.writeFieldName("x");
+        g.writeString("abc");
+        g.writeEndObject();
+        g.writeEndObject();
+        g.close();
+        byte[] data = bytes.toByteArray();
+
+        for (int size : new int[] { 1, 2, 100 }) {
+            AsyncReaderWrapper r = asyncForBytes(sharedMapper(), size, data, 0);
+            assertToken(JsonToken.START_OBJECT, r.nextToken());
+            assertToken(JsonToken.FIELD_NAME, r.nextToken());
+            assertEquals("arr", r.currentName());
+            assertToken(JsonToken.START_ARRAY, r.nextToken());
+            assertToken(JsonToken.START_OBJECT, r.nextToken());
+            assertToken(JsonToken.END_OBJECT, r.nextToken());
+            assertToken(JsonToken.START_ARRAY, r.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, r.nextToken());
+            assertEquals(13, r.getIntValue());
+            assertToken(JsonToken.END_ARRAY, r.nextToken());
+            assertToken(JsonToken.END_ARRAY, r.nextToken());
+            assertToken(JsonToken.FIELD_NAME, r.nextToken());
+            assertEquals("ob", r.currentName());
+            assertToken(JsonToken.START_OBJECT, r.nextToken());
+            assertToken(JsonToken.FIELD_NAME, r.nextToken());
+            assertEquals("x", r.currentName());
+            assertToken(JsonToken.VALUE_STRING, r.nextToken());
+            assertEquals("abc", r.currentText());
+            assertToken(JsonToken.END_OBJECT, r.nextToken());
+            assertToken(JsonToken.END_OBJECT, r.nextToken());
+            assertNull(r.nextToken());
+        }
+    }
+
+    public void testNonStringNames() throws IOException
+    {
+        byte[] data = new byte[] {
+                (byte) 0xA2, // Object with 2 entries
+                0x19, 0x01, 0x00, // int 256 as key
+                (byte) 0xF6, // null
+                0x42, 'a', 'b', // binary as key
+                0x20 // -1
+        };
+        for (int size : new int[] { 1, 100 }) {
+            AsyncReaderWrapper r = asyncForBytes(sharedMapper(), size, data, 0);
+            assertToken(JsonToken.START_OBJECT, r.nextToken());
+            assertToken(JsonToken.FIELD_NAME, r.nextToken());
+            assertEquals("256", r.currentName());
+            assertToken(JsonToken.VALUE_NULL, r.nextToken());
+            assertToken(JsonToken.FIELD_NAME, r.nextToken());
+            assertEquals("ab", r.currentName());
+            assertToken(JsonToken.VALUE_NUMBER_INT, r.nextToken());
+            assertEquals(-1, r.getIntValue());
+            assertToken(JsonToken.END_OBJECT, r.nextToken());
+            assertNull(r.nextToken());
+        }
+    }
+
+    public void testMissingCloseMarker() throws IOException
+    {
+        byte[] data = cborDoc("{\"a\":1}");
+        // drop the trailing Break marker
+        byte[] truncated = Arrays.copyOf(data, data.length-1);
+        AsyncReaderWrapper r = asyncForBytes(sharedMapper(), 1, truncated, 0);
+        assertToken(JsonToken.START_OBJECT, r.nextToken());
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, r.nextToken());
+        try {
+            r.nextToken();
+            fail("Should not pass");
+        } catch (IOException e) {
+            verifyException(e, "expected close marker for Object");
+        }
+    }
+
+    public void testSkipChildren() throws IOException
+    {
+        byte[] data = cborDoc(aposToQuotes("{ 'a':[1,{'b':[true]},'x'], 'c':{'d':{}}, 'e':3 }"));
+
+        // with all content available, skips to the matching end marker
+        AsyncReaderWrapper r = asyncForBytes(sharedMapper(), 1000, data, 0);
+        assertToken(JsonToken.START_OBJECT, r.nextToken());
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertToken(JsonToken.START_ARRAY, r.nextToken());
+        r.parser().skipChildren();
+        assertToken(JsonToken.END_ARRAY, r.currentToken());
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertEquals("c", r.currentName());
+        assertToken(JsonToken.START_OBJECT, r.nextToken());
+        r.parser().skipChildren();
+        assertToken(JsonToken.END_OBJECT, r.currentToken());
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertEquals("e", r.currentName());
+        assertToken(JsonToken.VALUE_NUMBER_INT, r.nextToken());
+        assertEquals(3, r.getIntValue());
+        assertToken(JsonToken.END_OBJECT, r.nextToken());
+        r.close();
+
+        // but with content fed in small chunks, returns once more input is needed
+        // (instead of looping forever), and finishes skipping on following call(s)
+        // to nextToken()
+        r = asyncForBytes(sharedMapper(), 3, data, 0);
+        assertToken(JsonToken.START_OBJECT, r.nextToken());
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertToken(JsonToken.START_ARRAY, r.nextToken());
+        r.parser().skipChildren();
+        assertToken(JsonToken.END_ARRAY, r.nextToken());
+        assertTrue(r.parser().getParsingContext().inObject());
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertEquals("c", r.currentName());
+        r.close();
+    }
+
+    public void testReadRawValueNotSupported() throws IOException
+    {
+        byte[] data = cborDoc(aposToQuotes("{ 'a':[1,2] }"));
+        AsyncReaderWrapper r = asyncForBytes(sharedMapper(), 1000, data, 0);
+        assertToken(JsonToken.START_OBJECT, r.nextToken());
+        try {
+            ((CBORParser) r.parser()).readRawValue(new ByteArrayOutputStream());
+            fail("Should not pass");
+        } catch (StreamReadException e) {
+            verifyException(e, "non-blocking parser");
+        }
+        r.close();
+    }
+}
@@ -0,0 +1,195 @@
+package com.fasterxml.jackson.dataformat.cbor.async;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+
+public class SimpleScalarArrayTest extends AsyncTestBase
+{
+    private final static int[] INTS = new int[] {
+            0, 1, -1, 23, 24, -24, -25, 255, 256, -256, -257,
+            0xFFFF, 0x10000, -0x10000, -0x10001,
+            Integer.MAX_VALUE, Integer.MIN_VALUE
+    };
+
+    private final static long[] LONGS = new long[] {
+            1L + Integer.MAX_VALUE, Integer.MIN_VALUE - 1L,
+            0xFFFFFFFFL, -0xFFFFFFFFL - 1L,
+            Long.MAX_VALUE, Long.MIN_VALUE
+    };
+
+    public void testBooleansAndNulls() throws IOException
+    {
+        byte[] data = cborDoc("[ true, false, null, true ]");
+        for (int size : new int[] { 1, 2, 100 }) {
+            for (int offset : new int[] { 0, 1 }) {
+                AsyncReaderWrapper r = asyncForBytes(sharedMapper(), size, data, offset);
+                // start with "no token"
+                assertNull(r.currentToken());
+                assertToken(JsonToken.START_ARRAY, r.nextToken());
+                assertToken(JsonToken.VALUE_TRUE, r.nextToken());
+                assertToken(JsonToken.VALUE_FALSE, r.nextToken());
+                assertToken(JsonToken.VALUE_NULL, r.nextToken());
+                assertToken(JsonToken.VALUE_TRUE, r.nextToken());
+                assertToken(JsonToken.END_ARRAY, r.nextToken());
+                // and end up with "no token" as well
+                assertNull(r.nextToken());
+                assertTrue(r.isClosed());
+            }
+        }
+    }
+
+    public void testInts() throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CBORGenerator g = cborGenerator(bytes);
+        g.writeStartArray();
+        for (int i : INTS) {
+            g.writeNumber(i);
+        }
+        g.writeEndArray();
+        g.close();
+        byte[] data = bytes.toByteArray();
+
+        _testInts(data, 0, 100);
+        _testInts(data, 0, 3);
+        _testInts(data, 0, 1);
+        _testInts(data, 1, 100);
+        _testInts(data, 1, 3);
+        _testInts(data, 1, 1);
+    }
+
+    private void _testInts(byte[] data, int offset, int readSize) throws IOException
+    {
+        AsyncReaderWrapper r = asyncForBytes(sharedMapper(), readSize, data, offset);
+        assertToken(JsonToken.START_ARRAY, r.nextToken());
+        for (int i : INTS) {
+            assertToken(JsonToken.VALUE_NUMBER_INT, r.nextToken());
+            assertEquals(NumberType.INT, r.getNumberType());
+            assertEquals(i, r.getIntValue());
+        }
+        assertToken(JsonToken.END_ARRAY, r.nextToken());
+        assertNull(r.nextToken());
+        assertTrue(r.isClosed());
+    }
+
+    public void testLongs() throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CBORGenerator g = cborGenerator(bytes);
+        // use definite length for a change
+        g.writeStartArray(null, LONGS.length);
+        for (long l : LONGS) {
+            g.writeNumber(l);
+        }
+        g.writeEndArray();
+        g.close();
+        byte[] data = bytes.toByteArray();
+
+        for (int size : new int[] { 1, 3, 100 }) {
+            AsyncReaderWrapper r = asyncForBytes(sharedMapper(), size, data, 0);
+            assertToken(JsonToken.START_ARRAY, r.nextToken());
+            for (long l : LONGS) {
+                assertToken(JsonToken.VALUE_NUMBER_INT, r.nextToken());
+                assertEquals(NumberType.LONG, r.getNumberType());
+                assertEquals(l, r.getLongValue());
+            }
+            assertToken(JsonToken.END_ARRAY, r.nextToken());
+            assertNull(r.nextToken());
+        }
+    }
+
+    public void testFloatsAndDoubles() throws IOException
+    {
+        final float[] floats = new float[] { 0.0f, -1.25f, 0.125f, 1.5e20f };
+        final double[] doubles = new double[] { 0.0, 0.25, -1.5e-100, 123456789.5 };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CBORGenerator g = cborGenerator(bytes);
+        g.writeStartArray();
+        for (float f : floats) {
+            g.writeNumber(f);
+        }
+        for (double d : doubles) {
+            g.writeNumber(d);
+        }
+        g.writeEndArray();
+        g.close();
+        byte[] data = bytes.toByteArray();
+
+        for (int size : new int[] { 1, 3, 100 }) {
+            AsyncReaderWrapper r = asyncForBytes(sharedMapper(), size, data, 1);
+            assertToken(JsonToken.START_ARRAY, r.nextToken());
+            for (float f : floats) {
+                assertToken(JsonToken.VALUE_NUMBER_FLOAT, r.nextToken());
+                assertEquals(NumberType.FLOAT, r.getNumberType());
+                assertEquals(f, r.getFloatValue());
+            }
+            for (double d : doubles) {
+                assertToken(JsonToken.VALUE_NUMBER_FLOAT, r.nextToken());
+                assertEquals(NumberType.DOUBLE, r.getNumberType());
+                assertEquals(d, r.getDoubleValue());
+            }
+            assertToken(JsonToken.END_ARRAY, r.nextToken());
+            assertNull(r.nextToken());
+        }
+    }
+
+    public void testHalfFloats() throws IOException
+    {
+        // 1.0, -2.0, 0.5 as 16-bit "mini-floats"
+        byte[] data = new byte[] {
+                (byte) 0x83,
+                (byte) 0xF9, 0x3C, 0x00,
+                (byte) 0xF9, (byte) 0xC0, 0x00,
+                (byte) 0xF9, 0x38, 0x00
+        };
+        AsyncReaderWrapper r = asyncForBytes(sharedMapper(), 1, data, 0);
+        assertToken(JsonToken.START_ARRAY, r.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, r.nextToken());
+        assertEquals(1.0f, r.getFloatValue());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, r.nextToken());
+        assertEquals(-2.0f, r.getFloatValue());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, r.nextToken());
+        assertEquals(0.5f, r.getFloatValue());
+        assertToken(JsonToken.END_ARRAY, r.nextToken());
+        assertNull(r.nextToken());
+    }
+
+    public void testRootValueSequence() throws IOException
+    {
+        byte[] data = new byte[] {
+                0x01, // int 1
+                0x18, 100, // int 100
+                (byte) 0xF5, // true
+                0x61, 'a' // "a"
+        };
+        for (int size : new int[] { 1, 2, 100 }) {
+            AsyncReaderWrapper r = asyncForBytes(sharedMapper(), size, data, 0);
+            assertToken(JsonToken.VALUE_NUMBER_INT, r.nextToken());
+            assertEquals(1, r.getIntValue());
+            assertToken(JsonToken.VALUE_NUMBER_INT, r.nextToken());
+            assertEquals(100, r.getIntValue());
+            assertToken(JsonToken.VALUE_TRUE, r.nextToken());
+            assertToken(JsonToken.VALUE_STRING, r.nextToken());
+            assertEquals("a", r.currentText());
+            assertNull(r.nextToken());
+            assertTrue(r.isClosed());
+        }
+    }
+
+    public void testTruncatedRootValue() throws IOException
+    {
+        // 4-byte int, but only 2 bytes of it
+        byte[] data = new byte[] { 0x1A, 0x01, 0x02 };
+        AsyncReaderWrapper r = asyncForBytes(sharedMapper(), 1, data, 0);
+        try {
+            r.nextToken();
+            fail("Should not pass");
+        } catch (IOException e) {
+            verifyException(e, "incomplete root-level value");
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.fasterxml.jackson.dataformat.cbor.async;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class StringsAndBinaryTest extends AsyncTestBase
+{
+    public void testStrings() throws IOException
+    {
+        final String[] values = new String[] {
+                "", "a", "abc", UNICODE_SEGMENT,
+                generateLongAsciiString(700),
+                generateUnicodeString(3000)
+        };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CBORGenerator g = cborGenerator(bytes);
+        g.writeStartArray();
+        for (String str : values) {
+            g.writeString(str);
+        }
+        g.writeEndArray();
+        g.close();
+        byte[] data = bytes.toByteArray();
+
+        for (int size : new int[] { 1, 7, 99, 5000 }) {
+            for (int offset : new int[] { 0, 1 }) {
+                AsyncReaderWrapper r = asyncForBytes(sharedMapper(), size, data, offset);
+                assertToken(JsonToken.START_ARRAY, r.nextToken());
+                for (String str : values) {
+                    assertToken(JsonToken.VALUE_STRING, r.nextToken());
+                    assertEquals(str, r.currentText());
+                    assertEquals(str, r.currentTextViaCharacters());
+                    assertEquals(str, r.currentTextViaWriter());
+                }
+                assertToken(JsonToken.END_ARRAY, r.nextToken());
+                assertNull(r.nextToken());
+            }
+        }
+    }
+
+    public void testChunkedStringAndBinary() throws IOException
+    {
+        byte[] data = new byte[] {
+                (byte) 0x9F, // indefinite-length Array
+                0x7F, 0x63, 'a', 'b', 'c', 0x60, 0x62, 'd', 'e', (byte) 0xFF, // chunked String
+                0x5F, 0x42, 1, 2, 0x41, 3, (byte) 0xFF, // chunked binary
+                (byte) 0xFF
+        };
+        for (int size : new int[] { 1, 3, 100 }) {
+            AsyncReaderWrapper r = asyncForBytes(sharedMapper(), size, data, 0);
+            assertToken(JsonToken.START_ARRAY, r.nextToken());
+            assertToken(JsonToken.VALUE_STRING, r.nextToken());
+            assertEquals("abcde", r.currentText());
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, r.nextToken());
+            assertArrayEquals(new byte[] { 1, 2, 3 }, r.getBinaryValue());
+            assertToken(JsonToken.END_ARRAY, r.nextToken());
+            assertNull(r.nextToken());
+        }
+    }
+
+    public void testBinary() throws IOException
+    {
+        final int[] sizes = new int[] { 0, 1, 7, 300, 5000 };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CBORGenerator g = cborGenerator(bytes);
+        g.writeStartArray();
+        for (int size : sizes) {
+            g.writeBinary(_generateData(size));
+        }
+        g.writeEndArray();
+        g.close();
+        byte[] data = bytes.toByteArray();
+
+        for (int readSize : new int[] { 1, 17, 1000 }) {
+            AsyncReaderWrapper r = asyncForBytes(sharedMapper(), readSize, data, 1);
+            assertToken(JsonToken.START_ARRAY, r.nextToken());
+            for (int size : sizes) {
+                assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, r.nextToken());
+                assertArrayEquals(_generateData(size), r.getBinaryValue());
+            }
+            assertToken(JsonToken.END_ARRAY, r.nextToken());
+            assertNull(r.nextToken());
+        }
+    }
+
+    public void testTaggedBigNumbers() throws IOException
+    {
+        final BigInteger bigInt = BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(7).add(BigInteger.ONE);
+        final BigDecimal[] decimals = new BigDecimal[] {
+                new BigDecimal("0.33"),
+                new BigDecimal("-12345.667899024"),
+                BigDecimal.ONE.scaleByPowerOfTen(137),
+                new BigDecimal("1234567890.12345678901234567890")
+        };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CBORGenerator g = cborGenerator(bytes);
+        g.writeStartArray();
+        g.writeNumber(bigInt);
+        g.writeNumber(bigInt.negate());
+        for (BigDecimal dec : decimals) {
+            g.writeNumber(dec);
+        }
+        g.writeEndArray();
+        g.close();
+        byte[] data = bytes.toByteArray();
+
+        for (int size : new int[] { 1, 3, 100 }) {
+            AsyncReaderWrapper r = asyncForBytes(sharedMapper(), size, data, 0);
+            assertToken(JsonToken.START_ARRAY, r.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, r.nextToken());
+            assertEquals(NumberType.BIG_INTEGER, r.getNumberType());
+            assertEquals(bigInt, r.getBigIntegerValue());
+            assertToken(JsonToken.VALUE_NUMBER_INT, r.nextToken());
+            assertEquals(bigInt.negate(), r.getBigIntegerValue());
+            for (BigDecimal dec : decimals) {
+                assertToken(JsonToken.VALUE_NUMBER_FLOAT, r.nextToken());
+                assertEquals(NumberType.BIG_DECIMAL, r.getNumberType());
+                assertEquals(dec, r.getBigDecimalValue());
+            }
+            assertToken(JsonToken.END_ARRAY, r.nextToken());
+            assertNull(r.nextToken());
+        }
+    }
+
+    private static byte[] _generateData(int size)
+    {
+        byte[] result = new byte[size];
+        for (int i = 0; i < size; ++i) {
+            result[i] = (byte) (i % 255);
+        }
+        return result;
+    }
+}
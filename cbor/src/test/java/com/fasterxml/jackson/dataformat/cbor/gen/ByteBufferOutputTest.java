@@ -0,0 +1,121 @@
+package com.fasterxml.jackson.dataformat.cbor.gen;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.junit.Assert;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectWriteContext;
+import com.fasterxml.jackson.dataformat.binary.io.ByteBufferOutputStream;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORTestBase;
+
+public class ByteBufferOutputTest extends CBORTestBase
+{
+    private final CBORFactory CBOR_F = cborFactory();
+
+    public void testDirectBuffer() throws Exception
+    {
+        final byte[] exp = _expected();
+        ByteBuffer target = ByteBuffer.allocateDirect(exp.length + 100);
+        target.put((byte) 0x7F);
+        CBORGenerator g = CBOR_F.createGenerator(ObjectWriteContext.empty(), target);
+        _write(g);
+        g.close();
+
+        assertEquals(exp.length + 1, target.position());
+        target.flip();
+        assertEquals((byte) 0x7F, target.get());
+        byte[] actual = new byte[target.remaining()];
+        target.get(actual);
+        Assert.assertArrayEquals(exp, actual);
+    }
+
+    public void testOverflow() throws Exception
+    {
+        CBORGenerator g = CBOR_F.createGenerator(ObjectWriteContext.empty(),
+                ByteBuffer.allocate(100));
+        try {
+            _write(g);
+            g.close();
+            fail("Should not pass");
+        } catch (BufferOverflowException e) {
+            ; // as expected
+        }
+    }
+
+    public void testOverflowHandler() throws Exception
+    {
+        final ByteArrayOutputStream drained = new ByteArrayOutputStream();
+        ByteBufferOutputStream out = new ByteBufferOutputStream(ByteBuffer.allocateDirect(100),
+                full -> {
+                    full.flip();
+                    byte[] chunk = new byte[full.remaining()];
+                    full.get(chunk);
+                    drained.write(chunk, 0, chunk.length);
+                    full.clear();
+                    return full;
+                });
+        CBORGenerator g = CBOR_F.createGenerator(ObjectWriteContext.empty(), out);
+        _write(g);
+        g.close();
+
+        final byte[] exp = _expected();
+        assertEquals(exp.length, out.getBytesWritten());
+        for (ByteBuffer buf : out.getBuffers()) {
+            while (buf.hasRemaining()) {
+                drained.write(buf.get());
+            }
+        }
+        Assert.assertArrayEquals(exp, drained.toByteArray());
+    }
+
+    public void testChainedBuffers() throws Exception
+    {
+        ByteBufferOutputStream out = new ByteBufferOutputStream(() -> ByteBuffer.allocateDirect(1000));
+        CBORGenerator g = CBOR_F.createGenerator(ObjectWriteContext.empty(), out);
+        _write(g);
+        g.close();
+
+        final byte[] exp = _expected();
+        List<ByteBuffer> buffers = out.getBuffers();
+        assertEquals((exp.length + 999) / 1000, buffers.size());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (ByteBuffer buf : buffers) {
+            while (buf.hasRemaining()) {
+                bytes.write(buf.get());
+            }
+        }
+        Assert.assertArrayEquals(exp, bytes.toByteArray());
+    }
+
+    private byte[] _expected() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonGenerator g = cborGenerator(bytes);
+        _write(g);
+        g.close();
+        return bytes.toByteArray();
+    }
+
+    private void _write(JsonGenerator g) throws Exception
+    {
+        final byte[] binary = new byte[20000];
+        for (int i = 0; i < binary.length; ++i) {
+            binary[i] = (byte) i;
+        }
+        g.writeStartArray();
+        for (int i = 0; i < 1000; ++i) {
+            g.writeStartObject();
+            g.writeNumberField("id", i);
+            g.writeStringField("name", "Entry #"+i);
+            g.writeEndObject();
+        }
+        g.writeBinary(binary);
+        g.writeEndArray();
+    }
+}
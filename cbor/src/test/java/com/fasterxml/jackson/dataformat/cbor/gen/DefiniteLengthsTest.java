@@ -0,0 +1,184 @@
+package com.fasterxml.jackson.dataformat.cbor.gen;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORConstants;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORTestBase;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * Tests for {@link CBORGenerator.Feature#WRITE_DEFINITE_LENGTHS}.
+ */
+public class DefiniteLengthsTest extends CBORTestBase
+{
+    static class Item {
+        public String name;
+        public List<Integer> values;
+        public Map<String,Item> children;
+
+        protected Item() { }
+        public Item(String name, int count) {
+            this.name = name;
+            values = new ArrayList<>();
+            for (int i = 0; i < count; ++i) {
+                values.add(i * 37);
+            }
+        }
+    }
+
+    private final CBORFactory DEFINITE_F = CBORFactory.builder()
+            .enable(CBORGenerator.Feature.WRITE_DEFINITE_LENGTHS)
+            .build();
+
+    private final ObjectMapper DEFINITE_MAPPER = new CBORMapper(DEFINITE_F);
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testSimple() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CBORGenerator g = (CBORGenerator) DEFINITE_MAPPER.createGenerator(bytes);
+        g.writeStartObject();
+        g.writeFieldName("a");
+        g.writeStartArray();
+        g.writeNumber(1);
+        g.writeNumber(2);
+        g.writeEndArray();
+        g.writeEndObject();
+        g.close();
+
+        _verifyBytes(bytes.toByteArray(),
+                (byte) (CBORConstants.PREFIX_TYPE_OBJECT + 1),
+                (byte) (CBORConstants.PREFIX_TYPE_TEXT + 1), (byte) 'a',
+                (byte) (CBORConstants.PREFIX_TYPE_ARRAY + 2),
+                (byte) 1, (byte) 2);
+    }
+
+    // Longer lengths need bigger headers, so contents need to be moved
+    public void testHeaderLengths() throws Exception
+    {
+        for (int size : new int[] { 0, 23, 24, 255, 256, 65535, 65536, 100000 }) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            CBORGenerator g = (CBORGenerator) DEFINITE_MAPPER.createGenerator(bytes);
+            g.writeStartArray();
+            g.writeStartArray();
+            for (int i = 0; i < size; ++i) {
+                g.writeNumber(i & 0xF);
+            }
+            g.writeEndArray();
+            g.writeString("end");
+            g.writeEndArray();
+            g.close();
+
+            byte[] doc = bytes.toByteArray();
+            // outer array always has 2 elements
+            assertEquals((byte) (CBORConstants.PREFIX_TYPE_ARRAY + 2), doc[0]);
+            // and inner one header of minimal length
+            int headerLength = (size < 24) ? 1 : ((size <= 0xFF) ? 2 : ((size <= 0xFFFF) ? 3 : 5));
+            assertEquals(1 + headerLength + size + 4, doc.length);
+
+            CBORParser p = cborParser(doc);
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            for (int i = 0; i < size; ++i) {
+                assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+                assertEquals(i & 0xF, p.getIntValue());
+            }
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("end", p.getText());
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            assertNull(p.nextToken());
+            p.close();
+        }
+    }
+
+    // Content much bigger than output buffer, with values before and after
+    public void testDataBinding() throws Exception
+    {
+        Item root = new Item("root", 3);
+        root.children = new LinkedHashMap<>();
+        for (int i = 0; i < 50; ++i) {
+            Item child = new Item("child"+i, i * 100);
+            child.children = Collections.singletonMap("leaf", new Item(generateUnicodeString(300), 30));
+            root.children.put("c"+i, child);
+        }
+        List<Object> doc = Arrays.asList("first", root, Collections.emptyMap(), "last");
+
+        byte[] definite = DEFINITE_MAPPER.writeValueAsBytes(doc);
+        byte[] indefinite = sharedMapper().writeValueAsBytes(doc);
+        // all containers are definite-length, so no "break" markers
+        assertTrue(definite.length < indefinite.length);
+        assertEquals(sharedMapper().readTree(indefinite), sharedMapper().readTree(definite));
+
+        CBORParser p = cborParser(definite);
+        int count = 0;
+        JsonToken t;
+        while ((t = p.nextToken()) != null) {
+            if (t == JsonToken.START_ARRAY || t == JsonToken.START_OBJECT) {
+                ++count;
+                assertEquals(-1, p.getCurrentTag());
+            }
+        }
+        p.close();
+        assertTrue(count > 100);
+    }
+
+    // Sized containers, and indefinite ones when feature is disabled, can be mixed
+    public void testMixed() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CBORGenerator g = (CBORGenerator) DEFINITE_MAPPER.createGenerator(bytes);
+        g.writeStartArray();
+        g.writeStartArray(null, 2);
+        g.writeStartObject();
+        g.writeEndObject();
+        g.writeNumber(3);
+        g.writeEndArray();
+        g.disable(CBORGenerator.Feature.WRITE_DEFINITE_LENGTHS);
+        g.writeStartArray();
+        g.writeNumber(4);
+        g.writeEndArray();
+        g.enable(CBORGenerator.Feature.WRITE_DEFINITE_LENGTHS);
+        g.writeEndArray();
+        g.close();
+
+        _verifyBytes(bytes.toByteArray(),
+                (byte) (CBORConstants.PREFIX_TYPE_ARRAY + 2),
+                (byte) (CBORConstants.PREFIX_TYPE_ARRAY + 2),
+                (byte) (CBORConstants.PREFIX_TYPE_OBJECT + 0),
+                (byte) 3,
+                CBORConstants.BYTE_ARRAY_INDEFINITE,
+                (byte) 4,
+                CBORConstants.BYTE_BREAK);
+    }
+
+    public void testAutoCloseOnClose() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CBORGenerator g = (CBORGenerator) DEFINITE_MAPPER.createGenerator(bytes);
+        g.writeStartObject();
+        g.writeFieldName("a");
+        g.writeStartArray();
+        g.writeNumber(1);
+        // leave both containers open: closing should back-patch their counts
+        g.close();
+
+        _verifyBytes(bytes.toByteArray(),
+                (byte) (CBORConstants.PREFIX_TYPE_OBJECT + 1),
+                (byte) (CBORConstants.PREFIX_TYPE_TEXT + 1),
+                (byte) 'a',
+                (byte) (CBORConstants.PREFIX_TYPE_ARRAY + 1),
+                (byte) 1);
+    }
+}
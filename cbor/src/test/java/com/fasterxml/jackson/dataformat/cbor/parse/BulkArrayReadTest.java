@@ -0,0 +1,281 @@
+package com.fasterxml.jackson.dataformat.cbor.parse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Assert;
+
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORTestBase;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * Tests for bulk reads of primitive arrays, using methods like
+ * {@link CBORParser#readIntArray()}, as well as data-binding that uses them.
+ */
+public class BulkArrayReadTest extends CBORTestBase
+{
+    static class Numbers {
+        public int[] ints;
+        public long[] longs;
+        public double[] doubles;
+    }
+
+    static class FloatingPoints {
+        public double[] doubles;
+        public float[] floats;
+    }
+
+    static class NullSkippingNumbers {
+        @JsonSetter(contentNulls = Nulls.SKIP)
+        public int[] ints;
+    }
+
+    private final static int COUNT = 20000;
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testIntArrays() throws Exception
+    {
+        final int[] input = _ints();
+        for (boolean definite : new boolean[] { true, false }) {
+            byte[] doc = _intDoc(input, definite);
+            // from a stream, to cover input boundaries
+            CBORParser p = cborParser(new ByteArrayInputStream(doc));
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            Assert.assertArrayEquals(input, p.readIntArray());
+            assertToken(JsonToken.END_ARRAY, p.currentToken());
+            assertNull(p.nextToken());
+            p.close();
+
+            // and then into buffer, in small chunks
+            p = cborParser(doc);
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            int[] buffer = new int[7];
+            int count = 0;
+            int n;
+            while ((n = p.readIntArray(buffer, 0, buffer.length)) > 0) {
+                for (int i = 0; i < n; ++i) {
+                    assertEquals(input[count++], buffer[i]);
+                }
+                if (n == buffer.length) {
+                    // current token should be the last value read
+                    assertToken(JsonToken.VALUE_NUMBER_INT, p.currentToken());
+                    assertEquals(buffer[n-1], p.getIntValue());
+                }
+            }
+            assertEquals(input.length, count);
+            assertToken(JsonToken.END_ARRAY, p.currentToken());
+            assertNull(p.nextToken());
+            p.close();
+        }
+    }
+
+    public void testLongAndDoubleArrays() throws Exception
+    {
+        Numbers input = new Numbers();
+        input.longs = new long[COUNT];
+        input.doubles = new double[COUNT];
+        for (int i = 0; i < COUNT; ++i) {
+            input.longs[i] = ((i & 1) == 0) ? (i * 0x123456789L) : -i;
+            // mix of doubles, floats and ints
+            switch (i % 3) {
+            case 0:
+                input.doubles[i] = i / 7.0;
+                break;
+            case 1:
+                input.doubles[i] = 0.25f * i;
+                break;
+            default:
+                input.doubles[i] = -i;
+            }
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CBORGenerator g = cborGenerator(bytes);
+        g.writeStartArray();
+        g.writeArray(input.longs, 0, COUNT);
+        g.writeStartArray(null, COUNT);
+        for (int i = 0; i < COUNT; ++i) {
+            switch (i % 3) {
+            case 0:
+                g.writeNumber(input.doubles[i]);
+                break;
+            case 1:
+                g.writeNumber((float) input.doubles[i]);
+                break;
+            default:
+                g.writeNumber((int) input.doubles[i]);
+            }
+        }
+        g.writeEndArray();
+        g.writeEndArray();
+        g.close();
+
+        CBORParser p = cborParser(new ByteArrayInputStream(bytes.toByteArray()));
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        Assert.assertArrayEquals(input.longs, p.readLongArray());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        Assert.assertArrayEquals(input.doubles, p.readDoubleArray(), 0.0);
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testTypedArrays() throws Exception
+    {
+        final int[] input = _ints();
+        ObjectMapper mapper = new CBORMapper(CBORFactory.builder()
+                .enable(CBORGenerator.Feature.WRITE_TYPED_ARRAYS)
+                .enable(CBORParser.Feature.READ_TYPED_ARRAYS)
+                .build());
+        byte[] doc = mapper.writeValueAsBytes(input);
+        CBORParser p = (CBORParser) mapper.createParser(doc);
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        Assert.assertArrayEquals(input, p.readIntArray());
+        assertNull(p.nextToken());
+        p.close();
+
+        Assert.assertArrayEquals(input, mapper.readValue(doc, int[].class));
+    }
+
+    public void testTypedArrayDataBinding() throws Exception
+    {
+        ObjectMapper mapper = new CBORMapper(CBORFactory.builder()
+                .enable(CBORGenerator.Feature.WRITE_TYPED_ARRAYS)
+                .enable(CBORParser.Feature.READ_TYPED_ARRAYS)
+                .build());
+        FloatingPoints input = new FloatingPoints();
+        input.doubles = new double[] { 0.1, -2.5, Double.MAX_VALUE, Double.MIN_VALUE, 1.0 / 3.0 };
+        input.floats = new float[] { 0.1f, -2.5f, Float.MAX_VALUE };
+        byte[] doc = mapper.writeValueAsBytes(input);
+        FloatingPoints result = mapper.readValue(doc, FloatingPoints.class);
+        Assert.assertArrayEquals(input.doubles, result.doubles, 0.0);
+        Assert.assertArrayEquals(input.floats, result.floats, 0.0f);
+
+        // and float32 typed arrays are widened for double[]
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CBORGenerator g = cborGenerator(bytes);
+        g.writeStartObject();
+        g.writeFieldName("doubles");
+        g.writeTag(81); // float32, big-endian
+        g.writeBinary(new byte[] { 0x3F, (byte) 0xC0, 0, 0, (byte) 0xC0, 0, 0, 0 });
+        g.writeEndObject();
+        g.close();
+        result = mapper.readValue(bytes.toByteArray(), FloatingPoints.class);
+        Assert.assertArrayEquals(new double[] { 1.5, -2.0 }, result.doubles, 0.0);
+    }
+
+    public void testDataBinding() throws Exception
+    {
+        Numbers input = new Numbers();
+        input.ints = _ints();
+        input.longs = new long[] { 1L, Long.MIN_VALUE, Long.MAX_VALUE, 0L };
+        input.doubles = new double[] { 0.5, -1.0, Double.MAX_VALUE };
+        byte[] doc = sharedMapper().writeValueAsBytes(input);
+        Numbers result = sharedMapper().readValue(new ByteArrayInputStream(doc), Numbers.class);
+        Assert.assertArrayEquals(input.ints, result.ints);
+        Assert.assertArrayEquals(input.longs, result.longs);
+        Assert.assertArrayEquals(input.doubles, result.doubles, 0.0);
+
+        // and elements bulk reads do not accept are handled as usual
+        doc = cborDoc("{\"ints\":[1,null,\"3\",4],\"longs\":[null,2],\"doubles\":[\"0.5\",1]}");
+        result = sharedMapper().readValue(doc, Numbers.class);
+        Assert.assertArrayEquals(new int[] { 1, 0, 3, 4 }, result.ints);
+        Assert.assertArrayEquals(new long[] { 0L, 2L }, result.longs);
+        Assert.assertArrayEquals(new double[] { 0.5, 1.0 }, result.doubles, 0.0);
+    }
+
+    // Property-specific configuration handled by default deserializer
+    public void testDataBindingWithContentNulls() throws Exception
+    {
+        byte[] doc = cborDoc("{\"ints\":[1,null,2,null]}");
+        NullSkippingNumbers result = sharedMapper().readValue(doc, NullSkippingNumbers.class);
+        Assert.assertArrayEquals(new int[] { 1, 2 }, result.ints);
+    }
+
+    public void testInvalidBulkReads() throws Exception
+    {
+        CBORParser p = cborParser(cborDoc("[1,2,\"abc\"]"));
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        try {
+            p.readIntArray();
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "Unexpected token (VALUE_STRING) within Array read as int[]");
+        }
+        p.close();
+
+        // 64-bit value not accepted for int[]
+        p = cborParser(cborDoc("[1,12345678901]"));
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        int[] buffer = new int[4];
+        assertEquals(1, p.readIntArray(buffer, 0, 4));
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.currentToken());
+        assertEquals(12345678901L, p.getLongValue());
+        p.close();
+
+        p = cborParser(cborDoc("{\"a\":[1]}"));
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        try {
+            p.readIntArray(buffer, 0, 4);
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "not within an Array");
+        }
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        try {
+            p.readLongArray();
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "not START_ARRAY");
+        }
+        p.close();
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private int[] _ints()
+    {
+        // values with all encoding lengths, positive and negative
+        int[] values = new int[COUNT];
+        for (int i = 0; i < COUNT; ++i) {
+            int v = i << (i % 24);
+            values[i] = ((i & 1) == 0) ? v : -v;
+        }
+        values[1] = Integer.MIN_VALUE;
+        values[2] = Integer.MAX_VALUE;
+        return values;
+    }
+
+    private byte[] _intDoc(int[] values, boolean definite) throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CBORGenerator g = cborGenerator(bytes);
+        if (definite) {
+            g.writeArray(values, 0, values.length);
+        } else {
+            g.writeStartArray();
+            for (int value : values) {
+                g.writeNumber(value);
+            }
+            g.writeEndArray();
+        }
+        g.close();
+        return bytes.toByteArray();
+    }
+}
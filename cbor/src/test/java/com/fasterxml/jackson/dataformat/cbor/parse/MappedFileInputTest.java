@@ -0,0 +1,136 @@
+package com.fasterxml.jackson.dataformat.cbor.parse;
+
+import java.io.File;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectReadContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.binary.io.MappedFileInputStream;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORTestBase;
+
+/**
+ * Tests for reading content from memory-mapped files, using
+ * {@link com.fasterxml.jackson.dataformat.cbor.CBORFactory#createParser(ObjectReadContext, Path)}
+ * and {@link MappedFileInputStream}.
+ */
+public class MappedFileInputTest extends CBORTestBase
+{
+    private final static int COUNT = 2000;
+
+    private final ObjectMapper MAPPER = cborMapper();
+
+    public void testParserFromPath() throws Exception
+    {
+        final List<String> input = _values();
+        Path path = _tempFile(MAPPER.writeValueAsBytes(input));
+        try {
+            CBORParser p = cborFactory().createParser(ObjectReadContext.empty(), path);
+            _verify(input, p);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    // Use tiny windows to verify that content spanning window boundaries is read correctly
+    public void testSmallWindows() throws Exception
+    {
+        final List<String> input = _values();
+        Path path = _tempFile(MAPPER.writeValueAsBytes(input));
+        try {
+            for (int windowSize : new int[] { 1, 7, 1000 }) {
+                MappedFileInputStream in = new MappedFileInputStream(
+                        FileChannel.open(path, StandardOpenOption.READ), windowSize);
+                _verify(input, cborParser(in));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    public void testStreamReadsAndSkips() throws Exception
+    {
+        byte[] data = new byte[100];
+        for (int i = 0; i < data.length; ++i) {
+            data[i] = (byte) i;
+        }
+        Path path = _tempFile(data);
+        try {
+            MappedFileInputStream in = new MappedFileInputStream(
+                    FileChannel.open(path, StandardOpenOption.READ), 16);
+            assertEquals(100, in.available());
+            assertEquals(0, in.read());
+            // skip within current window
+            assertEquals(5L, in.skip(5L));
+            assertEquals(6, in.read());
+            // and past it
+            assertEquals(34L, in.skip(34L));
+            byte[] buf = new byte[40];
+            // reads do not span windows
+            assertEquals(16, in.read(buf, 0, buf.length));
+            assertEquals(41, buf[0]);
+            assertEquals(0, in.read(buf, 0, 0));
+            assertEquals(16, in.read(buf, 0, buf.length));
+            assertEquals(57, buf[0]);
+            assertEquals(27, in.available());
+            assertEquals(27L, in.skip(1000L));
+            assertEquals(0, in.available());
+            assertEquals(-1, in.read());
+            assertEquals(-1, in.read(buf, 0, buf.length));
+            in.close();
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    public void testEmptyFile() throws Exception
+    {
+        Path path = _tempFile(new byte[0]);
+        try {
+            CBORParser p = cborFactory().createParser(ObjectReadContext.empty(), path);
+            assertNull(p.nextToken());
+            p.close();
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private List<String> _values() {
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < COUNT; ++i) {
+            result.add("value #"+i);
+        }
+        return result;
+    }
+
+    private void _verify(List<String> exp, CBORParser p) throws Exception
+    {
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        for (String value : exp) {
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals(value, p.getText());
+        }
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    private Path _tempFile(byte[] contents) throws Exception
+    {
+        File f = File.createTempFile("cbor-mapped", ".cbor");
+        Files.write(f.toPath(), contents);
+        return f.toPath();
+    }
+}
@@ -0,0 +1,262 @@
+package com.fasterxml.jackson.dataformat.cbor.parse;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.core.exc.StreamWriteException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORConstants;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORTestBase;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.cbor.testutil.ThrottledInputStream;
+
+/**
+ * Tests for {@link CBORParser#readRawValue} and {@link CBORGenerator#writeRawValue},
+ * used for passing encoded values through without decoding them.
+ */
+public class RawValueTest extends CBORTestBase
+{
+    private final ObjectMapper MAPPER = cborMapper();
+
+    private final ObjectMapper DEFINITE_MAPPER = new CBORMapper(CBORFactory.builder()
+            .enable(CBORGenerator.Feature.WRITE_DEFINITE_LENGTHS)
+            .build());
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testPassThroughScalars() throws Exception
+    {
+        final String longText = generateUnicodeString(5000);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CBORGenerator g = cborGenerator(bytes);
+        g.writeStartArray();
+        g.writeNumber(0x12345678L);
+        g.writeString(longText);
+        g.writeNumber(0.25);
+        g.writeBinary(new byte[700]);
+        g.writeNull();
+        g.writeEndArray();
+        g.close();
+        final byte[] doc = bytes.toByteArray();
+
+        for (int chunk : new int[] { 1, 3, 100, doc.length }) {
+            CBORParser p = cborParser(new ThrottledInputStream(doc, chunk));
+            ByteArrayOutputStream raw = new ByteArrayOutputStream();
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(5, p.readRawValue(raw));
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            p.readRawValue(raw);
+            assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+            p.readRawValue(raw);
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+            p.readRawValue(raw);
+            assertToken(JsonToken.VALUE_NULL, p.nextToken());
+            assertEquals(1, p.readRawValue(raw));
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            assertNull(p.nextToken());
+            p.close();
+
+            // contents, sans Array markers, should match
+            _verifyBytes(raw.toByteArray(), Arrays.copyOfRange(doc, 1, doc.length - 1));
+        }
+    }
+
+    public void testPassThroughContainers() throws Exception
+    {
+        for (ObjectMapper mapper : new ObjectMapper[] { MAPPER, DEFINITE_MAPPER }) {
+            final byte[] doc = mapper.writeValueAsBytes(_envelope());
+            for (int chunk : new int[] { 1, 7, 500, doc.length }) {
+                byte[] copy = _passThrough(mapper, cborParser(new ThrottledInputStream(doc, chunk)));
+                // no re-encoding, so contents should be identical
+                _verifyBytes(copy, doc);
+            }
+        }
+    }
+
+    // Tokens spanning input buffer boundaries are partly re-encoded
+    public void testPassThroughSplitTokens() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CBORGenerator g = cborGenerator(bytes);
+        g.writeStartArray();
+        g.writeTag(1);
+        g.writeNumber(1600000000);
+        g.writeNumber(BigInteger.ONE.shiftLeft(70));
+        g.writeNumber(BigInteger.ONE.shiftLeft(70).negate());
+        g.writeNumber(-1.5f);
+        g.writeNumber(new BigDecimal("12.345"));
+        g.writeString("text");
+        g.writeBoolean(true);
+        g.writeEndArray();
+        g.close();
+        final byte[] doc = bytes.toByteArray();
+        final JsonNode exp = MAPPER.readTree(doc);
+
+        for (int chunk : new int[] { 1, 2, 3, doc.length }) {
+            CBORParser p = cborParser(new ThrottledInputStream(doc, chunk));
+            ByteArrayOutputStream raw = new ByteArrayOutputStream();
+            raw.write(CBORConstants.BYTE_ARRAY_INDEFINITE);
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                p.readRawValue(raw);
+            }
+            assertNull(p.nextToken());
+            p.close();
+            raw.write(CBORConstants.BYTE_BREAK);
+            final byte[] copy = raw.toByteArray();
+            assertEquals(exp, MAPPER.readTree(copy));
+
+            p = cborParser(copy);
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(1, p.getCurrentTag());
+            p.close();
+        }
+    }
+
+    public void testReadAfterDecoding() throws Exception
+    {
+        final byte[] doc = cborDoc("[\"abc\", 123456789012, 1.5]");
+        CBORParser p = cborParser(doc);
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("abc", p.getText());
+        p.readRawValue(raw);
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(123456789012L, p.getLongValue());
+        p.readRawValue(raw);
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        p.readRawValue(raw);
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        p.close();
+        _verifyBytes(raw.toByteArray(), Arrays.copyOfRange(doc, 1, doc.length - 1));
+    }
+
+    public void testInvalidCalls() throws Exception
+    {
+        CBORParser p = cborParser(cborDoc("{\"a\":[1]}"));
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        try {
+            p.readRawValue(new ByteArrayOutputStream());
+            fail("Should not pass");
+        } catch (StreamReadException e) {
+            verifyException(e, "can not read as raw value");
+        }
+        p.close();
+    }
+
+    public void testStringRefs() throws Exception
+    {
+        final ObjectMapper stringRefMapper = new CBORMapper(CBORFactory.builder()
+                .enable(CBORGenerator.Feature.STRINGREF)
+                .build());
+        final byte[] doc = stringRefMapper.writeValueAsBytes(_envelope());
+
+        // whole document is fine, as all references are within it
+        CBORParser p = cborParser(doc);
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        p.readRawValue(raw);
+        assertNull(p.nextToken());
+        p.close();
+        _verifyBytes(raw.toByteArray(), doc);
+
+        // but not values within namespace
+        p = cborParser(doc);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        try {
+            p.readRawValue(raw);
+            fail("Should not pass");
+        } catch (StreamReadException e) {
+            verifyException(e, "'stringref' namespace");
+        }
+        p.close();
+
+        CBORGenerator g = (CBORGenerator) stringRefMapper.createGenerator(new ByteArrayOutputStream());
+        try {
+            g.writeRawValue(doc, 0, doc.length);
+            fail("Should not pass");
+        } catch (StreamWriteException e) {
+            verifyException(e, "STRINGREF");
+        }
+        g.close();
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private Map<String,Object> _envelope()
+    {
+        Map<String,Object> payload = new LinkedHashMap<>();
+        for (int i = 0; i < 40; ++i) {
+            Map<String,Object> entry = new LinkedHashMap<>();
+            entry.put("name", "entry-"+i);
+            entry.put("text", generateUnicodeString(i * 10));
+            entry.put("values", Arrays.asList(i, i * 1000L, i * 1000000000000L, i / 4.0));
+            entry.put("empty", Collections.emptyList());
+            payload.put("e"+i, entry);
+        }
+        Map<String,Object> envelope = new LinkedHashMap<>();
+        envelope.put("id", "message-1");
+        envelope.put("payload", payload);
+        envelope.put("tags", Arrays.asList("a", "b"));
+        envelope.put("last", Boolean.TRUE);
+        return envelope;
+    }
+
+    // Decodes header fields, copies all values as raw
+    private byte[] _passThrough(ObjectMapper mapper, CBORParser p) throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CBORGenerator g = (CBORGenerator) mapper.createGenerator(bytes);
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        g.writeStartObject();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            g.writeFieldName(p.currentName());
+            JsonToken t = p.nextToken();
+            raw.reset();
+            int len = p.readRawValue(raw);
+            assertEquals(raw.size(), len);
+            if (t == JsonToken.START_OBJECT) {
+                assertToken(JsonToken.END_OBJECT, p.currentToken());
+            } else if (t == JsonToken.START_ARRAY) {
+                assertToken(JsonToken.END_ARRAY, p.currentToken());
+            }
+            g.writeRawValue(raw.toByteArray(), 0, len);
+        }
+        assertToken(JsonToken.END_OBJECT, p.currentToken());
+        g.writeEndObject();
+        assertNull(p.nextToken());
+        p.close();
+        g.close();
+
+        // and verify that result is valid
+        JsonNode copy = MAPPER.readTree(bytes.toByteArray());
+        assertEquals(4, copy.size());
+        assertEquals("message-1", copy.path("id").textValue());
+        assertEquals(40, copy.path("payload").size());
+        return bytes.toByteArray();
+    }
+}
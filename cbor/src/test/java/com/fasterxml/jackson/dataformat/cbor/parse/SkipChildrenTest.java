@@ -0,0 +1,225 @@
+package com.fasterxml.jackson.dataformat.cbor.parse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORTestBase;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * Tests for {@link CBORParser#skipChildren()}, which skips contents
+ * of Arrays and Objects using encoded headers only.
+ */
+public class SkipChildrenTest extends CBORTestBase
+{
+    static class Point {
+        public int x, y;
+    }
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testSkipDefiniteAndIndefinite() throws Exception
+    {
+        for (boolean definite : new boolean[] { true, false }) {
+            byte[] doc = _document(definite);
+            // from a stream, so that skipped content spans input buffer boundaries
+            CBORParser p = cborParser(new ByteArrayInputStream(doc));
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertEquals("skipped", p.nextFieldName());
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            p.skipChildren();
+            assertToken(JsonToken.END_OBJECT, p.currentToken());
+            assertEquals("array", p.nextFieldName());
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(1, p.getIntValue());
+            p.skipChildren(); // no-op for scalar values
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.currentToken());
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            p.skipChildren();
+            assertToken(JsonToken.END_ARRAY, p.currentToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("end", p.getText());
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            assertEquals("last", p.nextFieldName());
+            assertToken(JsonToken.VALUE_TRUE, p.nextToken());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertNull(p.nextToken());
+            p.close();
+
+            // and the whole document
+            p = cborParser(doc);
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            p.skipChildren();
+            assertToken(JsonToken.END_OBJECT, p.currentToken());
+            assertNull(p.nextToken());
+            p.close();
+        }
+    }
+
+    public void testSkipChunkedAndTagged() throws Exception
+    {
+        byte[] doc = new byte[] {
+                (byte) 0x9F, // indefinite array
+                0x7F, 0x62, 'a', 'b', 0x61, 'c', (byte) 0xFF, // chunked text
+                0x5F, 0x41, 1, 0x40, (byte) 0xFF, // chunked binary
+                (byte) 0xC1, 0x1A, 0x5F, 0x5E, 0x10, 0x00, // tagged int32
+                (byte) 0xF9, 0x3C, 0x00, // half-float
+                (byte) 0xFB, 0x3F, (byte) 0xF8, 0, 0, 0, 0, 0, 0, // double
+                (byte) 0xC4, (byte) 0x82, 0x21, 0x19, 0x6A, (byte) 0xB3, // bigfloat
+                (byte) 0xBF, 0x61, 'a', (byte) 0x9F, (byte) 0xFF, (byte) 0xFF, // indefinite map
+                (byte) 0xF7, // undefined
+                (byte) 0xFF,
+                0x05
+        };
+        CBORParser p = cborParser(doc);
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        p.skipChildren();
+        assertToken(JsonToken.END_ARRAY, p.currentToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(5, p.getIntValue());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    // Strings within "stringref" namespaces must not be skipped over blindly
+    public void testSkipWithinStringRefNamespace() throws Exception
+    {
+        ObjectMapper mapper = new CBORMapper(CBORFactory.builder()
+                .enable(CBORGenerator.Feature.STRINGREF)
+                .build());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CBORGenerator g = (CBORGenerator) mapper.createGenerator(bytes);
+        g.writeStartArray();
+        g.writeStartObject();
+        g.writeStringField("skipped", "repeated");
+        g.writeEndObject();
+        g.writeString("repeated");
+        g.writeEndArray();
+        g.close();
+
+        CBORParser p = cborParser(bytes.toByteArray());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        p.skipChildren();
+        assertToken(JsonToken.END_OBJECT, p.currentToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("repeated", p.getText());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        p.close();
+    }
+
+    public void testSkipUnknownProperties() throws Exception
+    {
+        ObjectMapper mapper = cborMapperBuilder()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        // unknown property with the test document as its value
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(0xA3); // map(3)
+        bytes.write(0x61);
+        bytes.write('x');
+        bytes.write(0x03);
+        bytes.write(0x65);
+        bytes.write("extra".getBytes("UTF-8"));
+        bytes.write(_document(true));
+        bytes.write(0x61);
+        bytes.write('y');
+        bytes.write(0x04);
+
+        Point result = mapper.readValue(bytes.toByteArray(), Point.class);
+        assertEquals(3, result.x);
+        assertEquals(4, result.y);
+    }
+
+    public void testInvalidBreak() throws Exception
+    {
+        CBORParser p = cborParser(new byte[] { (byte) 0x83, 0x01, (byte) 0x9F, (byte) 0xFF, (byte) 0xFF });
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        try {
+            p.skipChildren();
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "Unexpected Break (0xFF) token in definite length");
+        }
+        p.close();
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private byte[] _document(boolean definite) throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CBORGenerator g = cborGenerator(bytes);
+        _startObject(g, definite, 3);
+        g.writeFieldName("skipped");
+        _startObject(g, definite, 4);
+        g.writeFieldName("numbers");
+        _startArray(g, definite, 6);
+        g.writeNumber(1);
+        g.writeNumber(-500);
+        g.writeNumber(Long.MAX_VALUE);
+        g.writeNumber(0.25f);
+        g.writeNumber(-1.5);
+        g.writeNumber(BigInteger.ONE.shiftLeft(70));
+        g.writeEndArray();
+        g.writeStringField("text", generateUnicodeString(20000));
+        g.writeFieldName("binary");
+        g.writeBinary(new byte[30000]);
+        g.writeFieldName("nested");
+        _startArray(g, definite, 3);
+        g.writeNull();
+        _startObject(g, definite, 1);
+        g.writeFieldName("empty");
+        _startArray(g, definite, 0);
+        g.writeEndArray();
+        g.writeEndObject();
+        g.writeBoolean(false);
+        g.writeEndArray();
+        g.writeEndObject();
+        g.writeFieldName("array");
+        _startArray(g, definite, 3);
+        g.writeNumber(1);
+        _startArray(g, definite, 2);
+        g.writeString(generateLongAsciiString(9000));
+        g.writeString("x");
+        g.writeEndArray();
+        g.writeString("end");
+        g.writeEndArray();
+        g.writeBooleanField("last", true);
+        g.writeEndObject();
+        g.close();
+        return bytes.toByteArray();
+    }
+
+    private void _startObject(CBORGenerator g, boolean definite, int size) throws Exception {
+        if (definite) {
+            g.writeStartObject(null, size);
+        } else {
+            g.writeStartObject();
+        }
+    }
+
+    private void _startArray(CBORGenerator g, boolean definite, int size) throws Exception {
+        if (definite) {
+            g.writeStartArray(null, size);
+        } else {
+            g.writeStartArray();
+        }
+    }
+}
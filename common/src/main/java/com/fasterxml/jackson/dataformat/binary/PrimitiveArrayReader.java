@@ -0,0 +1,73 @@
+package com.fasterxml.jackson.dataformat.binary;
+
+import java.io.IOException;
+
+/**
+ * Interface implemented by binary format parsers that can read contents of
+ * Arrays of numbers in bulk, in a tight loop, instead of one token at a time.
+ * Used by deserializers of <code>int[]</code>, <code>long[]</code> and
+ * <code>double[]</code> registered by format mappers
+ * (see {@link com.fasterxml.jackson.dataformat.binary.databind.BulkArrayDeserializers}).
+ *
+ * @since 3.0
+ */
+public interface PrimitiveArrayReader
+{
+    /**
+     * Method for reading elements of the current Array as <code>int</code>s into given
+     * buffer: values are read as long as they are integral numbers that
+     * fit in 32 bits, until either <code>len</code> values have been read (in which case
+     * current token is the last value read), or some other token is encountered.
+     * In latter case that token -- usually {@link com.fasterxml.jackson.core.JsonToken#END_ARRAY}
+     * -- will be the current token, and caller may choose how to handle it.
+     * Must be called when current token is
+     * {@link com.fasterxml.jackson.core.JsonToken#START_ARRAY} or an element of an Array.
+     *
+     * @return Number of values read into buffer
+     */
+    public int readIntArray(int[] buffer, int offset, int len) throws IOException;
+
+    /**
+     * Method for reading elements of the current Array as <code>long</code>s into given
+     * buffer: values are read as long as they are integral numbers that
+     * fit in 64 bits; otherwise works like {@link #readIntArray(int[], int, int)}.
+     *
+     * @return Number of values read into buffer
+     */
+    public int readLongArray(long[] buffer, int offset, int len) throws IOException;
+
+    /**
+     * Method for reading elements of the current Array as <code>double</code>s into given
+     * buffer: values are read as long as they are numbers (integral or
+     * floating-point); otherwise works like {@link #readIntArray(int[], int, int)}.
+     *
+     * @return Number of values read into buffer
+     */
+    public int readDoubleArray(double[] buffer, int offset, int len) throws IOException;
+
+    /**
+     * Method that may be called when current token is
+     * {@link com.fasterxml.jackson.core.JsonToken#START_ARRAY} to check whether
+     * contents of the Array are encoded as a native array of numbers (like RFC 8746
+     * typed arrays of CBOR), and if so, what type {@link #readTypedArray} would return.
+     *
+     * @return Type of array (like <code>int[].class</code>) {@link #readTypedArray}
+     *    would return, if current token starts a natively encoded array; null otherwise
+     */
+    public default Class<?> typedArrayType() {
+        return null;
+    }
+
+    /**
+     * Method that may be called when {@link #typedArrayType()} returns non-null
+     * value, to read all elements of the natively encoded array in one go.
+     * After successful call, current token will be the matching
+     * {@link com.fasterxml.jackson.core.JsonToken#END_ARRAY}.
+     *
+     * @return Contents of the array, if current token starts a natively encoded
+     *    array; null otherwise (in which case parser state is not changed)
+     */
+    public default Object readTypedArray() throws IOException {
+        return null;
+    }
+}
@@ -0,0 +1,208 @@
+package com.fasterxml.jackson.dataformat.binary.databind;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.PrimitiveArrayDeserializers;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.util.ArrayBuilders;
+
+import com.fasterxml.jackson.dataformat.binary.PrimitiveArrayReader;
+
+/**
+ * Container for deserializers of <code>int[]</code>, <code>long[]</code> and
+ * <code>double[]</code> that read contents using bulk read methods of
+ * {@link PrimitiveArrayReader} (like {@link PrimitiveArrayReader#readIntArray(int[], int, int)}),
+ * instead of going through elements one token at a time; and natively encoded
+ * arrays (see {@link PrimitiveArrayReader#readTypedArray()}) in one go.
+ * Elements that bulk reads do not accept (like nulls, or Strings to coerce)
+ * are handled the same way as by the default deserializers; and for properties
+ * with custom handling (of nulls, or single values as Arrays) default
+ * deserializers are used as is.
+ *
+ * @since 3.0
+ */
+public abstract class BulkArrayDeserializers
+{
+    private BulkArrayDeserializers() { }
+
+    /**
+     * Shared base class for bulk array deserializers, to handle delegation
+     * to the default deserializer.
+     */
+    protected abstract static class Base<T> extends StdDeserializer<T>
+    {
+        private static final long serialVersionUID = 1L;
+
+        protected final JsonDeserializer<T> _default;
+
+        @SuppressWarnings("unchecked")
+        protected Base(Class<T> type, Class<?> elementType) {
+            super(type);
+            _default = (JsonDeserializer<T>) PrimitiveArrayDeserializers.forType(elementType);
+        }
+
+        @Override
+        public Boolean supportsUpdate(DeserializationConfig config) {
+            return Boolean.TRUE;
+        }
+
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext ctxt,
+                BeanProperty property)
+        {
+            JsonDeserializer<?> std = _default.createContextual(ctxt, property);
+            // Custom configuration for property; bulk reads would bypass it
+            return (std == _default) ? this : std;
+        }
+
+        @Override
+        public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException
+        {
+            // Bulk reads only for arrays from actual format parser (not buffered content)
+            if (!(p instanceof PrimitiveArrayReader) || !p.isExpectedStartArrayToken()) {
+                return _default.deserialize(p, ctxt);
+            }
+            return _deserializeBulk((PrimitiveArrayReader) p, p, ctxt);
+        }
+
+        @Override
+        public T deserialize(JsonParser p, DeserializationContext ctxt, T intoValue)
+            throws IOException
+        {
+            return _default.deserialize(p, ctxt, intoValue);
+        }
+
+        protected abstract T _deserializeBulk(PrimitiveArrayReader reader,
+                JsonParser p, DeserializationContext ctxt) throws IOException;
+    }
+
+    public static class IntArrayDeserializer extends Base<int[]>
+    {
+        private static final long serialVersionUID = 1L;
+
+        public IntArrayDeserializer() {
+            super(int[].class, Integer.TYPE);
+        }
+
+        @Override
+        protected int[] _deserializeBulk(PrimitiveArrayReader reader,
+                JsonParser p, DeserializationContext ctxt) throws IOException
+        {
+            if (reader.typedArrayType() == int[].class) {
+                return (int[]) reader.readTypedArray();
+            }
+            final ArrayBuilders.IntBuilder builder = ctxt.getArrayBuilders().getIntBuilder();
+            int[] chunk = builder.resetAndStart();
+            int ix = 0;
+            while (true) {
+                if (ix >= chunk.length) {
+                    chunk = builder.appendCompletedChunk(chunk, ix);
+                    ix = 0;
+                }
+                ix += reader.readIntArray(chunk, ix, chunk.length - ix);
+                if (ix < chunk.length) {
+                    if (p.currentToken() == JsonToken.END_ARRAY) {
+                        break;
+                    }
+                    // something other than int; use default handling
+                    chunk[ix++] = _parseIntPrimitive(p, ctxt);
+                }
+            }
+            return builder.completeAndClearBuffer(chunk, ix);
+        }
+    }
+
+    public static class LongArrayDeserializer extends Base<long[]>
+    {
+        private static final long serialVersionUID = 1L;
+
+        public LongArrayDeserializer() {
+            super(long[].class, Long.TYPE);
+        }
+
+        @Override
+        protected long[] _deserializeBulk(PrimitiveArrayReader reader,
+                JsonParser p, DeserializationContext ctxt) throws IOException
+        {
+            final Class<?> typed = reader.typedArrayType();
+            if (typed == long[].class) {
+                return (long[]) reader.readTypedArray();
+            }
+            if (typed == int[].class) {
+                final int[] ints = (int[]) reader.readTypedArray();
+                final long[] result = new long[ints.length];
+                for (int i = 0; i < ints.length; ++i) {
+                    result[i] = ints[i];
+                }
+                return result;
+            }
+            final ArrayBuilders.LongBuilder builder = ctxt.getArrayBuilders().getLongBuilder();
+            long[] chunk = builder.resetAndStart();
+            int ix = 0;
+            while (true) {
+                if (ix >= chunk.length) {
+                    chunk = builder.appendCompletedChunk(chunk, ix);
+                    ix = 0;
+                }
+                ix += reader.readLongArray(chunk, ix, chunk.length - ix);
+                if (ix < chunk.length) {
+                    if (p.currentToken() == JsonToken.END_ARRAY) {
+                        break;
+                    }
+                    chunk[ix++] = _parseLongPrimitive(p, ctxt);
+                }
+            }
+            return builder.completeAndClearBuffer(chunk, ix);
+        }
+    }
+
+    public static class DoubleArrayDeserializer extends Base<double[]>
+    {
+        private static final long serialVersionUID = 1L;
+
+        public DoubleArrayDeserializer() {
+            super(double[].class, Double.TYPE);
+        }
+
+        @Override
+        protected double[] _deserializeBulk(PrimitiveArrayReader reader,
+                JsonParser p, DeserializationContext ctxt) throws IOException
+        {
+            final Class<?> typed = reader.typedArrayType();
+            if (typed == double[].class) {
+                return (double[]) reader.readTypedArray();
+            }
+            if (typed == float[].class) {
+                final float[] floats = (float[]) reader.readTypedArray();
+                final double[] result = new double[floats.length];
+                for (int i = 0; i < floats.length; ++i) {
+                    result[i] = floats[i];
+                }
+                return result;
+            }
+            final ArrayBuilders.DoubleBuilder builder = ctxt.getArrayBuilders().getDoubleBuilder();
+            double[] chunk = builder.resetAndStart();
+            int ix = 0;
+            while (true) {
+                if (ix >= chunk.length) {
+                    chunk = builder.appendCompletedChunk(chunk, ix);
+                    ix = 0;
+                }
+                ix += reader.readDoubleArray(chunk, ix, chunk.length - ix);
+                if (ix < chunk.length) {
+                    if (p.currentToken() == JsonToken.END_ARRAY) {
+                        break;
+                    }
+                    chunk[ix++] = _parseDoublePrimitive(p, ctxt);
+                }
+            }
+            return builder.completeAndClearBuffer(chunk, ix);
+        }
+    }
+}
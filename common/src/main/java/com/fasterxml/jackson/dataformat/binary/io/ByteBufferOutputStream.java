@@ -0,0 +1,204 @@
+package com.fasterxml.jackson.dataformat.binary.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * {@link OutputStream} that writes content into {@link ByteBuffer}s (heap or direct),
+ * used as the target of generators constructed by binary format factories
+ * (like {@code CBORFactory.createGenerator(ObjectWriteContext, ByteBuffer)}).
+ * Generator encodes content in its (recycled) output buffer, and every flush
+ * is a single bulk copy into the current target buffer: there is no intermediate
+ * {@link java.io.ByteArrayOutputStream} (or {@code byte[]} copy of it) needed.
+ *<p>
+ * Stream may be used in one of three modes:
+ *<ul>
+ * <li>Single caller-provided buffer: if buffer fills up, a {@link BufferOverflowException}
+ *   is thrown (content that fit in is left in buffer)
+ *  </li>
+ * <li>Caller-provided buffer with {@link OverflowHandler}: when buffer fills up, handler
+ *   is called to drain it (for example, write contents into a channel, possibly
+ *   blocking until it can take more), or to hand out another buffer to use
+ *  </li>
+ * <li>Chain of buffers from an allocator (like a pool of direct buffers): full buffers are
+ *   retained, and all buffers accessed with {@link #getBuffers()} once writing is complete
+ *  </li>
+ *</ul>
+ *<p>
+ * Note that {@link #close()} does not release anything: buffers remain accessible
+ * after generator has been closed.
+ *
+ * @since 3.0
+ */
+public class ByteBufferOutputStream extends OutputStream
+{
+    /**
+     * Callback called when current target buffer has no more room.
+     */
+    public interface OverflowHandler
+    {
+        /**
+         * @param full Buffer that has no more room (position equals limit)
+         *
+         * @return Buffer to write remaining content in (either a new one, or
+         *    the same one after draining it), with at least one byte of room;
+         *    or {@code null} to indicate that no more content may be written,
+         *    in which case {@link BufferOverflowException} is thrown
+         */
+        public ByteBuffer nextBuffer(ByteBuffer full) throws IOException;
+    }
+
+    protected final OverflowHandler _overflowHandler;
+
+    protected final Supplier<ByteBuffer> _allocator;
+
+    /**
+     * Buffers filled so far, when using allocator; null otherwise.
+     */
+    protected final List<ByteBuffer> _filled;
+
+    protected ByteBuffer _current;
+
+    protected long _bytesWritten;
+
+    /**
+     * Constructor for stream that writes into given buffer, starting at its current
+     * position, and fails with {@link BufferOverflowException} if buffer fills up.
+     */
+    public ByteBufferOutputStream(ByteBuffer target) {
+        this(target, null);
+    }
+
+    /**
+     * Constructor for stream that writes into given buffer, starting at its current
+     * position, and calls given handler if buffer fills up.
+     */
+    public ByteBufferOutputStream(ByteBuffer target, OverflowHandler overflowHandler) {
+        _current = target;
+        _overflowHandler = overflowHandler;
+        _allocator = null;
+        _filled = null;
+    }
+
+    /**
+     * Constructor for stream that writes into buffers obtained from given allocator
+     * (which may, for example, hand out direct buffers from a pool), one at a time;
+     * buffers written are accessible using {@link #getBuffers()}.
+     */
+    public ByteBufferOutputStream(Supplier<ByteBuffer> allocator) {
+        _allocator = allocator;
+        _overflowHandler = null;
+        _filled = new ArrayList<>();
+        _current = allocator.get();
+    }
+
+    /*
+    /**********************************************************************
+    /* Accessors
+    /**********************************************************************
+     */
+
+    /**
+     * Accessor for buffer that content is currently written into.
+     */
+    public ByteBuffer getCurrentBuffer() {
+        return _current;
+    }
+
+    /**
+     * Accessor for all buffers written into, when using allocator (for other modes
+     * just the current buffer): returned buffers are views ready for reading contents
+     * (position at 0, limit at the end of content), and share contents
+     * with actual buffers.
+     */
+    public List<ByteBuffer> getBuffers()
+    {
+        List<ByteBuffer> result = new ArrayList<>();
+        if (_filled != null) {
+            for (ByteBuffer buf : _filled) {
+                result.add(_flipped(buf));
+            }
+        }
+        result.add(_flipped(_current));
+        return result;
+    }
+
+    /**
+     * Accessor for total number of bytes written using this stream.
+     */
+    public long getBytesWritten() {
+        return _bytesWritten;
+    }
+
+    /*
+    /**********************************************************************
+    /* OutputStream implementation
+    /**********************************************************************
+     */
+
+    @Override
+    public void write(int b) throws IOException {
+        if (!_current.hasRemaining()) {
+            _nextBuffer();
+        }
+        _current.put((byte) b);
+        ++_bytesWritten;
+    }
+
+    @Override
+    public void write(byte[] b, int offset, int len) throws IOException
+    {
+        while (len > 0) {
+            int room = _current.remaining();
+            if (room == 0) {
+                _nextBuffer();
+                room = _current.remaining();
+            }
+            final int count = Math.min(room, len);
+            _current.put(b, offset, count);
+            offset += count;
+            len -= count;
+            _bytesWritten += count;
+        }
+    }
+
+    @Override
+    public void flush() { }
+
+    @Override
+    public void close() { }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    protected void _nextBuffer() throws IOException
+    {
+        ByteBuffer next;
+        if (_allocator != null) {
+            _filled.add(_current);
+            next = _allocator.get();
+        } else if (_overflowHandler != null) {
+            next = _overflowHandler.nextBuffer(_current);
+        } else {
+            next = null;
+        }
+        if ((next == null) || !next.hasRemaining()) {
+            throw new BufferOverflowException();
+        }
+        _current = next;
+    }
+
+    private static ByteBuffer _flipped(ByteBuffer buf) {
+        ByteBuffer view = buf.duplicate();
+        view.flip();
+        return view;
+    }
+}
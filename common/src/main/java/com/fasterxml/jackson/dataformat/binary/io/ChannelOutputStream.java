@@ -0,0 +1,111 @@
+package com.fasterxml.jackson.dataformat.binary.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.IllegalBlockingModeException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * {@link OutputStream} that writes content to a {@link WritableByteChannel};
+ * used as the target of generators constructed by binary format factories
+ * (like {@code AvroFactory.createGenerator(ObjectWriteContext, WritableByteChannel)}),
+ * but may also be passed as the output stream to {@code ObjectWriter.writeValue()}.
+ *<p>
+ * Byte arrays written are wrapped, not copied; and in addition to regular writes,
+ * multiple segments may be written at once using {@link #write(ByteBuffer[], int, int)},
+ * which uses a single gathering write if channel is a {@link GatheringByteChannel}
+ * (like {@link java.nio.channels.SocketChannel} and {@link java.nio.channels.FileChannel}).
+ * This is used, for example, for writing out blocks of Avro Object Container Files
+ * (block prefix, contents and sync marker) and buffered Protobuf messages without
+ * copying contents.
+ *<p>
+ * Channel must be in blocking mode.
+ *
+ * @since 3.0
+ */
+public class ChannelOutputStream extends OutputStream
+{
+    protected final WritableByteChannel _channel;
+
+    /**
+     * Same as {@link #_channel} if it is a {@link GatheringByteChannel}; null if not.
+     */
+    protected final GatheringByteChannel _gatheringChannel;
+
+    public ChannelOutputStream(WritableByteChannel channel)
+    {
+        if ((channel instanceof SelectableChannel)
+                && !((SelectableChannel) channel).isBlocking()) {
+            throw new IllegalBlockingModeException();
+        }
+        _channel = channel;
+        _gatheringChannel = (channel instanceof GatheringByteChannel)
+                ? (GatheringByteChannel) channel : null;
+    }
+
+    public WritableByteChannel getChannel() {
+        return _channel;
+    }
+
+    /*
+    /**********************************************************
+    /* OutputStream implementation
+    /**********************************************************
+     */
+
+    @Override
+    public void write(int b) throws IOException {
+        _writeFully(ByteBuffer.wrap(new byte[] { (byte) b }));
+    }
+
+    @Override
+    public void write(byte[] b, int offset, int len) throws IOException {
+        if (len > 0) {
+            _writeFully(ByteBuffer.wrap(b, offset, len));
+        }
+    }
+
+    /**
+     * Method for writing out all remaining content of specified buffers, in order;
+     * using gathering write(s) if possible.
+     */
+    public void write(ByteBuffer[] buffers, int offset, int length) throws IOException
+    {
+        final int end = offset + length;
+        if (_gatheringChannel == null) {
+            for (int i = offset; i < end; ++i) {
+                _writeFully(buffers[i]);
+            }
+            return;
+        }
+        while (offset < end) {
+            _gatheringChannel.write(buffers, offset, end - offset);
+            while ((offset < end) && !buffers[offset].hasRemaining()) {
+                ++offset;
+            }
+        }
+    }
+
+    @Override
+    public void flush() { }
+
+    @Override
+    public void close() throws IOException {
+        _channel.close();
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods
+    /**********************************************************
+     */
+
+    protected void _writeFully(ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            _channel.write(buf);
+        }
+    }
+}
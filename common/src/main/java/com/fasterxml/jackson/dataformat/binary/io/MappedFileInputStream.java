@@ -0,0 +1,156 @@
+package com.fasterxml.jackson.dataformat.binary.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link InputStream} that reads contents of a file by memory-mapping it,
+ * used as the source of parsers constructed by binary format factories
+ * (like {@code CBORFactory.createParser(ObjectReadContext, Path)}).
+ * Parser still reads content into its (recycled) input buffer, so contents are
+ * copied once per buffer refill; but every read is a bulk copy from mapped memory,
+ * without system calls.
+ *<p>
+ * Since a single mapping can not exceed 2 gigabytes, file is mapped in windows
+ * of (at most) configured size, one at a time, so there is no limit on size of
+ * the file. Note that mapped regions are only released once garbage collected,
+ * as there is no portable way to unmap them.
+ *
+ * @since 3.0
+ */
+public class MappedFileInputStream extends InputStream
+{
+    /**
+     * Default maximum size of a single mapped window: 1 gigabyte
+     */
+    public final static int DEFAULT_WINDOW_SIZE = 1 << 30;
+
+    protected final FileChannel _channel;
+
+    /**
+     * Length of the file, fixed at construction.
+     */
+    protected final long _length;
+
+    protected final int _windowSize;
+
+    /**
+     * Offset within file of the first byte of {@link #_window}
+     */
+    protected long _windowStart;
+
+    /**
+     * Currently mapped region; null after stream has been closed.
+     */
+    protected MappedByteBuffer _window;
+
+    public MappedFileInputStream(Path path) throws IOException {
+        this(FileChannel.open(path, StandardOpenOption.READ), DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param channel Channel to read file contents from, starting at offset 0;
+     *    closed when this stream is closed
+     * @param windowSize Maximum size of a single mapped region
+     */
+    public MappedFileInputStream(FileChannel channel, int windowSize) throws IOException
+    {
+        if (windowSize <= 0) {
+            channel.close();
+            throw new IllegalArgumentException("Invalid window size ("+windowSize+"): must be positive");
+        }
+        _channel = channel;
+        _windowSize = windowSize;
+        try {
+            _length = channel.size();
+            _window = _map(0L);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* InputStream implementation
+    /**********************************************************************
+     */
+
+    @Override
+    public int read() throws IOException
+    {
+        if (!_window.hasRemaining() && !_nextWindow()) {
+            return -1;
+        }
+        return _window.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int offset, int len) throws IOException
+    {
+        if (len == 0) {
+            return 0;
+        }
+        if (!_window.hasRemaining() && !_nextWindow()) {
+            return -1;
+        }
+        final int count = Math.min(len, _window.remaining());
+        _window.get(b, offset, count);
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException
+    {
+        final long pos = _position();
+        final long count = Math.max(0L, Math.min(n, _length - pos));
+        if (count <= _window.remaining()) {
+            _window.position(_window.position() + (int) count);
+        } else {
+            _window = _map(pos + count);
+        }
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, _length - _position());
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        _channel.close();
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    protected long _position() {
+        return _windowStart + _window.position();
+    }
+
+    protected boolean _nextWindow() throws IOException
+    {
+        final long next = _windowStart + _window.limit();
+        if (next >= _length) {
+            return false;
+        }
+        _window = _map(next);
+        return true;
+    }
+
+    protected MappedByteBuffer _map(long start) throws IOException
+    {
+        _windowStart = start;
+        return _channel.map(FileChannel.MapMode.READ_ONLY, start,
+                Math.min(_windowSize, _length - start));
+    }
+}
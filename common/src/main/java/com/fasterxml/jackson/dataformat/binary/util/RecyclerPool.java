@@ -0,0 +1,42 @@
+package com.fasterxml.jackson.dataformat.binary.util;
+
+import java.util.function.Supplier;
+
+/**
+ * API for pools of recyclable objects (like buffer recyclers of Smile backend,
+ * or Apache Avro codecs) that parsers and generators use for reusing their buffers. Objects are only acquired
+ * for the duration of claiming or returning buffers, not for the life-time of the
+ * parser or generator.
+ *<p>
+ * Implementations are available from {@link RecyclerPools}: default one uses
+ * {@link ThreadLocal}s (which work well with platform threads but not with virtual
+ * threads, as every thread gets its own recycler), alternatives being a shared
+ * bounded pool and a no-op pool.
+ *
+ * @param <P> Type of objects pooled
+ *
+ * @since 3.0
+ */
+public interface RecyclerPool<P>
+{
+    /**
+     * Method called to get a pooled object; one is created if none is available.
+     */
+    public P acquire();
+
+    /**
+     * Method called to return a pooled object once caller is done with it;
+     * caller must not use it after the call.
+     */
+    public void release(P pooled);
+
+    /**
+     * Factory for constructing {@link RecyclerPool}s for specific types of pooled
+     * objects, used to configure format factories (which may need separate pools
+     * for generators and parsers).
+     */
+    public interface Provider extends java.io.Serializable
+    {
+        public <P> RecyclerPool<P> createPool(Supplier<P> creator);
+    }
+}
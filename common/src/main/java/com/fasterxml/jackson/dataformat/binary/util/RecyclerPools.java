@@ -0,0 +1,201 @@
+package com.fasterxml.jackson.dataformat.binary.util;
+
+import java.lang.ref.SoftReference;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Set of {@link RecyclerPool.Provider}s for standard {@link RecyclerPool} implementations.
+ *
+ * @since 3.0
+ */
+public final class RecyclerPools
+{
+    /**
+     * Default maximum number of objects retained by pools constructed
+     * using {@link #shared()}.
+     */
+    public final static int DEFAULT_MAX_POOL_SIZE = 100;
+
+    private RecyclerPools() { }
+
+    /**
+     * Provider for pools that retain one object per thread (using a {@link ThreadLocal}
+     * that holds a {@link SoftReference} to it): this is the default, and works well
+     * with (pooled) platform threads.
+     */
+    public static RecyclerPool.Provider threadLocal() {
+        return ThreadLocalProvider.INSTANCE;
+    }
+
+    /**
+     * Provider for pools shared by all threads, retaining up to
+     * {@link #DEFAULT_MAX_POOL_SIZE} objects.
+     */
+    public static RecyclerPool.Provider shared() {
+        return shared(DEFAULT_MAX_POOL_SIZE);
+    }
+
+    /**
+     * Provider for lock-free pools shared by all threads, retaining up to given
+     * number of objects: this works well with virtual threads (and other cases of
+     * large number of short-lived threads).
+     */
+    public static RecyclerPool.Provider shared(int maxPoolSize) {
+        if (maxPoolSize <= 0) {
+            throw new IllegalArgumentException("Invalid maximum pool size ("+maxPoolSize+"): must be positive");
+        }
+        return new SharedProvider(maxPoolSize);
+    }
+
+    /**
+     * Provider for pools that do not retain anything: a new object is
+     * created for every use.
+     */
+    public static RecyclerPool.Provider nonRecycling() {
+        return NonRecyclingProvider.INSTANCE;
+    }
+
+    /*
+    /**********************************************************************
+    /* Pool implementations
+    /**********************************************************************
+     */
+
+    static class ThreadLocalPool<P> implements RecyclerPool<P>
+    {
+        private final ThreadLocal<SoftReference<P>> _pooled = new ThreadLocal<>();
+
+        private final Supplier<P> _creator;
+
+        ThreadLocalPool(Supplier<P> creator) {
+            _creator = creator;
+        }
+
+        @Override
+        public P acquire() {
+            SoftReference<P> ref = _pooled.get();
+            P pooled = (ref == null) ? null : ref.get();
+            if (pooled == null) {
+                pooled = _creator.get();
+                _pooled.set(new SoftReference<P>(pooled));
+            }
+            return pooled;
+        }
+
+        // nothing to do: object remains associated with the thread
+        @Override
+        public void release(P pooled) { }
+    }
+
+    static class SharedPool<P> implements RecyclerPool<P>
+    {
+        private final ConcurrentLinkedDeque<P> _pooled = new ConcurrentLinkedDeque<>();
+
+        /**
+         * Approximate number of objects in {@link #_pooled}: kept separately, as
+         * {@link ConcurrentLinkedDeque#size()} is not a constant-time operation.
+         */
+        private final AtomicInteger _size = new AtomicInteger();
+
+        private final Supplier<P> _creator;
+
+        private final int _maxSize;
+
+        SharedPool(Supplier<P> creator, int maxSize) {
+            _creator = creator;
+            _maxSize = maxSize;
+        }
+
+        @Override
+        public P acquire() {
+            P pooled = _pooled.pollFirst();
+            if (pooled == null) {
+                return _creator.get();
+            }
+            _size.decrementAndGet();
+            return pooled;
+        }
+
+        @Override
+        public void release(P pooled) {
+            if (_size.incrementAndGet() > _maxSize) {
+                _size.decrementAndGet();
+            } else {
+                _pooled.offerFirst(pooled);
+            }
+        }
+    }
+
+    static class NonRecyclingPool<P> implements RecyclerPool<P>
+    {
+        private final Supplier<P> _creator;
+
+        NonRecyclingPool(Supplier<P> creator) {
+            _creator = creator;
+        }
+
+        @Override
+        public P acquire() {
+            return _creator.get();
+        }
+
+        @Override
+        public void release(P pooled) { }
+    }
+
+    /*
+    /**********************************************************************
+    /* Provider implementations
+    /**********************************************************************
+     */
+
+    static class ThreadLocalProvider implements RecyclerPool.Provider
+    {
+        private static final long serialVersionUID = 1L;
+
+        final static ThreadLocalProvider INSTANCE = new ThreadLocalProvider();
+
+        @Override
+        public <P> RecyclerPool<P> createPool(Supplier<P> creator) {
+            return new ThreadLocalPool<P>(creator);
+        }
+
+        protected Object readResolve() {
+            return INSTANCE;
+        }
+    }
+
+    static class SharedProvider implements RecyclerPool.Provider
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int _maxPoolSize;
+
+        SharedProvider(int maxPoolSize) {
+            _maxPoolSize = maxPoolSize;
+        }
+
+        @Override
+        public <P> RecyclerPool<P> createPool(Supplier<P> creator) {
+            return new SharedPool<P>(creator, _maxPoolSize);
+        }
+    }
+
+    static class NonRecyclingProvider implements RecyclerPool.Provider
+    {
+        private static final long serialVersionUID = 1L;
+
+        final static NonRecyclingProvider INSTANCE = new NonRecyclingProvider();
+
+        @Override
+        public <P> RecyclerPool<P> createPool(Supplier<P> creator) {
+            return new NonRecyclingPool<P>(creator);
+        }
+
+        protected Object readResolve() {
+            return INSTANCE;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+module com.fasterxml.jackson.dataformat.binary {
+    requires com.fasterxml.jackson.core;
+    requires static com.fasterxml.jackson.databind;
+
+    exports com.fasterxml.jackson.dataformat.binary;
+    exports com.fasterxml.jackson.dataformat.binary.databind;
+    exports com.fasterxml.jackson.dataformat.binary.io;
+    exports com.fasterxml.jackson.dataformat.binary.util;
+}
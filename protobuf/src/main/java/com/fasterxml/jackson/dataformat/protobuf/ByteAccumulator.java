@@ -1,6 +1,9 @@
 package com.fasterxml.jackson.dataformat.protobuf;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+
+import com.fasterxml.jackson.dataformat.binary.io.ChannelOutputStream;
 
 /**
  * Helper object used for buffering content for cases where we need (byte-)length prefixes
@@ -82,12 +85,17 @@ public class ByteAccumulator
         if (_parent == null) {
             // 04-Apr-2017, tatu: We know that parent will have flushed anything it might have,
             //    so `_parentStart` is irrelevant here (but not in the other branch)
-            out.write(prefixBuf, writeStart, ptr-writeStart);
-            for (Segment s = _firstSegment; s != null; s = s.next()) {
-                s.writeTo(out);
-            }
-            if (len > 0) {
-                out.write(input, offset, len);
+            if (out instanceof ChannelOutputStream) {
+                _writeGathering((ChannelOutputStream) out, writeStart, ptr-writeStart,
+                        input, offset, len);
+            } else {
+                out.write(prefixBuf, writeStart, ptr-writeStart);
+                for (Segment s = _firstSegment; s != null; s = s.next()) {
+                    s.writeTo(out);
+                }
+                if (len > 0) {
+                    out.write(input, offset, len);
+                }
             }
         } else {
             // 04-Apr-2017, tatu: for [dataformats-binary#67], need to flush possible
@@ -121,9 +129,14 @@ public class ByteAccumulator
         if (_parent == null) {
             // 04-Apr-2017, tatu: We know that parent will have flushed anything it might have,
             //    so `_parentStart` is irrelevant here (but not in the other branch)
-            out.write(prefixBuf, writeStart, ptr-writeStart);
-            for (Segment s = _firstSegment; s != null; s = s.next()) {
-                s.writeTo(out);
+            if (out instanceof ChannelOutputStream) {
+                _writeGathering((ChannelOutputStream) out, writeStart, ptr-writeStart,
+                        null, 0, 0);
+            } else {
+                out.write(prefixBuf, writeStart, ptr-writeStart);
+                for (Segment s = _firstSegment; s != null; s = s.next()) {
+                    s.writeTo(out);
+                }
             }
         } else {
             _parent.append(prefixBuf, writeStart, ptr-writeStart);
@@ -147,6 +160,31 @@ public class ByteAccumulator
         }
     }
 
+    /**
+     * Helper method for writing out prefix, all segments and trailing content
+     * (if any) with a single gathering write, without copying.
+     *
+     * @since 3.0
+     */
+    private void _writeGathering(ChannelOutputStream out, int prefixStart, int prefixLen,
+            byte[] input, int offset, int len) throws IOException
+    {
+        int count = (len > 0) ? 2 : 1;
+        for (Segment s = _firstSegment; s != null; s = s.next()) {
+            ++count;
+        }
+        final ByteBuffer[] buffers = new ByteBuffer[count];
+        buffers[0] = ByteBuffer.wrap(_prefixBuffer, prefixStart, prefixLen);
+        int ix = 1;
+        for (Segment s = _firstSegment; s != null; s = s.next()) {
+            buffers[ix++] = s.asByteBuffer();
+        }
+        if (len > 0) {
+            buffers[ix] = ByteBuffer.wrap(input, offset, len);
+        }
+        out.write(buffers, 0, count);
+    }
+
     /*
     /**********************************************************
     /* Helper classes
@@ -177,5 +215,9 @@ public class ByteAccumulator
         public void writeTo(OutputStream out) throws IOException {
             out.write(_buffer, _start, _length);
         }
+
+        public ByteBuffer asByteBuffer() {
+            return ByteBuffer.wrap(_buffer, _start, _length);
+        }
     }
 }
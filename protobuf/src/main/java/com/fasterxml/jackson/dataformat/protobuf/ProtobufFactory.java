@@ -1,11 +1,14 @@
 package com.fasterxml.jackson.dataformat.protobuf;
 
 import java.io.*;
+import java.nio.channels.WritableByteChannel;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.base.BinaryTSFactory;
 import com.fasterxml.jackson.core.io.IOContext;
 
+import com.fasterxml.jackson.dataformat.binary.io.ChannelOutputStream;
+
 import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
 
 public class ProtobufFactory
@@ -14,13 +17,30 @@ public class ProtobufFactory
 {
     private static final long serialVersionUID = 1;
 
+    /**
+     * Bitfield (set of flags) of all parser features that are enabled
+     * by default.
+     *
+     * @since 3.0
+     */
+    final static int DEFAULT_PROTOBUF_PARSER_FEATURE_FLAGS = ProtobufParser.Feature.collectDefaults();
+
+    /**
+     * Bitfield (set of flags) of all generator features that are enabled
+     * by default.
+     *
+     * @since 3.0
+     */
+    final static int DEFAULT_PROTOBUF_GENERATOR_FEATURE_FLAGS = ProtobufGenerator.Feature.collectDefaults();
+
     /*
     /**********************************************************
     /* Factory construction, configuration
     /**********************************************************
      */
 
-    public ProtobufFactory() { super(0, 0); }
+    public ProtobufFactory() { super(DEFAULT_PROTOBUF_PARSER_FEATURE_FLAGS,
+            DEFAULT_PROTOBUF_GENERATOR_FEATURE_FLAGS); }
 
     protected ProtobufFactory(ProtobufFactory src) {
         super(src);
@@ -115,23 +135,39 @@ public class ProtobufFactory
     }
 
 
-    // No format-specific configuration, yet:
-/*    
     @Override
-    public Class<? extends FormatFeature> getFormatReadFeatureType() {
-        return null;
+    public Class<ProtobufParser.Feature> getFormatReadFeatureType() {
+        return ProtobufParser.Feature.class;
     }
 
     @Override
-    public Class<? extends FormatFeature> getFormatWriteFeatureType() {
-        return null;
+    public Class<ProtobufGenerator.Feature> getFormatWriteFeatureType() {
+        return ProtobufGenerator.Feature.class;
     }
-*/
+
+    /**
+     * Checked whether specified parser feature is enabled.
+     *
+     * @since 3.0
+     */
+    public final boolean isEnabled(ProtobufParser.Feature f) {
+        return f.enabledIn(_formatReadFeatures);
+    }
+
+    /**
+     * Checked whether specified generator feature is enabled.
+     *
+     * @since 3.0
+     */
+    public final boolean isEnabled(ProtobufGenerator.Feature f) {
+        return f.enabledIn(_formatWriteFeatures);
+    }
+
     @Override
-    public int getFormatReadFeatures() { return 0; }
+    public int getFormatReadFeatures() { return _formatReadFeatures; }
 
     @Override
-    public int getFormatWriteFeatures() { return 0; }
+    public int getFormatWriteFeatures() { return _formatWriteFeatures; }
     
     /*
     /******************************************************
@@ -151,6 +187,7 @@ public class ProtobufFactory
         byte[] buf = ioCtxt.allocReadIOBuffer();
         return new ProtobufParser(readCtxt, ioCtxt,
                 readCtxt.getStreamReadFeatures(_streamReadFeatures),
+                readCtxt.getFormatReadFeatures(_formatReadFeatures),
                 (ProtobufSchema) readCtxt.getSchema(),
                 in, buf, 0, 0, true);
     }
@@ -161,6 +198,7 @@ public class ProtobufFactory
     {
         return new ProtobufParser(readCtxt, ioCtxt,
                 readCtxt.getStreamReadFeatures(_streamReadFeatures),
+                readCtxt.getFormatReadFeatures(_formatReadFeatures),
                 (ProtobufSchema) readCtxt.getSchema(),
                 null, data, offset, len, false);
     }
@@ -179,12 +217,30 @@ public class ProtobufFactory
     /******************************************************
      */
 
+    /**
+     * Factory method for constructing generator that writes encoded content
+     * to given channel (which must be in blocking mode), using gathering writes
+     * for buffered content of messages if channel is a
+     * {@link java.nio.channels.GatheringByteChannel}.
+     * Channel is closed when generator is closed, if
+     * {@link StreamWriteFeature#AUTO_CLOSE_TARGET} is enabled.
+     *
+     * @since 3.0
+     */
+    public ProtobufGenerator createGenerator(ObjectWriteContext writeCtxt,
+            WritableByteChannel out) throws IOException
+    {
+        return _createGenerator(writeCtxt, _createContext(out, false),
+                new ChannelOutputStream(out));
+    }
+
     @Override
     protected ProtobufGenerator _createGenerator(ObjectWriteContext writeCtxt,
             IOContext ioCtxt, OutputStream out) throws IOException
     {
         return new ProtobufGenerator(writeCtxt, ioCtxt,
                 writeCtxt.getStreamWriteFeatures(_streamWriteFeatures),
+                writeCtxt.getFormatWriteFeatures(_formatWriteFeatures),
                 (ProtobufSchema) writeCtxt.getSchema(),
                 out);
     }
@@ -12,13 +12,78 @@ import com.fasterxml.jackson.core.base.DecorableTSFactory.DecorableTSFBuilder;
 public class ProtobufFactoryBuilder extends DecorableTSFBuilder<ProtobufFactory, ProtobufFactoryBuilder>
 {
     public ProtobufFactoryBuilder() {
-        super(0, 0);
+        super(ProtobufFactory.DEFAULT_PROTOBUF_PARSER_FEATURE_FLAGS,
+                ProtobufFactory.DEFAULT_PROTOBUF_GENERATOR_FEATURE_FLAGS);
     }
 
     public ProtobufFactoryBuilder(ProtobufFactory base) {
         super(base);
     }
 
+    // // // Parser features
+
+    public ProtobufFactoryBuilder enable(ProtobufParser.Feature f) {
+        _formatReadFeatures |= f.getMask();
+        return _this();
+    }
+
+    public ProtobufFactoryBuilder enable(ProtobufParser.Feature first, ProtobufParser.Feature... other) {
+        _formatReadFeatures |= first.getMask();
+        for (ProtobufParser.Feature f : other) {
+            _formatReadFeatures |= f.getMask();
+        }
+        return _this();
+    }
+
+    public ProtobufFactoryBuilder disable(ProtobufParser.Feature f) {
+        _formatReadFeatures &= ~f.getMask();
+        return _this();
+    }
+
+    public ProtobufFactoryBuilder disable(ProtobufParser.Feature first, ProtobufParser.Feature... other) {
+        _formatReadFeatures &= ~first.getMask();
+        for (ProtobufParser.Feature f : other) {
+            _formatReadFeatures &= ~f.getMask();
+        }
+        return _this();
+    }
+
+    public ProtobufFactoryBuilder configure(ProtobufParser.Feature f, boolean state) {
+        return state ? enable(f) : disable(f);
+    }
+
+    // // // Generator features
+
+    public ProtobufFactoryBuilder enable(ProtobufGenerator.Feature f) {
+        _formatWriteFeatures |= f.getMask();
+        return _this();
+    }
+
+    public ProtobufFactoryBuilder enable(ProtobufGenerator.Feature first, ProtobufGenerator.Feature... other) {
+        _formatWriteFeatures |= first.getMask();
+        for (ProtobufGenerator.Feature f : other) {
+            _formatWriteFeatures |= f.getMask();
+        }
+        return _this();
+    }
+
+    public ProtobufFactoryBuilder disable(ProtobufGenerator.Feature f) {
+        _formatWriteFeatures &= ~f.getMask();
+        return _this();
+    }
+
+    public ProtobufFactoryBuilder disable(ProtobufGenerator.Feature first, ProtobufGenerator.Feature... other) {
+        _formatWriteFeatures &= ~first.getMask();
+        for (ProtobufGenerator.Feature f : other) {
+            _formatWriteFeatures &= ~f.getMask();
+        }
+        return _this();
+    }
+
+    public ProtobufFactoryBuilder configure(ProtobufGenerator.Feature f, boolean state) {
+        return state ? enable(f) : disable(f);
+    }
+
     @Override
     public ProtobufFactory build() {
         // 28-Dec-2017, tatu: No special settings beyond base class ones, so:
@@ -17,6 +17,68 @@ import com.fasterxml.jackson.dataformat.protobuf.schema.WireType;
 
 public class ProtobufGenerator extends GeneratorBase
 {
+    /**
+     * Enumeration that defines all togglable features for Protobuf generators.
+     *
+     * @since 3.0
+     */
+    public enum Feature implements FormatFeature
+    {
+        /**
+         * Feature that determines how content of embedded messages and packed arrays
+         * (which need length prefixes) is buffered. If disabled, a chain of
+         * {@link ByteAccumulator}s (one per nesting level) is used; if enabled,
+         * content of the outermost such value and everything nested in it is
+         * buffered as a flat sequence of segments using {@link SizedMessageBuffer},
+         * lengths of nested messages calculated as they complete, and everything
+         * is then written out in a single pass once the outermost message completes.
+         * This reduces per-message overhead for deeply nested content.
+         *<p>
+         * Disabled by default.
+         */
+        PRECOMPUTE_MESSAGE_LENGTHS(false),
+
+        /**
+         * Feature that determines whether root-level messages are written with
+         * a preceding length prefix (VInt), like {@code writeDelimitedTo()} of the
+         * standard protobuf library does, or (if disabled) as is.
+         * Length prefixes are needed to write a sequence of messages (for example
+         * using {@code SequenceWriter}) such that they can be read back one by one;
+         * see {@link ProtobufParser.Feature#READ_DELIMITED_MESSAGES}.
+         *<p>
+         * Disabled by default.
+         */
+        WRITE_DELIMITED_MESSAGES(false)
+        ;
+
+        final boolean _defaultState;
+        final int _mask;
+
+        /**
+         * Method that calculates bit set (flags) of all features that
+         * are enabled by default.
+         */
+        public static int collectDefaults()
+        {
+            int flags = 0;
+            for (Feature f : values()) {
+                if (f.enabledByDefault()) {
+                    flags |= f.getMask();
+                }
+            }
+            return flags;
+        }
+
+        private Feature(boolean defaultState) {
+            _defaultState = defaultState;
+            _mask = (1 << ordinal());
+        }
+
+        @Override public boolean enabledByDefault() { return _defaultState; }
+        @Override public int getMask() { return _mask; }
+        @Override public boolean enabledIn(int flags) { return (flags & getMask()) != 0; }
+    }
+
     /*
     /**********************************************************
     /* Constants
@@ -45,6 +107,14 @@ public class ProtobufGenerator extends GeneratorBase
 
     final protected ProtobufSchema _schema;
 
+    /**
+     * Bit flag composed of bits that indicate which
+     * {@link ProtobufGenerator.Feature}s are enabled.
+     *
+     * @since 3.0
+     */
+    protected final int _formatFeatures;
+
     /*
     /**********************************************************
     /* Output state
@@ -98,6 +168,15 @@ public class ProtobufGenerator extends GeneratorBase
      */
     protected ByteAccumulator _buffered;
 
+    /**
+     * Object used instead of {@link #_buffered} for buffering content to calculate
+     * length-prefixes, if {@link Feature#PRECOMPUTE_MESSAGE_LENGTHS} is enabled;
+     * {@code null} if not.
+     *
+     * @since 3.0
+     */
+    protected final SizedMessageBuffer _sizedBuffer;
+
     /**
      * Current context, in form we can use it.
      */
@@ -129,10 +208,24 @@ public class ProtobufGenerator extends GeneratorBase
             int streamWriteFeatures, ProtobufSchema schema,
             OutputStream output)
         throws IOException
+    {
+        this(writeCtxt, ctxt, streamWriteFeatures, 0, schema, output);
+    }
+
+    /**
+     * @since 3.0
+     */
+    public ProtobufGenerator(ObjectWriteContext writeCtxt, IOContext ctxt,
+            int streamWriteFeatures, int formatFeatures, ProtobufSchema schema,
+            OutputStream output)
+        throws IOException
     {
         super(writeCtxt, streamWriteFeatures);
         _ioContext = ctxt;
+        _formatFeatures = formatFeatures;
         _output = output;
+        _sizedBuffer = Feature.PRECOMPUTE_MESSAGE_LENGTHS.enabledIn(formatFeatures)
+                ? new SizedMessageBuffer() : null;
         _tokenWriteContext = _rootContext = ProtobufWriteContext.createNullContext();
         _currBuffer = _origCurrBuffer = ctxt.allocWriteEncodingBuffer();
         _schema = Objects.requireNonNull(schema, "Can not pass `null` 'schema'");
@@ -156,7 +249,17 @@ public class ProtobufGenerator extends GeneratorBase
 
     @Override
     public int formatWriteFeatures() {
-        return 0; // none defined yet
+        return _formatFeatures;
+    }
+
+    /**
+     * Method for checking whether specified Protobuf {@link Feature}
+     * is enabled.
+     *
+     * @since 3.0
+     */
+    public boolean isEnabled(ProtobufGenerator.Feature f) {
+        return (_formatFeatures & f.getMask()) != 0;
     }
 
     /*                                                                                       
@@ -304,7 +407,7 @@ public class ProtobufGenerator extends GeneratorBase
     public final void flush() throws IOException
     {
         // can only flush if we do not need accumulation for length prefixes
-        if (_buffered == null) {
+        if (!_isBuffering()) {
             int start = _currStart;
             int len = _currPtr - start;
             if (len > 0) {
@@ -430,7 +533,11 @@ public class ProtobufGenerator extends GeneratorBase
                 _reportError("Can not write START_OBJECT without field (message type "+_currMessage.getName()+")");
             }
             _currMessage = _schema.getRootType();
-            // note: no buffering on root
+            // note: no buffering on root, unless length prefix is needed
+            if (isEnabled(Feature.WRITE_DELIMITED_MESSAGES)) {
+                _complete = false;
+                _startBuffering();
+            }
         } else {
             // but also, field value must be Message if so
             if (!_currField.isObject) {
@@ -477,7 +584,7 @@ public class ProtobufGenerator extends GeneratorBase
         boolean inObj = _tokenWriteContext.inObject();
         _inObject = inObj;
         _writeTag = inObj || !_tokenWriteContext.inArray() || !_currField.packed;
-        if (_buffered != null) { // null for root
+        if (_isBuffering()) { // not for root
             _finishBuffering();
         }
     }
@@ -1310,14 +1417,13 @@ public class ProtobufGenerator extends GeneratorBase
             }
             offset += max;
 
-            ByteAccumulator acc = _buffered;
             final int start = _currStart;
             _currStart = 0;
             int toFlush = ptr - start;
             ptr = 0;
 
             // without accumulation, we know buffer is free for reuse
-            if (acc == null) {
+            if (!_isBuffering()) {
                 if (toFlush > 0) {
                     _output.write(_currBuffer, start, toFlush);
                 }
@@ -1327,7 +1433,7 @@ public class ProtobufGenerator extends GeneratorBase
             // but with buffered, need to append, allocate new buffer (since old
             // almost certainly contains buffered data)
             if (toFlush > 0) {
-                acc.append(_currBuffer, start, toFlush);
+                _appendBuffered(_currBuffer, start, toFlush);
             }
             _currBuffer = ProtobufUtil.allocSecondary(_currBuffer);
         }
@@ -1702,6 +1808,10 @@ public class ProtobufGenerator extends GeneratorBase
      */
     private final void _startBuffering(int typedTag) throws IOException
     {
+        if (_sizedBuffer != null) {
+            _startSizedBuffering(typedTag);
+            return;
+        }
         // need to ensure room for tag id, length (10 bytes); might as well ask for bit more
         _ensureRoom(20);
         // and leave the gap of 10 bytes
@@ -1728,6 +1838,10 @@ public class ProtobufGenerator extends GeneratorBase
      */
     private final void _startBuffering() throws IOException
     {
+        if (_sizedBuffer != null) {
+            _startSizedBuffering(-1);
+            return;
+        }
         // since no tag written, could skimp on space needed
         _ensureRoom(16);
         int ptr = _currPtr;
@@ -1765,6 +1879,18 @@ public class ProtobufGenerator extends GeneratorBase
         final int newStart = _currPtr;        
         final int currLen = newStart - start;
 
+        if (_sizedBuffer != null) {
+            _sizedBuffer.append(_currBuffer, start, currLen);
+            if (_sizedBuffer.finishMessage(_output)) {
+                // all written out, so buffer can be reused
+                _currStart = 0;
+                _currPtr = 0;
+            } else {
+                _currStart = newStart;
+            }
+            return;
+        }
+
         ByteAccumulator acc = _buffered;
         acc = acc.finish(_output, _currBuffer, start, currLen);
         _buffered = acc;
@@ -1778,6 +1904,47 @@ public class ProtobufGenerator extends GeneratorBase
 //      _currPtr = newStart;
     }
 
+    /**
+     * Method called instead of {@link #_startBuffering(int)} when
+     * {@link Feature#PRECOMPUTE_MESSAGE_LENGTHS} is enabled: no room needs to be left
+     * for prefixes, as those are only written once all lengths are known.
+     */
+    private final void _startSizedBuffering(int typedTag) throws IOException
+    {
+        final int start = _currStart;
+        final int len = _currPtr - start;
+        if (_sizedBuffer.isOpen()) {
+            _sizedBuffer.append(_currBuffer, start, len);
+            _currStart = _currPtr;
+        } else { // root level content to flush first?
+            if (len > 0) {
+                _output.write(_currBuffer, start, len);
+            }
+            _currStart = 0;
+            _currPtr = 0;
+        }
+        _sizedBuffer.startMessage(typedTag);
+    }
+
+    /**
+     * Helper method for checking whether content is being buffered for calculating
+     * length prefixes: if not, content may be written out as is.
+     */
+    private final boolean _isBuffering() {
+        if (_sizedBuffer != null) {
+            return _sizedBuffer.isOpen();
+        }
+        return (_buffered != null);
+    }
+
+    private final void _appendBuffered(byte[] buf, int offset, int len) {
+        if (_sizedBuffer != null) {
+            _sizedBuffer.append(buf, offset, len);
+        } else {
+            _buffered.append(buf, offset, len);
+        }
+    }
+
     protected final void _ensureRoom(int needed) throws IOException
     {
         // common case: we got it already
@@ -1795,8 +1962,7 @@ public class ProtobufGenerator extends GeneratorBase
         _currStart = 0;
         _currPtr = 0;
 
-        ByteAccumulator acc = _buffered;
-        if (acc == null) {
+        if (!_isBuffering()) {
             // without accumulation, we know buffer is free for reuse
             if (currLen > 0) {
                 _output.write(_currBuffer, start, currLen);
@@ -1806,7 +1972,7 @@ public class ProtobufGenerator extends GeneratorBase
         // but with buffered, need to append, allocate new buffer (since old
         // almost certainly contains buffered data)
         if (currLen > 0) {
-            acc.append(_currBuffer, start, currLen);
+            _appendBuffered(_currBuffer, start, currLen);
         }
         _currBuffer = ProtobufUtil.allocSecondary(_currBuffer);
     }
@@ -1818,6 +1984,17 @@ public class ProtobufGenerator extends GeneratorBase
         final int currLen = _currPtr - start;
         _currPtr = start;
 
+        if (_sizedBuffer != null) {
+            if (_sizedBuffer.isOpen()) {
+                _sizedBuffer.append(_currBuffer, start, currLen);
+                _sizedBuffer.finishAll(_output);
+            } else if (currLen > 0) {
+                _output.write(_currBuffer, start, currLen);
+            }
+            _currStart = 0;
+            _currPtr = 0;
+            return;
+        }
         ByteAccumulator acc = _buffered;
         if (acc == null) {
             if (currLen > 0) {
@@ -33,10 +33,12 @@ public class ProtobufMapper extends ObjectMapper
     {
         public Builder(ProtobufFactory f) {
             super(f);
+            addModule(new ProtobufModule());
         }
 
         public Builder(StateImpl state) {
             super(state);
+            // no need to add module, should come by default
         }
 
         @Override
@@ -49,6 +51,60 @@ public class ProtobufMapper extends ObjectMapper
             return new StateImpl(this);
         }
 
+        /*
+        /******************************************************************
+        /* Format features
+        /******************************************************************
+         */
+
+        public Builder enable(ProtobufParser.Feature... features) {
+            for (ProtobufParser.Feature f : features) {
+                _formatReadFeatures |= f.getMask();
+            }
+            return this;
+        }
+
+        public Builder disable(ProtobufParser.Feature... features) {
+            for (ProtobufParser.Feature f : features) {
+                _formatReadFeatures &= ~f.getMask();
+            }
+            return this;
+        }
+
+        public Builder configure(ProtobufParser.Feature feature, boolean state)
+        {
+            if (state) {
+                _formatReadFeatures |= feature.getMask();
+            } else {
+                _formatReadFeatures &= ~feature.getMask();
+            }
+            return this;
+        }
+
+        public Builder enable(ProtobufGenerator.Feature... features) {
+            for (ProtobufGenerator.Feature f : features) {
+                _formatWriteFeatures |= f.getMask();
+            }
+            return this;
+        }
+
+        public Builder disable(ProtobufGenerator.Feature... features) {
+            for (ProtobufGenerator.Feature f : features) {
+                _formatWriteFeatures &= ~f.getMask();
+            }
+            return this;
+        }
+
+        public Builder configure(ProtobufGenerator.Feature feature, boolean state)
+        {
+            if (state) {
+                _formatWriteFeatures |= feature.getMask();
+            } else {
+                _formatWriteFeatures &= ~feature.getMask();
+            }
+            return this;
+        }
+
         protected static class StateImpl extends MapperBuilderState
             implements java.io.Serializable // important!
         {
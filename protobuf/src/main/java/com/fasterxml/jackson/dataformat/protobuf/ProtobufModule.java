@@ -0,0 +1,30 @@
+package com.fasterxml.jackson.dataformat.protobuf;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import com.fasterxml.jackson.dataformat.binary.databind.BulkArrayDeserializers;
+
+/**
+ * Module registered by default by {@link ProtobufMapper}: adds deserializers for
+ * <code>int[]</code>, <code>long[]</code> and <code>double[]</code> that read
+ * contents using bulk read methods of {@link ProtobufParser} (like
+ * {@link ProtobufParser#readIntArray(int[], int, int)}), instead of
+ * going through elements one token at a time.
+ * Elements that bulk reads do not accept (like nulls, or Strings to coerce)
+ * are handled the same way as by the default deserializers.
+ * Deserializers are shared with other binary format modules
+ * (see {@link BulkArrayDeserializers}).
+ *
+ * @since 3.0
+ */
+public class ProtobufModule extends SimpleModule
+{
+    private static final long serialVersionUID = 1L;
+
+    public ProtobufModule() {
+        super("ProtobufModule", PackageVersion.VERSION);
+        addDeserializer(int[].class, new BulkArrayDeserializers.IntArrayDeserializer());
+        addDeserializer(long[].class, new BulkArrayDeserializers.LongArrayDeserializer());
+        addDeserializer(double[].class, new BulkArrayDeserializers.DoubleArrayDeserializer());
+    }
+}
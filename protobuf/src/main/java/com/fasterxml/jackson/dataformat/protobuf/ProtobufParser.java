@@ -3,6 +3,8 @@ package com.fasterxml.jackson.dataformat.protobuf;
 import java.io.*;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.base.ParserMinimalBase;
@@ -12,10 +14,77 @@ import com.fasterxml.jackson.core.sym.FieldNameMatcher;
 import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.core.util.TextBuffer;
 import com.fasterxml.jackson.core.util.VersionUtil;
+import com.fasterxml.jackson.dataformat.binary.PrimitiveArrayReader;
 import com.fasterxml.jackson.dataformat.protobuf.schema.*;
 
 public class ProtobufParser extends ParserMinimalBase
+    implements PrimitiveArrayReader
 {
+    /**
+     * Enumeration that defines all togglable features for Protobuf parsers.
+     *
+     * @since 3.0
+     */
+    public enum Feature implements FormatFeature
+    {
+        /**
+         * Feature that determines whether values of {@code bytes} fields are exposed
+         * by {@link JsonParser#getEmbeddedObject()} as read-only {@link java.nio.ByteBuffer}s
+         * (if enabled) or {@code byte[]}s (if disabled).
+         * When enabled, and parser reads from a {@code byte[]} given by caller (instead of
+         * an {@link InputStream}), buffers are views (slices) of the input array and no
+         * copy is made; caller must make sure contents of the input array are not
+         * modified while buffers are in use.
+         * Otherwise contents are copied as usual, and the copy is wrapped in a buffer.
+         *<p>
+         * Note that {@link JsonParser#getBinaryValue()} always returns a {@code byte[]},
+         * and so has to copy contents.
+         *<p>
+         * Disabled by default.
+         */
+        BYTES_AS_BYTE_BUFFER(false),
+
+        /**
+         * Feature that determines whether input is expected to consist of a sequence
+         * of root-level messages, each preceded by its length as VInt (as written by
+         * {@code writeDelimitedTo()} of the standard protobuf library), or (if disabled)
+         * of a single message that extends to the end of input.
+         * When enabled, each message is exposed as a separate root-level value, so that
+         * sequences may be read using {@code MappingIterator}.
+         *<p>
+         * Disabled by default.
+         */
+        READ_DELIMITED_MESSAGES(false)
+        ;
+
+        final boolean _defaultState;
+        final int _mask;
+
+        /**
+         * Method that calculates bit set (flags) of all features that
+         * are enabled by default.
+         */
+        public static int collectDefaults()
+        {
+            int flags = 0;
+            for (Feature f : values()) {
+                if (f.enabledByDefault()) {
+                    flags |= f.getMask();
+                }
+            }
+            return flags;
+        }
+
+        private Feature(boolean defaultState) {
+            _defaultState = defaultState;
+            _mask = (1 << ordinal());
+        }
+
+        @Override public boolean enabledByDefault() { return _defaultState; }
+        @Override public int getMask() { return _mask; }
+        @Override public boolean enabledIn(int flags) { return (flags & getMask()) != 0; }
+    }
+
     // State constants
 
     // State right after parser created; may start root Object
@@ -63,7 +132,15 @@ public class ProtobufParser extends ParserMinimalBase
      */
 
     protected ProtobufSchema _schema;
-    
+
+    /**
+     * Bit flag composed of bits that indicate which
+     * {@link ProtobufParser.Feature}s are enabled.
+     *
+     * @since 3.0
+     */
+    protected int _formatFeatures;
+
     /*
     /**********************************************************
     /* Generic I/O state
@@ -187,6 +264,14 @@ public class ProtobufParser extends ParserMinimalBase
      */
     protected byte[] _binaryValue;
 
+    /**
+     * Value of the current {@code bytes} field as exposed with
+     * {@link Feature#BYTES_AS_BYTE_BUFFER} enabled, if accessed.
+     *
+     * @since 3.0
+     */
+    protected ByteBuffer _binaryBuffer;
+
     /*
     /**********************************************************
     /* Input source config, state (from ex StreamBasedParserBase)
@@ -286,9 +371,22 @@ public class ProtobufParser extends ParserMinimalBase
             int parserFeatures, ProtobufSchema schema,
             InputStream in, byte[] inputBuffer, int start, int end,
             boolean bufferRecyclable)
+    {
+        this(readCtxt, ioCtxt, parserFeatures, 0, schema,
+                in, inputBuffer, start, end, bufferRecyclable);
+    }
+
+    /**
+     * @since 3.0
+     */
+    public ProtobufParser(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int parserFeatures, int formatFeatures, ProtobufSchema schema,
+            InputStream in, byte[] inputBuffer, int start, int end,
+            boolean bufferRecyclable)
     {
         super(readCtxt, parserFeatures);
         _ioContext = ioCtxt;
+        _formatFeatures = formatFeatures;
 
         _inputStream = in;
         _inputBuffer = inputBuffer;
@@ -328,6 +426,27 @@ public class ProtobufParser extends ParserMinimalBase
         return PackageVersion.VERSION;
     }
 
+    /*
+    /**********************************************************
+    /* Configuration
+    /**********************************************************
+     */
+
+    @Override
+    public int formatReadFeatures() {
+        return _formatFeatures;
+    }
+
+    /**
+     * Method for checking whether specified Protobuf {@link Feature}
+     * is enabled.
+     *
+     * @since 3.0
+     */
+    public boolean isEnabled(ProtobufParser.Feature f) {
+        return (_formatFeatures & f.getMask()) != 0;
+    }
+
     /*
     /**********************************************************
     /* Abstract impls
@@ -519,6 +638,7 @@ public class ProtobufParser extends ParserMinimalBase
         _tokenInputTotal = _currInputProcessed + _inputPtr;
         // also: clear any data retained so far
         _binaryValue = null;
+        _binaryBuffer = null;
 
         switch (_state) {
         case STATE_INITIAL:
@@ -527,17 +647,20 @@ public class ProtobufParser extends ParserMinimalBase
             }
             _currentMessage = _schema.getRootType();
             _currentField = _currentMessage.firstField();
+            if (isEnabled(Feature.READ_DELIMITED_MESSAGES)) {
+                if (!_startDelimitedMessage()) {
+                    close();
+                    return (_currToken = null);
+                }
+            }
             _state = STATE_ROOT_KEY;
             _parsingContext.setMessageType(_currentMessage);            
             return (_currToken = JsonToken.START_OBJECT);
 
         case STATE_ROOT_KEY:
-            // end-of-input?
-            if (_inputPtr >= _inputEnd) {
-                if (!loadMore()) {
-                    close();
-                    return (_currToken = JsonToken.END_OBJECT);
-                }
+            // end-of-input (or end of delimited message)?
+            if (_checkRootEnd()) {
+                return (_currToken = JsonToken.END_OBJECT);
             }
             return _handleRootKey(_decodeVInt());
         case STATE_ROOT_VALUE:
@@ -589,8 +712,8 @@ public class ProtobufParser extends ParserMinimalBase
             if (_inputPtr >= _inputEnd) {
                 if (!loadMore()) {
                     ProtobufReadContext parent = _parsingContext.getParent();
-                    // Ok to end if and only if root value
-                    if (!parent.inRoot()) {
+                    // Ok to end if and only if root value (and not within delimited message)
+                    if (!parent.inRoot() || isEnabled(Feature.READ_DELIMITED_MESSAGES)) {
                         _reportInvalidEOF();
                     }
                     _parsingContext = parent;
@@ -682,6 +805,55 @@ public class ProtobufParser extends ParserMinimalBase
         return true;
     }
 
+    /**
+     * Helper method called at root level, when the next field of the root
+     * message is expected, to check whether the root message is complete.
+     * That is the case at end-of-input; or, with
+     * {@link Feature#READ_DELIMITED_MESSAGES} enabled, once content up to the
+     * length prefix of the message has been read.
+     */
+    private boolean _checkRootEnd() throws IOException
+    {
+        if (isEnabled(Feature.READ_DELIMITED_MESSAGES)) {
+            if (_inputPtr < _currentEndOffset) {
+                return false;
+            }
+            if (_inputPtr > _currentEndOffset) {
+                _reportErrorF("Decoding: current inputPtr (%d) exceeds end offset (%d) (for message of type %s): corrupt content?",
+                        _inputPtr, _currentEndOffset, _currentMessage.getName());
+            }
+            // next root-level message may follow
+            _state = STATE_INITIAL;
+            return true;
+        }
+        if (_inputPtr >= _inputEnd) {
+            if (!loadMore()) {
+                close();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Helper method called to read length prefix of the next root-level message,
+     * when {@link Feature#READ_DELIMITED_MESSAGES} is enabled.
+     *
+     * @return True if there is another message; false if end-of-input was reached
+     */
+    private boolean _startDelimitedMessage() throws IOException
+    {
+        if (_inputPtr >= _inputEnd) {
+            if (!loadMore()) {
+                return false;
+            }
+        }
+        final int len = _decodeLength();
+        _currentEndOffset = _inputPtr + len;
+        _parsingContext.resetRoot(_currentEndOffset);
+        return true;
+    }
+
     private JsonToken _handleRootKey(int tag) throws IOException
     {
         int wireType = (tag & 0x7);
@@ -911,20 +1083,19 @@ public class ProtobufParser extends ParserMinimalBase
         }
         while (true) {
             _skipUnknownValue(wireType);
-            // 05-Dec-2017, tatu: as per [#126] seems like we need to check this not just for
-            //    STATE_NESTED_KEY but for arrays too at least?
-            if (_checkEnd()) {
-                return (_currToken = JsonToken.END_OBJECT);
-            }
-            if (_state == STATE_NESTED_KEY) {
-                if (_inputPtr >= _inputEnd) {
-                    loadMoreGuaranteed();
+            if (_parsingContext.inRoot()) {
+                if (_checkRootEnd()) {
+                    return (_currToken = JsonToken.END_OBJECT);
                 }
-            } else if (_inputPtr >= _inputEnd) {
-                if (!loadMore()) {
-                    close();
+            } else {
+                // 05-Dec-2017, tatu: as per [#126] seems like we need to check this not just for
+                //    STATE_NESTED_KEY but for arrays too at least?
+                if (_checkEnd()) {
                     return (_currToken = JsonToken.END_OBJECT);
                 }
+                if (_inputPtr >= _inputEnd) {
+                    loadMoreGuaranteed();
+                }
             }
             tag = _decodeVInt();
             
@@ -968,21 +1139,109 @@ public class ProtobufParser extends ParserMinimalBase
 
     /*
     /**********************************************************
-    /* Public API, traversal, optimized: nextFieldName()
+    /* Public API, traversal, optimized: skipChildren()
     /**********************************************************
      */
 
+    /**
+     * Overridden to skip contents of nested messages and packed arrays
+     * using their length prefix, without decoding any of the contents.
+     * Unpacked arrays are skipped by reading tags of elements only,
+     * skipping values by their wire type.
+     *
+     * @since 3.0
+     */
     @Override
-    public String nextFieldName() throws IOException
+    public JsonParser skipChildren() throws IOException
     {
-        if (_state == STATE_ROOT_KEY) {
+        if (_currToken == JsonToken.START_OBJECT) {
+            if (!_parsingContext.inRoot()) {
+                _skipToEndOffset();
+                _checkEnd();
+            } else if (isEnabled(Feature.READ_DELIMITED_MESSAGES)) {
+                _skipToEndOffset();
+                _checkRootEnd();
+            } else {
+                // root message extends up to end-of-input
+                do {
+                    _inputPtr = _inputEnd;
+                } while (loadMore());
+                close();
+            }
+            _currToken = JsonToken.END_OBJECT;
+        } else if (_currToken == JsonToken.START_ARRAY) {
+            if (_state == STATE_ARRAY_VALUE_PACKED) {
+                _skipToEndOffset();
+                _checkEnd();
+            } else {
+                _skipUnpackedArray();
+            }
+            _currToken = JsonToken.END_ARRAY;
+        }
+        return this;
+    }
+
+    private void _skipToEndOffset() throws IOException
+    {
+        final int len = _currentEndOffset - _inputPtr;
+        // if already past the end, content is corrupt: caller will report
+        if (len > 0) {
+            _skipBytes(len);
+        }
+    }
+
+    /**
+     * Helper method for skipping all values of an unpacked array, right after
+     * {@link JsonToken#START_ARRAY} has been returned: ends at the first tag
+     * of some other field (or end of enclosing message), leaving parser in same
+     * state as after returning {@link JsonToken#END_ARRAY} from {@link #nextToken}.
+     */
+    private void _skipUnpackedArray() throws IOException
+    {
+        final int id = _currentField.id;
+        // tag of the first value has already been read
+        _skipUnknownValue(_currentField.wireType);
+
+        while (!_checkEnd()) {
             if (_inputPtr >= _inputEnd) {
                 if (!loadMore()) {
-                    close();
-                    _currToken = JsonToken.END_OBJECT;
-                    return null;
+                    ProtobufReadContext parent = _parsingContext.getParent();
+                    if (!parent.inRoot() || isEnabled(Feature.READ_DELIMITED_MESSAGES)) {
+                        _reportInvalidEOF();
+                    }
+                    _parsingContext = parent;
+                    _currentField = parent.getField();
+                    _state = STATE_MESSAGE_END;
+                    return;
                 }
             }
+            final int tag = _decodeVInt();
+            if ((tag >> 3) != id) {
+                _nextTag = tag;
+                ProtobufReadContext parent = _parsingContext.getParent();
+                _parsingContext = parent;
+                _currentField = parent.getField();
+                _state = STATE_ARRAY_END;
+                return;
+            }
+            _skipUnknownValue(tag & 0x7);
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Public API, traversal, optimized: nextFieldName()
+    /**********************************************************
+     */
+
+    @Override
+    public String nextFieldName() throws IOException
+    {
+        if (_state == STATE_ROOT_KEY) {
+            if (_checkRootEnd()) {
+                _currToken = JsonToken.END_OBJECT;
+                return null;
+            }
             int tag = _decodeVInt();
             // inlined _handleRootKey()
 
@@ -1063,12 +1322,9 @@ public class ProtobufParser extends ParserMinimalBase
     public boolean nextFieldName(SerializableString sstr) throws IOException
     {
         if (_state == STATE_ROOT_KEY) {
-            if (_inputPtr >= _inputEnd) {
-                if (!loadMore()) {
-                    close();
-                    _currToken = JsonToken.END_OBJECT;
-                    return false;
-                }
+            if (_checkRootEnd()) {
+                _currToken = JsonToken.END_OBJECT;
+                return false;
             }
             int tag = _decodeVInt();
             // inlined _handleRootKey()
@@ -1148,12 +1404,9 @@ public class ProtobufParser extends ParserMinimalBase
     public int nextFieldName(FieldNameMatcher matcher) throws IOException
     {
         if (_state == STATE_ROOT_KEY) {
-            if (_inputPtr >= _inputEnd) {
-                if (!loadMore()) {
-                    close();
-                    _currToken = JsonToken.END_OBJECT;
-                    return FieldNameMatcher.MATCH_END_OBJECT;
-                }
+            if (_checkRootEnd()) {
+                _currToken = JsonToken.END_OBJECT;
+                return FieldNameMatcher.MATCH_END_OBJECT;
             }
             int tag = _decodeVInt();
             // inlined _handleRootKey()
@@ -1184,7 +1437,7 @@ public class ProtobufParser extends ParserMinimalBase
                 _state = STATE_ROOT_VALUE;
             }
             _currToken = JsonToken.FIELD_NAME;
-            return matcher.matchName(name);
+            return _currentMessage.matchField(matcher, _currentField);
         }
         if (_state == STATE_NESTED_KEY) {
             if (_checkEnd()) {
@@ -1220,7 +1473,7 @@ public class ProtobufParser extends ParserMinimalBase
                 _state = STATE_NESTED_VALUE;
             }
             _currToken = JsonToken.FIELD_NAME;
-            return matcher.matchName(name);
+            return _currentMessage.matchField(matcher, _currentField);
         }
         if (_state == STATE_MESSAGE_END) {
             _currToken = JsonToken.END_OBJECT;
@@ -1259,6 +1512,7 @@ public class ProtobufParser extends ParserMinimalBase
         }
         _tokenInputTotal = _currInputProcessed + _inputPtr;
         _binaryValue = null;
+        _binaryBuffer = null;
 
         switch (_state) {
         case STATE_ROOT_VALUE:
@@ -1288,8 +1542,8 @@ public class ProtobufParser extends ParserMinimalBase
             if (_inputPtr >= _inputEnd) {
                 if (!loadMore()) {
                     ProtobufReadContext parent = _parsingContext.getParent();
-                    // Ok to end if and only if root value
-                    if (!parent.inRoot()) {
+                    // Ok to end if and only if root value (and not within delimited message)
+                    if (!parent.inRoot() || isEnabled(Feature.READ_DELIMITED_MESSAGES)) {
                         _reportInvalidEOF();
                     }
                     _parsingContext = parent;
@@ -1358,6 +1612,285 @@ public class ProtobufParser extends ParserMinimalBase
         return f;
     }
 
+    /*
+    /**********************************************************
+    /* Public API, bulk reads of primitive arrays
+    /**********************************************************
+     */
+
+    /**
+     * Method that may be called when current token is {@link JsonToken#START_ARRAY}
+     * to read all elements of the Array (repeated field) as <code>int</code>s in one go,
+     * instead of iterating over them as separate tokens. All elements must be integral
+     * numbers that fit in 32 bits. Packed repeated fields of <code>int32</code>,
+     * <code>sint32</code>, <code>uint32</code> and <code>fixed32</code> (and similar)
+     * types are decoded most efficiently.
+     *<p>
+     * After successful call, current token will be the matching {@link JsonToken#END_ARRAY}.
+     *
+     * @since 3.0
+     */
+    public int[] readIntArray() throws IOException
+    {
+        _verifyBulkArrayStart("int");
+        int[] result = new int[16];
+        int count = 0;
+        while ((count += readIntArray(result, count, result.length - count)) == result.length) {
+            result = Arrays.copyOf(result, count + count);
+        }
+        _verifyBulkArrayEnd("int");
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Method that may be called when current token is {@link JsonToken#START_ARRAY}
+     * to read all elements of the Array (repeated field) as <code>long</code>s in one go,
+     * instead of iterating over them as separate tokens. All elements must be integral
+     * numbers that fit in 64 bits.
+     *<p>
+     * After successful call, current token will be the matching {@link JsonToken#END_ARRAY}.
+     *
+     * @since 3.0
+     */
+    public long[] readLongArray() throws IOException
+    {
+        _verifyBulkArrayStart("long");
+        long[] result = new long[16];
+        int count = 0;
+        while ((count += readLongArray(result, count, result.length - count)) == result.length) {
+            result = Arrays.copyOf(result, count + count);
+        }
+        _verifyBulkArrayEnd("long");
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Method that may be called when current token is {@link JsonToken#START_ARRAY}
+     * to read all elements of the Array (repeated field) as <code>double</code>s in one go,
+     * instead of iterating over them as separate tokens. All elements must be numbers
+     * (integral or floating-point).
+     *<p>
+     * After successful call, current token will be the matching {@link JsonToken#END_ARRAY}.
+     *
+     * @since 3.0
+     */
+    public double[] readDoubleArray() throws IOException
+    {
+        _verifyBulkArrayStart("double");
+        double[] result = new double[16];
+        int count = 0;
+        while ((count += readDoubleArray(result, count, result.length - count)) == result.length) {
+            result = Arrays.copyOf(result, count + count);
+        }
+        _verifyBulkArrayEnd("double");
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Method for reading elements of the current Array (repeated field) as <code>int</code>s
+     * into given buffer: values are read as long as they are integral numbers that
+     * fit in 32 bits, until either <code>len</code> values have been read (in which case
+     * current token is the last value read), or some other token is encountered.
+     * In latter case that token -- usually {@link JsonToken#END_ARRAY} -- will be the current
+     * token, and caller may choose how to handle it.
+     * Must be called when current token is {@link JsonToken#START_ARRAY} or an element
+     * of an Array.
+     *<p>
+     * Contents of packed repeated fields are decoded in a tight loop, without
+     * going through regular token handling.
+     *
+     * @return Number of values read into buffer
+     *
+     * @since 3.0
+     */
+    @Override
+    public int readIntArray(int[] buffer, int offset, int len) throws IOException
+    {
+        _verifyBulkRead("int");
+        final int end = offset + len;
+        int ix = offset;
+
+        // NOTE: end offset must be re-read for every value, since it is
+        // adjusted when more input is loaded
+        if (_state == STATE_ARRAY_VALUE_PACKED) {
+            switch (_currentField.type) {
+            case VINT32_Z:
+                while ((ix < end) && (_inputPtr < _currentEndOffset)) {
+                    buffer[ix++] = ProtobufUtil.zigzagDecode(_decodeVInt());
+                }
+                break;
+            case VINT32_STD:
+                while ((ix < end) && (_inputPtr < _currentEndOffset)) {
+                    buffer[ix++] = _decodeVInt();
+                }
+                break;
+            case FIXINT32:
+                while ((ix < end) && (_inputPtr < _currentEndOffset)) {
+                    buffer[ix++] = _decode32Bits();
+                }
+                break;
+            default:
+            }
+            if (ix > offset) {
+                _numberInt = buffer[ix-1];
+                _numTypesValid = NR_INT;
+                _bulkValueDone(JsonToken.VALUE_NUMBER_INT);
+            }
+        }
+        // and for anything else (including end of packed array), regular decoding
+        while (ix < end) {
+            if ((nextToken() != JsonToken.VALUE_NUMBER_INT)
+                    || (getNumberType() != NumberType.INT)) {
+                break;
+            }
+            buffer[ix++] = _numberInt;
+        }
+        return ix - offset;
+    }
+
+    /**
+     * Method for reading elements of the current Array (repeated field) as <code>long</code>s
+     * into given buffer: values are read as long as they are integral numbers that
+     * fit in 64 bits; otherwise works like {@link #readIntArray(int[], int, int)}.
+     *
+     * @return Number of values read into buffer
+     *
+     * @since 3.0
+     */
+    @Override
+    public int readLongArray(long[] buffer, int offset, int len) throws IOException
+    {
+        _verifyBulkRead("long");
+        final int end = offset + len;
+        int ix = offset;
+
+        if (_state == STATE_ARRAY_VALUE_PACKED) {
+            switch (_currentField.type) {
+            case VINT64_Z:
+                while ((ix < end) && (_inputPtr < _currentEndOffset)) {
+                    buffer[ix++] = ProtobufUtil.zigzagDecode(_decodeVLong());
+                }
+                break;
+            case VINT64_STD:
+                while ((ix < end) && (_inputPtr < _currentEndOffset)) {
+                    buffer[ix++] = _decodeVLong();
+                }
+                break;
+            case FIXINT64:
+                while ((ix < end) && (_inputPtr < _currentEndOffset)) {
+                    buffer[ix++] = _decode64Bits();
+                }
+                break;
+            case VINT32_Z:
+                while ((ix < end) && (_inputPtr < _currentEndOffset)) {
+                    buffer[ix++] = ProtobufUtil.zigzagDecode(_decodeVInt());
+                }
+                break;
+            case VINT32_STD:
+                while ((ix < end) && (_inputPtr < _currentEndOffset)) {
+                    buffer[ix++] = _decodeVInt();
+                }
+                break;
+            case FIXINT32:
+                while ((ix < end) && (_inputPtr < _currentEndOffset)) {
+                    buffer[ix++] = _decode32Bits();
+                }
+                break;
+            default:
+            }
+            if (ix > offset) {
+                _numberLong = buffer[ix-1];
+                _numTypesValid = NR_LONG;
+                _bulkValueDone(JsonToken.VALUE_NUMBER_INT);
+            }
+        }
+        while (ix < end) {
+            if ((nextToken() != JsonToken.VALUE_NUMBER_INT)
+                    || (getNumberType() == NumberType.BIG_INTEGER)) {
+                break;
+            }
+            buffer[ix++] = getLongValue();
+        }
+        return ix - offset;
+    }
+
+    /**
+     * Method for reading elements of the current Array (repeated field) as <code>double</code>s
+     * into given buffer: values are read as long as they are numbers (integral or
+     * floating-point); otherwise works like {@link #readIntArray(int[], int, int)}.
+     *
+     * @return Number of values read into buffer
+     *
+     * @since 3.0
+     */
+    @Override
+    public int readDoubleArray(double[] buffer, int offset, int len) throws IOException
+    {
+        _verifyBulkRead("double");
+        final int end = offset + len;
+        int ix = offset;
+
+        if (_state == STATE_ARRAY_VALUE_PACKED) {
+            switch (_currentField.type) {
+            case DOUBLE:
+                while ((ix < end) && (_inputPtr < _currentEndOffset)) {
+                    buffer[ix++] = Double.longBitsToDouble(_decode64Bits());
+                }
+                break;
+            case FLOAT:
+                while ((ix < end) && (_inputPtr < _currentEndOffset)) {
+                    buffer[ix++] = Float.intBitsToFloat(_decode32Bits());
+                }
+                break;
+            default:
+            }
+            if (ix > offset) {
+                _numberDouble = buffer[ix-1];
+                _numTypesValid = NR_DOUBLE;
+                _bulkValueDone(JsonToken.VALUE_NUMBER_FLOAT);
+            }
+        }
+        while (ix < end) {
+            JsonToken t = nextToken();
+            if ((t != JsonToken.VALUE_NUMBER_FLOAT) && (t != JsonToken.VALUE_NUMBER_INT)) {
+                break;
+            }
+            buffer[ix++] = getDoubleValue();
+        }
+        return ix - offset;
+    }
+
+    private final void _verifyBulkArrayStart(String type) throws IOException
+    {
+        if (_currToken != JsonToken.START_ARRAY) {
+            _reportError("Current token ("+_currToken+") not START_ARRAY, can not read "+type+"[] value");
+        }
+    }
+
+    private final void _verifyBulkArrayEnd(String type) throws IOException
+    {
+        if (_currToken != JsonToken.END_ARRAY) {
+            _reportError("Unexpected token ("+_currToken+") within Array read as "+type+"[] value");
+        }
+    }
+
+    private final void _verifyBulkRead(String type) throws IOException
+    {
+        if (!_parsingContext.inArray()) {
+            _reportError("Current token ("+_currToken+") not within an Array, can not read "+type+" values in bulk");
+        }
+    }
+
+    /**
+     * Helper method called by bulk readers to update token state after
+     * decoding contents of packed array directly.
+     */
+    private final void _bulkValueDone(JsonToken t) {
+        _binaryValue = null;
+        _binaryBuffer = null;
+        _currToken = t;
+    }
+
     /*
     /**********************************************************
     /* Public API, access to token information, text
@@ -1533,19 +2066,42 @@ public class ProtobufParser extends ParserMinimalBase
             // TODO, maybe: support base64 for text?
             _reportError("Current token ("+_currToken+") not VALUE_EMBEDDED_OBJECT, can not access as binary");
         }
+        if ((_binaryValue == null) && (_binaryBuffer != null)) {
+            ByteBuffer b = _binaryBuffer.duplicate();
+            byte[] result = new byte[b.remaining()];
+            b.get(result);
+            _binaryValue = result;
+        }
         return _binaryValue;
     }
 
     @Override
     public Object getEmbeddedObject() throws IOException
     {
-        if (_tokenIncomplete) {
-            _finishToken();
+        if (_currToken != JsonToken.VALUE_EMBEDDED_OBJECT ) {
+            return null;
         }
-        if (_currToken == JsonToken.VALUE_EMBEDDED_OBJECT ) {
+        if (!isEnabled(Feature.BYTES_AS_BYTE_BUFFER)) {
+            if (_tokenIncomplete) {
+                _finishToken();
+            }
             return _binaryValue;
         }
-        return null;
+        if (_binaryBuffer == null) {
+            if (_tokenIncomplete) {
+                final int len = _decodedLength;
+                // Can only expose input buffer if it is not going to be reused
+                if (!_bufferRecyclable && ((_inputPtr + len) <= _inputEnd)) {
+                    _tokenIncomplete = false;
+                    _binaryBuffer = ByteBuffer.wrap(_inputBuffer, _inputPtr, len).slice().asReadOnlyBuffer();
+                    _inputPtr += len;
+                    return _binaryBuffer;
+                }
+                _finishToken();
+            }
+            _binaryBuffer = ByteBuffer.wrap(_binaryValue).asReadOnlyBuffer();
+        }
+        return _binaryBuffer;
     }
 
     @Override
@@ -1554,9 +2110,25 @@ public class ProtobufParser extends ParserMinimalBase
         if (_currToken != JsonToken.VALUE_EMBEDDED_OBJECT ) {
             _reportError("Current token ("+_currToken+") not VALUE_EMBEDDED_OBJECT, can not access as binary");
         }
-
-        // !!! TBI
-        return -1;
+        // If not yet read, can just copy straight from the input buffer
+        if (_tokenIncomplete) {
+            _tokenIncomplete = false;
+            final int len = _decodedLength;
+            int left = len;
+            while (left > 0) {
+                if (_inputPtr >= _inputEnd) {
+                    loadMoreGuaranteed();
+                }
+                int count = Math.min(left, _inputEnd - _inputPtr);
+                out.write(_inputBuffer, _inputPtr, count);
+                _inputPtr += count;
+                left -= count;
+            }
+            return len;
+        }
+        byte[] b = getBinaryValue(b64variant);
+        out.write(b);
+        return b.length;
     }
 
     /*
@@ -36,7 +36,8 @@ public final class ProtobufReadContext
 
     /**
      * Offset within input buffer where the message represented
-     * by this context (if message context) ends.
+     * by this context (if message context) ends. For root context this is
+     * {@code Integer.MAX_VALUE}, except when reading length-delimited messages.
      */
     protected int _endOffset;
     
@@ -65,6 +66,20 @@ public final class ProtobufReadContext
         _index = -1;
     }
 
+    /**
+     * Method called to reset root context for the next root-level message
+     * of a length-delimited sequence, with given end offset.
+     *
+     * @since 3.0
+     */
+    public void resetRoot(int endOffset)
+    {
+        _index = -1;
+        _currentName = null;
+        _currentValue = null;
+        _endOffset = endOffset;
+    }
+
     protected void reset(ProtobufMessage messageType, int type, int endOffset)
     {
         _messageType = messageType;
@@ -110,7 +125,7 @@ public final class ProtobufReadContext
         ProtobufReadContext ctxt = _child;
         if (ctxt == null) {
             _child = ctxt = new ProtobufReadContext(this, _messageType,
-                    TYPE_ARRAY, 0);
+                    TYPE_ARRAY, endOffset);
         } else {
             ctxt.reset(_messageType, TYPE_ARRAY, endOffset);
         }
@@ -156,7 +171,8 @@ public final class ProtobufReadContext
      * root context.
      */
     public int adjustEnd(int bytesConsumed) {
-        if (_type == TYPE_ROOT) {
+        // unbounded root need not be adjusted
+        if (_endOffset == Integer.MAX_VALUE) {
             return _endOffset;
         }
         int newOffset = _endOffset - bytesConsumed;
@@ -172,7 +188,7 @@ public final class ProtobufReadContext
     }
 
     private void _adjustEnd(int bytesConsumed) {
-        if (_type != TYPE_ROOT) {
+        if (_endOffset != Integer.MAX_VALUE) {
             _endOffset -= bytesConsumed;
         }
     }
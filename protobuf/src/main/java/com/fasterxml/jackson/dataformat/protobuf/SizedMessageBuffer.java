@@ -0,0 +1,303 @@
+package com.fasterxml.jackson.dataformat.protobuf;
+
+import java.io.*;
+import java.util.Arrays;
+
+/**
+ * Alternative to {@link ByteAccumulator}, used when
+ * {@link ProtobufGenerator.Feature#PRECOMPUTE_MESSAGE_LENGTHS} is enabled.
+ * Instead of building a chain of accumulators (one per nested message or packed
+ * array), each with linked list of segments that gets re-linked into parent
+ * on completion, content of a root-level length-prefixed section and everything
+ * nested within it is collected as a flat sequence of buffer segments (without
+ * any prefixes), and sizes of nested sections are calculated as they complete.
+ * Once the outermost section completes, everything is written out in a single
+ * forward pass, with length prefixes inserted at recorded offsets.
+ *<p>
+ * Segments refer to buffers given by caller, without copying: caller must not
+ * modify buffered content until {@link #finishMessage} indicates that contents
+ * have been written out.
+ *
+ * @since 3.0
+ */
+public class SizedMessageBuffer
+{
+    private final static int INITIAL_SEGMENTS = 16;
+
+    private final static int INITIAL_MESSAGES = 16;
+
+    private final static int OUTPUT_BUFFER_LENGTH = 8000;
+
+    /*
+    /**********************************************************
+    /* Buffered content
+    /**********************************************************
+     */
+
+    protected byte[][] _segmentBuffers = new byte[INITIAL_SEGMENTS][];
+
+    protected int[] _segmentStarts = new int[INITIAL_SEGMENTS];
+
+    protected int[] _segmentLengths = new int[INITIAL_SEGMENTS];
+
+    protected int _segmentCount;
+
+    /**
+     * Total number of content bytes buffered, not including length prefixes
+     * (or tags preceding them)
+     */
+    protected int _contentBytes;
+
+    /*
+    /**********************************************************
+    /* Length-prefixed sections, in order they were started
+    /**********************************************************
+     */
+
+    /**
+     * Typed tag to write before length prefix of a section, if any; -1 if none.
+     */
+    protected int[] _messageTags = new int[INITIAL_MESSAGES];
+
+    /**
+     * Offset within content (as measured by {@link #_contentBytes}) at which
+     * tag and length prefix of a section is to be written.
+     */
+    protected int[] _messageOffsets = new int[INITIAL_MESSAGES];
+
+    /**
+     * Length of a section, including prefixes of sections nested within.
+     * While section is still open, contains value of {@link #_prefixBytes}
+     * at the point section was started instead.
+     */
+    protected int[] _messageLengths = new int[INITIAL_MESSAGES];
+
+    protected int _messageCount;
+
+    /**
+     * Stack of indexes of sections not yet completed
+     */
+    protected int[] _openMessages = new int[INITIAL_MESSAGES];
+
+    protected int _openCount;
+
+    /**
+     * Total number of bytes needed for tags and length prefixes of completed sections
+     */
+    protected int _prefixBytes;
+
+    /*
+    /**********************************************************
+    /* Output state
+    /**********************************************************
+     */
+
+    protected byte[] _outputBuffer;
+
+    protected int _outputPtr;
+
+    /**
+     * Index of the next section for which prefix is to be written
+     */
+    protected int _nextMessage;
+
+    public SizedMessageBuffer() { }
+
+    /*
+    /**********************************************************
+    /* Public API
+    /**********************************************************
+     */
+
+    /**
+     * @return True if there is at least one section that has been started but
+     *    not yet completed; that is, if content is being buffered.
+     */
+    public boolean isOpen() {
+        return _openCount > 0;
+    }
+
+    /**
+     * Method for appending content of currently open section(s); buffer is not
+     * copied, so caller may not modify specified range until contents have been
+     * written out.
+     */
+    public void append(byte[] buf, int offset, int len)
+    {
+        if (len <= 0) {
+            return;
+        }
+        int ix = _segmentCount;
+        if (ix == _segmentBuffers.length) {
+            int newLen = ix + ix;
+            _segmentBuffers = Arrays.copyOf(_segmentBuffers, newLen);
+            _segmentStarts = Arrays.copyOf(_segmentStarts, newLen);
+            _segmentLengths = Arrays.copyOf(_segmentLengths, newLen);
+        }
+        _segmentBuffers[ix] = buf;
+        _segmentStarts[ix] = offset;
+        _segmentLengths[ix] = len;
+        _segmentCount = ix+1;
+        _contentBytes += len;
+    }
+
+    /**
+     * Method called to start a new length-prefixed section (embedded message
+     * or packed array), at the current end of buffered content.
+     *
+     * @param typedTag Tag to write before length prefix, if any; -1 if none
+     */
+    public void startMessage(int typedTag)
+    {
+        int ix = _messageCount;
+        if (ix == _messageTags.length) {
+            int newLen = ix + ix;
+            _messageTags = Arrays.copyOf(_messageTags, newLen);
+            _messageOffsets = Arrays.copyOf(_messageOffsets, newLen);
+            _messageLengths = Arrays.copyOf(_messageLengths, newLen);
+        }
+        _messageTags[ix] = typedTag;
+        _messageOffsets[ix] = _contentBytes;
+        _messageLengths[ix] = _prefixBytes;
+        _messageCount = ix+1;
+
+        if (_openCount == _openMessages.length) {
+            _openMessages = Arrays.copyOf(_openMessages, _openCount + _openCount);
+        }
+        _openMessages[_openCount++] = ix;
+    }
+
+    /**
+     * Method called to complete the innermost open section: its length is now
+     * known. If it was the outermost section, all buffered content is written
+     * to given output stream.
+     *
+     * @return True if all buffered content was written out (and buffers given
+     *    by caller may be reused); false if there are still open sections
+     */
+    public boolean finishMessage(OutputStream out) throws IOException
+    {
+        final int ix = _openMessages[--_openCount];
+        final int len = (_contentBytes - _messageOffsets[ix])
+                + (_prefixBytes - _messageLengths[ix]);
+        _messageLengths[ix] = len;
+        int prefixLen = ProtobufUtil.lengthLength(len);
+        final int tag = _messageTags[ix];
+        if (tag != -1) {
+            prefixLen += ProtobufUtil.lengthLength(tag);
+        }
+        _prefixBytes += prefixLen;
+        if (_openCount == 0) {
+            _writeAll(out);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Method called to complete all open sections, and write out buffered content.
+     */
+    public void finishAll(OutputStream out) throws IOException
+    {
+        while (_openCount > 0) {
+            finishMessage(out);
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods
+    /**********************************************************
+     */
+
+    protected void _writeAll(OutputStream out) throws IOException
+    {
+        if (_outputBuffer == null) {
+            _outputBuffer = new byte[OUTPUT_BUFFER_LENGTH];
+        }
+        _outputPtr = 0;
+        _nextMessage = 0;
+
+        int contentOffset = 0;
+        int nextPrefixAt = _messageOffsets[0];
+        for (int i = 0, end = _segmentCount; i < end; ++i) {
+            final byte[] buf = _segmentBuffers[i];
+            int ptr = _segmentStarts[i];
+            int left = _segmentLengths[i];
+
+            while (left > 0) {
+                if (contentOffset == nextPrefixAt) {
+                    nextPrefixAt = _writePrefixes(out, contentOffset);
+                }
+                int len = Math.min(left, nextPrefixAt - contentOffset);
+                _writeContent(out, buf, ptr, len);
+                ptr += len;
+                left -= len;
+                contentOffset += len;
+            }
+            _segmentBuffers[i] = null;
+        }
+        // there may also be trailing empty sections
+        if (contentOffset == nextPrefixAt) {
+            _writePrefixes(out, contentOffset);
+        }
+        if (_outputPtr > 0) {
+            out.write(_outputBuffer, 0, _outputPtr);
+        }
+
+        // and then reset for reuse
+        _segmentCount = 0;
+        _contentBytes = 0;
+        _messageCount = 0;
+        _prefixBytes = 0;
+    }
+
+    /**
+     * Helper method for writing out tags and length prefixes of all sections
+     * that start at specified content offset.
+     *
+     * @return Content offset of the next section to write prefix for, if any;
+     *    {@code Integer.MAX_VALUE} if none
+     */
+    private int _writePrefixes(OutputStream out, int contentOffset) throws IOException
+    {
+        final byte[] outBuf = _outputBuffer;
+        int ix = _nextMessage;
+        final int count = _messageCount;
+
+        do {
+            // max 5 bytes for tag, 5 for length
+            if ((_outputPtr + 10) > outBuf.length) {
+                out.write(outBuf, 0, _outputPtr);
+                _outputPtr = 0;
+            }
+            int ptr = _outputPtr;
+            final int tag = _messageTags[ix];
+            if (tag != -1) {
+                ptr = ProtobufUtil.appendLengthLength(tag, outBuf, ptr);
+            }
+            _outputPtr = ProtobufUtil.appendLengthLength(_messageLengths[ix], outBuf, ptr);
+        } while ((++ix < count) && (_messageOffsets[ix] == contentOffset));
+        _nextMessage = ix;
+        return (ix < count) ? _messageOffsets[ix] : Integer.MAX_VALUE;
+    }
+
+    private void _writeContent(OutputStream out, byte[] buf, int offset, int len)
+        throws IOException
+    {
+        final byte[] outBuf = _outputBuffer;
+        if (len > (outBuf.length - _outputPtr)) {
+            if (_outputPtr > 0) {
+                out.write(outBuf, 0, _outputPtr);
+                _outputPtr = 0;
+            }
+            // longer chunks better written directly
+            if (len >= outBuf.length) {
+                out.write(buf, offset, len);
+                return;
+            }
+        }
+        System.arraycopy(buf, offset, outBuf, _outputPtr, len);
+        _outputPtr += len;
+    }
+}
@@ -55,6 +55,14 @@ public class ProtobufField
      * but functionally immutable.
      */
     public ProtobufField next;
+
+    /**
+     * Index of this field within fields of the containing message (which are
+     * ordered by id); assigned when message is initialized.
+     *
+     * @since 3.0
+     */
+    protected int index = -1;
     
     public final boolean isObject;
 
@@ -152,6 +160,10 @@ public class ProtobufField
         messageType = msgType;
     }
 
+    public void assignIndex(int ix) {
+        index = ix;
+    }
+
     public void assignNext(ProtobufField n) {
         if (this.next != null) {
             throw new IllegalStateException("Can not overwrite 'next' after being set");
@@ -163,6 +175,13 @@ public class ProtobufField
         return messageType;
     }
 
+    /**
+     * @since 3.0
+     */
+    public final int getIndex() {
+        return index;
+    }
+
     public final ProtobufField nextOrThisIf(int idToMatch) {
         if ((next != null) && (next.id == idToMatch)) {
             return next;
@@ -3,6 +3,7 @@ package com.fasterxml.jackson.dataformat.protobuf.schema;
 import java.util.*;
 
 import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.sym.FieldNameMatcher;
 
 public class ProtobufMessage
 {
@@ -10,6 +11,14 @@ public class ProtobufMessage
 
     // Let's allow reasonable sized lookup arrays
     private final static int MAX_FIELD_INDEX_SIZE = 200;
+
+    /**
+     * Maximum number of {@link FieldNameMatcher}s for which match indexes
+     * are retained
+     */
+    private final static int MAX_CACHED_MATCHERS = 8;
+
+    private final static MatcherIndexes[] NO_MATCHERS = new MatcherIndexes[0];
     //    private final static int[] NO_INTS = new int[0];
 
     protected final String _name;
@@ -31,10 +40,54 @@ public class ProtobufMessage
      */
     protected ProtobufField[] _fieldsById;
 
+    /**
+     * Hash table of fields by id, used if ids are not in contiguous
+     * enough range for {@link #_fieldsById}: open addressing with linear
+     * probing, with ids in {@link #_hashedIds}.
+     *
+     * @since 3.0
+     */
+    protected ProtobufField[] _hashedFields;
+
+    /**
+     * @since 3.0
+     */
+    protected int[] _hashedIds;
+
+    /**
+     * @since 3.0
+     */
+    protected int _hashShift;
+
     protected ProtobufField _firstField;
 
     protected int _idOffset = -1;
-    
+
+    /**
+     * Match indexes of fields for {@link FieldNameMatcher}s most recently used
+     * with {@link #matchField}, if any. Array is never modified, only replaced.
+     *
+     * @since 3.0
+     */
+    protected volatile MatcherIndexes[] _matcherIndexes = NO_MATCHERS;
+
+    /**
+     * Counter used for marking use of {@link MatcherIndexes}, to find least
+     * recently used one to replace. Updates are not synchronized, since
+     * lost updates only affect choice of entry to replace.
+     *
+     * @since 3.0
+     */
+    protected int _matcherUseCount;
+
+    /**
+     * Number of calls to {@link #matchField} with matchers not cached, since
+     * last time cache entry was replaced.
+     *
+     * @since 3.0
+     */
+    protected int _matcherMisses;
+
     public ProtobufMessage(String name, ProtobufField[] fields)
     {
         _name = name;
@@ -50,6 +103,9 @@ public class ProtobufMessage
     {
         _firstField = first;
         _fieldsByName = FieldLookup.construct(_fields);
+        for (int i = 0, end = _fields.length; i < end; ++i) {
+            _fields[i].assignIndex(i);
+        }
 
         // Let's see, as well, whether we can create a direct lookup index.
         // Note that fields have been sorted by caller already.
@@ -75,10 +131,47 @@ public class ProtobufMessage
                     }
                     _fieldsById[index] = f;
                 }
+            } else {
+                _hashFields();
             }
         }
     }
 
+    /**
+     * Helper method for building hash table of fields by id, for cases where ids
+     * are too sparse for direct indexing. Table is kept at most half full so
+     * that probe sequences are short.
+     */
+    private void _hashFields()
+    {
+        int bits = 2;
+        while ((1 << bits) < (_fields.length << 1)) {
+            ++bits;
+        }
+        final int size = 1 << bits;
+        final int mask = size - 1;
+        _hashShift = 32 - bits;
+        _hashedIds = new int[size];
+        _hashedFields = new ProtobufField[size];
+        for (ProtobufField f : _fields) {
+            int ix = _hashIndex(f.id);
+            while (_hashedFields[ix] != null) {
+                if (_hashedIds[ix] == f.id) {
+                    throw new IllegalStateException("Internal error: collision for message of type '"
+                            +_name+"' for id "+f.id);
+                }
+                ix = (ix + 1) & mask;
+            }
+            _hashedIds[ix] = f.id;
+            _hashedFields[ix] = f;
+        }
+    }
+
+    private final int _hashIndex(int id) {
+        // Fibonacci hashing, to spread out regularly spaced ids
+        return (id * 0x9E3779B9) >>> _hashShift;
+    }
+
     public static ProtobufMessage bogusMessage(String desc) {
         ProtobufMessage bogus = new ProtobufMessage(desc, NO_FIELDS);
         bogus.init(null);
@@ -104,7 +197,6 @@ public class ProtobufMessage
         return _fieldsByName.findField(name);
     }
 
-    // !!! TODO: optimize?
     public ProtobufField field(int id)
     {
         // Can we just index it?
@@ -114,18 +206,77 @@ public class ProtobufMessage
             if ((index < _fieldsById.length) && (index >= 0)) {
                 return _fieldsById[index];
             }
+            return null;
         }
-        // if not, brute force works
-        for (int i = 0, len = _fields.length; i < len; ++i) {
-            ProtobufField f = _fields[i];
-            if (f.id == id) {
-                return f;
+        // if not, use hash lookup, if any fields
+        final ProtobufField[] hashed = _hashedFields;
+        if (hashed != null) {
+            final int mask = hashed.length - 1;
+            int ix = _hashIndex(id);
+            ProtobufField f;
+            while ((f = hashed[ix]) != null) {
+                if (_hashedIds[ix] == id) {
+                    return f;
+                }
+                ix = (ix + 1) & mask;
             }
         }
         // not found? that's ok with us, but caller may mind
         return null;
     }
 
+    /**
+     * Method for finding match index that given {@link FieldNameMatcher} would
+     * return for name of given field (of this message). Indexes are calculated
+     * once per matcher (for a small number of most recently used matchers),
+     * after which lookups are done by field index, without name matching.
+     *<p>
+     * If more matchers are used than can be cached, least recently used one
+     * is replaced, but only after enough misses to amortize cost of calculating
+     * indexes; until then names are matched directly.
+     *
+     * @since 3.0
+     */
+    public int matchField(FieldNameMatcher matcher, ProtobufField field)
+    {
+        final int fieldIndex = field.getIndex();
+        if (fieldIndex < 0) { // should not occur, but just in case
+            return matcher.matchName(field.name);
+        }
+        final MatcherIndexes[] cached = _matcherIndexes;
+        for (MatcherIndexes curr : cached) {
+            if (curr.matcher == matcher) {
+                curr.lastUsed = ++_matcherUseCount;
+                return curr.indexes[fieldIndex];
+            }
+        }
+        final int count = cached.length;
+        final MatcherIndexes[] result;
+        final MatcherIndexes m;
+        if (count < MAX_CACHED_MATCHERS) {
+            result = Arrays.copyOf(cached, count+1);
+            result[count] = m = new MatcherIndexes(matcher, _fields);
+        } else {
+            // Calculating indexes costs as much as matching each of fields by name,
+            // so only replace once as many misses have occurred
+            if (++_matcherMisses < _fields.length) {
+                return matcher.matchName(field.name);
+            }
+            _matcherMisses = 0;
+            int lru = 0;
+            for (int i = 1; i < count; ++i) {
+                if (cached[i].lastUsed < cached[lru].lastUsed) {
+                    lru = i;
+                }
+            }
+            result = Arrays.copyOf(cached, count);
+            result[lru] = m = new MatcherIndexes(matcher, _fields);
+        }
+        _matcherIndexes = result;
+        m.lastUsed = ++_matcherUseCount;
+        return m.indexes[fieldIndex];
+    }
+
     public ProtobufField field(SerializableString name) {
         return _fieldsByName.findField(name.getValue());
     }
@@ -137,4 +288,35 @@ public class ProtobufMessage
     public Iterable<ProtobufField> fields() {
         return Arrays.asList(_fields);
     }
-}
\ No newline at end of file
+
+    /*
+    /**********************************************************
+    /* Helper classes
+    /**********************************************************
+     */
+
+    /**
+     * Container of match indexes of fields for one matcher; only
+     * {@link #lastUsed} changes after construction.
+     */
+    protected final static class MatcherIndexes
+    {
+        public final FieldNameMatcher matcher;
+
+        public final int[] indexes;
+
+        /**
+         * Value of {@link ProtobufMessage#_matcherUseCount} when entry was last used.
+         */
+        public int lastUsed;
+
+        public MatcherIndexes(FieldNameMatcher matcher, ProtobufField[] fields)
+        {
+            this.matcher = matcher;
+            indexes = new int[fields.length];
+            for (int i = 0, end = fields.length; i < end; ++i) {
+                indexes[i] = matcher.matchName(fields[i].name);
+            }
+        }
+    }
+}
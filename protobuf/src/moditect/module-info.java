@@ -2,6 +2,7 @@
 module com.fasterxml.jackson.dataformat.protobuf {
     requires com.fasterxml.jackson.core;
     requires com.fasterxml.jackson.databind;
+    requires com.fasterxml.jackson.dataformat.binary;
 
     exports com.fasterxml.jackson.dataformat.protobuf;
 // No, should not expose shaded
@@ -0,0 +1,164 @@
+package com.fasterxml.jackson.dataformat.protobuf;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+
+/**
+ * Tests for accessing {@code bytes} fields, including "zero-copy" access
+ * enabled with {@link ProtobufParser.Feature#BYTES_AS_BYTE_BUFFER}.
+ */
+public class ReadBinaryTest extends ProtobufTestBase
+{
+    final protected static String PROTOC_BINARY =
+            "message Name {\n"
+            +" optional int32 id = 1;\n"
+            +" required bytes data = 2;\n"
+            +" required string desc = 3;\n"
+            +"}\n"
+    ;
+
+    static class Binary {
+        public int id;
+        public byte[] data;
+        public String desc;
+
+        public Binary() { }
+        public Binary(int id, byte[] data, String desc) {
+            this.id = id;
+            this.data = data;
+            this.desc = desc;
+        }
+    }
+
+    private final ObjectMapper MAPPER = newObjectMapper();
+
+    private final ObjectMapper BUFFER_MAPPER = ProtobufMapper.builder()
+            .enable(ProtobufParser.Feature.BYTES_AS_BYTE_BUFFER)
+            .build();
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testZeroCopyBytes() throws Exception
+    {
+        final ProtobufSchema schema = ProtobufSchemaLoader.std.parse(PROTOC_BINARY);
+        final byte[] data = _bytes(3000);
+        final byte[] doc = MAPPER.writer(schema).writeValueAsBytes(new Binary(7, data, "abc"));
+
+        JsonParser p = BUFFER_MAPPER.reader(schema).createParser(doc);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        Object ob = p.getEmbeddedObject();
+        assertTrue(ob instanceof ByteBuffer);
+        ByteBuffer bb = (ByteBuffer) ob;
+        assertTrue(bb.isReadOnly());
+        assertEquals(data.length, bb.remaining());
+        // should be a view of input, not a copy
+        assertEquals(data[0], bb.get(0));
+        doc[doc.length - 5 - data.length] ^= 1;
+        assertEquals((byte) (data[0] ^ 1), bb.get(0));
+        doc[doc.length - 5 - data.length] ^= 1;
+        // and same instance for repeated calls
+        assertSame(bb, p.getEmbeddedObject());
+        // but can still get a copy as well
+        _verify(data, p.getBinaryValue());
+
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("desc", p.currentName());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("abc", p.getText());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        p.close();
+    }
+
+    public void testBytesAsBufferFromStream() throws Exception
+    {
+        final ProtobufSchema schema = ProtobufSchemaLoader.std.parse(PROTOC_BINARY);
+        final byte[] data = _bytes(20000);
+        final byte[] doc = MAPPER.writer(schema).writeValueAsBytes(new Binary(7, data, "abc"));
+
+        // with streams, input buffers are recycled so must copy
+        JsonParser p = BUFFER_MAPPER.reader(schema).createParser(new ByteArrayInputStream(doc));
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        ByteBuffer bb = (ByteBuffer) p.getEmbeddedObject();
+        byte[] actual = new byte[bb.remaining()];
+        bb.get(actual);
+        _verify(data, actual);
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("abc", p.getText());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        p.close();
+
+        // and databinding still works as before
+        Binary result = BUFFER_MAPPER.readerFor(Binary.class).with(schema).readValue(doc);
+        assertEquals(7, result.id);
+        _verify(data, result.data);
+        assertEquals("abc", result.desc);
+    }
+
+    public void testReadBinaryValue() throws Exception
+    {
+        final ProtobufSchema schema = ProtobufSchemaLoader.std.parse(PROTOC_BINARY);
+        final byte[] data = _bytes(50000);
+        final byte[] doc = MAPPER.writer(schema).writeValueAsBytes(new Binary(1, data, "x"));
+
+        for (int i = 0; i < 2; ++i) {
+            JsonParser p = (i == 0) ? MAPPER.reader(schema).createParser(doc)
+                    : MAPPER.reader(schema).createParser(new ByteArrayInputStream(doc));
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertEquals(data.length, p.readBinaryValue(out));
+            _verify(data, out.toByteArray());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("x", p.getText());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            p.close();
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private static byte[] _bytes(int len) {
+        byte[] b = new byte[len];
+        for (int i = 0; i < len; ++i) {
+            b[i] = (byte) (i * 7);
+        }
+        return b;
+    }
+
+    private void _verify(byte[] dataExp, byte[] dataAct) {
+        assertEquals(dataExp.length, dataAct.length);
+        for (int i = 0, len = dataExp.length; i < len; ++i) {
+            if (dataExp[i] != dataAct[i]) {
+                fail("Binary data differs at #"+i);
+            }
+        }
+    }
+}
@@ -1,12 +1,37 @@
 package com.fasterxml.jackson.dataformat.protobuf;
 
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.testutil.LimitingInputStream;
 
+import java.io.ByteArrayInputStream;
 import java.io.StringReader;
+import java.util.Arrays;
+
+import org.junit.Assert;
 
 public class ReadPackedRepeatedTest extends ProtobufTestBase
 {
+    final protected static String PROTOC_NUMBERS = "message Numbers {\n"
+            +" repeated sint32 ints = 1 [packed=true];\n"
+            +" repeated fixed32 fixedInts = 2 [packed=true];\n"
+            +" repeated int64 longs = 3 [packed=true];\n"
+            +" repeated double doubles = 4 [packed=true];\n"
+            +" repeated float floats = 5 [packed=true];\n"
+            +" repeated int32 sparseInts = 6;\n"
+            +"}\n"
+    ;
+
+    static class Numbers {
+        public int[] ints;
+        public int[] fixedInts;
+        public long[] longs;
+        public double[] doubles;
+        public float[] floats;
+        public int[] sparseInts;
+    }
+
     final ProtobufMapper MAPPER = new ProtobufMapper();
 
     public void testPacked() throws Exception
@@ -25,4 +50,124 @@ public class ReadPackedRepeatedTest extends ProtobufTestBase
         assertEquals(100, t.get("f").get(0).asInt());
         assertEquals(200, t.get("f").get(1).asInt());
     }
+
+    public void testBulkReads() throws Exception
+    {
+        ProtobufSchema schema = MAPPER.schemaLoader().load(new StringReader(PROTOC_NUMBERS));
+        Numbers input = _numbers(3000);
+        byte[] doc = MAPPER.writer(schema).writeValueAsBytes(input);
+
+        ProtobufParser p = (ProtobufParser) MAPPER.createParser(doc);
+        p.setSchema(schema);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("ints", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        Assert.assertArrayEquals(input.ints, p.readIntArray());
+        assertToken(JsonToken.END_ARRAY, p.currentToken());
+
+        // read partially in bulk, rest as tokens
+        assertEquals("fixedInts", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        int[] buffer = new int[10];
+        assertEquals(10, p.readIntArray(buffer, 0, 10));
+        Assert.assertArrayEquals(Arrays.copyOf(input.fixedInts, 10), buffer);
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.currentToken());
+        assertEquals(input.fixedInts[9], p.getIntValue());
+        for (int i = 10; i < input.fixedInts.length; ++i) {
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(input.fixedInts[i], p.getIntValue());
+        }
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+
+        assertEquals("longs", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        Assert.assertArrayEquals(input.longs, p.readLongArray());
+        assertEquals("doubles", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        Assert.assertArrayEquals(input.doubles, p.readDoubleArray(), 0.0);
+        assertEquals("floats", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        double[] floats = p.readDoubleArray();
+        for (int i = 0; i < floats.length; ++i) {
+            assertEquals((double) input.floats[i], floats[i]);
+        }
+        // non-packed arrays work too, just not quite as efficiently
+        assertEquals("sparseInts", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        Assert.assertArrayEquals(input.sparseInts, p.readIntArray());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        p.close();
+
+        // and same via data-binding
+        Numbers result = MAPPER.readerFor(Numbers.class).with(schema).readValue(doc);
+        Assert.assertArrayEquals(input.ints, result.ints);
+        Assert.assertArrayEquals(input.fixedInts, result.fixedInts);
+        Assert.assertArrayEquals(input.longs, result.longs);
+        Assert.assertArrayEquals(input.doubles, result.doubles, 0.0);
+        Assert.assertArrayEquals(input.floats, result.floats, 0.0f);
+        Assert.assertArrayEquals(input.sparseInts, result.sparseInts);
+    }
+
+    // Input read in small chunks, so that packed arrays span many buffer loads
+    public void testBulkReadsWithChunkedInput() throws Exception
+    {
+        ProtobufSchema schema = MAPPER.schemaLoader().load(new StringReader(PROTOC_NUMBERS));
+        Numbers input = _numbers(3000);
+        byte[] doc = MAPPER.writer(schema).writeValueAsBytes(input);
+
+        ProtobufParser p = (ProtobufParser) MAPPER.createParser(
+                new LimitingInputStream(new ByteArrayInputStream(doc), 123));
+        p.setSchema(schema);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("ints", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        Assert.assertArrayEquals(input.ints, p.readIntArray());
+        assertEquals("fixedInts", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        Assert.assertArrayEquals(input.fixedInts, p.readIntArray());
+        assertEquals("longs", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        Assert.assertArrayEquals(input.longs, p.readLongArray());
+        assertEquals("doubles", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        Assert.assertArrayEquals(input.doubles, p.readDoubleArray(), 0.0);
+        assertEquals("floats", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertEquals(input.floats.length, p.readDoubleArray().length);
+        assertEquals("sparseInts", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        Assert.assertArrayEquals(input.sparseInts, p.readIntArray());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+
+        Numbers result = MAPPER.readerFor(Numbers.class).with(schema)
+                .readValue(new LimitingInputStream(new ByteArrayInputStream(doc), 456));
+        Assert.assertArrayEquals(input.ints, result.ints);
+        Assert.assertArrayEquals(input.longs, result.longs);
+        Assert.assertArrayEquals(input.doubles, result.doubles, 0.0);
+        Assert.assertArrayEquals(input.floats, result.floats, 0.0f);
+    }
+
+    private Numbers _numbers(int count)
+    {
+        Numbers n = new Numbers();
+        n.ints = new int[count];
+        n.fixedInts = new int[count];
+        n.longs = new long[count];
+        n.doubles = new double[count];
+        n.floats = new float[count];
+        n.sparseInts = new int[count / 10];
+        for (int i = 0; i < count; ++i) {
+            n.ints[i] = ((i & 1) == 0) ? (i << (i % 20)) : -i;
+            n.fixedInts[i] = i * 7919;
+            n.longs[i] = (i * 0x123456789L) - 1000L;
+            n.doubles[i] = i / 3.0;
+            n.floats[i] = i * 0.5f;
+        }
+        for (int i = 0; i < n.sparseInts.length; ++i) {
+            n.sparseInts[i] = i * 3;
+        }
+        return n;
+    }
 }
@@ -0,0 +1,146 @@
+package com.fasterxml.jackson.dataformat.protobuf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.sym.FieldNameMatcher;
+import com.fasterxml.jackson.core.util.Named;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufField;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufMessage;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+
+/**
+ * Tests for messages with field ids too sparse for direct indexing, as
+ * well as for matching of field names by id.
+ */
+public class ReadSparseIdsTest extends ProtobufTestBase
+{
+    final protected static String PROTOC_SPARSE =
+            "message Sparse {\n"
+            +" optional int32 a = 1;\n"
+            +" optional string b = 300;\n"
+            +" optional int64 c = 4000;\n"
+            +" optional Sparse d = 50000;\n"
+            +" optional bool e = 1000000;\n"
+            +" optional int32 f = 65536;\n"
+            +"}\n"
+    ;
+
+    static class Sparse {
+        public int a;
+        public String b;
+        public long c;
+        public Sparse d;
+        public boolean e;
+        public int f;
+    }
+
+    // Another type with subset of same properties, to use different matchers
+    static class SparseSubset {
+        public String b;
+        public boolean e;
+        public Sparse d;
+    }
+
+    private final ObjectMapper MAPPER = newObjectMapper();
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testLookupById() throws Exception
+    {
+        final ProtobufSchema schema = ProtobufSchemaLoader.std.parse(PROTOC_SPARSE);
+        ProtobufMessage msg = schema.getRootType();
+        for (ProtobufField f : msg.fields()) {
+            assertSame(f, msg.field(f.id));
+        }
+        assertNull(msg.field(2));
+        assertNull(msg.field(299));
+        assertNull(msg.field(1000001));
+    }
+
+    public void testLookupWide() throws Exception
+    {
+        StringBuilder sb = new StringBuilder("message Wide {\n");
+        for (int i = 0; i < 150; ++i) {
+            sb.append(" optional int32 f").append(i).append(" = ").append(i * 17 + 1).append(";\n");
+        }
+        sb.append("}\n");
+        ProtobufMessage msg = ProtobufSchemaLoader.std.parse(sb.toString()).getRootType();
+        assertEquals(150, msg.getFieldCount());
+        for (int i = 0; i < 150; ++i) {
+            ProtobufField f = msg.field(i * 17 + 1);
+            assertNotNull(f);
+            assertEquals("f"+i, f.name);
+            assertNull(msg.field(i * 17 + 2));
+        }
+    }
+
+    public void testSparseRoundtrip() throws Exception
+    {
+        final ProtobufSchema schema = ProtobufSchemaLoader.std.parse(PROTOC_SPARSE);
+        Sparse input = new Sparse();
+        input.a = 3;
+        input.b = "foobar";
+        input.c = -1234567890123L;
+        input.e = true;
+        input.f = 42;
+        input.d = new Sparse();
+        input.d.b = "nested";
+        input.d.f = -1;
+
+        byte[] bytes = MAPPER.writer(schema).writeValueAsBytes(input);
+
+        // read multiple times, alternating between types, to exercise cached matchers
+        final ObjectReader r1 = MAPPER.readerFor(Sparse.class).with(schema);
+        final ObjectReader r2 = MAPPER.readerFor(SparseSubset.class).with(schema)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        for (int i = 0; i < 3; ++i) {
+            Sparse result = r1.readValue(bytes);
+            assertEquals(input.a, result.a);
+            assertEquals(input.b, result.b);
+            assertEquals(input.c, result.c);
+            assertEquals(input.e, result.e);
+            assertEquals(input.f, result.f);
+            assertNotNull(result.d);
+            assertEquals("nested", result.d.b);
+            assertEquals(-1, result.d.f);
+            assertNull(result.d.d);
+
+            SparseSubset result2 = r2.readValue(bytes);
+            assertEquals(input.b, result2.b);
+            assertTrue(result2.e);
+            assertEquals("nested", result2.d.b);
+        }
+    }
+
+    // More matchers than are cached, used in rotation
+    public void testMatchFieldWithManyMatchers() throws Exception
+    {
+        ProtobufMessage msg = ProtobufSchemaLoader.std.parse(PROTOC_SPARSE).getRootType();
+        final String[] names = new String[] { "a", "b", "c", "d", "e", "f", "x" };
+        List<FieldNameMatcher> matchers = new ArrayList<>();
+        for (int i = 0; i < 12; ++i) {
+            List<Named> matches = new ArrayList<>();
+            for (int j = 0; j < 4; ++j) {
+                final String name = names[(i + j * 3) % names.length];
+                matches.add(() -> name);
+            }
+            matchers.add(MAPPER.tokenStreamFactory().constructFieldNameMatcher(matches, false));
+        }
+        for (int round = 0; round < 20; ++round) {
+            for (FieldNameMatcher matcher : matchers) {
+                for (ProtobufField f : msg.fields()) {
+                    assertEquals(matcher.matchName(f.name), msg.matchField(matcher, f));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.fasterxml.jackson.dataformat.protobuf;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Assert;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+
+/**
+ * Tests for reading and writing sequences of length-delimited messages,
+ * enabled with {@link ProtobufParser.Feature#READ_DELIMITED_MESSAGES} and
+ * {@link ProtobufGenerator.Feature#WRITE_DELIMITED_MESSAGES}.
+ */
+public class ReadWriteDelimitedTest extends ProtobufTestBase
+{
+    private final static int ITEM_COUNT = 1000;
+
+    private final ObjectMapper MAPPER = newObjectMapper();
+
+    private final ObjectMapper DELIMITED_MAPPER = ProtobufMapper.builder()
+            .enable(ProtobufParser.Feature.READ_DELIMITED_MESSAGES)
+            .enable(ProtobufGenerator.Feature.WRITE_DELIMITED_MESSAGES)
+            .build();
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testWriteDelimited() throws Exception
+    {
+        final ProtobufSchema schema = ProtobufSchemaLoader.std.parse(PROTOC_BOX);
+        final Box box1 = new Box(1, 2, 300, 4);
+        final Box box2 = new Box(-5, 6, 7, 8);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SequenceWriter w = DELIMITED_MAPPER.writer(schema).writeValues(bytes);
+        w.write(box1);
+        w.write(box2);
+        w.close();
+
+        // should be same as individually written messages, with length prefixes
+        ByteArrayOutputStream exp = new ByteArrayOutputStream();
+        for (Box box : new Box[] { box1, box2 }) {
+            byte[] msg = MAPPER.writer(schema).writeValueAsBytes(box);
+            exp.write(ProtobufUtil.lengthAsBytes(msg.length));
+            exp.write(msg);
+        }
+        Assert.assertArrayEquals(exp.toByteArray(), bytes.toByteArray());
+    }
+
+    public void testReadDelimitedTokens() throws Exception
+    {
+        final ProtobufSchema schema = ProtobufSchemaLoader.std.parse(PROTOC_BOX);
+        byte[] doc = _writeBoxes(schema, 2, DELIMITED_MAPPER);
+
+        JsonParser p = DELIMITED_MAPPER.reader(schema).createParser(doc);
+        for (int i = 0; i < 2; ++i) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertEquals("topLeft", p.currentName());
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(i, p.getIntValue());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertEquals("bottomRight", p.currentName());
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+        }
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testReadDelimitedSequence() throws Exception
+    {
+        final ProtobufSchema schema = ProtobufSchemaLoader.std.parse(PROTOC_BOX);
+        byte[] doc = _writeBoxes(schema, ITEM_COUNT, DELIMITED_MAPPER);
+        _verifyBoxes(DELIMITED_MAPPER.readerFor(Box.class).with(schema).readValues(doc));
+        // and with InputStream, to cross buffer boundaries
+        _verifyBoxes(DELIMITED_MAPPER.readerFor(Box.class).with(schema)
+                .readValues(new ByteArrayInputStream(doc)));
+
+        // plus also with buffering of precomputed lengths
+        ObjectMapper mapper2 = ProtobufMapper.builder()
+                .enable(ProtobufGenerator.Feature.WRITE_DELIMITED_MESSAGES,
+                        ProtobufGenerator.Feature.PRECOMPUTE_MESSAGE_LENGTHS)
+                .build();
+        Assert.assertArrayEquals(doc, _writeBoxes(schema, ITEM_COUNT, mapper2));
+    }
+
+    public void testNestedAndRepeated() throws Exception
+    {
+        final ProtobufSchema schema = ProtobufSchemaLoader.std.parse(PROTOC_MEDIA_ITEM);
+        final MediaItem input = MediaItem.buildItem();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SequenceWriter w = DELIMITED_MAPPER.writer(schema).writeValues(bytes);
+        for (int i = 0; i < ITEM_COUNT; ++i) {
+            w.write(input);
+        }
+        w.close();
+
+        MappingIterator<MediaItem> it = DELIMITED_MAPPER.readerFor(MediaItem.class).with(schema)
+                .readValues(new ByteArrayInputStream(bytes.toByteArray()));
+        int count = 0;
+        while (it.hasNextValue()) {
+            assertEquals(input, it.nextValue());
+            ++count;
+        }
+        it.close();
+        assertEquals(ITEM_COUNT, count);
+    }
+
+    public void testEmptyMessages() throws Exception
+    {
+        final ProtobufSchema schema = ProtobufSchemaLoader.std.parse(PROTOC_OPTIONAL_VALUE);
+        // two empty messages, then one with just 'present' field
+        byte[] doc = new byte[] { 0, 0, 2, 0x08, 0x01 };
+        JsonParser p = DELIMITED_MAPPER.reader(schema).createParser(doc);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("present", p.currentName());
+        assertToken(JsonToken.VALUE_TRUE, p.nextToken());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+
+        // and completely empty input has no messages
+        p = DELIMITED_MAPPER.reader(schema).createParser(new byte[0]);
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testTruncatedMessage() throws Exception
+    {
+        final ProtobufSchema schema = ProtobufSchemaLoader.std.parse(PROTOC_BOX);
+        byte[] doc = _writeBoxes(schema, 3, DELIMITED_MAPPER);
+        doc = java.util.Arrays.copyOf(doc, doc.length - 2);
+        MappingIterator<Box> it = DELIMITED_MAPPER.readerFor(Box.class).with(schema)
+                .readValues(doc);
+        try {
+            while (it.hasNextValue()) {
+                it.nextValue();
+            }
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "end-of-input");
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private byte[] _writeBoxes(ProtobufSchema schema, int count, ObjectMapper mapper)
+        throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SequenceWriter w = mapper.writer(schema).writeValues(bytes);
+        for (int i = 0; i < count; ++i) {
+            w.write(new Box(i, i * 3, -i, 1000 * i));
+        }
+        w.close();
+        return bytes.toByteArray();
+    }
+
+    private void _verifyBoxes(MappingIterator<Box> it) throws Exception
+    {
+        int count = 0;
+        while (it.hasNextValue()) {
+            Box box = it.nextValue();
+            assertEquals(count, box.topLeft.x);
+            assertEquals(count * 3, box.topLeft.y);
+            assertEquals(-count, box.bottomRight.x);
+            assertEquals(1000 * count, box.bottomRight.y);
+            ++count;
+        }
+        it.close();
+        assertEquals(ITEM_COUNT, count);
+    }
+}
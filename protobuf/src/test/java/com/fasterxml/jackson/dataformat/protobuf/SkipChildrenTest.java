@@ -0,0 +1,223 @@
+package com.fasterxml.jackson.dataformat.protobuf;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.fasterxml.jackson.dataformat.protobuf.testutil.LimitingInputStream;
+
+/**
+ * Tests for {@link ProtobufParser#skipChildren()}, which skips nested
+ * messages and packed arrays using their length prefix.
+ */
+public class SkipChildrenTest extends ProtobufTestBase
+{
+    final protected static String PROTOC_DOC = "message Doc {\n"
+            +" optional string id = 1;\n"
+            +" optional Inner inner = 2;\n"
+            +" repeated sint32 packed = 3 [packed=true];\n"
+            +" repeated Inner inners = 4;\n"
+            +" repeated string names = 5;\n"
+            +" optional int32 last = 6;\n"
+            +"}\n"
+            +"message Inner {\n"
+            +" optional string text = 1;\n"
+            +" repeated int64 values = 2 [packed=true];\n"
+            +" optional Inner child = 3;\n"
+            +"}\n"
+    ;
+
+    static class Doc {
+        public String id;
+        public Inner inner;
+        public int[] packed;
+        public Inner[] inners;
+        public String[] names;
+        public Integer last;
+    }
+
+    static class Inner {
+        public String text;
+        public long[] values;
+        public Inner child;
+
+        protected Inner() { }
+        public Inner(int i, Inner child) {
+            text = "text-"+i;
+            values = new long[i * 100];
+            for (int j = 0; j < values.length; ++j) {
+                values[j] = j * 0x12345L;
+            }
+            this.child = child;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class Summary {
+        public String id;
+        public int last;
+    }
+
+    private final ProtobufMapper MAPPER = newObjectMapper();
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testSkipNestedAndArrays() throws Exception
+    {
+        final ProtobufSchema schema = ProtobufSchemaLoader.std.parse(PROTOC_DOC);
+        final byte[] doc = MAPPER.writer(schema).writeValueAsBytes(_doc(42));
+
+        _testSkipNestedAndArrays(schema, MAPPER.reader(schema).createParser(doc));
+        // and with input in small chunks, for skipping over multiple buffer loads
+        _testSkipNestedAndArrays(schema, MAPPER.reader(schema).createParser(
+                new LimitingInputStream(new ByteArrayInputStream(doc), 123)));
+    }
+
+    private void _testSkipNestedAndArrays(ProtobufSchema schema, JsonParser p) throws Exception
+    {
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("id", p.nextFieldName());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("doc", p.getText());
+        assertEquals("inner", p.nextFieldName());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        p.skipChildren();
+        assertToken(JsonToken.END_OBJECT, p.currentToken());
+        assertEquals("packed", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        p.skipChildren();
+        assertToken(JsonToken.END_ARRAY, p.currentToken());
+        assertEquals("inners", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        // skip the first element, then the rest
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        p.skipChildren();
+        assertToken(JsonToken.END_OBJECT, p.currentToken());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("text", p.nextFieldName());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("text-2", p.getText());
+        assertEquals("values", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        p.skipChildren();
+        assertToken(JsonToken.END_ARRAY, p.currentToken());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        p.skipChildren(); // no-op for end markers
+        assertToken(JsonToken.END_OBJECT, p.currentToken());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        p.skipChildren();
+        assertToken(JsonToken.END_OBJECT, p.currentToken());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertEquals("names", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        p.skipChildren();
+        assertToken(JsonToken.END_ARRAY, p.currentToken());
+        assertEquals("last", p.nextFieldName());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(42, p.getIntValue());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    // Unpacked array as the last field of root message
+    public void testSkipTrailingArray() throws Exception
+    {
+        final ProtobufSchema schema = ProtobufSchemaLoader.std.parse(PROTOC_DOC);
+        Doc input = _doc(0);
+        input.last = null;
+        final byte[] doc = MAPPER.writer(schema).writeValueAsBytes(input);
+
+        JsonParser p = MAPPER.reader(schema).createParser(doc);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        JsonToken t;
+        while ((t = p.nextToken()) == JsonToken.FIELD_NAME) {
+            p.nextToken();
+            p.skipChildren();
+        }
+        assertToken(JsonToken.END_OBJECT, t);
+        assertNull(p.nextToken());
+        p.close();
+
+        // as well as the whole root message
+        p = MAPPER.reader(schema).createParser(doc);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        p.skipChildren();
+        assertToken(JsonToken.END_OBJECT, p.currentToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testSkipDelimitedMessages() throws Exception
+    {
+        final ObjectMapper mapper = ProtobufMapper.builder()
+                .enable(ProtobufParser.Feature.READ_DELIMITED_MESSAGES)
+                .enable(ProtobufGenerator.Feature.WRITE_DELIMITED_MESSAGES)
+                .build();
+        final ProtobufSchema schema = ProtobufSchemaLoader.std.parse(PROTOC_BOX);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SequenceWriter w = mapper.writer(schema).writeValues(bytes);
+        for (int i = 0; i < 3; ++i) {
+            w.write(new Box(i, 2, 300, 4));
+        }
+        w.close();
+
+        JsonParser p = mapper.reader(schema).createParser(bytes.toByteArray());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        p.skipChildren();
+        assertToken(JsonToken.END_OBJECT, p.currentToken());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        Box box = p.readValueAs(Box.class);
+        assertEquals(1, box.topLeft.x);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        p.skipChildren();
+        assertToken(JsonToken.END_OBJECT, p.currentToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testSkipUnknownProperties() throws Exception
+    {
+        final ProtobufSchema schema = ProtobufSchemaLoader.std.parse(PROTOC_DOC);
+        final byte[] doc = MAPPER.writer(schema).writeValueAsBytes(_doc(13));
+        Summary result = MAPPER.readerFor(Summary.class).with(schema)
+                .readValue(new LimitingInputStream(new ByteArrayInputStream(doc), 7));
+        assertEquals("doc", result.id);
+        assertEquals(13, result.last);
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private Doc _doc(int last)
+    {
+        Doc doc = new Doc();
+        doc.id = "doc";
+        doc.inner = new Inner(5, new Inner(3, new Inner(1, null)));
+        doc.packed = new int[2000];
+        Arrays.fill(doc.packed, -123456);
+        doc.inners = new Inner[] { new Inner(4, new Inner(2, null)), new Inner(2, null), new Inner(6, null) };
+        doc.names = new String[20];
+        for (int i = 0; i < doc.names.length; ++i) {
+            doc.names[i] = "name-"+i;
+        }
+        if (last != 0) {
+            doc.last = last;
+        }
+        return doc;
+    }
+}
@@ -0,0 +1,174 @@
+package com.fasterxml.jackson.dataformat.protobuf;
+
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Assert;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+
+/**
+ * Tests to verify that output with {@link ProtobufGenerator.Feature#PRECOMPUTE_MESSAGE_LENGTHS}
+ * enabled is identical to that of default buffering.
+ */
+public class WritePrecomputedLengthsTest extends ProtobufTestBase
+{
+    final protected static String PROTOC_TREE =
+            "message Tree {\n"
+            +" required int32 id = 1;\n"
+            +" optional string name = 2;\n"
+            +" repeated sint32 values = 3 [packed=true];\n"
+            +" optional Tree child = 4;\n"
+            +" repeated Tree leaves = 5;\n"
+            +"}\n"
+    ;
+
+    final protected static String PROTOC_POINT_ARRAY_PACKED = "message Points {\n"
+          +" repeated Point points = 1 [packed=true];\n"
+          +"}\n"
+          +PROTOC_POINT;
+
+    static class Tree {
+        public int id;
+        public String name;
+        public int[] values;
+        public Tree child;
+        public Tree[] leaves;
+
+        public Tree() { }
+        public Tree(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    static class PointArray {
+        public Point[] points;
+
+        public PointArray(Point... p) {
+            points = p;
+        }
+    }
+
+    private final ObjectMapper MAPPER = newObjectMapper();
+
+    private final ObjectMapper SIZED_MAPPER = ProtobufMapper.builder()
+            .enable(ProtobufGenerator.Feature.PRECOMPUTE_MESSAGE_LENGTHS)
+            .build();
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testMediaItem() throws Exception
+    {
+        _verifySame(ProtobufSchemaLoader.std.parse(PROTOC_MEDIA_ITEM), MediaItem.buildItem());
+    }
+
+    public void testPackedMessages() throws Exception
+    {
+        _verifySame(ProtobufSchemaLoader.std.parse(PROTOC_POINT_ARRAY_PACKED),
+                new PointArray(new Point(1, 2), new Point(3, 4), new Point(-1, 300000)));
+    }
+
+    public void testEmptyNested() throws Exception
+    {
+        Tree root = new Tree(1, null);
+        root.child = new Tree(0, "");
+        root.values = new int[0];
+        root.leaves = new Tree[] { new Tree(), new Tree() };
+        _verifySame(ProtobufSchemaLoader.std.parse(PROTOC_TREE), root);
+    }
+
+    public void testDeepNesting() throws Exception
+    {
+        _verifySame(ProtobufSchemaLoader.std.parse(PROTOC_TREE), _tree(250, 10));
+    }
+
+    // Test with content that spans multiple buffers
+    public void testLongContent() throws Exception
+    {
+        Tree root = _tree(20, 2000);
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < 150000) {
+            sb.append("abc\u00E9").append(sb.length());
+        }
+        root.child.child.name = sb.toString();
+        _verifySame(ProtobufSchemaLoader.std.parse(PROTOC_TREE), root);
+    }
+
+    public void testRoundtrip() throws Exception
+    {
+        final ProtobufSchema schema = ProtobufSchemaLoader.std.parse(PROTOC_TREE);
+        byte[] bytes = SIZED_MAPPER.writer(schema).writeValueAsBytes(_tree(50, 100));
+        Tree result = MAPPER.readerFor(Tree.class).with(schema).readValue(bytes);
+        for (int i = 0; i < 50; ++i) {
+            assertEquals(i, result.id);
+            assertEquals("Node #"+i, result.name);
+            assertEquals(100, result.values.length);
+            assertEquals(-i, result.values[i % 100]);
+            assertEquals(2, result.leaves.length);
+            assertEquals(i, result.leaves[1].values[0]);
+            result = result.child;
+        }
+        assertNull(result);
+    }
+
+    public void testFlushWhileBuffering() throws Exception
+    {
+        final ProtobufSchema schema = ProtobufSchemaLoader.std.parse(PROTOC_TREE);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonGenerator g = SIZED_MAPPER.writer(schema).createGenerator(bytes);
+        g.writeStartObject();
+        g.writeNumberField("id", 1);
+        g.writeFieldName("child");
+        g.writeStartObject();
+        g.writeNumberField("id", 2);
+        g.flush();
+        // only root-level content can be flushed
+        assertEquals(2, bytes.size());
+        g.writeEndObject();
+        g.writeEndObject();
+        g.close();
+
+        Tree expected = new Tree(1, null);
+        expected.child = new Tree(2, null);
+        Assert.assertArrayEquals(MAPPER.writer(schema).writeValueAsBytes(expected),
+                bytes.toByteArray());
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private void _verifySame(ProtobufSchema schema, Object value) throws Exception
+    {
+        byte[] exp = MAPPER.writer(schema).writeValueAsBytes(value);
+        byte[] act = SIZED_MAPPER.writer(schema).writeValueAsBytes(value);
+        Assert.assertArrayEquals(exp, act);
+    }
+
+    private Tree _tree(int depth, int valueCount)
+    {
+        Tree root = null;
+        for (int i = depth; --i >= 0; ) {
+            Tree t = new Tree(i, "Node #"+i);
+            t.values = new int[valueCount];
+            for (int j = 0; j < valueCount; ++j) {
+                t.values[j] = -j;
+            }
+            Tree leaf = new Tree(-i, "leaf");
+            leaf.values = new int[] { i };
+            t.leaves = new Tree[] { new Tree(), leaf };
+            t.child = root;
+            root = t;
+        }
+        return root;
+    }
+}
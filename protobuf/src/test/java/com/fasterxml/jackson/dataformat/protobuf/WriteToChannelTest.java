@@ -0,0 +1,118 @@
+package com.fasterxml.jackson.dataformat.protobuf;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
+
+import org.junit.Assert;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.binary.io.ChannelOutputStream;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+
+/**
+ * Tests for writing output to channels using {@link ChannelOutputStream}.
+ */
+public class WriteToChannelTest extends ProtobufTestBase
+{
+    /**
+     * Channel that collects everything written, and keeps track of
+     * how many calls were made.
+     */
+    static class CollectingChannel implements GatheringByteChannel
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        int writeCalls, gatheringCalls;
+
+        boolean closed;
+
+        @Override
+        public int write(ByteBuffer src) {
+            ++writeCalls;
+            return _write(src);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) {
+            ++gatheringCalls;
+            long total = 0L;
+            for (int i = offset, end = offset+length; i < end; ++i) {
+                total += _write(srcs[i]);
+            }
+            return total;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs) {
+            return write(srcs, 0, srcs.length);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return !closed;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        private int _write(ByteBuffer src) {
+            int count = src.remaining();
+            while (src.hasRemaining()) {
+                bytes.write(src.get());
+            }
+            return count;
+        }
+    }
+
+    private final ObjectMapper MAPPER = newObjectMapper();
+
+    public void testNestedMessages() throws Exception
+    {
+        ProtobufSchema schema = ProtobufSchemaLoader.std.parse(PROTOC_MEDIA_ITEM);
+        ObjectWriter w = MAPPER.writer(schema);
+        final MediaItem input = MediaItem.buildItem();
+        byte[] exp = w.writeValueAsBytes(input);
+
+        CollectingChannel ch = new CollectingChannel();
+        w.writeValue(new ChannelOutputStream(ch), input);
+        Assert.assertArrayEquals(exp, ch.bytes.toByteArray());
+        assertTrue(ch.closed);
+        // buffered nested messages should be written with gathering writes
+        assertTrue(ch.gatheringCalls > 0);
+        assertEquals(0, ch.writeCalls);
+    }
+
+    public void testNonGatheringChannel() throws Exception
+    {
+        ProtobufSchema schema = ProtobufSchemaLoader.std.parse(PROTOC_MEDIA_ITEM);
+        ObjectWriter w = MAPPER.writer(schema);
+        final MediaItem input = MediaItem.buildItem();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        w.writeValue(new ChannelOutputStream(Channels.newChannel(bytes)), input);
+        Assert.assertArrayEquals(w.writeValueAsBytes(input), bytes.toByteArray());
+    }
+
+    public void testBulkWrites() throws IOException
+    {
+        CollectingChannel ch = new CollectingChannel();
+        ChannelOutputStream out = new ChannelOutputStream(ch);
+        out.write(new byte[] { 1, 2, 3 }, 1, 2);
+        out.write(new ByteBuffer[] {
+                ByteBuffer.wrap(new byte[] { 4 }),
+                ByteBuffer.wrap(new byte[0]),
+                ByteBuffer.wrap(new byte[] { 5, 6 })
+        }, 0, 3);
+        out.close();
+        Assert.assertArrayEquals(new byte[] { 2, 3, 4, 5, 6 }, ch.bytes.toByteArray());
+        assertEquals(1, ch.writeCalls);
+        assertEquals(1, ch.gatheringCalls);
+        assertTrue(ch.closed);
+    }
+}
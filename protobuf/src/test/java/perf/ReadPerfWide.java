@@ -0,0 +1,130 @@
+package perf;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+
+/**
+ * Micro-benchmark for reading messages with large number of fields, with ids
+ * that are either dense (direct indexing) or sparse (hash lookup).
+ */
+public final class ReadPerfWide
+{
+    private final static int FIELD_COUNT = 120;
+
+    private final int REPS;
+
+    private final ProtobufMapper mapper = new ProtobufMapper();
+
+    private ReadPerfWide() {
+        // Let's try to guestimate suitable size
+        REPS = 20000;
+    }
+
+    public void test()
+        throws Exception
+    {
+        int sum = 0;
+
+        final ProtobufSchema denseSchema = ProtobufSchemaLoader.std.parse(_schema(1));
+        final ProtobufSchema sparseSchema = ProtobufSchemaLoader.std.parse(_schema(997));
+        final Map<String,Object> value = new LinkedHashMap<>();
+        for (int i = 0; i < FIELD_COUNT; ++i) {
+            value.put("f"+i, i * 37);
+        }
+        final byte[] dense = mapper.writer(denseSchema).writeValueAsBytes(value);
+        final byte[] sparse = mapper.writer(sparseSchema).writeValueAsBytes(value);
+        final ObjectReader denseReader = mapper.readerFor(Map.class).with(denseSchema);
+        final ObjectReader sparseReader = mapper.readerFor(Map.class).with(sparseSchema);
+
+        System.out.println("Warmed up: data size is "+dense.length+"/"+sparse.length+" bytes; "
+                +REPS+" reps -> "+((REPS * sparse.length) >> 10)+" kB per iteration");
+        System.out.println();
+
+        int round = 0;
+        while (true) {
+            long curr = System.currentTimeMillis();
+            String msg;
+            round = (++round % 4);
+
+            boolean lf = (round == 0);
+
+            switch (round) {
+            case 0:
+                msg = "Read tokens, dense ids";
+                sum += testTokens(denseReader, dense, REPS);
+                break;
+            case 1:
+                msg = "Read tokens, sparse ids";
+                sum += testTokens(sparseReader, sparse, REPS);
+                break;
+            case 2:
+                msg = "Deserialize, dense ids";
+                sum += testDeser(denseReader, dense, REPS);
+                break;
+            case 3:
+                msg = "Deserialize, sparse ids";
+                sum += testDeser(sparseReader, sparse, REPS);
+                break;
+
+            default:
+                throw new Error("Internal error");
+            }
+
+            curr = System.currentTimeMillis() - curr;
+            if (lf) {
+                System.out.println();
+            }
+            System.out.println("Test '"+msg+"' -> "+curr+" msecs ("
+                               +(sum & 0xFF)+").");
+        }
+    }
+
+    protected int testTokens(ObjectReader reader, byte[] input, int reps)
+        throws Exception
+    {
+        int count = 0;
+        for (int i = 0; i < reps; ++i) {
+            try (JsonParser p = reader.createParser(input)) {
+                JsonToken t;
+                while ((t = p.nextToken()) != null) {
+                    if (t == JsonToken.FIELD_NAME) {
+                        ++count;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    protected int testDeser(ObjectReader reader, byte[] input, int reps)
+        throws Exception
+    {
+        Object value = null;
+        for (int i = 0; i < reps; ++i) {
+            value = reader.readValue(input);
+        }
+        return value.hashCode(); // just to get some non-optimizable number
+    }
+
+    private static String _schema(int idStep)
+    {
+        StringBuilder sb = new StringBuilder("message Wide {\n");
+        for (int i = 0; i < FIELD_COUNT; ++i) {
+            sb.append(" optional int32 f").append(i).append(" = ").append(1 + i * idStep).append(";\n");
+        }
+        return sb.append("}\n").toString();
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        new ReadPerfWide().test();
+    }
+}
@@ -0,0 +1,140 @@
+package perf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufGenerator;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+
+/**
+ * Micro-benchmark for comparing performance of default buffering of nested
+ * messages with one enabled by {@link ProtobufGenerator.Feature#PRECOMPUTE_MESSAGE_LENGTHS}.
+ */
+public final class WritePerfNested
+{
+    protected final static String PROTOC_TREE =
+            "message Tree {\n"
+            +" required int32 id = 1;\n"
+            +" optional string name = 2;\n"
+            +" repeated sint32 values = 3 [packed=true];\n"
+            +" repeated Tree children = 4;\n"
+            +"}\n"
+    ;
+
+    public static class Tree
+    {
+        public int id;
+        public String name;
+        public int[] values;
+        public Tree[] children;
+
+        public Tree() { }
+        public Tree(int id) {
+            this.id = id;
+            name = "Tree node #"+id;
+            values = new int[] { id, -id, id * 3, 0 };
+        }
+    }
+
+    private final int REPS;
+
+    private final ProtobufSchema schema;
+
+    private WritePerfNested() throws IOException {
+        // Let's try to guestimate suitable size
+        REPS = 2000;
+        schema = ProtobufSchemaLoader.std.parse(PROTOC_TREE);
+    }
+
+    public void test()
+        throws Exception
+    {
+        int sum = 0;
+
+        final Tree tree = buildTree(0, 7, 3);
+        final ObjectWriter defaultWriter = new ProtobufMapper().writer(schema);
+        final ObjectWriter sizedWriter = ProtobufMapper.builder()
+                .enable(ProtobufGenerator.Feature.PRECOMPUTE_MESSAGE_LENGTHS)
+                .build()
+                .writer(schema);
+        final int size = defaultWriter.writeValueAsBytes(tree).length;
+
+        System.out.println("Warmed up: data size is "+size+" bytes; "+REPS+" reps -> "
+                +((REPS * (long) size) >> 10)+" kB per iteration");
+        System.out.println();
+
+        int round = 0;
+        while (true) {
+            long curr = System.currentTimeMillis();
+            String msg;
+            round = (++round % 2);
+
+            boolean lf = (round == 0);
+
+            switch (round) {
+            case 0:
+                msg = "Serialize, ByteAccumulator";
+                sum += testSer(defaultWriter, tree, REPS);
+                break;
+            case 1:
+                msg = "Serialize, precomputed lengths";
+                sum += testSer(sizedWriter, tree, REPS);
+                break;
+
+            default:
+                throw new Error("Internal error");
+            }
+
+            curr = System.currentTimeMillis() - curr;
+            if (lf) {
+                System.out.println();
+            }
+            System.out.println("Test '"+msg+"' -> "+curr+" msecs ("
+                               +(sum & 0xFF)+").");
+        }
+    }
+
+    protected int testSer(ObjectWriter writer, Tree value, int reps)
+        throws Exception
+    {
+        final NopOutputStream out = new NopOutputStream();
+        for (int i = 0; i < reps; ++i) {
+            writer.writeValue(out, value);
+        }
+        return out.count;
+    }
+
+    private static Tree buildTree(int id, int depth, int fanOut)
+    {
+        Tree t = new Tree(id);
+        if (depth > 0) {
+            t.children = new Tree[fanOut];
+            for (int i = 0; i < fanOut; ++i) {
+                t.children[i] = buildTree(id * fanOut + i + 1, depth - 1, fanOut);
+            }
+        }
+        return t;
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        new WritePerfNested().test();
+    }
+
+    final static class NopOutputStream extends OutputStream
+    {
+        protected int count;
+
+        @Override
+        public void write(int b) throws IOException { ++count; }
+
+        @Override
+        public void write(byte[] b, int offset, int len) throws IOException {
+            count += len;
+        }
+    }
+}
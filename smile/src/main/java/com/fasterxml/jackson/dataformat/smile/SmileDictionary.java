@@ -0,0 +1,214 @@
+package com.fasterxml.jackson.dataformat.smile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Container for "pre-seeded" shared field names and String values: when
+ * configured for {@link SmileFactory} (see {@link SmileFactoryBuilder#dictionary}),
+ * both generators and parsers start with these entries already in their
+ * back-reference tables, so that even the first occurrence of a name or
+ * value can be written as a back reference.
+ * This is mostly useful for small documents (like RPC messages), for which
+ * regular sharing gives little benefit.
+ *<p>
+ * Note that there is nothing in the encoding itself to indicate that a
+ * dictionary was used: content can only be decoded by a parser configured with
+ * the very same dictionary (same entries in same order).
+ *<p>
+ * Entries occupy the first indexes of back-reference windows (1024 entries
+ * for both names and values, as defined by the format), and are retained when
+ * windows are reset after filling up; to leave room for regular sharing,
+ * at most {@link #MAX_ENTRIES} names and values may be pre-seeded.
+ * Instances are immutable and may be shared between factories.
+ *
+ * @since 3.0
+ */
+public final class SmileDictionary
+    implements java.io.Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Maximum number of names, and of String values, dictionary may contain.
+     */
+    public final static int MAX_ENTRIES = 512;
+
+    private final static String[] NO_STRINGS = new String[0];
+
+    private final String[] _names;
+
+    private final String[] _values;
+
+    // Open-addressing hash areas for lookups by generator; contain indexes
+    // into entry arrays, offset by one (so that 0 means "empty")
+    private final int[] _nameHash;
+
+    private final int[] _valueHash;
+
+    private SmileDictionary(String[] names, String[] values)
+    {
+        _names = names;
+        _values = values;
+        _nameHash = _buildHash(names);
+        _valueHash = _buildHash(values);
+    }
+
+    /**
+     * Factory method for constructing dictionary with given shared names
+     * and shared String values (either may be empty).
+     *
+     * @param names Field names to pre-seed; must be non-empty, unique Strings
+     * @param values String values to pre-seed; must be unique Strings with UTF-8
+     *    encoded length of 1 to {@link SmileConstants#MAX_SHORT_VALUE_STRING_BYTES} bytes
+     *    (longer values are never shared)
+     */
+    public static SmileDictionary construct(Collection<String> names, Collection<String> values)
+    {
+        if (names == null) {
+            names = Collections.emptyList();
+        }
+        if (values == null) {
+            values = Collections.emptyList();
+        }
+        String[] nameArray = _verify("name", names.toArray(NO_STRINGS));
+        String[] valueArray = _verify("String value", values.toArray(NO_STRINGS));
+        for (String value : valueArray) {
+            int len = value.getBytes(StandardCharsets.UTF_8).length;
+            if (len > SmileConstants.MAX_SHORT_VALUE_STRING_BYTES) {
+                throw new IllegalArgumentException(String.format(
+"String value \"%s\" too long to be shared (%d bytes as UTF-8; maximum %d)",
+                        value, len, SmileConstants.MAX_SHORT_VALUE_STRING_BYTES));
+            }
+        }
+        return new SmileDictionary(nameArray, valueArray);
+    }
+
+    /*
+    /**********************************************************************
+    /* Accessors
+    /**********************************************************************
+     */
+
+    public int nameCount() { return _names.length; }
+
+    public int valueCount() { return _values.length; }
+
+    public String name(int index) { return _names[index]; }
+
+    public String value(int index) { return _values[index]; }
+
+    /**
+     * Method that parsers use for copying names into their back-reference
+     * table, starting at index 0.
+     */
+    public void copyNames(String[] dst) {
+        System.arraycopy(_names, 0, dst, 0, _names.length);
+    }
+
+    /**
+     * Method that parsers use for copying String values into their back-reference
+     * table, starting at index 0.
+     */
+    public void copyValues(String[] dst) {
+        System.arraycopy(_values, 0, dst, 0, _values.length);
+    }
+
+    /**
+     * Method that generators use for finding back-reference index of given
+     * field name, if any.
+     *
+     * @return Index of name, if included and may be back-referenced; -1 if not
+     */
+    public int findName(String name) {
+        return _find(_nameHash, _names, name);
+    }
+
+    /**
+     * Method that generators use for finding back-reference index of given
+     * String value, if any.
+     *
+     * @return Index of value, if included and may be back-referenced; -1 if not
+     */
+    public int findValue(String value) {
+        return _find(_valueHash, _values, value);
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    private static int _find(int[] hashArea, String[] entries, String key)
+    {
+        if (hashArea.length == 0) {
+            return -1;
+        }
+        final int mask = hashArea.length - 1;
+        int ix = key.hashCode() & mask;
+        while (true) {
+            int ref = hashArea[ix];
+            if (ref == 0) {
+                return -1;
+            }
+            String entry = entries[ref - 1];
+            if ((entry == key) || entry.equals(key)) {
+                return ref - 1;
+            }
+            ix = (ix + 1) & mask;
+        }
+    }
+
+    private static int[] _buildHash(String[] entries)
+    {
+        if (entries.length == 0) {
+            return new int[0];
+        }
+        // keep fill rate at or below 50%
+        int size = 16;
+        while (size < (entries.length << 1)) {
+            size += size;
+        }
+        final int mask = size - 1;
+        int[] hashArea = new int[size];
+        for (int i = 0; i < entries.length; ++i) {
+            // Back references with 0xFE or 0xFF as the last byte are not allowed
+            // (see 'SmileGenerator._validBackRef()'), so generator can not refer
+            // to such entries. They are still included (to keep indexes same as
+            // parser has), but can not be found
+            if ((i & 0xFF) >= 0xFE) {
+                continue;
+            }
+            int ix = entries[i].hashCode() & mask;
+            while (hashArea[ix] != 0) {
+                ix = (ix + 1) & mask;
+            }
+            hashArea[ix] = i + 1;
+        }
+        return hashArea;
+    }
+
+    private static String[] _verify(String desc, String[] entries)
+    {
+        if (entries.length > MAX_ENTRIES) {
+            throw new IllegalArgumentException(String.format(
+                    "Too many shared %ss (%d): maximum %d allowed", desc, entries.length, MAX_ENTRIES));
+        }
+        for (int i = 0; i < entries.length; ++i) {
+            String str = entries[i];
+            if (str == null || str.isEmpty()) {
+                throw new IllegalArgumentException(String.format(
+                        "Invalid shared %s #%d: must be non-empty String", desc, i));
+            }
+            for (int j = 0; j < i; ++j) {
+                if (str.equals(entries[j])) {
+                    throw new IllegalArgumentException(String.format(
+                            "Duplicate shared %s \"%s\" (#%d, #%d)", desc, str, j, i));
+                }
+            }
+        }
+        return entries;
+    }
+}
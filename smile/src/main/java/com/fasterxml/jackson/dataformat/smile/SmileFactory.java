@@ -1,6 +1,8 @@
 package com.fasterxml.jackson.dataformat.smile;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Locale;
 
@@ -12,7 +14,11 @@ import com.fasterxml.jackson.core.sym.ByteQuadsCanonicalizer;
 import com.fasterxml.jackson.core.sym.FieldNameMatcher;
 import com.fasterxml.jackson.core.util.Named;
 
+import com.fasterxml.jackson.dataformat.binary.io.ByteBufferOutputStream;
+import com.fasterxml.jackson.dataformat.binary.io.MappedFileInputStream;
+import com.fasterxml.jackson.dataformat.binary.util.RecyclerPool;
 import com.fasterxml.jackson.dataformat.smile.async.NonBlockingByteArrayParser;
+import com.fasterxml.jackson.dataformat.smile.async.NonBlockingByteBufferParser;
 
 /**
  * Factory used for constructing {@link SmileParser} and {@link SmileGenerator}
@@ -72,6 +78,42 @@ public class SmileFactory
      */
     protected final transient ByteQuadsCanonicalizer _byteSymbolCanonicalizer = ByteQuadsCanonicalizer.createRoot();
 
+    /*
+    /**********************************************************************
+    /* Configuration
+    /**********************************************************************
+     */
+
+    /**
+     * Pre-seeded shared names and String values to use, if any.
+     *
+     * @since 3.0
+     */
+    protected final SmileDictionary _dictionary;
+
+    /**
+     * Provider of pools used for recycling buffers, if other than the default.
+     *
+     * @since 3.0
+     */
+    protected final RecyclerPool.Provider _recyclerPoolProvider;
+
+    /**
+     * Pool for recycling generator buffers: either constructed using
+     * {@link #_recyclerPoolProvider}, or the default one.
+     *
+     * @since 3.0
+     */
+    protected final transient RecyclerPool<SmileBufferRecycler<SmileGenerator.SharedStringNode>> _generatorRecyclerPool;
+
+    /**
+     * Pool for recycling parser buffers: either constructed using
+     * {@link #_recyclerPoolProvider}, or the default one.
+     *
+     * @since 3.0
+     */
+    protected final transient RecyclerPool<SmileBufferRecycler<String>> _parserRecyclerPool;
+
     /*
     /**********************************************************************
     /* Factory construction, configuration
@@ -90,11 +132,20 @@ public class SmileFactory
      */
     public SmileFactory() {
         super(DEFAULT_SMILE_PARSER_FEATURE_FLAGS, DEFAULT_SMILE_GENERATOR_FEATURE_FLAGS);
+        _dictionary = null;
+        _recyclerPoolProvider = null;
+        _generatorRecyclerPool = SmileGenerator.DEFAULT_RECYCLER_POOL;
+        _parserRecyclerPool = SmileParserBase.DEFAULT_RECYCLER_POOL;
     }
 
     public SmileFactory(SmileFactory src)
     {
         super(src);
+        _dictionary = src._dictionary;
+        _recyclerPoolProvider = src._recyclerPoolProvider;
+        // pools need to be (re)created, for deserialized instances
+        _generatorRecyclerPool = _generatorPool(_recyclerPoolProvider);
+        _parserRecyclerPool = _parserPool(_recyclerPoolProvider);
     }
 
     /**
@@ -104,6 +155,22 @@ public class SmileFactory
      */
     protected SmileFactory(SmileFactoryBuilder b) {
         super(b);
+        _dictionary = b.dictionary();
+        _recyclerPoolProvider = b.recyclerPoolProvider();
+        _generatorRecyclerPool = _generatorPool(_recyclerPoolProvider);
+        _parserRecyclerPool = _parserPool(_recyclerPoolProvider);
+    }
+
+    private static RecyclerPool<SmileBufferRecycler<SmileGenerator.SharedStringNode>> _generatorPool(
+            RecyclerPool.Provider provider) {
+        return (provider == null) ? SmileGenerator.DEFAULT_RECYCLER_POOL
+                : provider.createPool(SmileBufferRecycler::new);
+    }
+
+    private static RecyclerPool<SmileBufferRecycler<String>> _parserPool(
+            RecyclerPool.Provider provider) {
+        return (provider == null) ? SmileParserBase.DEFAULT_RECYCLER_POOL
+                : provider.createPool(SmileBufferRecycler::new);
     }
 
     @Override
@@ -174,6 +241,25 @@ public class SmileFactory
         return f.enabledIn(_formatWriteFeatures);
     }
 
+    /**
+     * Accessor for pre-seeded shared names and String values, if any.
+     *
+     * @since 3.0
+     */
+    public SmileDictionary getDictionary() {
+        return _dictionary;
+    }
+
+    /**
+     * Accessor for provider of pools used for recycling buffers, if other
+     * than the default.
+     *
+     * @since 3.0
+     */
+    public RecyclerPool.Provider getRecyclerPoolProvider() {
+        return _recyclerPoolProvider;
+    }
+
     /*
     /**********************************************************************
     /* Format support
@@ -211,10 +297,94 @@ public class SmileFactory
             throws IOException
     {
         ByteQuadsCanonicalizer can = _byteSymbolCanonicalizer.makeChild(_factoryFeatures);
-        return new NonBlockingByteArrayParser(readCtxt, _createContext(null, false),
+        NonBlockingByteArrayParser p = new NonBlockingByteArrayParser(readCtxt, _createContext(null, false),
                 readCtxt.getStreamReadFeatures(_streamReadFeatures),
                 readCtxt.getFormatReadFeatures(_formatReadFeatures),
                 can);
+        p._setRecyclerPool(_parserRecyclerPool);
+        if (_dictionary != null) {
+            p._setDictionary(_dictionary);
+        }
+        return p;
+    }
+
+    /**
+     * Factory method for constructing non-blocking parser that may be fed
+     * {@link java.nio.ByteBuffer}s (including direct ones) as well as
+     * {@code byte[]} chunks.
+     */
+    public NonBlockingByteBufferParser createNonBlockingByteBufferParser(ObjectReadContext readCtxt)
+            throws IOException
+    {
+        ByteQuadsCanonicalizer can = _byteSymbolCanonicalizer.makeChild(_factoryFeatures);
+        NonBlockingByteBufferParser p = new NonBlockingByteBufferParser(readCtxt, _createContext(null, false),
+                readCtxt.getStreamReadFeatures(_streamReadFeatures),
+                readCtxt.getFormatReadFeatures(_formatReadFeatures),
+                can);
+        p._setRecyclerPool(_parserRecyclerPool);
+        if (_dictionary != null) {
+            p._setDictionary(_dictionary);
+        }
+        return p;
+    }
+
+    /*
+    /**********************************************************************
+    /* Extended API: ByteBuffer output
+    /**********************************************************************
+     */
+
+    /**
+     * Factory method for constructing generator that writes encoded content
+     * into given {@link ByteBuffer} (heap or direct), starting at its current
+     * position; if buffer fills up, {@link java.nio.BufferOverflowException}
+     * is thrown. Content is only guaranteed to be in buffer after generator
+     * has been flushed or closed.
+     *
+     * @since 3.0
+     */
+    public SmileGenerator createGenerator(ObjectWriteContext writeCtxt, ByteBuffer target)
+        throws IOException
+    {
+        return createGenerator(writeCtxt, new ByteBufferOutputStream(target));
+    }
+
+    /**
+     * Factory method for constructing generator that writes encoded content
+     * using given {@link ByteBufferOutputStream}, to allow handling of overflow
+     * by draining buffer, or by using a chain of (pooled) buffers.
+     *
+     * @since 3.0
+     */
+    public SmileGenerator createGenerator(ObjectWriteContext writeCtxt, ByteBufferOutputStream out)
+        throws IOException
+    {
+        return (SmileGenerator) _createGenerator(writeCtxt, _createContext(out, false), out);
+    }
+
+    /*
+    /**********************************************************************
+    /* Extended API: memory-mapped input
+    /**********************************************************************
+     */
+
+    /**
+     * Factory method for constructing parser that reads contents of given file
+     * by memory-mapping it (see {@link MappedFileInputStream}), instead of
+     * reading it using {@link FileInputStream}: this avoids system calls for
+     * reads, which is beneficial for (large) local files.
+     *<p>
+     * Note that parser does not decode content directly from mapped memory:
+     * content is still copied into parser's input buffer, once per buffer refill.
+     *
+     * @since 3.0
+     */
+    public SmileParser createParser(ObjectReadContext readCtxt, Path path) throws IOException
+    {
+        // true, since we create InputStream from Path
+        IOContext ioCtxt = _createContext(path, true);
+        InputStream in = new MappedFileInputStream(path);
+        return (SmileParser) _createParser(readCtxt, ioCtxt, _decorate(ioCtxt, in));
     }
 
     /*
@@ -234,7 +404,7 @@ public class SmileFactory
             .constructParser(readCtxt, _factoryFeatures,
                     readCtxt.getStreamReadFeatures(_streamReadFeatures),
                     readCtxt.getFormatReadFeatures(_formatReadFeatures),
-                    _byteSymbolCanonicalizer);
+                    _byteSymbolCanonicalizer, _dictionary, _parserRecyclerPool);
     }
 
     @Override
@@ -245,7 +415,7 @@ public class SmileFactory
             .constructParser(readCtxt, _factoryFeatures,
                 readCtxt.getStreamReadFeatures(_streamReadFeatures),
                 readCtxt.getFormatReadFeatures(_formatReadFeatures),
-                _byteSymbolCanonicalizer);
+                _byteSymbolCanonicalizer, _dictionary, _parserRecyclerPool);
     }
 
     @Override
@@ -273,12 +443,18 @@ public class SmileFactory
          */
         SmileGenerator gen = new SmileGenerator(writeCtxt, ioCtxt,
                 writeCtxt.getStreamWriteFeatures(_streamWriteFeatures),
-                smileFeatures,
+                smileFeatures, _generatorRecyclerPool,
                 out);
+        if (_dictionary != null) {
+            gen._setDictionary(_dictionary);
+        }
         if (SmileGenerator.Feature.WRITE_HEADER.enabledIn(smileFeatures)) {
             gen.writeHeader();
         } else {
-            if (SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES.enabledIn(smileFeatures)) {
+            // (unless dictionary has shared values: parser with the same dictionary
+            // will then expect shared values even without header)
+            if (SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES.enabledIn(smileFeatures)
+                    && ((_dictionary == null) || (_dictionary.valueCount() == 0))) {
                 throw new JsonGenerationException(
                         "Inconsistent settings: WRITE_HEADER disabled, but CHECK_SHARED_STRING_VALUES enabled; can not construct generator"
                         +" due to possible data loss (either enable WRITE_HEADER, or disable CHECK_SHARED_STRING_VALUES to resolve)",
@@ -1,6 +1,8 @@
 package com.fasterxml.jackson.dataformat.smile;
 
 import com.fasterxml.jackson.core.base.DecorableTSFactory.DecorableTSFBuilder;
+import com.fasterxml.jackson.dataformat.binary.util.RecyclerPool;
+import com.fasterxml.jackson.dataformat.binary.util.RecyclerPools;
 
 /**
  * {@link com.fasterxml.jackson.core.TokenStreamFactory.TSFBuilder}
@@ -11,6 +13,23 @@ import com.fasterxml.jackson.core.base.DecorableTSFactory.DecorableTSFBuilder;
  */
 public class SmileFactoryBuilder extends DecorableTSFBuilder<SmileFactory, SmileFactoryBuilder>
 {
+    /*
+    /**********************************************************
+    /* Configuration
+    /**********************************************************
+     */
+
+    /**
+     * Pre-seeded shared names and String values, if any.
+     */
+    protected SmileDictionary _dictionary;
+
+    /**
+     * Provider of pools for recycling parser and generator buffers, if
+     * other than the default.
+     */
+    protected RecyclerPool.Provider _recyclerPoolProvider;
+
     /*
     /**********************************************************
     /* Life cycle
@@ -24,6 +43,47 @@ public class SmileFactoryBuilder extends DecorableTSFBuilder<SmileFactory, Smile
 
     public SmileFactoryBuilder(SmileFactory base) {
         super(base);
+        _dictionary = base._dictionary;
+        _recyclerPoolProvider = base._recyclerPoolProvider;
+    }
+
+    /*
+    /**********************************************************
+    /* Accessors
+    /**********************************************************
+     */
+
+    public SmileDictionary dictionary() { return _dictionary; }
+
+    public RecyclerPool.Provider recyclerPoolProvider() { return _recyclerPoolProvider; }
+
+    /*
+    /**********************************************************
+    /* Mutators
+    /**********************************************************
+     */
+
+    /**
+     * Method for specifying pre-seeded shared names and String values to use for
+     * both generating and parsing content: content written with a dictionary
+     * can only be read by parsers configured with the same dictionary.
+     * Default is {@code null}, meaning that back-reference tables start empty.
+     */
+    public SmileFactoryBuilder dictionary(SmileDictionary dict) {
+        _dictionary = dict;
+        return _this();
+    }
+
+    /**
+     * Method for specifying provider of pools used for recycling Smile-specific
+     * parser and generator buffers, like {@link RecyclerPools#shared()} for
+     * use with virtual threads.
+     * Default is {@code null}, meaning that {@link ThreadLocal}-based
+     * recyclers (shared by all factories) are used.
+     */
+    public SmileFactoryBuilder recyclerPool(RecyclerPool.Provider provider) {
+        _recyclerPoolProvider = provider;
+        return _this();
     }
 
     // // // Parser features
@@ -92,7 +152,6 @@ public class SmileFactoryBuilder extends DecorableTSFBuilder<SmileFactory, Smile
 
     @Override
     public SmileFactory build() {
-        // 28-Dec-2017, tatu: No special settings beyond base class ones, so:
         return new SmileFactory(this);
     }
 }
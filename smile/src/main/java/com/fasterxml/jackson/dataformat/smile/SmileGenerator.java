@@ -1,9 +1,9 @@
 package com.fasterxml.jackson.dataformat.smile;
 
 import java.io.*;
-import java.lang.ref.SoftReference;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 import com.fasterxml.jackson.core.*;
@@ -11,6 +11,8 @@ import com.fasterxml.jackson.core.io.*;
 import com.fasterxml.jackson.core.json.DupDetector;
 import com.fasterxml.jackson.core.util.SimpleTokenWriteContext;
 import com.fasterxml.jackson.core.base.GeneratorBase;
+import com.fasterxml.jackson.dataformat.binary.util.RecyclerPool;
+import com.fasterxml.jackson.dataformat.binary.util.RecyclerPools;
 
 import static com.fasterxml.jackson.dataformat.smile.SmileConstants.*;
 
@@ -174,10 +176,12 @@ public class SmileGenerator
     protected int _formatFeatures;
 
     /**
-     * Helper object used for low-level recycling of Smile-generator
+     * Pool of helper objects used for low-level recycling of Smile-generator
      * specific buffers.
+     *
+     * @since 3.0
      */
-    final protected SmileBufferRecycler<SharedStringNode> _smileBufferRecycler;
+    final protected RecyclerPool<SmileBufferRecycler<SharedStringNode>> _recyclerPool;
     
     /*
     /**********************************************************************
@@ -251,6 +255,30 @@ public class SmileGenerator
      */
     protected int _seenStringValueCount;
 
+    /**
+     * Pre-seeded shared names and String values, if any: checked before
+     * {@link #_seenNames} and {@link #_seenStringValues}, which only contain
+     * entries added after pre-seeded ones.
+     *
+     * @since 3.0
+     */
+    protected SmileDictionary _dictionary;
+
+    /**
+     * Number of pre-seeded names; index of the first name added to {@link #_seenNames}
+     *
+     * @since 3.0
+     */
+    protected int _seededNameCount;
+
+    /**
+     * Number of pre-seeded String values; index of the first value added to
+     * {@link #_seenStringValues}
+     *
+     * @since 3.0
+     */
+    protected int _seededStringValueCount;
+
     /**
      * Flag that indicates whether the output buffer is recycable (and
      * needs to be returned to recycler once we are done) or not.
@@ -259,17 +287,18 @@ public class SmileGenerator
 
     /*
     /**********************************************************************
-    /* Thread-local recycling
+    /* Recycling
     /**********************************************************************
      */
-    
+
     /**
-     * This <code>ThreadLocal</code> contains a {@link java.lang.ref.SoftReference}
-     * to a buffer recycler used to provide a low-cost
-     * buffer recycling for Smile-specific buffers.
+     * Pool used by generators constructed without explicitly specified pool:
+     * uses a {@link ThreadLocal} recycler per thread.
+     *
+     * @since 3.0
      */
-    final protected static ThreadLocal<SoftReference<SmileBufferRecycler<SharedStringNode>>> _smileRecyclerRef
-        = new ThreadLocal<SoftReference<SmileBufferRecycler<SharedStringNode>>>();
+    final protected static RecyclerPool<SmileBufferRecycler<SharedStringNode>> DEFAULT_RECYCLER_POOL
+        = RecyclerPools.threadLocal().createPool(SmileBufferRecycler::new);
 
     /*
     /**********************************************************************
@@ -280,6 +309,17 @@ public class SmileGenerator
     public SmileGenerator(ObjectWriteContext writeCtxt, IOContext ioCtxt,
             int streamWriteFeatures, int smileFeatures,
             OutputStream out)
+    {
+        this(writeCtxt, ioCtxt, streamWriteFeatures, smileFeatures, DEFAULT_RECYCLER_POOL, out);
+    }
+
+    /**
+     * @since 3.0
+     */
+    public SmileGenerator(ObjectWriteContext writeCtxt, IOContext ioCtxt,
+            int streamWriteFeatures, int smileFeatures,
+            RecyclerPool<SmileBufferRecycler<SharedStringNode>> recyclerPool,
+            OutputStream out)
     {
         super(writeCtxt, streamWriteFeatures);
         _formatFeatures = smileFeatures;
@@ -287,7 +327,7 @@ public class SmileGenerator
         final DupDetector dups = StreamWriteFeature.STRICT_DUPLICATE_DETECTION.enabledIn(streamWriteFeatures)
                 ? DupDetector.rootDetector(this) : null;
         _tokenWriteContext = SimpleTokenWriteContext.createRootContext(dups);
-        _smileBufferRecycler = _smileBufferRecycler();
+        _recyclerPool = recyclerPool;
         _out = out;
         _bufferRecyclable = true;
         _outputBuffer = ioCtxt.allocWriteEncodingBuffer();
@@ -298,11 +338,12 @@ public class SmileGenerator
                     "Internal encoding buffer length (%d) too short, must be at least %d", 
                     _outputEnd, MIN_BUFFER_LENGTH));
         }
+        final SmileBufferRecycler<SharedStringNode> recycler = recyclerPool.acquire();
         if (!Feature.CHECK_SHARED_NAMES.enabledIn(smileFeatures)) {
             _seenNames = null;
             _seenNameCount = -1;
         } else {
-            _seenNames = _smileBufferRecycler.allocSeenNamesBuffer();
+            _seenNames = recycler.allocSeenNamesBuffer();
             if (_seenNames == null) {
                 _seenNames = new SharedStringNode[SmileBufferRecycler.DEFAULT_NAME_BUFFER_LENGTH];
             }
@@ -313,18 +354,32 @@ public class SmileGenerator
             _seenStringValues = null;
             _seenStringValueCount = -1;
         } else {
-            _seenStringValues = _smileBufferRecycler.allocSeenStringValuesBuffer();
+            _seenStringValues = recycler.allocSeenStringValuesBuffer();
             if (_seenStringValues == null) {
                 _seenStringValues = new SharedStringNode[SmileBufferRecycler.DEFAULT_STRING_VALUE_BUFFER_LENGTH];
             }
             _seenStringValueCount = 0;
         }
+        recyclerPool.release(recycler);
     }
 
     public SmileGenerator(ObjectWriteContext writeCtxt, IOContext ioCtxt,
             int streamWriteFeatures, int smileFeatures,
             OutputStream out, byte[] outputBuffer, int offset,
             boolean bufferRecyclable)
+    {
+        this(writeCtxt, ioCtxt, streamWriteFeatures, smileFeatures, DEFAULT_RECYCLER_POOL,
+                out, outputBuffer, offset, bufferRecyclable);
+    }
+
+    /**
+     * @since 3.0
+     */
+    public SmileGenerator(ObjectWriteContext writeCtxt, IOContext ioCtxt,
+            int streamWriteFeatures, int smileFeatures,
+            RecyclerPool<SmileBufferRecycler<SharedStringNode>> recyclerPool,
+            OutputStream out, byte[] outputBuffer, int offset,
+            boolean bufferRecyclable)
     {
         super(writeCtxt, streamWriteFeatures);
         _formatFeatures = smileFeatures;
@@ -332,7 +387,7 @@ public class SmileGenerator
         final DupDetector dups = StreamWriteFeature.STRICT_DUPLICATE_DETECTION.enabledIn(streamWriteFeatures)
                 ? DupDetector.rootDetector(this) : null;
                 _tokenWriteContext = SimpleTokenWriteContext.createRootContext(dups);
-        _smileBufferRecycler = _smileBufferRecycler();
+        _recyclerPool = recyclerPool;
         _out = out;
         _bufferRecyclable = bufferRecyclable;
         _outputTail = offset;
@@ -344,11 +399,12 @@ public class SmileGenerator
                     "Internal encoding buffer length (%d) too short, must be at least %d", 
                     _outputEnd, MIN_BUFFER_LENGTH));
         }
+        final SmileBufferRecycler<SharedStringNode> recycler = recyclerPool.acquire();
         if (!Feature.CHECK_SHARED_NAMES.enabledIn(smileFeatures)) {
             _seenNames = null;
             _seenNameCount = -1;
         } else {
-            _seenNames = _smileBufferRecycler.allocSeenNamesBuffer();
+            _seenNames = recycler.allocSeenNamesBuffer();
             if (_seenNames == null) {
                 _seenNames = new SharedStringNode[SmileBufferRecycler.DEFAULT_NAME_BUFFER_LENGTH];
             }
@@ -359,12 +415,13 @@ public class SmileGenerator
             _seenStringValues = null;
             _seenStringValueCount = -1;
         } else {
-            _seenStringValues = _smileBufferRecycler.allocSeenStringValuesBuffer();
+            _seenStringValues = recycler.allocSeenStringValuesBuffer();
             if (_seenStringValues == null) {
                 _seenStringValues = new SharedStringNode[SmileBufferRecycler.DEFAULT_STRING_VALUE_BUFFER_LENGTH];
             }
             _seenStringValueCount = 0;
         }
+        recyclerPool.release(recycler);
     }
 
     /**
@@ -389,16 +446,25 @@ public class SmileGenerator
         _writeBytes(HEADER_BYTE_1, HEADER_BYTE_2, HEADER_BYTE_3, (byte) last);
     }
 
-    protected final static SmileBufferRecycler<SharedStringNode> _smileBufferRecycler()
+    /**
+     * Method called by {@link SmileFactory} right after construction, before
+     * any content (including header) is written, to pre-seed shared names and
+     * String values: these are only used if sharing of names and/or values is
+     * enabled.
+     *
+     * @since 3.0
+     */
+    protected void _setDictionary(SmileDictionary dict)
     {
-        SoftReference<SmileBufferRecycler<SharedStringNode>> ref = _smileRecyclerRef.get();
-        SmileBufferRecycler<SharedStringNode> br = (ref == null) ? null : ref.get();
-
-        if (br == null) {
-            br = new SmileBufferRecycler<SharedStringNode>();
-            _smileRecyclerRef.set(new SoftReference<SmileBufferRecycler<SharedStringNode>>(br));
+        _dictionary = dict;
+        if (_seenNameCount >= 0) {
+            _seededNameCount = dict.nameCount();
+            _seenNameCount = _seededNameCount;
+        }
+        if (_seenStringValueCount >= 0) {
+            _seededStringValueCount = dict.valueCount();
+            _seenStringValueCount = _seededStringValueCount;
         }
-        return br;
     }
 
     /*                                                                                       
@@ -566,6 +632,27 @@ public class SmileGenerator
         _writeBytes(data, offset, len);
     }
 
+    /**
+     * Method for writing given pre-encoded Smile content, a single complete value
+     * (scalar value, or Array or Object with all of its contents), as the next value;
+     * typically content read using {@link SmileParser#readRawValue}.
+     *<p>
+     * Content may not contain back-references to shared names or String values.
+     * If this generator uses shared names or String values, content is scanned for
+     * names and String values it contains, to keep track of them the same way
+     * as readers will; otherwise it is copied as-is, without validation.
+     *
+     * @since 3.0
+     */
+    public void writeRawValue(byte[] encoded, int offset, int len) throws IOException
+    {
+        _verifyValueWrite("write raw value");
+        if ((_seenNameCount >= 0) || (_seenStringValueCount >= 0)) {
+            _addSharedStringsOfRawValue(encoded, offset, offset+len);
+        }
+        _writeBytes(encoded, offset, len);
+    }
+
     /*
     /**********************************************************************
     /* Output method implementations, structural
@@ -2537,31 +2624,39 @@ public class SmileGenerator
         /* Ok: since clearing up of larger arrays is much slower,
          * let's only recycle default-sized buffers...
          */
-        {
-            SharedStringNode[] nameBuf = _seenNames;
-            if (nameBuf != null && nameBuf.length == SmileBufferRecycler.DEFAULT_NAME_BUFFER_LENGTH) {
-                _seenNames = null;
-                /* 28-Jun-2011, tatu: With 1.9, caller needs to clear the buffer; and note
-                 *   that since it's a hash area, must clear all
-                 */
-                if (_seenNameCount > 0) {
-                    Arrays.fill(nameBuf, null);
-                }
-                _smileBufferRecycler.releaseSeenNamesBuffer(nameBuf);
+        SharedStringNode[] nameBuf = _seenNames;
+        if (nameBuf != null && nameBuf.length == SmileBufferRecycler.DEFAULT_NAME_BUFFER_LENGTH) {
+            _seenNames = null;
+            /* 28-Jun-2011, tatu: With 1.9, caller needs to clear the buffer; and note
+             *   that since it's a hash area, must clear all
+             */
+            if (_seenNameCount > 0) {
+                Arrays.fill(nameBuf, null);
             }
+        } else {
+            nameBuf = null;
         }
-        {
-            SharedStringNode[] valueBuf = _seenStringValues;
-            if (valueBuf != null && valueBuf.length == SmileBufferRecycler.DEFAULT_STRING_VALUE_BUFFER_LENGTH) {
-                _seenStringValues = null;
-                /* 28-Jun-2011, tatu: With 1.9, caller needs to clear the buffer; and note
-                 *   that since it's a hash area, must clear all
-                 */
-                if (_seenStringValueCount > 0) {
-                    Arrays.fill(valueBuf, null);
-                }
-                _smileBufferRecycler.releaseSeenStringValuesBuffer(valueBuf);
+        SharedStringNode[] valueBuf = _seenStringValues;
+        if (valueBuf != null && valueBuf.length == SmileBufferRecycler.DEFAULT_STRING_VALUE_BUFFER_LENGTH) {
+            _seenStringValues = null;
+            /* 28-Jun-2011, tatu: With 1.9, caller needs to clear the buffer; and note
+             *   that since it's a hash area, must clear all
+             */
+            if (_seenStringValueCount > 0) {
+                Arrays.fill(valueBuf, null);
+            }
+        } else {
+            valueBuf = null;
+        }
+        if ((nameBuf != null) || (valueBuf != null)) {
+            final SmileBufferRecycler<SharedStringNode> recycler = _recyclerPool.acquire();
+            if (nameBuf != null) {
+                recycler.releaseSeenNamesBuffer(nameBuf);
+            }
+            if (valueBuf != null) {
+                recycler.releaseSeenStringValuesBuffer(valueBuf);
             }
+            _recyclerPool.release(recycler);
         }
     }
 
@@ -2582,6 +2677,12 @@ public class SmileGenerator
 
     private final int _findSeenName(String name)
     {
+        if (_seededNameCount > 0) {
+            int ix = _dictionary.findName(name);
+            if (ix >= 0) {
+                return ix;
+            }
+        }
         int hash = name.hashCode();
         SharedStringNode head = _seenNames[hash & (_seenNames.length-1)];
         if (head == null) {
@@ -2612,23 +2713,22 @@ public class SmileGenerator
     
     private final void _addSeenName(String name)
     {
-        // first: do we need to expand?
-        if (_seenNameCount == _seenNames.length) {
-            if (_seenNameCount == MAX_SHARED_NAMES) { // we are too full, restart from empty
-                Arrays.fill(_seenNames, null);
-                _seenNameCount = 0;
-            } else { // we always start with modest default size (like 64), so expand to full
-                SharedStringNode[] old = _seenNames;
-                _seenNames = new SharedStringNode[MAX_SHARED_NAMES];
-                final int mask = MAX_SHARED_NAMES-1;
-                for (SharedStringNode node : old) {
-                    while (node != null) {
-                        int ix = node.value.hashCode() & mask;
-                        SharedStringNode next = node.next;
-                        node.next = _seenNames[ix];
-                        _seenNames[ix] = node;
-                        node = next;
-                    }
+        // first: do we need to expand? (note: pre-seeded names not included in hash area)
+        if (_seenNameCount == MAX_SHARED_NAMES) { // we are too full, restart from empty (or pre-seeded)
+            Arrays.fill(_seenNames, null);
+            _seenNameCount = _seededNameCount;
+        } else if ((_seenNameCount - _seededNameCount) == _seenNames.length) {
+            // we always start with modest default size (like 64), so expand to full
+            SharedStringNode[] old = _seenNames;
+            _seenNames = new SharedStringNode[MAX_SHARED_NAMES];
+            final int mask = MAX_SHARED_NAMES-1;
+            for (SharedStringNode node : old) {
+                while (node != null) {
+                    int ix = node.value.hashCode() & mask;
+                    SharedStringNode next = node.next;
+                    node.next = _seenNames[ix];
+                    _seenNames[ix] = node;
+                    node = next;
                 }
             }
         }
@@ -2643,6 +2743,12 @@ public class SmileGenerator
 
     private final int _findSeenStringValue(String text)
     {
+        if (_seededStringValueCount > 0) {
+            int ix = _dictionary.findValue(text);
+            if (ix >= 0) {
+                return ix;
+            }
+        }
         int hash = text.hashCode();
         SharedStringNode head = _seenStringValues[hash & (_seenStringValues.length-1)];
         if (head != null) {
@@ -2669,23 +2775,22 @@ public class SmileGenerator
 
     private final void _addSeenStringValue(String text)
     {
-        // first: do we need to expand?
-        if (_seenStringValueCount == _seenStringValues.length) {
-            if (_seenStringValueCount == MAX_SHARED_STRING_VALUES) { // we are too full, restart from empty
-                Arrays.fill(_seenStringValues, null);
-                _seenStringValueCount = 0;
-            } else { // we always start with modest default size (like 64), so expand to full
-                SharedStringNode[] old = _seenStringValues;
-                _seenStringValues = new SharedStringNode[MAX_SHARED_STRING_VALUES];
-                final int mask = MAX_SHARED_STRING_VALUES-1;
-                for (SharedStringNode node : old) {
-                    while (node != null) {
-                        int ix = node.value.hashCode() & mask;
-                        SharedStringNode next = node.next;
-                        node.next = _seenStringValues[ix];
-                        _seenStringValues[ix] = node;
-                        node = next;
-                    }
+        // first: do we need to expand? (note: pre-seeded values not included in hash area)
+        if (_seenStringValueCount == MAX_SHARED_STRING_VALUES) { // we are too full, restart from empty (or pre-seeded)
+            Arrays.fill(_seenStringValues, null);
+            _seenStringValueCount = _seededStringValueCount;
+        } else if ((_seenStringValueCount - _seededStringValueCount) == _seenStringValues.length) {
+            // we always start with modest default size (like 64), so expand to full
+            SharedStringNode[] old = _seenStringValues;
+            _seenStringValues = new SharedStringNode[MAX_SHARED_STRING_VALUES];
+            final int mask = MAX_SHARED_STRING_VALUES-1;
+            for (SharedStringNode node : old) {
+                while (node != null) {
+                    int ix = node.value.hashCode() & mask;
+                    SharedStringNode next = node.next;
+                    node.next = _seenStringValues[ix];
+                    _seenStringValues[ix] = node;
+                    node = next;
                 }
             }
         }
@@ -2704,6 +2809,203 @@ public class SmileGenerator
         _seenStringValueCount = ref+1;
     }
 
+    /**
+     * Helper method called to go through a pre-encoded value, to add names
+     * and short String values it contains as shared ones, as readers will
+     * when reading content.
+     * Nesting is tracked with an explicit stack, to avoid recursion.
+     */
+    private final void _addSharedStringsOfRawValue(final byte[] data, int ptr, final int end)
+        throws IOException
+    {
+        boolean[] stack = null;
+        int depth = 0;
+        boolean inObject = false;
+
+        do {
+            int ch = _rawByte(data, ptr++, end);
+            if (inObject) {
+                if (ch == 0xFB) { // END_OBJECT
+                    inObject = stack[--depth];
+                    continue;
+                }
+                ptr = _addSharedNameOfRawValue(data, ptr, end, ch);
+                ch = _rawByte(data, ptr++, end);
+            } else if ((ch == 0xF9) && (depth > 0)) { // END_ARRAY
+                inObject = stack[--depth];
+                continue;
+            }
+            switch (ch >> 5) {
+            case 1: // simple literals, numbers
+                switch (ch & 0x1F) {
+                case 0x00: // empty String
+                case 0x01: // null
+                case 0x02: // false
+                case 0x03: // true
+                    continue;
+                case 0x04: // VInt
+                case 0x05: // VLong
+                    ptr = _skipRawVInt(data, ptr, end);
+                    continue;
+                case 0x06: // BigInteger
+                    ptr = _skipRaw7BitBinary(data, ptr, end);
+                    continue;
+                case 0x08: // float
+                    ptr += 5;
+                    continue;
+                case 0x09: // double
+                    ptr += 10;
+                    continue;
+                case 0x0A: // BigDecimal: scale, then binary
+                    ptr = _skipRaw7BitBinary(data, _skipRawVInt(data, ptr, end), end);
+                    continue;
+                }
+                break;
+            case 2: // tiny ASCII
+            case 3: // short ASCII
+                ptr = _addSharedValueOfRawValue(data, ptr, end, 1 + (ch & 0x3F));
+                continue;
+            case 4: // tiny Unicode
+            case 5: // short Unicode
+                ptr = _addSharedValueOfRawValue(data, ptr, end, 2 + (ch & 0x3F));
+                continue;
+            case 6: // small integers
+                continue;
+            case 7:
+                switch (ch & 0x1F) {
+                case 0x00: // long ASCII
+                case 0x04: // long Unicode
+                    while (_rawByte(data, ptr++, end) != INT_MARKER_END_OF_STRING) { }
+                    continue;
+                case 0x08: // binary, 7-bit
+                    ptr = _skipRaw7BitBinary(data, ptr, end);
+                    continue;
+                case 0x18: // START_ARRAY
+                case 0x1A: // START_OBJECT
+                    if (stack == null) {
+                        stack = new boolean[16];
+                    } else if (depth == stack.length) {
+                        stack = Arrays.copyOf(stack, depth + depth);
+                    }
+                    stack[depth++] = inObject;
+                    inObject = (ch == 0xFA);
+                    continue;
+                case 0x1D: // binary, raw
+                    {
+                        int len = 0;
+                        while (true) {
+                            int i = _rawByte(data, ptr++, end);
+                            if (i >= 0x80) { // last byte
+                                len = (len << 6) + (i & 0x3F);
+                                break;
+                            }
+                            len = (len << 7) + i;
+                        }
+                        ptr += len;
+                    }
+                    continue;
+                }
+                break;
+            }
+            _reportError("Invalid type marker byte 0x"+Integer.toHexString(ch)
+                    +" for value in raw value (note: back-references to shared String values not allowed)");
+        } while (depth > 0);
+
+        if (ptr != end) {
+            _reportError("Invalid raw value: "+(end - ptr)+" bytes of trailing content after value");
+        }
+    }
+
+    private final int _addSharedNameOfRawValue(byte[] data, int ptr, int end, int ch)
+        throws IOException
+    {
+        int len;
+        switch (ch >> 6) {
+        case 0:
+            if (ch == TOKEN_KEY_EMPTY_STRING) {
+                return ptr;
+            }
+            if (ch == TOKEN_KEY_LONG_STRING) {
+                final int start = ptr;
+                while (_rawByte(data, ptr, end) != INT_MARKER_END_OF_STRING) {
+                    ++ptr;
+                }
+                if (_seenNameCount >= 0) {
+                    _addSeenName(new String(data, start, ptr - start, StandardCharsets.UTF_8));
+                }
+                return ptr+1;
+            }
+            break;
+        case 2: // short ASCII
+            len = 1 + (ch & 0x3F);
+            if (_seenNameCount >= 0) {
+                _addSeenName(new String(data, ptr, _rawLength(ptr, len, end), StandardCharsets.US_ASCII));
+            }
+            return ptr + len;
+        case 3: // short Unicode
+            if (ch <= 0xF7) {
+                len = 2 + (ch & 0x3F);
+                if (_seenNameCount >= 0) {
+                    _addSeenName(new String(data, ptr, _rawLength(ptr, len, end), StandardCharsets.UTF_8));
+                }
+                return ptr + len;
+            }
+            break;
+        }
+        _reportError("Invalid type marker byte 0x"+Integer.toHexString(ch)
+                +" for field name in raw value (note: back-references to shared names not allowed)");
+        return ptr; // never gets here
+    }
+
+    private final int _addSharedValueOfRawValue(byte[] data, int ptr, int end, int len)
+        throws IOException
+    {
+        if (_seenStringValueCount >= 0) {
+            _addSeenStringValue(new String(data, ptr, _rawLength(ptr, len, end), StandardCharsets.UTF_8));
+        }
+        return ptr + len;
+    }
+
+    private final int _skipRawVInt(byte[] data, int ptr, int end) throws IOException
+    {
+        // last byte has the sign bit set
+        while (_rawByte(data, ptr++, end) < 0x80) { }
+        return ptr;
+    }
+
+    private final int _skipRaw7BitBinary(byte[] data, int ptr, int end) throws IOException
+    {
+        int origBytes = 0;
+        while (true) {
+            int i = _rawByte(data, ptr++, end);
+            if (i >= 0x80) { // last byte
+                origBytes = (origBytes << 6) + (i & 0x3F);
+                break;
+            }
+            origBytes = (origBytes << 7) + i;
+        }
+        // 8 encoded bytes for each 7 payload bytes; and last+1 for 1 - 6 remaining ones
+        final int chunks = origBytes / 7;
+        origBytes -= 7 * chunks;
+        return ptr + (chunks * 8) + ((origBytes > 0) ? (1 + origBytes) : 0);
+    }
+
+    private final int _rawByte(byte[] data, int ptr, int end) throws IOException
+    {
+        if (ptr >= end) {
+            _reportError("Invalid raw value: unexpected end of content");
+        }
+        return data[ptr] & 0xFF;
+    }
+
+    private final int _rawLength(int ptr, int len, int end) throws IOException
+    {
+        if ((ptr + len) > end) {
+            _reportError("Invalid raw value: unexpected end of content");
+        }
+        return len;
+    }
+
     /**
      * Helper method used to ensure that we do not use back-reference values
      * that would produce illegal byte sequences (ones with byte 0xFE or 0xFF).
@@ -3,6 +3,7 @@ package com.fasterxml.jackson.dataformat.smile;
 import java.io.*;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 import com.fasterxml.jackson.core.*;
@@ -10,9 +11,12 @@ import com.fasterxml.jackson.core.io.IOContext;
 import com.fasterxml.jackson.core.sym.ByteQuadsCanonicalizer;
 import com.fasterxml.jackson.core.sym.FieldNameMatcher;
 
+import com.fasterxml.jackson.dataformat.binary.PrimitiveArrayReader;
+
 import static com.fasterxml.jackson.dataformat.smile.SmileConstants.BYTE_MARKER_END_OF_STRING;
 
 public class SmileParser extends SmileParserBase
+    implements PrimitiveArrayReader
 {
     /**
      * Enumeration that defines all togglable features for Smile generators.
@@ -103,6 +107,35 @@ public class SmileParser extends SmileParserBase
      */
     protected boolean _tokenIncomplete = false;
 
+    /*
+    /**********************************************************
+    /* Raw value access state
+    /**********************************************************
+     */
+
+    /**
+     * Stream to which encoded content is copied while {@link #readRawValue}
+     * is in progress; null otherwise.
+     *
+     * @since 3.0
+     */
+    protected OutputStream _rawValueOut;
+
+    /**
+     * Offset within {@link #_inputBuffer} of the first byte not yet copied
+     * to {@link #_rawValueOut}.
+     *
+     * @since 3.0
+     */
+    protected int _rawValueStart;
+
+    /**
+     * Number of bytes written to {@link #_rawValueOut} so far.
+     *
+     * @since 3.0
+     */
+    protected int _rawValueLength;
+
     /*
     /**********************************************************
     /* Life-cycle
@@ -163,10 +196,7 @@ public class SmileParser extends SmileParserBase
             _seenNameCount = -1;
         }
         // conversely, shared string values must be explicitly enabled
-        if ((ch & SmileConstants.HEADER_BIT_HAS_SHARED_STRING_VALUES) != 0) {
-            _seenStringValues = NO_STRINGS;
-            _seenStringValueCount = 0;
-        }
+        _initSharedStringValues((ch & SmileConstants.HEADER_BIT_HAS_SHARED_STRING_VALUES) != 0);
         _mayContainRawBinary = ((ch & SmileConstants.HEADER_BIT_HAS_RAW_BINARY) != 0);
         return true;
     }
@@ -223,6 +253,10 @@ public class SmileParser extends SmileParserBase
         //_currInputRowStart -= _inputEnd;
         
         if (_inputStream != null) {
+            if (_rawValueOut != null) {
+                _copyRawValue(_inputEnd);
+                _rawValueStart = 0;
+            }
             int count = _inputStream.read(_inputBuffer, 0, _inputBuffer.length);
             _currInputProcessed += _inputEnd;
             _inputPtr = 0;
@@ -252,6 +286,10 @@ public class SmileParser extends SmileParserBase
         if (_inputStream == null) {
             throw _constructError("Needed to read "+minAvailable+" bytes, reached end-of-input");
         }
+        if (_rawValueOut != null) {
+            _copyRawValue(_inputPtr);
+            _rawValueStart = 0;
+        }
         // Need to move remaining data in front?
         int amount = _inputEnd - _inputPtr;
         _currInputProcessed += _inputPtr;
@@ -496,13 +534,13 @@ public class SmileParser extends SmileParserBase
         int len = oldShared.length;
         String[] newShared;
         if (len == 0) {
-            newShared = _smileBufferRecycler.allocSeenStringValuesBuffer();
+            newShared = _allocSeenStringValuesBuffer();
             if (newShared == null) {
                 newShared = new String[SmileBufferRecycler.DEFAULT_STRING_VALUE_BUFFER_LENGTH];
             }
         } else if (len == SmileConstants.MAX_SHARED_STRING_VALUES) { // too many? Just flush...
            newShared = oldShared;
-           _seenStringValueCount = 0; // could also clear, but let's not yet bother
+           _seenStringValueCount = _seededStringValueCount; // could also clear, but let's not yet bother
         } else {
             int newSize = (len == SmileBufferRecycler.DEFAULT_NAME_BUFFER_LENGTH) ? 256 : SmileConstants.MAX_SHARED_STRING_VALUES;
             newShared = Arrays.copyOf(oldShared, newSize);
@@ -1253,6 +1291,275 @@ public class SmileParser extends SmileParserBase
         return null;
     }
 
+    /*
+    /**********************************************************
+    /* Public API, bulk reads of primitive arrays
+    /**********************************************************
+     */
+
+    /**
+     * Method that may be called when current token is {@link JsonToken#START_ARRAY}
+     * to read all elements of the Array as <code>int</code>s in one go, instead of
+     * iterating over them as separate tokens. All elements must be integral numbers
+     * that fit in 32 bits.
+     *<p>
+     * After successful call, current token will be the matching {@link JsonToken#END_ARRAY}.
+     *
+     * @since 3.0
+     */
+    public int[] readIntArray() throws IOException
+    {
+        _verifyBulkArrayStart("int");
+        int[] result = new int[16];
+        int count = 0;
+        while ((count += readIntArray(result, count, result.length - count)) == result.length) {
+            result = Arrays.copyOf(result, count + count);
+        }
+        _verifyBulkArrayEnd("int");
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Method that may be called when current token is {@link JsonToken#START_ARRAY}
+     * to read all elements of the Array as <code>long</code>s in one go, instead of
+     * iterating over them as separate tokens. All elements must be integral numbers
+     * that fit in 64 bits.
+     *<p>
+     * After successful call, current token will be the matching {@link JsonToken#END_ARRAY}.
+     *
+     * @since 3.0
+     */
+    public long[] readLongArray() throws IOException
+    {
+        _verifyBulkArrayStart("long");
+        long[] result = new long[16];
+        int count = 0;
+        while ((count += readLongArray(result, count, result.length - count)) == result.length) {
+            result = Arrays.copyOf(result, count + count);
+        }
+        _verifyBulkArrayEnd("long");
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Method that may be called when current token is {@link JsonToken#START_ARRAY}
+     * to read all elements of the Array as <code>double</code>s in one go, instead of
+     * iterating over them as separate tokens. All elements must be numbers (integral
+     * or floating-point).
+     *<p>
+     * After successful call, current token will be the matching {@link JsonToken#END_ARRAY}.
+     *
+     * @since 3.0
+     */
+    public double[] readDoubleArray() throws IOException
+    {
+        _verifyBulkArrayStart("double");
+        double[] result = new double[16];
+        int count = 0;
+        while ((count += readDoubleArray(result, count, result.length - count)) == result.length) {
+            result = Arrays.copyOf(result, count + count);
+        }
+        _verifyBulkArrayEnd("double");
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Method for reading elements of the current Array as <code>int</code>s into given
+     * buffer, in a tight loop: values are read as long as they are integral numbers that
+     * fit in 32 bits, until either <code>len</code> values have been read (in which case
+     * current token is the last value read), or some other token is encountered.
+     * In latter case that token -- usually {@link JsonToken#END_ARRAY} -- will be the current
+     * token, and caller may choose how to handle it.
+     * Must be called when current token is {@link JsonToken#START_ARRAY} or an element
+     * of an Array.
+     *
+     * @return Number of values read into buffer
+     *
+     * @since 3.0
+     */
+    @Override
+    public int readIntArray(int[] buffer, int offset, int len) throws IOException
+    {
+        _verifyBulkRead("int");
+        final int end = offset + len;
+        int ix = offset;
+        // whether last value was decoded inline (without updating token state)
+        boolean inlined = false;
+
+        while (ix < end) {
+            // Fast path: small ints and VInts decoded inline
+            if (!_tokenIncomplete && (_inputPtr < _inputEnd)) {
+                final int ch = _inputBuffer[_inputPtr] & 0xFF;
+                if ((ch >> 5) == 6) { // small int
+                    _tokenOffsetForTotal = _inputPtr++;
+                    _numberInt = SmileUtil.zigzagDecode(ch & 0x1F);
+                    buffer[ix++] = _numberInt;
+                    inlined = true;
+                    continue;
+                }
+                if (ch == SmileConstants.TOKEN_PREFIX_INTEGER) { // 32-bit VInt
+                    _tokenOffsetForTotal = _inputPtr++;
+                    _finishInt();
+                    buffer[ix++] = _numberInt;
+                    inlined = true;
+                    continue;
+                }
+            }
+            // otherwise need to use regular decoding
+            inlined = false;
+            if ((nextToken() != JsonToken.VALUE_NUMBER_INT)
+                    || (getNumberType() != NumberType.INT)) {
+                break;
+            }
+            buffer[ix++] = _numberInt;
+        }
+        if (inlined) {
+            _numTypesValid = NR_INT;
+            _numberType = NumberType.INT;
+            _bulkValueDone(JsonToken.VALUE_NUMBER_INT);
+        }
+        return ix - offset;
+    }
+
+    /**
+     * Method for reading elements of the current Array as <code>long</code>s into given
+     * buffer, in a tight loop: values are read as long as they are integral numbers that
+     * fit in 64 bits; otherwise works like {@link #readIntArray(int[], int, int)}.
+     *
+     * @return Number of values read into buffer
+     *
+     * @since 3.0
+     */
+    @Override
+    public int readLongArray(long[] buffer, int offset, int len) throws IOException
+    {
+        _verifyBulkRead("long");
+        final int end = offset + len;
+        int ix = offset;
+        boolean inlined = false;
+
+        while (ix < end) {
+            if (!_tokenIncomplete && (_inputPtr < _inputEnd)) {
+                final int ch = _inputBuffer[_inputPtr] & 0xFF;
+                if ((ch >> 5) == 6) { // small int
+                    _tokenOffsetForTotal = _inputPtr++;
+                    _numberLong = SmileUtil.zigzagDecode(ch & 0x1F);
+                    buffer[ix++] = _numberLong;
+                    inlined = true;
+                    continue;
+                }
+                if (ch == SmileConstants.TOKEN_PREFIX_INTEGER) { // 32-bit VInt
+                    _tokenOffsetForTotal = _inputPtr++;
+                    _finishInt();
+                    _numberLong = _numberInt;
+                    buffer[ix++] = _numberLong;
+                    inlined = true;
+                    continue;
+                }
+                if (ch == (SmileConstants.TOKEN_PREFIX_INTEGER + 1)) { // 64-bit VInt
+                    _tokenOffsetForTotal = _inputPtr++;
+                    _finishLong();
+                    buffer[ix++] = _numberLong;
+                    inlined = true;
+                    continue;
+                }
+            }
+            inlined = false;
+            if ((nextToken() != JsonToken.VALUE_NUMBER_INT)
+                    || (getNumberType() == NumberType.BIG_INTEGER)) {
+                break;
+            }
+            buffer[ix++] = getLongValue();
+        }
+        if (inlined) {
+            _numTypesValid = NR_LONG;
+            _numberType = NumberType.LONG;
+            _bulkValueDone(JsonToken.VALUE_NUMBER_INT);
+        }
+        return ix - offset;
+    }
+
+    /**
+     * Method for reading elements of the current Array as <code>double</code>s into given
+     * buffer, in a tight loop: values are read as long as they are numbers (integral
+     * or floating-point); otherwise works like {@link #readIntArray(int[], int, int)}.
+     *
+     * @return Number of values read into buffer
+     *
+     * @since 3.0
+     */
+    @Override
+    public int readDoubleArray(double[] buffer, int offset, int len) throws IOException
+    {
+        _verifyBulkRead("double");
+        final int end = offset + len;
+        int ix = offset;
+        boolean inlined = false;
+
+        while (ix < end) {
+            if (!_tokenIncomplete && (_inputPtr < _inputEnd)) {
+                final int ch = _inputBuffer[_inputPtr] & 0xFF;
+                if (ch == (SmileConstants.TOKEN_PREFIX_FP + 1)) { // 64-bit double
+                    _tokenOffsetForTotal = _inputPtr++;
+                    _finishDouble();
+                    buffer[ix++] = _numberDouble;
+                    inlined = true;
+                    continue;
+                }
+                if (ch == SmileConstants.TOKEN_PREFIX_FP) { // 32-bit float
+                    _tokenOffsetForTotal = _inputPtr++;
+                    _finishFloat();
+                    _numberDouble = _numberFloat;
+                    buffer[ix++] = _numberDouble;
+                    inlined = true;
+                    continue;
+                }
+            }
+            inlined = false;
+            JsonToken t = nextToken();
+            if ((t != JsonToken.VALUE_NUMBER_FLOAT) && (t != JsonToken.VALUE_NUMBER_INT)) {
+                break;
+            }
+            buffer[ix++] = getDoubleValue();
+        }
+        if (inlined) {
+            _numTypesValid = NR_DOUBLE;
+            _numberType = NumberType.DOUBLE;
+            _bulkValueDone(JsonToken.VALUE_NUMBER_FLOAT);
+        }
+        return ix - offset;
+    }
+
+    private final void _verifyBulkArrayStart(String type) throws IOException
+    {
+        if (_currToken != JsonToken.START_ARRAY) {
+            _reportError("Current token ("+_currToken+") not START_ARRAY, can not read "+type+"[] value");
+        }
+    }
+
+    private final void _verifyBulkArrayEnd(String type) throws IOException
+    {
+        if (_currToken != JsonToken.END_ARRAY) {
+            _reportError("Unexpected token ("+_currToken+") within Array read as "+type+"[] value");
+        }
+    }
+
+    private final void _verifyBulkRead(String type) throws IOException
+    {
+        if (!_parsingContext.inArray()) {
+            _reportError("Current token ("+_currToken+") not within an Array, can not read "+type+" values in bulk");
+        }
+    }
+
+    /**
+     * Helper method called by bulk readers to update token state if the last
+     * value was decoded inline.
+     */
+    private final void _bulkValueDone(JsonToken t) {
+        _binaryValue = null;
+        _currToken = t;
+    }
+
     /*
     /**********************************************************
     /* Public API, access to token information, text
@@ -1544,6 +1851,369 @@ public class SmileParser extends SmileParserBase
         }
     }
     
+    /*
+    /**********************************************************
+    /* Public API, raw values
+    /**********************************************************
+     */
+
+    /**
+     * Method that can be called to copy encoded representation of the current value
+     * (scalar value, or Array or Object with all of its contents) to given stream,
+     * without decoding it: this allows efficient pass-through of sub-trees, written
+     * using {@link SmileGenerator#writeRawValue(byte[], int, int)}.
+     *<p>
+     * Content is copied as-is, except for back-references to shared names and
+     * String values, which refer to content outside of the value: these are replaced
+     * with names and Strings they refer to, so that copied content is self-contained.
+     * Current token itself is re-encoded if it has already been decoded (as
+     * is the case for short String values, when shared String values are enabled).
+     *<p>
+     * After the call parser is positioned as if {@link #skipChildren()} had been called:
+     * for Arrays and Objects current token is the matching end marker; for String
+     * and binary values contents are no longer accessible, so method should be called
+     * before accessing contents of the current token.
+     *
+     * @param out Stream to copy encoded value to
+     *
+     * @return Number of bytes written
+     *
+     * @since 3.0
+     */
+    public int readRawValue(OutputStream out) throws IOException
+    {
+        final JsonToken t = _currToken;
+        if ((t == null) || !(t.isScalarValue() || t.isStructStart())) {
+            _reportError("Current token ("+t+") not a value, can not read as raw value");
+        }
+        _rawValueOut = out;
+        _rawValueLength = 0;
+        try {
+            if (t.isStructStart()) {
+                final boolean inObject = (t == JsonToken.START_OBJECT);
+                out.write(inObject ? SmileConstants.TOKEN_LITERAL_START_OBJECT
+                        : SmileConstants.TOKEN_LITERAL_START_ARRAY);
+                _rawValueLength = 1;
+                _rawValueStart = _inputPtr;
+                _copyRawContents(inObject);
+                _parsingContext = _parsingContext.getParent();
+                _currToken = inObject ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+            } else if (_tokenIncomplete) {
+                out.write(_typeAsInt);
+                _rawValueLength = 1;
+                _rawValueStart = _inputPtr;
+                _skipIncomplete();
+            } else {
+                _rawValueStart = _inputPtr;
+                _writeRawDecodedValue(t);
+            }
+            _copyRawValue(_inputPtr);
+        } finally {
+            _rawValueOut = null;
+        }
+        return _rawValueLength;
+    }
+
+    /**
+     * Helper method for copying contents of Array or Object (of which start
+     * marker has been read), up to and including the matching end marker.
+     * Nesting is tracked with an explicit stack, to avoid recursion.
+     */
+    private final void _copyRawContents(boolean inObject) throws IOException
+    {
+        boolean[] stack = null;
+        int depth = 0;
+
+        while (true) {
+            if (_inputPtr >= _inputEnd) {
+                _loadMoreGuaranteed();
+            }
+            int ch = _inputBuffer[_inputPtr++] & 0xFF;
+            if (inObject) {
+                if (ch == 0xFB) { // END_OBJECT
+                    if (depth == 0) {
+                        return;
+                    }
+                    inObject = stack[--depth];
+                    continue;
+                }
+                _copyRawName(ch);
+                if (_inputPtr >= _inputEnd) {
+                    _loadMoreGuaranteed();
+                }
+                ch = _inputBuffer[_inputPtr++] & 0xFF;
+            } else if (ch == 0xF9) { // END_ARRAY
+                if (depth == 0) {
+                    return;
+                }
+                inObject = stack[--depth];
+                continue;
+            }
+            if ((ch == 0xF8) || (ch == 0xFA)) { // START_ARRAY, START_OBJECT
+                if (stack == null) {
+                    stack = new boolean[16];
+                } else if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth + depth);
+                }
+                stack[depth++] = inObject;
+                inObject = (ch == 0xFA);
+                continue;
+            }
+            _copyRawScalar(ch);
+        }
+    }
+
+    private final void _copyRawName(int ch) throws IOException
+    {
+        switch (ch >> 6) {
+        case 0:
+            if (ch == 0x20) { // empty String
+                return;
+            }
+            if (ch < 0x34) { // long shared
+                if (ch < 0x30) {
+                    break;
+                }
+                _copyRawValue(_inputPtr-1);
+                _rawValueStart = _inputPtr;
+                if (_inputPtr >= _inputEnd) {
+                    _loadMoreGuaranteed();
+                }
+                int index = ((ch & 0x3) << 8) + (_inputBuffer[_inputPtr++] & 0xFF);
+                _rawValueStart = _inputPtr;
+                _writeRawSharedName(index);
+                return;
+            }
+            if (ch == 0x34) { // long ASCII/Unicode name
+                if (_seenNames != null) {
+                    _decodeLongFieldName();
+                    return;
+                }
+                while (true) {
+                    if (_inputPtr >= _inputEnd) {
+                        _loadMoreGuaranteed();
+                    }
+                    if (_inputBuffer[_inputPtr++] == BYTE_MARKER_END_OF_STRING) {
+                        return;
+                    }
+                }
+            }
+            break;
+        case 1: // short shared
+            _copyRawValue(_inputPtr-1);
+            _rawValueStart = _inputPtr;
+            _writeRawSharedName(ch & 0x3F);
+            return;
+        case 2: // short ASCII
+            _copyRawShortName(1 + (ch & 0x3F), true);
+            return;
+        default: // short Unicode
+            if (ch <= 0xF7) {
+                _copyRawShortName(2 + (ch & 0x3F), false);
+                return;
+            }
+        }
+        _reportError("Invalid type marker byte 0x"+Integer.toHexString(ch)+" for expected field name (or END_OBJECT marker)");
+    }
+
+    private final void _copyRawShortName(int len, boolean ascii) throws IOException
+    {
+        if (_seenNames == null) {
+            _skipBytes(len);
+            return;
+        }
+        // need to keep track of names, for possible back-references after value
+        String name = _findDecodedFromSymbols(len);
+        if (name != null) {
+            _inputPtr += len;
+        } else {
+            name = ascii ? _decodeShortAsciiName(len) : _decodeShortUnicodeName(len);
+            name = _addDecodedToSymbols(len, name);
+        }
+        if (_seenNameCount >= _seenNames.length) {
+            _seenNames = _expandSeenNames(_seenNames);
+        }
+        _seenNames[_seenNameCount++] = name;
+    }
+
+    private final void _copyRawScalar(int ch) throws IOException
+    {
+        switch (ch >> 5) {
+        case 0: // short shared String value reference
+            if (ch != 0) {
+                _copyRawValue(_inputPtr-1);
+                _rawValueStart = _inputPtr;
+                _writeRawSharedStringValue(ch-1);
+                return;
+            }
+            break;
+        case 1: // simple literals, numbers
+            {
+                final int typeBits = ch & 0x1F;
+                if (typeBits < 4) {
+                    return;
+                }
+                if ((typeBits <= 6) || ((typeBits >= 8) && (typeBits <= 10))) {
+                    _typeAsInt = ch;
+                    _skipIncomplete();
+                    return;
+                }
+            }
+            break;
+        case 2: // tiny ASCII
+        case 3: // short ASCII
+        case 4: // tiny Unicode
+        case 5: // short Unicode
+            _typeAsInt = ch;
+            if (_seenStringValueCount >= 0) { // need to keep track of values for back-references
+                _addSeenStringValue();
+            } else {
+                _skipIncomplete();
+            }
+            return;
+        case 6: // small integers
+            return;
+        default: // binary/long-text/long-shared
+            switch (ch & 0x1F) {
+            case 0x00: // long variable length ASCII
+            case 0x04: // long variable length unicode
+            case 0x08: // binary, 7-bit
+            case 0x1D: // binary, raw
+                _typeAsInt = ch;
+                _skipIncomplete();
+                return;
+            case 0x0C: // long shared string
+            case 0x0D:
+            case 0x0E:
+            case 0x0F:
+                _copyRawValue(_inputPtr-1);
+                _rawValueStart = _inputPtr;
+                if (_inputPtr >= _inputEnd) {
+                    _loadMoreGuaranteed();
+                }
+                int index = ((ch & 0x3) << 8) + (_inputBuffer[_inputPtr++] & 0xFF);
+                _rawValueStart = _inputPtr;
+                _writeRawSharedStringValue(index);
+                return;
+            }
+        }
+        _reportError("Invalid type marker byte 0x"+Integer.toHexString(ch)+" for expected value token");
+    }
+
+    /**
+     * Helper method called to write current token, contents of which have already
+     * been decoded, by re-encoding it.
+     */
+    private final void _writeRawDecodedValue(JsonToken t) throws IOException
+    {
+        switch (t) {
+        case VALUE_STRING:
+            _writeRawString(getText(), false);
+            return;
+        case VALUE_NULL:
+        case VALUE_FALSE:
+        case VALUE_TRUE:
+            _rawValueOut.write(_typeAsInt);
+            ++_rawValueLength;
+            return;
+        case VALUE_NUMBER_INT:
+            if ((_typeAsInt >> 5) == 6) { // small integers
+                _rawValueOut.write(_typeAsInt);
+                ++_rawValueLength;
+                return;
+            }
+            if (_typeAsInt == SmileConstants.TOKEN_PREFIX_INTEGER) { // 32-bit VInt, always decoded
+                _writeRawInt(_numberInt);
+                return;
+            }
+            break;
+        }
+        _reportError("Can not read raw value of current token ("+t+"): contents already accessed");
+    }
+
+    private final void _writeRawSharedName(int index) throws IOException
+    {
+        if (index >= _seenNameCount) {
+            _reportInvalidSharedName(index);
+        }
+        _writeRawString(_seenNames[index], true);
+    }
+
+    private final void _writeRawSharedStringValue(int index) throws IOException
+    {
+        if (index >= _seenStringValueCount) {
+            _reportInvalidSharedStringValue(index);
+        }
+        _writeRawString(_seenStringValues[index], false);
+    }
+
+    /**
+     * Helper method for writing given name or String value, using the same
+     * encoding as {@link SmileGenerator} would (except for back-references).
+     */
+    private final void _writeRawString(String text, boolean isName) throws IOException
+    {
+        final byte[] b = text.getBytes(StandardCharsets.UTF_8);
+        final int len = b.length;
+        final boolean ascii = (len == text.length());
+        boolean endMarker = false;
+        int typeByte;
+
+        if (len == 0) {
+            typeByte = isName ? SmileConstants.TOKEN_KEY_EMPTY_STRING : SmileConstants.TOKEN_LITERAL_EMPTY_STRING;
+        } else if (isName) {
+            if (ascii && (len <= SmileConstants.MAX_SHORT_NAME_ASCII_BYTES)) {
+                typeByte = (SmileConstants.TOKEN_PREFIX_KEY_ASCII - 1) + len;
+            } else if (!ascii && (len <= SmileConstants.MAX_SHORT_NAME_UNICODE_BYTES)) {
+                typeByte = (SmileConstants.TOKEN_PREFIX_KEY_UNICODE - 2) + len;
+            } else {
+                typeByte = SmileConstants.TOKEN_KEY_LONG_STRING;
+                endMarker = true;
+            }
+        } else if (len <= SmileConstants.MAX_SHORT_VALUE_STRING_BYTES) {
+            // note: lengths of Unicode Strings offset by 2, not 1, as with ASCII
+            typeByte = ascii ? ((SmileConstants.TOKEN_PREFIX_TINY_ASCII - 1) + len)
+                    : ((SmileConstants.TOKEN_PREFIX_TINY_UNICODE - 2) + len);
+        } else {
+            typeByte = ascii ? SmileConstants.TOKEN_MISC_LONG_TEXT_ASCII : SmileConstants.TOKEN_MISC_LONG_TEXT_UNICODE;
+            endMarker = true;
+        }
+        _rawValueOut.write(typeByte);
+        _rawValueOut.write(b);
+        _rawValueLength += 1 + len;
+        if (endMarker) {
+            _rawValueOut.write(BYTE_MARKER_END_OF_STRING);
+            ++_rawValueLength;
+        }
+    }
+
+    private final void _writeRawInt(int value) throws IOException
+    {
+        int i = SmileUtil.zigzagEncode(value);
+        final byte[] b = new byte[6];
+        int ptr = b.length - 1;
+        // last byte has 6 bits of value, others 7
+        b[ptr] = (byte) (0x80 + (i & 0x3F));
+        i >>>= 6;
+        while (i != 0) {
+            b[--ptr] = (byte) (i & 0x7F);
+            i >>>= 7;
+        }
+        b[--ptr] = (byte) SmileConstants.TOKEN_PREFIX_INTEGER;
+        _rawValueOut.write(b, ptr, b.length - ptr);
+        _rawValueLength += b.length - ptr;
+    }
+
+    private final void _copyRawValue(int end) throws IOException
+    {
+        final int len = end - _rawValueStart;
+        if (len > 0) {
+            _rawValueOut.write(_inputBuffer, _rawValueStart, len);
+            _rawValueLength += len;
+        }
+        _rawValueStart = end;
+    }
+
     /*
     /**********************************************************
     /* Internal methods, field name parsing
@@ -1657,20 +2327,20 @@ public class SmileParser extends SmileParserBase
     /**
      * Method called to try to expand shared name area to fit one more potentially
      * shared String. If area is already at its biggest size, will just clear
-     * the area (by setting next-offset to 0)
+     * the area (by setting next-offset to 0, or past pre-seeded names, if any)
      */
     private final String[] _expandSeenNames(String[] oldShared)
     {
         int len = oldShared.length;
         String[] newShared;
         if (len == 0) {
-            newShared = _smileBufferRecycler.allocSeenNamesBuffer();
+            newShared = _allocSeenNamesBuffer();
             if (newShared == null) {
                 newShared = new String[SmileBufferRecycler.DEFAULT_NAME_BUFFER_LENGTH];                
             }
         } else if (len == SmileConstants.MAX_SHARED_NAMES) { // too many? Just flush...
       	   newShared = oldShared;
-      	   _seenNameCount = 0; // could also clear, but let's not yet bother
+      	   _seenNameCount = _seededNameCount; // could also clear, but let's not yet bother
         } else {
             int newSize = (len == SmileBufferRecycler.DEFAULT_STRING_VALUE_BUFFER_LENGTH) ? 256 : SmileConstants.MAX_SHARED_NAMES;
             newShared = Arrays.copyOf(oldShared, newSize);
@@ -1885,6 +2555,15 @@ public class SmileParser extends SmileParserBase
     }
 
     private final void _handleLongFieldName() throws IOException
+    {
+        _parsingContext.setCurrentName(_decodeLongFieldName());
+    }
+
+    /**
+     * Helper method for decoding a long name (and adding it as a shared name,
+     * if enabled), without changing current name.
+     */
+    private final String _decodeLongFieldName() throws IOException
     {
         // First: gather quads we need, looking for end marker
         final byte[] inBuf = _inputBuffer;
@@ -1954,7 +2633,7 @@ public class SmileParser extends SmileParserBase
            }
            _seenNames[_seenNameCount++] = name;
         }
-        _parsingContext.setCurrentName(name);
+        return name;
     }
 
     /**
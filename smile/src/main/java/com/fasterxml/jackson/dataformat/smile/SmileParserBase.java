@@ -1,7 +1,6 @@
 package com.fasterxml.jackson.dataformat.smile;
 
 import java.io.IOException;
-import java.lang.ref.SoftReference;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Arrays;
@@ -14,6 +13,8 @@ import com.fasterxml.jackson.core.json.DupDetector;
 import com.fasterxml.jackson.core.json.JsonReadContext;
 import com.fasterxml.jackson.core.sym.ByteQuadsCanonicalizer;
 import com.fasterxml.jackson.core.util.TextBuffer;
+import com.fasterxml.jackson.dataformat.binary.util.RecyclerPool;
+import com.fasterxml.jackson.dataformat.binary.util.RecyclerPools;
 
 public abstract class SmileParserBase extends ParserMinimalBase
 {
@@ -190,25 +191,51 @@ public abstract class SmileParserBase extends ParserMinimalBase
 
     protected int _seenStringValueCount = -1;
 
+    /**
+     * Pre-seeded shared names and String values, if any.
+     *
+     * @since 3.0
+     */
+    protected SmileDictionary _dictionary;
+
+    /**
+     * Number of pre-seeded names at the beginning of {@link #_seenNames}:
+     * retained when shared name area is cleared.
+     *
+     * @since 3.0
+     */
+    protected int _seededNameCount;
+
+    /**
+     * Number of pre-seeded String values at the beginning of {@link #_seenStringValues}:
+     * retained when shared String value area is cleared.
+     *
+     * @since 3.0
+     */
+    protected int _seededStringValueCount;
+
     /*
     /**********************************************************
-    /* Thread-local recycling
+    /* Recycling
     /**********************************************************
      */
-    
+
     /**
-     * <code>ThreadLocal</code> contains a {@link java.lang.ref.SoftReference}
-     * to a buffer recycler used to provide a low-cost
-     * buffer recycling for Smile-specific buffers.
+     * Pool used by parsers unless another one is specified using
+     * {@link #_setRecyclerPool}: uses a {@link ThreadLocal} recycler per thread.
+     *
+     * @since 3.0
      */
-    final protected static ThreadLocal<SoftReference<SmileBufferRecycler<String>>> _smileRecyclerRef
-        = new ThreadLocal<SoftReference<SmileBufferRecycler<String>>>();
+    final protected static RecyclerPool<SmileBufferRecycler<String>> DEFAULT_RECYCLER_POOL
+        = RecyclerPools.threadLocal().createPool(SmileBufferRecycler::new);
 
     /**
-     * Helper object used for low-level recycling of Smile-generator
+     * Pool of helper objects used for low-level recycling of Smile-parser
      * specific buffers.
+     *
+     * @since 3.0
      */
-    final protected SmileBufferRecycler<String> _smileBufferRecycler;
+    protected RecyclerPool<SmileBufferRecycler<String>> _recyclerPool;
 
     /*
     /**********************************************************
@@ -229,19 +256,102 @@ public abstract class SmileParserBase extends ParserMinimalBase
         _parsingContext = JsonReadContext.createRootContext(dups);
 
         _textBuffer = ioCtxt.constructTextBuffer();
-        _smileBufferRecycler = _smileBufferRecycler();
+        _recyclerPool = DEFAULT_RECYCLER_POOL;
     }
 
-    protected final static SmileBufferRecycler<String> _smileBufferRecycler()
+    /**
+     * Method called by {@link SmileFactory} right after construction, before any
+     * content (including header) is read, to specify pool to use for recycling
+     * buffers, if not the default one. Pool is only accessed when buffers are
+     * claimed or returned.
+     *
+     * @since 3.0
+     */
+    protected void _setRecyclerPool(RecyclerPool<SmileBufferRecycler<String>> pool)
     {
-        SoftReference<SmileBufferRecycler<String>> ref = _smileRecyclerRef.get();
-        SmileBufferRecycler<String> br = (ref == null) ? null : ref.get();
+        _recyclerPool = pool;
+    }
 
-        if (br == null) {
-            br = new SmileBufferRecycler<String>();
-            _smileRecyclerRef.set(new SoftReference<SmileBufferRecycler<String>>(br));
+    /**
+     * Method called by {@link SmileFactory} right after construction, before any
+     * content (including header) is read, to pre-seed shared names and String values.
+     * Note that having pre-seeded String values enables shared String value
+     * handling even if there is no header to indicate it.
+     *
+     * @since 3.0
+     */
+    protected void _setDictionary(SmileDictionary dict)
+    {
+        _dictionary = dict;
+        _seededNameCount = dict.nameCount();
+        _seededStringValueCount = dict.valueCount();
+        // shared names enabled by default, unless (and until) header disables
+        if ((_seenNames != null) && (_seededNameCount > 0)) {
+            String[] names = _seedBuffer(_allocSeenNamesBuffer(), _seededNameCount);
+            dict.copyNames(names);
+            _seenNames = names;
+            _seenNameCount = _seededNameCount;
+        }
+        if (_seededStringValueCount > 0) {
+            _initSharedStringValues(true);
         }
-        return br;
+    }
+
+    /**
+     * Helper method called to enable or disable handling of shared String
+     * values, as indicated by header (or pre-seeded values).
+     *
+     * @since 3.0
+     */
+    protected final void _initSharedStringValues(boolean enabled)
+    {
+        if (!enabled) {
+            _seenStringValues = null;
+            _seenStringValueCount = -1;
+        } else if (_seededStringValueCount == 0) {
+            _seenStringValues = NO_STRINGS;
+            _seenStringValueCount = 0;
+        } else {
+            String[] values = _seedBuffer(_allocSeenStringValuesBuffer(),
+                    _seededStringValueCount);
+            _dictionary.copyValues(values);
+            _seenStringValues = values;
+            _seenStringValueCount = _seededStringValueCount;
+        }
+    }
+
+    private final static String[] _seedBuffer(String[] buffer, int seededCount)
+    {
+        if ((buffer == null) || (buffer.length < seededCount)) {
+            buffer = new String[Math.max(seededCount, SmileBufferRecycler.DEFAULT_NAME_BUFFER_LENGTH)];
+        }
+        return buffer;
+    }
+
+    /**
+     * @return Recycled shared-name buffer, if one available; {@code null} if not
+     *
+     * @since 3.0
+     */
+    protected final String[] _allocSeenNamesBuffer()
+    {
+        final SmileBufferRecycler<String> recycler = _recyclerPool.acquire();
+        final String[] buffer = recycler.allocSeenNamesBuffer();
+        _recyclerPool.release(recycler);
+        return buffer;
+    }
+
+    /**
+     * @return Recycled shared-String-value buffer, if one available; {@code null} if not
+     *
+     * @since 3.0
+     */
+    protected final String[] _allocSeenStringValuesBuffer()
+    {
+        final SmileBufferRecycler<String> recycler = _recyclerPool.acquire();
+        final String[] buffer = recycler.allocSeenStringValuesBuffer();
+        _recyclerPool.release(recycler);
+        return buffer;
     }
 
     /*                                                                                       
@@ -366,7 +476,8 @@ public abstract class SmileParserBase extends ParserMinimalBase
             if (_seenNameCount > 0) {
                 Arrays.fill(nameBuf, 0, _seenNameCount, null);
             }
-            _smileBufferRecycler.releaseSeenNamesBuffer(nameBuf);
+        } else {
+            nameBuf = null;
         }
         String[] valueBuf = _seenStringValues;
         if (valueBuf != null && valueBuf.length > 0) {
@@ -376,7 +487,18 @@ public abstract class SmileParserBase extends ParserMinimalBase
             if (_seenStringValueCount > 0) {
                 Arrays.fill(valueBuf, 0, _seenStringValueCount, null);
             }
-            _smileBufferRecycler.releaseSeenStringValuesBuffer(valueBuf);
+        } else {
+            valueBuf = null;
+        }
+        if ((nameBuf != null) || (valueBuf != null)) {
+            final SmileBufferRecycler<String> recycler = _recyclerPool.acquire();
+            if (nameBuf != null) {
+                recycler.releaseSeenNamesBuffer(nameBuf);
+            }
+            if (valueBuf != null) {
+                recycler.releaseSeenStringValuesBuffer(valueBuf);
+            }
+            _recyclerPool.release(recycler);
         }
         _releaseBuffers2();
     }
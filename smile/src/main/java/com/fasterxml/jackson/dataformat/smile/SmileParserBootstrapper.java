@@ -5,6 +5,7 @@ import java.io.*;
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.io.IOContext;
 import com.fasterxml.jackson.core.sym.ByteQuadsCanonicalizer;
+import com.fasterxml.jackson.dataformat.binary.util.RecyclerPool;
 
 /**
  * Simple bootstrapper version used with Smile format parser.
@@ -85,7 +86,8 @@ public class SmileParserBootstrapper
     public SmileParser constructParser(ObjectReadContext readCtxt,
             int factoryFeatures,
             int generalParserFeatures, int smileFeatures,
-            ByteQuadsCanonicalizer rootByteSymbols)
+            ByteQuadsCanonicalizer rootByteSymbols, SmileDictionary dict,
+            RecyclerPool<SmileBufferRecycler<String>> recyclerPool)
         throws IOException, JsonParseException
     {
         ByteQuadsCanonicalizer can = rootByteSymbols.makeChild(factoryFeatures);
@@ -101,6 +103,11 @@ public class SmileParserBootstrapper
         SmileParser p = new SmileParser(readCtxt, _ioContext, generalParserFeatures, smileFeatures,
                 can, 
                 _in, _inputBuffer, _inputPtr, _inputEnd, _bufferRecyclable);
+        p._setRecyclerPool(recyclerPool);
+        // dictionary needs to be in place before header is handled
+        if (dict != null) {
+            p._setDictionary(dict);
+        }
         boolean hadSig = false;
         if (_inputPtr < _inputEnd) { // only false for empty doc
             if (_inputBuffer[_inputPtr] == SmileConstants.HEADER_BYTE_1) {
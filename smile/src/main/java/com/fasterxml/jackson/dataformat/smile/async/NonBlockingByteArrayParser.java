@@ -72,7 +72,7 @@ public class NonBlockingByteArrayParser
     }
 
     @Override
-    public final boolean needMoreInput() {
+    public boolean needMoreInput() {
         return (_inputPtr >=_inputEnd) && !_endOfInput;
     }
 
@@ -382,10 +382,7 @@ public class NonBlockingByteArrayParser
                     _seenNameCount = -1;
                 }
                 // conversely, shared string values must be explicitly enabled
-                if ((ch & SmileConstants.HEADER_BIT_HAS_SHARED_STRING_VALUES) != 0) {
-                    _seenStringValues = NO_STRINGS;
-                    _seenStringValueCount = 0;
-                }
+                _initSharedStringValues((ch & SmileConstants.HEADER_BIT_HAS_SHARED_STRING_VALUES) != 0);
                 _mayContainRawBinary = ((ch & SmileConstants.HEADER_BIT_HAS_RAW_BINARY) != 0);
             }
             _majorState = MAJOR_ROOT;
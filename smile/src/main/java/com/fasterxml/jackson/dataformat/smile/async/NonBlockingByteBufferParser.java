@@ -0,0 +1,193 @@
+package com.fasterxml.jackson.dataformat.smile.async;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectReadContext;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.sym.ByteQuadsCanonicalizer;
+
+/**
+ * Non-blocking Smile parser that may be fed {@link ByteBuffer}s, in addition
+ * to {@code byte[]} chunks accepted by {@link NonBlockingByteArrayParser}.
+ *<p>
+ * Heap buffers (ones for which {@link ByteBuffer#hasArray()} returns true)
+ * are decoded in place, from the backing array, without copying.
+ * Content of direct (off-heap) buffers is transferred in bounded chunks into
+ * a small buffer owned by the parser, as needed: this avoids need to copy
+ * whole messages into separately allocated heap arrays by the caller
+ * (bulk transfer being considerably faster than per-byte access of direct buffers).
+ *<p>
+ * As with {@code byte[]} input, contents of buffers fed must not be modified
+ * by caller until parser has consumed all of it (as indicated by
+ * {@link #needMoreInput()} returning {@code true}); position and limit of
+ * buffers passed are not modified by the parser.
+ */
+public class NonBlockingByteBufferParser
+    extends NonBlockingByteArrayParser
+{
+    /**
+     * Size of chunks in which content of direct buffers is transferred.
+     */
+    protected final static int TRANSFER_CHUNK_SIZE = 4000;
+
+    /**
+     * Direct buffer with content not yet transferred for decoding, if any;
+     * a duplicate of buffer given by caller.
+     */
+    protected ByteBuffer _pendingBuffer;
+
+    /**
+     * Heap buffer into which contents of direct buffers are transferred;
+     * lazily allocated when first needed.
+     */
+    protected byte[] _transferBuffer;
+
+    /*
+    /**********************************************************************
+    /* Life-cycle
+    /**********************************************************************
+     */
+
+    public NonBlockingByteBufferParser(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int parserFeatures, int smileFeatures,
+            ByteQuadsCanonicalizer sym)
+    {
+        super(readCtxt, ioCtxt, parserFeatures, smileFeatures, sym);
+    }
+
+    @Override
+    protected void _releaseBuffers2()
+    {
+        super._releaseBuffers2();
+        _transferBuffer = null;
+        _pendingBuffer = null;
+    }
+
+    /*
+    /**********************************************************************
+    /* AsyncInputFeeder impl
+    /**********************************************************************
+     */
+
+    @Override
+    public boolean needMoreInput() {
+        return super.needMoreInput() && !_hasPendingContent();
+    }
+
+    @Override
+    public void feedInput(byte[] buf, int start, int end) throws IOException
+    {
+        _verifyNoPendingContent();
+        super.feedInput(buf, start, end);
+    }
+
+    /**
+     * Method for feeding contents of given buffer, from its current position
+     * to its limit, for parsing.
+     */
+    public void feedInput(ByteBuffer buf) throws IOException
+    {
+        _verifyNoPendingContent();
+        if (buf.hasArray()) { // heap buffer: can use backing array as is
+            final int offset = buf.arrayOffset();
+            super.feedInput(buf.array(), offset + buf.position(), offset + buf.limit());
+            return;
+        }
+        // Direct buffer: must transfer, but only as much as is needed at a time.
+        // But first do the same verifications as with other input
+        super.feedInput(NO_BYTES, 0, 0);
+        _pendingBuffer = buf.duplicate();
+        _transferMore();
+    }
+
+    /*
+    /**********************************************************************
+    /* Abstract methods/overrides from JsonParser
+    /**********************************************************************
+     */
+
+    @Override
+    public int releaseBuffered(OutputStream out) throws IOException {
+        int count = super.releaseBuffered(out);
+        if (_hasPendingContent()) {
+            // as with byte[] content, do not consume; nor overwrite buffered content
+            final ByteBuffer bb = _pendingBuffer.duplicate();
+            final byte[] b = new byte[Math.min(bb.remaining(), TRANSFER_CHUNK_SIZE)];
+            while (bb.hasRemaining()) {
+                final int len = Math.min(bb.remaining(), b.length);
+                bb.get(b, 0, len);
+                out.write(b, 0, len);
+                count += len;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException
+    {
+        // If we have pending content, must make it available before decoding
+        // (otherwise end-of-input would be reported prematurely)
+        if (_inputPtr >= _inputEnd) {
+            _transferMore();
+        }
+        JsonToken t = super.nextToken();
+        while ((t == JsonToken.NOT_AVAILABLE) && _transferMore()) {
+            t = super.nextToken();
+        }
+        return t;
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    private boolean _hasPendingContent() {
+        return (_pendingBuffer != null) && _pendingBuffer.hasRemaining();
+    }
+
+    private void _verifyNoPendingContent() throws IOException
+    {
+        if (_hasPendingContent()) {
+            _reportError("Still have %d undecoded bytes, should not call 'feedInput'",
+                    _pendingBuffer.remaining());
+        }
+    }
+
+    /**
+     * Helper method called to transfer next chunk of pending content from
+     * direct buffer, if any, to be decoded.
+     *
+     * @return True if more content was made available; false if there was no more
+     *    pending content
+     */
+    protected boolean _transferMore()
+    {
+        final ByteBuffer bb = _pendingBuffer;
+        if (bb == null) {
+            return false;
+        }
+        final int len = Math.min(bb.remaining(), TRANSFER_CHUNK_SIZE);
+        if (len == 0) {
+            _pendingBuffer = null;
+            return false;
+        }
+        byte[] b = _transferBuffer;
+        if (b == null) {
+            _transferBuffer = b = new byte[TRANSFER_CHUNK_SIZE];
+        }
+        bb.get(b, 0, len);
+
+        _currInputProcessed += _origBufferLen;
+        _inputBuffer = b;
+        _inputPtr = 0;
+        _inputEnd = len;
+        _origBufferLen = len;
+        return true;
+    }
+}
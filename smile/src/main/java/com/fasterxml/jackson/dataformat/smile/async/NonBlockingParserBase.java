@@ -517,20 +517,20 @@ public abstract class NonBlockingParserBase
     /**
      * Method called to try to expand shared name area to fit one more potentially
      * shared String. If area is already at its biggest size, will just clear
-     * the area (by setting next-offset to 0)
+     * the area (by setting next-offset to 0, or past pre-seeded names, if any)
      */
     protected final String[] _expandSeenNames(String[] oldShared)
     {
         int len = oldShared.length;
         String[] newShared;
         if (len == 0) {
-            newShared = _smileBufferRecycler.allocSeenNamesBuffer();
+            newShared = _allocSeenNamesBuffer();
             if (newShared == null) {
                 newShared = new String[SmileBufferRecycler.DEFAULT_NAME_BUFFER_LENGTH];                
             }
         } else if (len == SmileConstants.MAX_SHARED_NAMES) { // too many? Just flush...
       	   newShared = oldShared;
-      	   _seenNameCount = 0; // could also clear, but let's not yet bother
+      	   _seenNameCount = _seededNameCount; // could also clear, but let's not yet bother
         } else {
             int newSize = (len == SmileBufferRecycler.DEFAULT_STRING_VALUE_BUFFER_LENGTH) ? 256 : SmileConstants.MAX_SHARED_NAMES;
             newShared = new String[newSize];
@@ -599,13 +599,13 @@ public abstract class NonBlockingParserBase
         int len = oldShared.length;
         String[] newShared;
         if (len == 0) {
-            newShared = _smileBufferRecycler.allocSeenStringValuesBuffer();
+            newShared = _allocSeenStringValuesBuffer();
             if (newShared == null) {
                 newShared = new String[SmileBufferRecycler.DEFAULT_STRING_VALUE_BUFFER_LENGTH];
             }
         } else if (len == SmileConstants.MAX_SHARED_STRING_VALUES) { // too many? Just flush...
            newShared = oldShared;
-           _seenStringValueCount = 0; // could also clear, but let's not yet bother
+           _seenStringValueCount = _seededStringValueCount; // could also clear, but let's not yet bother
         } else {
             int newSize = (len == SmileBufferRecycler.DEFAULT_NAME_BUFFER_LENGTH) ? 256 : SmileConstants.MAX_SHARED_STRING_VALUES;
             newShared = new String[newSize];
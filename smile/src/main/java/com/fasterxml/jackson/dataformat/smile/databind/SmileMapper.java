@@ -24,10 +24,12 @@ public class SmileMapper extends ObjectMapper
     {
         public Builder(SmileFactory f) {
             super(f);
+            addModule(new SmileModule());
         }
 
         public Builder(StateImpl state) {
             super(state);
+            // no need to add module, should come by default
         }
 
         @Override
@@ -0,0 +1,32 @@
+package com.fasterxml.jackson.dataformat.smile.databind;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import com.fasterxml.jackson.dataformat.binary.databind.BulkArrayDeserializers;
+import com.fasterxml.jackson.dataformat.smile.PackageVersion;
+import com.fasterxml.jackson.dataformat.smile.SmileParser;
+
+/**
+ * Module registered by default by {@link SmileMapper}: adds deserializers for
+ * <code>int[]</code>, <code>long[]</code> and <code>double[]</code> that read
+ * contents using bulk read methods of {@link SmileParser} (like
+ * {@link SmileParser#readIntArray(int[], int, int)}), instead of
+ * going through elements one token at a time.
+ * Elements that bulk reads do not accept (like nulls, or Strings to coerce)
+ * are handled the same way as by the default deserializers.
+ * Deserializers are shared with other binary format modules
+ * (see {@link BulkArrayDeserializers}).
+ *
+ * @since 3.0
+ */
+public class SmileModule extends SimpleModule
+{
+    private static final long serialVersionUID = 1L;
+
+    public SmileModule() {
+        super("SmileModule", PackageVersion.VERSION);
+        addDeserializer(int[].class, new BulkArrayDeserializers.IntArrayDeserializer());
+        addDeserializer(long[].class, new BulkArrayDeserializers.LongArrayDeserializer());
+        addDeserializer(double[].class, new BulkArrayDeserializers.DoubleArrayDeserializer());
+    }
+}
@@ -2,6 +2,7 @@
 module com.fasterxml.jackson.dataformat.smile {
     requires com.fasterxml.jackson.core;
     requires com.fasterxml.jackson.databind;
+    requires com.fasterxml.jackson.dataformat.binary;
 
     exports com.fasterxml.jackson.dataformat.smile;
     exports com.fasterxml.jackson.dataformat.smile.async;
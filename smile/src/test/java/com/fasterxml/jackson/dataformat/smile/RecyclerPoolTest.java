@@ -0,0 +1,137 @@
+package com.fasterxml.jackson.dataformat.smile;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.dataformat.binary.util.RecyclerPool;
+import com.fasterxml.jackson.dataformat.binary.util.RecyclerPools;
+
+/**
+ * Tests for recycling of Smile-specific buffers using pools configured
+ * with {@link SmileFactoryBuilder#recyclerPool}.
+ */
+public class RecyclerPoolTest extends BaseTestForSmile
+{
+    /**
+     * Provider that wraps another one, keeping track of number of recyclers created.
+     */
+    @SuppressWarnings("serial")
+    static class CountingProvider implements RecyclerPool.Provider
+    {
+        final RecyclerPool.Provider _delegate;
+
+        final AtomicInteger created = new AtomicInteger();
+
+        CountingProvider(RecyclerPool.Provider delegate) {
+            _delegate = delegate;
+        }
+
+        @Override
+        public <P> RecyclerPool<P> createPool(Supplier<P> creator) {
+            return _delegate.createPool(() -> {
+                created.incrementAndGet();
+                return creator.get();
+            });
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testThreadLocalPool() throws Exception {
+        // one recycler for generators, one for parsers
+        assertEquals(2, _testRoundTrips(RecyclerPools.threadLocal()));
+    }
+
+    public void testSharedPool() throws Exception {
+        assertEquals(2, _testRoundTrips(RecyclerPools.shared()));
+        assertEquals(2, _testRoundTrips(RecyclerPools.shared(1)));
+    }
+
+    public void testNonRecyclingPool() throws Exception {
+        // no reuse: recycler created whenever buffers are claimed or returned
+        assertTrue(_testRoundTrips(RecyclerPools.nonRecycling()) > 2);
+    }
+
+    public void testSharedPoolFromManyThreads() throws Exception
+    {
+        CountingProvider provider = new CountingProvider(RecyclerPools.shared());
+        final ObjectMapper mapper = _mapper(provider);
+        final List<Map<String,Object>> input = _values();
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        Thread[] threads = new Thread[20];
+        for (int i = 0; i < threads.length; ++i) {
+            threads[i] = new Thread(() -> {
+                try {
+                    for (int round = 0; round < 20; ++round) {
+                        byte[] doc = mapper.writeValueAsBytes(input);
+                        assertEquals(input, mapper.readValue(doc, List.class));
+                    }
+                } catch (Throwable t) {
+                    errors.add(t);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertEquals(Collections.emptyList(), errors);
+        // at most one recycler per concurrent generator and parser
+        assertTrue(provider.created.get() <= 2 * threads.length);
+    }
+
+    public void testFactoryConfig() throws Exception
+    {
+        RecyclerPool.Provider provider = RecyclerPools.shared(4);
+        SmileFactory f = SmileFactory.builder()
+                .recyclerPool(provider)
+                .build();
+        assertSame(provider, f.getRecyclerPoolProvider());
+        assertSame(provider, f.rebuild().build().getRecyclerPoolProvider());
+        assertNull(new SmileFactory().getRecyclerPoolProvider());
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    // @return Number of recyclers created
+    private int _testRoundTrips(RecyclerPool.Provider pools) throws Exception
+    {
+        CountingProvider provider = new CountingProvider(pools);
+        ObjectMapper mapper = _mapper(provider);
+        final List<Map<String,Object>> input = _values();
+        for (int i = 0; i < 5; ++i) {
+            byte[] doc = mapper.writeValueAsBytes(input);
+            assertEquals(input, mapper.readValue(doc, List.class));
+        }
+        return provider.created.get();
+    }
+
+    private ObjectMapper _mapper(RecyclerPool.Provider provider) {
+        return new SmileMapper(smileFactoryBuilder(true, true, false)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .recyclerPool(provider)
+                .build());
+    }
+
+    private List<Map<String,Object>> _values() {
+        List<Map<String,Object>> result = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            Map<String,Object> value = new LinkedHashMap<>();
+            value.put("id", i);
+            value.put("status", (i % 3 == 0) ? "ok" : "error");
+            result.add(value);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,237 @@
+package com.fasterxml.jackson.dataformat.smile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.async.AsyncReaderWrapper;
+import com.fasterxml.jackson.dataformat.smile.async.AsyncReaderWrapperForByteArray;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Tests for pre-seeded shared names and String values, configured
+ * using {@link SmileDictionary}.
+ */
+public class SharedDictionaryTest extends BaseTestForSmile
+{
+    static class Message {
+        public String type;
+        public String status;
+        public int id;
+        public List<String> tags;
+
+        protected Message() { }
+        public Message(String type, String status, int id, String... tags) {
+            this.type = type;
+            this.status = status;
+            this.id = id;
+            this.tags = Arrays.asList(tags);
+        }
+    }
+
+    private final SmileDictionary DICT = SmileDictionary.construct(
+            Arrays.asList("type", "status", "id", "tags"),
+            Arrays.asList("request", "response", "ok", "error", "urgent"));
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testBackRefsFromStart() throws Exception
+    {
+        ObjectMapper mapper = _mapper(true);
+        byte[] doc = mapper.writeValueAsBytes(new Message("response", "ok", 3));
+        byte[] plain = smileMapper(false, true, false).writeValueAsBytes(new Message("response", "ok", 3));
+        // header, object start/end, all names and String values as single-byte refs,
+        // plus single byte for small int, 2 for empty array
+        assertEquals(4 + 2 + 4 + 2 + 1 + 2, doc.length);
+        assertTrue(doc.length < plain.length);
+
+        _verifyBytes(Arrays.copyOfRange(doc, 4, 9),
+                SmileConstants.TOKEN_LITERAL_START_OBJECT,
+                (byte) (SmileConstants.TOKEN_PREFIX_KEY_SHARED_SHORT + 0), // "type"
+                (byte) (SmileConstants.TOKEN_PREFIX_SHARED_STRING_SHORT + 1 + 1), // "response"
+                (byte) (SmileConstants.TOKEN_PREFIX_KEY_SHARED_SHORT + 1), // "status"
+                (byte) (SmileConstants.TOKEN_PREFIX_SHARED_STRING_SHORT + 1 + 2) // "ok"
+        );
+
+        Message result = mapper.readValue(doc, Message.class);
+        assertEquals("response", result.type);
+        assertEquals("ok", result.status);
+        assertEquals(3, result.id);
+        assertEquals(0, result.tags.size());
+    }
+
+    // Shared values enabled by dictionary even without header
+    public void testRoundtripWithoutHeader() throws Exception
+    {
+        ObjectMapper mapper = _mapper(false);
+        Message input = new Message("request", "error", 42, "urgent", "other", "other");
+        byte[] doc = mapper.writeValueAsBytes(input);
+        assertFalse(doc[0] == SmileConstants.HEADER_BYTE_1);
+
+        _verifyMessage(input, mapper.readValue(doc, Message.class));
+        _verifyMessage(input, mapper.readValue(new ByteArrayInputStream(doc), Message.class));
+    }
+
+    public void testAsyncRoundtrip() throws Exception
+    {
+        for (boolean header : new boolean[] { true, false }) {
+            ObjectMapper mapper = _mapper(header);
+            Message input = new Message("request", "ok", -1, "urgent", "error");
+            byte[] doc = mapper.writeValueAsBytes(input);
+            for (int bytesPerRead : new int[] { 1, 3, 1000 }) {
+                AsyncReaderWrapper p = new AsyncReaderWrapperForByteArray(
+                        mapper.reader().createNonBlockingByteArrayParser(), bytesPerRead, doc, 0);
+                assertToken(JsonToken.START_OBJECT, p.nextToken());
+                assertToken(JsonToken.FIELD_NAME, p.nextToken());
+                assertEquals("type", p.currentName());
+                assertToken(JsonToken.VALUE_STRING, p.nextToken());
+                assertEquals("request", p.currentText());
+                assertToken(JsonToken.FIELD_NAME, p.nextToken());
+                assertEquals("status", p.currentName());
+                assertToken(JsonToken.VALUE_STRING, p.nextToken());
+                assertEquals("ok", p.currentText());
+                assertToken(JsonToken.FIELD_NAME, p.nextToken());
+                assertEquals("id", p.currentName());
+                assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+                assertEquals(-1, p.getIntValue());
+                assertToken(JsonToken.FIELD_NAME, p.nextToken());
+                assertEquals("tags", p.currentName());
+                assertToken(JsonToken.START_ARRAY, p.nextToken());
+                assertToken(JsonToken.VALUE_STRING, p.nextToken());
+                assertEquals("urgent", p.currentText());
+                assertToken(JsonToken.VALUE_STRING, p.nextToken());
+                assertEquals("error", p.currentText());
+                assertToken(JsonToken.END_ARRAY, p.nextToken());
+                assertToken(JsonToken.END_OBJECT, p.nextToken());
+                assertNull(p.nextToken());
+                p.close();
+            }
+        }
+    }
+
+    // Verify that pre-seeded entries survive resetting of back-reference windows
+    public void testWindowReset() throws Exception
+    {
+        final int COUNT = 3000;
+        ObjectMapper mapper = _mapper(true);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonGenerator g = mapper.createGenerator(bytes);
+        g.writeStartArray();
+        for (int i = 0; i < COUNT; ++i) {
+            g.writeStartObject();
+            g.writeStringField("name"+i, "value"+i);
+            g.writeStringField("type", "request");
+            g.writeStringField("name"+i, "value"+i);
+            g.writeEndObject();
+        }
+        g.writeEndArray();
+        g.close();
+        byte[] doc = bytes.toByteArray();
+
+        JsonParser p = mapper.createParser(doc);
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        for (int i = 0; i < COUNT; ++i) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertEquals("name"+i, p.currentName());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("value"+i, p.getText());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertEquals("type", p.currentName());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("request", p.getText());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertEquals("name"+i, p.currentName());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("value"+i, p.getText());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+        }
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    // Entries at indexes that can not be back-referenced must still be accounted for
+    public void testLargeDictionary() throws Exception
+    {
+        List<String> names = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < SmileDictionary.MAX_ENTRIES; ++i) {
+            names.add("field"+i);
+            values.add("v"+i);
+        }
+        SmileDictionary dict = SmileDictionary.construct(names, values);
+        assertEquals(-1, dict.findName("field254"));
+        assertEquals(-1, dict.findValue("v511"));
+        assertEquals(256, dict.findName("field256"));
+        assertEquals(0, dict.findValue("v0"));
+
+        ObjectMapper mapper = new SmileMapper(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .dictionary(dict)
+                .build());
+        Map<String,Object> input = new LinkedHashMap<>();
+        for (int i = 0; i < SmileDictionary.MAX_ENTRIES; i += 3) {
+            input.put("field"+i, "v"+i);
+            input.put("new"+i, "v"+(SmileDictionary.MAX_ENTRIES - i - 1));
+        }
+        byte[] doc = mapper.writeValueAsBytes(input);
+        assertEquals(input, mapper.readValue(doc, Map.class));
+    }
+
+    public void testInvalidDictionary() throws Exception
+    {
+        try {
+            SmileDictionary.construct(Arrays.asList("a", "b", "a"), null);
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "Duplicate shared name \"a\"");
+        }
+        try {
+            SmileDictionary.construct(null, Arrays.asList(""));
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "must be non-empty");
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 33; ++i) {
+            sb.append("\u00E9");
+        }
+        try {
+            SmileDictionary.construct(null, Arrays.asList(sb.toString()));
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "too long to be shared");
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private ObjectMapper _mapper(boolean header)
+    {
+        return new SmileMapper(smileFactoryBuilder(header, header, false)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .dictionary(DICT)
+                .build());
+    }
+
+    private void _verifyMessage(Message exp, Message act)
+    {
+        assertEquals(exp.type, act.type);
+        assertEquals(exp.status, act.status);
+        assertEquals(exp.id, act.id);
+        assertEquals(exp.tags, act.tags);
+    }
+}
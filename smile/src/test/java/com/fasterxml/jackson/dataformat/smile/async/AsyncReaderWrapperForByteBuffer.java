@@ -0,0 +1,59 @@
+package com.fasterxml.jackson.dataformat.smile.async;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Helper class used with async parser that is fed {@link ByteBuffer}s
+ */
+public class AsyncReaderWrapperForByteBuffer extends AsyncReaderWrapper
+{
+    private final byte[] _doc;
+    private final int _bytesPerFeed;
+    private final boolean _direct;
+
+    private int _offset;
+    private int _end;
+
+    public AsyncReaderWrapperForByteBuffer(NonBlockingByteBufferParser sr, int bytesPerCall,
+            byte[] doc, boolean direct)
+    {
+        super(sr);
+        _bytesPerFeed = bytesPerCall;
+        _doc = doc;
+        _offset = 0;
+        _end = doc.length;
+        _direct = direct;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException
+    {
+        JsonToken token;
+        final NonBlockingByteBufferParser p = (NonBlockingByteBufferParser) _streamReader;
+
+        while ((token = p.nextToken()) == JsonToken.NOT_AVAILABLE) {
+            if (!p.needMoreInput()) {
+                throw new IOException("Got NOT_AVAILABLE, could not feed more input");
+            }
+            int amount = Math.min(_bytesPerFeed, _end - _offset);
+            if (amount < 1) { // end-of-input?
+                p.endOfInput();
+            } else {
+                // add bit of padding on both sides to verify position/limit handling
+                ByteBuffer bb = _direct ? ByteBuffer.allocateDirect(amount + 2)
+                        : ByteBuffer.allocate(amount + 2);
+                bb.put((byte) 0xFF);
+                bb.put(_doc, _offset, amount);
+                bb.put((byte) 0xFF);
+                bb.position(1);
+                bb.limit(1 + amount);
+                p.feedInput(bb);
+                _offset += amount;
+            }
+        }
+        return token;
+    }
+}
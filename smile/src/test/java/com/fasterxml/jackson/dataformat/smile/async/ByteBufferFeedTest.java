@@ -0,0 +1,130 @@
+package com.fasterxml.jackson.dataformat.smile.async;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectReadContext;
+import com.fasterxml.jackson.core.ObjectWriteContext;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+public class ByteBufferFeedTest extends AsyncTestBase
+{
+    private final SmileFactory F = new SmileFactory();
+
+    public void testSimpleObjectHeap() throws IOException
+    {
+        _testSimpleObject(false);
+    }
+
+    public void testSimpleObjectDirect() throws IOException
+    {
+        _testSimpleObject(true);
+    }
+
+    private void _testSimpleObject(boolean direct) throws IOException
+    {
+        byte[] data = _smileDoc(aposToQuotes("{ 'a':true, 'b':[ 1, 'xyz', -0.25 ], 'name"+UNICODE_SEGMENT+"':'"
+                +UNICODE_SEGMENT+"' }"), true);
+        for (int size : new int[] { 1, 3, 1000 }) {
+            AsyncReaderWrapper r = _async(size, data, direct);
+            assertNull(r.currentToken());
+            assertToken(JsonToken.START_OBJECT, r.nextToken());
+            assertToken(JsonToken.FIELD_NAME, r.nextToken());
+            assertEquals("a", r.currentName());
+            assertToken(JsonToken.VALUE_TRUE, r.nextToken());
+            assertToken(JsonToken.FIELD_NAME, r.nextToken());
+            assertEquals("b", r.currentName());
+            assertToken(JsonToken.START_ARRAY, r.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, r.nextToken());
+            assertEquals(1, r.getIntValue());
+            assertToken(JsonToken.VALUE_STRING, r.nextToken());
+            assertEquals("xyz", r.currentText());
+            assertToken(JsonToken.VALUE_NUMBER_FLOAT, r.nextToken());
+            assertEquals(-0.25, r.getDoubleValue());
+            assertToken(JsonToken.END_ARRAY, r.nextToken());
+            assertToken(JsonToken.FIELD_NAME, r.nextToken());
+            assertEquals("name"+UNICODE_SEGMENT, r.currentName());
+            assertToken(JsonToken.VALUE_STRING, r.nextToken());
+            assertEquals(UNICODE_SEGMENT, r.currentText());
+            assertToken(JsonToken.END_OBJECT, r.nextToken());
+            assertNull(r.nextToken());
+            assertTrue(r.isClosed());
+        }
+    }
+
+    // Verify that content bigger than transfer chunk size works with direct buffers
+    public void testLongContentDirect() throws IOException
+    {
+        final int COUNT = 3000;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = F.createGenerator(ObjectWriteContext.empty(), bytes)) {
+            g.writeStartArray();
+            for (int i = 0; i < COUNT; ++i) {
+                g.writeString("value #"+i);
+                g.writeNumber(i);
+            }
+            g.writeEndArray();
+        }
+        byte[] data = bytes.toByteArray();
+        assertTrue(data.length > (2 * NonBlockingByteBufferParser.TRANSFER_CHUNK_SIZE));
+
+        for (boolean direct : new boolean[] { false, true }) {
+            for (int size : new int[] { 7, 5000, data.length }) {
+                AsyncReaderWrapper r = _async(size, data, direct);
+                assertToken(JsonToken.START_ARRAY, r.nextToken());
+                for (int i = 0; i < COUNT; ++i) {
+                    assertToken(JsonToken.VALUE_STRING, r.nextToken());
+                    assertEquals("value #"+i, r.currentText());
+                    assertToken(JsonToken.VALUE_NUMBER_INT, r.nextToken());
+                    assertEquals(i, r.getIntValue());
+                }
+                assertToken(JsonToken.END_ARRAY, r.nextToken());
+                assertNull(r.nextToken());
+            }
+        }
+    }
+
+    public void testMixedFeeding() throws IOException
+    {
+        byte[] data = _smileDoc("[ 1, 2, 3 ]", true);
+        NonBlockingByteBufferParser p = F.createNonBlockingByteBufferParser(ObjectReadContext.empty());
+        assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        // first half as byte[], rest as direct buffer
+        final int half = data.length / 2;
+        p.feedInput(data, 0, half);
+        ByteBuffer bb = ByteBuffer.allocateDirect(data.length - half);
+        bb.put(data, half, data.length - half);
+        bb.flip();
+
+        JsonToken t;
+        while ((t = p.nextToken()) != JsonToken.NOT_AVAILABLE) {
+            assertNotNull(t);
+        }
+        assertTrue(p.needMoreInput());
+        p.feedInput(bb);
+        // buffer must not have been modified
+        assertEquals(0, bb.position());
+
+        int count = 0;
+        while ((t = p.nextToken()) != JsonToken.NOT_AVAILABLE) {
+            if (t == JsonToken.END_ARRAY) {
+                break;
+            }
+            ++count;
+        }
+        assertToken(JsonToken.END_ARRAY, t);
+        assertTrue(count > 0);
+        p.endOfInput();
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    private AsyncReaderWrapper _async(int bytesPerRead, byte[] data, boolean direct) throws IOException
+    {
+        return new AsyncReaderWrapperForByteBuffer(F.createNonBlockingByteBufferParser(ObjectReadContext.empty()),
+                bytesPerRead, data, direct);
+    }
+}
@@ -0,0 +1,141 @@
+package com.fasterxml.jackson.dataformat.smile.parse;
+
+import java.io.ByteArrayInputStream;
+
+import org.junit.Assert;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.BaseTestForSmile;
+import com.fasterxml.jackson.dataformat.smile.SmileParser;
+
+/**
+ * Tests for bulk reads of primitive arrays, using methods like
+ * {@link SmileParser#readIntArray()}, as well as data-binding that uses them.
+ */
+public class BulkArrayReadTest extends BaseTestForSmile
+{
+    static class Numbers {
+        public int[] ints;
+        public long[] longs;
+        public double[] doubles;
+        public float[] floats;
+    }
+
+    private final static int COUNT = 20000;
+
+    private final ObjectMapper MAPPER = smileMapper();
+
+    public void testBulkReads() throws Exception
+    {
+        final Numbers input = _numbers();
+        byte[] doc = MAPPER.writeValueAsBytes(input);
+
+        SmileParser p = (SmileParser) _smileParser(new ByteArrayInputStream(doc));
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("ints", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        Assert.assertArrayEquals(input.ints, p.readIntArray());
+        assertToken(JsonToken.END_ARRAY, p.currentToken());
+        assertEquals("longs", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        Assert.assertArrayEquals(input.longs, p.readLongArray());
+        assertEquals("doubles", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        Assert.assertArrayEquals(input.doubles, p.readDoubleArray(), 0.0);
+        // floats, too, may be read as doubles
+        assertEquals("floats", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        double[] floats = p.readDoubleArray();
+        assertEquals(input.floats.length, floats.length);
+        for (int i = 0; i < floats.length; ++i) {
+            assertEquals((double) input.floats[i], floats[i]);
+        }
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        p.close();
+    }
+
+    public void testReadIntoBuffer() throws Exception
+    {
+        final int[] input = _numbers().ints;
+        byte[] doc = MAPPER.writeValueAsBytes(input);
+        SmileParser p = (SmileParser) _smileParser(doc);
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        int[] buffer = new int[13];
+        int count = 0;
+        int n;
+        while ((n = p.readIntArray(buffer, 0, buffer.length)) > 0) {
+            for (int i = 0; i < n; ++i) {
+                assertEquals(input[count++], buffer[i]);
+            }
+            if (n == buffer.length) {
+                assertToken(JsonToken.VALUE_NUMBER_INT, p.currentToken());
+                assertEquals(buffer[n-1], p.getIntValue());
+            }
+        }
+        assertEquals(input.length, count);
+        assertToken(JsonToken.END_ARRAY, p.currentToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testDataBinding() throws Exception
+    {
+        final Numbers input = _numbers();
+        byte[] doc = MAPPER.writeValueAsBytes(input);
+        Numbers result = MAPPER.readValue(new ByteArrayInputStream(doc), Numbers.class);
+        Assert.assertArrayEquals(input.ints, result.ints);
+        Assert.assertArrayEquals(input.longs, result.longs);
+        Assert.assertArrayEquals(input.doubles, result.doubles, 0.0);
+
+        // elements bulk reads do not accept are handled as usual
+        doc = _smileDoc("{\"ints\":[1,null,\"3\"],\"longs\":[\"2\",null],\"doubles\":[null,\"0.5\"]}");
+        result = MAPPER.readValue(doc, Numbers.class);
+        Assert.assertArrayEquals(new int[] { 1, 0, 3 }, result.ints);
+        Assert.assertArrayEquals(new long[] { 2L, 0L }, result.longs);
+        Assert.assertArrayEquals(new double[] { 0.0, 0.5 }, result.doubles, 0.0);
+    }
+
+    public void testInvalidBulkReads() throws Exception
+    {
+        SmileParser p = (SmileParser) _smileParser(_smileDoc("[1,2.5]"));
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        try {
+            p.readLongArray();
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "Unexpected token (VALUE_NUMBER_FLOAT) within Array read as long[]");
+        }
+        p.close();
+
+        p = (SmileParser) _smileParser(_smileDoc("{\"a\":1}"));
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        try {
+            p.readDoubleArray(new double[4], 0, 4);
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "not within an Array");
+        }
+        p.close();
+    }
+
+    private Numbers _numbers()
+    {
+        Numbers n = new Numbers();
+        n.ints = new int[COUNT];
+        n.longs = new long[COUNT];
+        n.doubles = new double[COUNT];
+        n.floats = new float[100];
+        for (int i = 0; i < COUNT; ++i) {
+            // small ints (single byte), as well as VInts of all lengths
+            int v = ((i % 3) == 0) ? (i % 16) : (i << (i % 24));
+            n.ints[i] = ((i & 1) == 0) ? v : -v;
+            n.longs[i] = ((i & 1) == 0) ? (i * 0x123456789L) : v;
+            n.doubles[i] = i / 3.0 - 7.0;
+        }
+        for (int i = 0; i < n.floats.length; ++i) {
+            n.floats[i] = i * 0.75f;
+        }
+        return n;
+    }
+}
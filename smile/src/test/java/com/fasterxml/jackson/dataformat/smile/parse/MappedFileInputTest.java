@@ -0,0 +1,102 @@
+package com.fasterxml.jackson.dataformat.smile.parse;
+
+import java.io.File;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectReadContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.binary.io.MappedFileInputStream;
+import com.fasterxml.jackson.dataformat.smile.BaseTestForSmile;
+import com.fasterxml.jackson.dataformat.smile.SmileParser;
+
+/**
+ * Tests for reading content from memory-mapped files, using
+ * {@link com.fasterxml.jackson.dataformat.smile.SmileFactory#createParser(ObjectReadContext, Path)}
+ * and {@link MappedFileInputStream}.
+ */
+public class MappedFileInputTest extends BaseTestForSmile
+{
+    private final static int COUNT = 1000;
+
+    private final ObjectMapper MAPPER = smileMapper(true);
+
+    public void testParserFromPath() throws Exception
+    {
+        final List<Map<String,Object>> input = _values();
+        Path path = _tempFile(MAPPER.writeValueAsBytes(input));
+        try {
+            SmileParser p = smileFactory(true, true, false)
+                    .createParser(ObjectReadContext.empty(), path);
+            _verify(input, p);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    // Use tiny windows to verify that content spanning window boundaries is read correctly
+    public void testSmallWindows() throws Exception
+    {
+        final List<Map<String,Object>> input = _values();
+        Path path = _tempFile(MAPPER.writeValueAsBytes(input));
+        try {
+            for (int windowSize : new int[] { 1, 13, 500 }) {
+                MappedFileInputStream in = new MappedFileInputStream(
+                        FileChannel.open(path, StandardOpenOption.READ), windowSize);
+                _verify(input, _smileParser(in, true));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private List<Map<String,Object>> _values() {
+        List<Map<String,Object>> result = new ArrayList<>();
+        for (int i = 0; i < COUNT; ++i) {
+            Map<String,Object> value = new LinkedHashMap<>();
+            value.put("id", i);
+            value.put("name", "value #"+i);
+            result.add(value);
+        }
+        return result;
+    }
+
+    private void _verify(List<Map<String,Object>> exp, JsonParser p) throws Exception
+    {
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        for (Map<String,Object> value : exp) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertEquals("id", p.nextFieldName());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(value.get("id"), p.getIntValue());
+            assertEquals("name", p.nextFieldName());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals(value.get("name"), p.getText());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+        }
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    private Path _tempFile(byte[] contents) throws Exception
+    {
+        File f = File.createTempFile("smile-mapped", ".sml");
+        Files.write(f.toPath(), contents);
+        return f.toPath();
+    }
+}
@@ -0,0 +1,208 @@
+package com.fasterxml.jackson.dataformat.smile.parse;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.core.exc.StreamWriteException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.BaseTestForSmile;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileParser;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.dataformat.smile.testutil.ThrottledInputStream;
+
+/**
+ * Tests for {@link SmileParser#readRawValue} and {@link SmileGenerator#writeRawValue},
+ * used for passing encoded values through without decoding them.
+ */
+public class RawValueTest extends BaseTestForSmile
+{
+    private final ObjectMapper SHARING_MAPPER = new SmileMapper(smileFactoryBuilder(true, true, false)
+            .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES,
+                    SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build());
+
+    private final ObjectMapper NON_SHARING_MAPPER = new SmileMapper(smileFactoryBuilder(true, true, false)
+            .disable(SmileGenerator.Feature.CHECK_SHARED_NAMES,
+                    SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build());
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testPassThroughScalars() throws Exception
+    {
+        final String longText = generateUnicodeString(3000);
+        final byte[] doc = NON_SHARING_MAPPER.writeValueAsBytes(Arrays.asList(
+                12345678901L, longText, 0.25, "short", new byte[700], null));
+
+        for (int chunk : new int[] { 1, 3, 100, doc.length }) {
+            SmileParser p = (SmileParser) NON_SHARING_MAPPER.createParser(new ThrottledInputStream(doc, chunk));
+            ByteArrayOutputStream raw = new ByteArrayOutputStream();
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            p.readRawValue(raw);
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            p.readRawValue(raw);
+            assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+            p.readRawValue(raw);
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            p.readRawValue(raw);
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+            p.readRawValue(raw);
+            assertToken(JsonToken.VALUE_NULL, p.nextToken());
+            assertEquals(1, p.readRawValue(raw));
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            assertNull(p.nextToken());
+            p.close();
+
+            // contents, sans header and Array markers, should match
+            _verifyBytes(raw.toByteArray(), Arrays.copyOfRange(doc, 5, doc.length - 1));
+        }
+    }
+
+    // Back-references in source content have to be replaced, and generator
+    // has to keep track of shared Strings within raw content
+    public void testPassThroughWithSharedStrings() throws Exception
+    {
+        final Map<String,Object> envelope = _envelope();
+        final JsonNode expected = SHARING_MAPPER.valueToTree(envelope);
+
+        for (ObjectMapper source : new ObjectMapper[] { SHARING_MAPPER, NON_SHARING_MAPPER }) {
+            final byte[] doc = source.writeValueAsBytes(envelope);
+            for (ObjectMapper target : new ObjectMapper[] { SHARING_MAPPER, NON_SHARING_MAPPER }) {
+                for (int chunk : new int[] { 1, 7, 500, doc.length }) {
+                    SmileParser p = (SmileParser) source.createParser(new ThrottledInputStream(doc, chunk));
+                    byte[] copy = _passThrough(p, target);
+                    assertEquals(expected, SHARING_MAPPER.readTree(copy));
+                }
+            }
+        }
+    }
+
+    // Names and values within Arrays that were partially read
+    public void testPartiallyReadValues() throws Exception
+    {
+        final byte[] doc = SHARING_MAPPER.writeValueAsBytes(Arrays.asList(
+                Collections.singletonMap("key", "value"),
+                "value", Collections.singletonMap("key", "value")));
+        SmileParser p = (SmileParser) SHARING_MAPPER.createParser(doc);
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("key", p.nextFieldName());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("value", p.getText());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        // a back-reference, decoded when token is read
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        p.readRawValue(raw);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        p.readRawValue(raw);
+        assertToken(JsonToken.END_OBJECT, p.currentToken());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        p.close();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SmileGenerator g = (SmileGenerator) SHARING_MAPPER.createGenerator(bytes);
+        g.writeStartArray();
+        byte[] encoded = raw.toByteArray();
+        g.writeRawValue(encoded, 0, encoded.length);
+        g.writeEndArray();
+        g.close();
+        assertEquals(SHARING_MAPPER.valueToTree(Arrays.asList("value", Collections.singletonMap("key", "value"))),
+                SHARING_MAPPER.readTree(bytes.toByteArray()));
+    }
+
+    public void testInvalidCalls() throws Exception
+    {
+        SmileParser p = (SmileParser) SHARING_MAPPER.createParser(
+                SHARING_MAPPER.writeValueAsBytes(Collections.singletonMap("a", 1)));
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        try {
+            p.readRawValue(new ByteArrayOutputStream());
+            fail("Should not pass");
+        } catch (StreamReadException e) {
+            verifyException(e, "can not read as raw value");
+        }
+        p.close();
+
+        // Object with back-reference to a shared name
+        final byte[] invalid = new byte[] { (byte) 0xFA, 0x40, 0x21, (byte) 0xFB };
+        SmileGenerator g = (SmileGenerator) SHARING_MAPPER.createGenerator(new ByteArrayOutputStream());
+        try {
+            g.writeRawValue(invalid, 0, invalid.length);
+            fail("Should not pass");
+        } catch (StreamWriteException e) {
+            verifyException(e, "back-references to shared names not allowed");
+        }
+        g.close();
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private Map<String,Object> _envelope()
+    {
+        Map<String,Object> payload = new LinkedHashMap<>();
+        // enough entries to have shared tables reset
+        for (int i = 0; i < 1200; ++i) {
+            Map<String,Object> entry = new LinkedHashMap<>();
+            entry.put("id", "entry-"+i);
+            entry.put("type", (i % 3 == 0) ? "message" : "other");
+            entry.put("name"+(i % 50), "value"+(i % 70));
+            entry.put("text", generateUnicodeString(i % 40));
+            entry.put("values", Arrays.asList(i, i * 1000000000000L, i / 4.0));
+            payload.put("e"+(i % 20)+"-"+i, entry);
+        }
+        Map<String,Object> envelope = new LinkedHashMap<>();
+        envelope.put("id", "message");
+        envelope.put("type", "other");
+        envelope.put("payload", payload);
+        envelope.put("trailer", Arrays.asList("message", "other", "value3"));
+        envelope.put("type2", Collections.singletonMap("type", "message"));
+        return envelope;
+    }
+
+    // Decodes header fields, copies all values as raw
+    private byte[] _passThrough(SmileParser p, ObjectMapper target) throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SmileGenerator g = (SmileGenerator) target.createGenerator(bytes);
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        g.writeStartObject();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = p.currentName();
+            g.writeFieldName(name);
+            JsonToken t = p.nextToken();
+            // decode some of values, copy the rest
+            if (name.equals("type")) {
+                assertToken(JsonToken.VALUE_STRING, t);
+                g.writeString(p.getText());
+                continue;
+            }
+            raw.reset();
+            int len = p.readRawValue(raw);
+            assertEquals(raw.size(), len);
+            g.writeRawValue(raw.toByteArray(), 0, len);
+        }
+        assertToken(JsonToken.END_OBJECT, p.currentToken());
+        g.writeEndObject();
+        assertNull(p.nextToken());
+        p.close();
+        g.close();
+        return bytes.toByteArray();
+    }
+}